@@ -23,10 +23,12 @@ package ${package};
 
 import org.apache.streampipes.container.init.DeclarersSingleton;
 import org.apache.streampipes.container.standalone.init.StandaloneModelSubmitter;
+import org.apache.streampipes.dataformat.binary.BinaryDataFormatFactory;
 import org.apache.streampipes.dataformat.cbor.CborDataFormatFactory;
 import org.apache.streampipes.dataformat.fst.FstDataFormatFactory;
 import org.apache.streampipes.dataformat.json.JsonDataFormatFactory;
 import org.apache.streampipes.dataformat.smile.SmileDataFormatFactory;
+import org.apache.streampipes.messaging.inmemory.SpInMemoryProtocolFactory;
 import org.apache.streampipes.messaging.jms.SpJmsProtocolFactory;
 import org.apache.streampipes.messaging.kafka.SpKafkaProtocolFactory;
 
@@ -43,12 +45,14 @@ public class Init extends StandaloneModelSubmitter {
             new JsonDataFormatFactory(),
             new CborDataFormatFactory(),
             new SmileDataFormatFactory(),
-            new FstDataFormatFactory());
+            new FstDataFormatFactory(),
+            new BinaryDataFormatFactory());
 
     DeclarersSingleton.getInstance().registerProtocols(
             new SpKafkaProtocolFactory(),
             new SpMqttProtocolFactory(),
-            new SpJmsProtocolFactory());
+            new SpJmsProtocolFactory(),
+            new SpInMemoryProtocolFactory());
 
     new Init().init(Config.INSTANCE);
   }
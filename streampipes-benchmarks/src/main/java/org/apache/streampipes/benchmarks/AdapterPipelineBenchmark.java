@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.connect.adapter.model.pipeline.AdapterPipeline;
+import org.apache.streampipes.connect.adapter.model.pipeline.AdapterPipelineElement;
+import org.apache.streampipes.connect.adapter.preprocessing.elements.AddTimestampPipelineElement;
+import org.apache.streampipes.connect.adapter.preprocessing.elements.TransformSchemaAdapterPipelineElement;
+import org.apache.streampipes.connect.adapter.preprocessing.elements.TransformValueAdapterPipelineElement;
+import org.apache.streampipes.model.connect.rules.schema.RenameRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.CorrectionValueTransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.TimestampTranfsformationRuleDescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the Connect preprocessing chain with a typical set of schema and value rules.
+ */
+@State(Scope.Benchmark)
+public class AdapterPipelineBenchmark extends AbstractBenchmark {
+
+  private AdapterPipeline adapterPipeline;
+  private Map<String, Object> template;
+  private Blackhole blackhole;
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    this.blackhole = blackhole;
+    this.template = BenchmarkData.FLAT.makeMap(1);
+
+    List<AdapterPipelineElement> pipelineElements = Arrays.asList(
+            new TransformSchemaAdapterPipelineElement(Collections.singletonList(
+                    new RenameRuleDescription("sensorId", "sensor"))),
+            new TransformValueAdapterPipelineElement(Arrays.asList(
+                    new CorrectionValueTransformationRuleDescription("temperature", 1.8, "MULTIPLY"),
+                    new TimestampTranfsformationRuleDescription("timestamp", "timeUnit", null, 1L))),
+            new AddTimestampPipelineElement("ingestionTime"));
+
+    this.adapterPipeline = new AdapterPipeline(pipelineElements, event -> {
+      this.blackhole.consume(event);
+      return event;
+    });
+  }
+
+  @Benchmark
+  public void process() {
+    // rules modify the event in place, so every invocation works on a fresh copy
+    adapterPipeline.process(new HashMap<>(template));
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Schemas and matching sample events shared by all benchmarks.
+ */
+public enum BenchmarkData {
+
+  FLAT {
+    @Override
+    public EventSchema getSchema() {
+      return new EventSchema(Arrays.asList(
+              primitive(XSD._long, "timestamp"),
+              primitive(XSD._string, "sensorId"),
+              primitive(XSD._double, "temperature"),
+              primitive(XSD._double, "pressure"),
+              primitive(XSD._integer, "count"),
+              primitive(XSD._boolean, "active")));
+    }
+
+    @Override
+    public Map<String, Object> makeMap(long sequence) {
+      Map<String, Object> event = new HashMap<>();
+      event.put("timestamp", 1600000000000L + sequence);
+      event.put("sensorId", "sensor-" + (sequence % 16));
+      event.put("temperature", 20.0 + (sequence % 100) / 10.0);
+      event.put("pressure", 1013.25 - (sequence % 50) / 100.0);
+      event.put("count", (int) sequence);
+      event.put("active", sequence % 2 == 0);
+      return event;
+    }
+
+    @Override
+    public String getSelector() {
+      return "s0::temperature";
+    }
+  },
+
+  NESTED {
+    @Override
+    public EventSchema getSchema() {
+      return new EventSchema(Arrays.asList(
+              primitive(XSD._long, "timestamp"),
+              primitive(XSD._string, "sensorId"),
+              new EventPropertyNested("location", Arrays.asList(
+                      primitive(XSD._double, "latitude"),
+                      primitive(XSD._double, "longitude"))),
+              new EventPropertyNested("measurements", Arrays.asList(
+                      primitive(XSD._double, "temperature"),
+                      primitive(XSD._double, "pressure")))));
+    }
+
+    @Override
+    public Map<String, Object> makeMap(long sequence) {
+      Map<String, Object> location = new HashMap<>();
+      location.put("latitude", 49.0 + (sequence % 10) / 100.0);
+      location.put("longitude", 8.4 + (sequence % 10) / 100.0);
+
+      Map<String, Object> measurements = new HashMap<>();
+      measurements.put("temperature", 20.0 + (sequence % 100) / 10.0);
+      measurements.put("pressure", 1013.25 - (sequence % 50) / 100.0);
+
+      Map<String, Object> event = new HashMap<>();
+      event.put("timestamp", 1600000000000L + sequence);
+      event.put("sensorId", "sensor-" + (sequence % 16));
+      event.put("location", location);
+      event.put("measurements", measurements);
+      return event;
+    }
+
+    @Override
+    public String getSelector() {
+      return "s0::measurements::temperature";
+    }
+  };
+
+  public abstract EventSchema getSchema();
+
+  public abstract Map<String, Object> makeMap(long sequence);
+
+  /**
+   * A selector pointing to a numeric property of this schema.
+   */
+  public abstract String getSelector();
+
+  public SourceInfo getSourceInfo() {
+    return new SourceInfo("benchmark", PropertySelectorConstants.FIRST_STREAM_ID_PREFIX);
+  }
+
+  public SchemaInfo getSchemaInfo() {
+    return new SchemaInfo(getSchema(), Collections.emptyList());
+  }
+
+  public EventLayout compileLayout() {
+    return EventLayout.compile(getSourceInfo(), getSchemaInfo());
+  }
+
+  public Event makeEvent(long sequence) {
+    return EventFactory.fromMap(makeMap(sequence), getSourceInfo(), getSchemaInfo());
+  }
+
+  private static EventProperty primitive(URI runtimeType, String runtimeName) {
+    return new EventPropertyPrimitive(runtimeType.toString(), runtimeName, "", Collections
+            .emptyList());
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.binary.BinaryDataFormatDefinition;
+import org.apache.streampipes.dataformat.cbor.CborDataFormatDefinition;
+import org.apache.streampipes.dataformat.fst.FstDataFormatDefinition;
+import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
+import org.apache.streampipes.dataformat.smile.SmileDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+/**
+ * Measures decoding and encoding of single events for all available data formats.
+ */
+@State(Scope.Benchmark)
+public class DataFormatBenchmark extends AbstractBenchmark {
+
+  @Param({"json", "cbor", "smile", "fst", "binary"})
+  public String format;
+
+  @Param({"FLAT", "NESTED"})
+  public BenchmarkData data;
+
+  private SpDataFormatDefinition dataFormatDefinition;
+  private EventLayout eventLayout;
+  private Map<String, Object> map;
+  private Event event;
+  private byte[] serialized;
+
+  @Setup
+  public void setup() throws SpRuntimeException {
+    this.eventLayout = data.compileLayout();
+    this.dataFormatDefinition = makeDataFormatDefinition(format).forSchema(eventLayout
+            .getSchemaInfo().getEventSchema());
+    this.map = data.makeMap(1);
+    this.event = eventLayout.fromMap(data.makeMap(1));
+    this.serialized = dataFormatDefinition.fromMap(map);
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() throws SpRuntimeException {
+    return dataFormatDefinition.toMap(serialized);
+  }
+
+  @Benchmark
+  public byte[] fromMap() throws SpRuntimeException {
+    return dataFormatDefinition.fromMap(map);
+  }
+
+  @Benchmark
+  public Event toEvent() throws SpRuntimeException {
+    return dataFormatDefinition.toEvent(serialized, eventLayout);
+  }
+
+  @Benchmark
+  public byte[] fromEvent() throws SpRuntimeException {
+    return dataFormatDefinition.fromEvent(event);
+  }
+
+  static SpDataFormatDefinition makeDataFormatDefinition(String format) {
+    switch (format) {
+      case "cbor":
+        return new CborDataFormatDefinition();
+      case "smile":
+        return new SmileDataFormatDefinition();
+      case "fst":
+        return new FstDataFormatDefinition();
+      case "binary":
+        return new BinaryDataFormatDefinition();
+      default:
+        return new JsonDataFormatDefinition();
+    }
+  }
+}
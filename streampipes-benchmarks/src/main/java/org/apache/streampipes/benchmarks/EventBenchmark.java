@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+/**
+ * Measures the conversion between maps and events and the access to event fields, both for the
+ * map-based and the schema-compiled event representation.
+ */
+@State(Scope.Benchmark)
+public class EventBenchmark extends AbstractBenchmark {
+
+  @Param({"FLAT", "NESTED"})
+  public BenchmarkData data;
+
+  private SourceInfo sourceInfo;
+  private SchemaInfo schemaInfo;
+  private EventLayout eventLayout;
+  private Map<String, Object> map;
+  private Event event;
+  private Event compiledEvent;
+
+  @Setup
+  public void setup() {
+    this.sourceInfo = data.getSourceInfo();
+    this.schemaInfo = data.getSchemaInfo();
+    this.eventLayout = data.compileLayout();
+    this.map = data.makeMap(1);
+    this.event = data.makeEvent(1);
+    this.compiledEvent = eventLayout.fromMap(data.makeMap(1));
+  }
+
+  @Benchmark
+  public Event fromMap() {
+    return EventFactory.fromMap(map, sourceInfo, schemaInfo);
+  }
+
+  @Benchmark
+  public Event fromMapCompiled() {
+    return eventLayout.fromMap(map);
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() {
+    return new EventConverter(event).toMap();
+  }
+
+  @Benchmark
+  public Map<String, Object> toMapCompiled() {
+    return new EventConverter(compiledEvent).toMap();
+  }
+
+  @Benchmark
+  public AbstractField getFieldBySelector() {
+    return event.getFieldBySelector(data.getSelector());
+  }
+
+  @Benchmark
+  public AbstractField getFieldBySelectorCompiled() {
+    return compiledEvent.getFieldBySelector(data.getSelector());
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.SpDataFormatManager;
+import org.apache.streampipes.dataformat.cbor.CborDataFormatFactory;
+import org.apache.streampipes.dataformat.fst.FstDataFormatFactory;
+import org.apache.streampipes.dataformat.json.JsonDataFormatFactory;
+import org.apache.streampipes.dataformat.smile.SmileDataFormatFactory;
+import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.messaging.inmemory.InMemoryBroker;
+import org.apache.streampipes.messaging.inmemory.InMemoryConsumer;
+import org.apache.streampipes.messaging.inmemory.SpInMemoryProtocolFactory;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.vocabulary.MessageFormat;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
+import org.apache.streampipes.wrapper.standalone.routing.InputBufferSettings;
+import org.apache.streampipes.wrapper.standalone.routing.OutputBufferSettings;
+import org.apache.streampipes.wrapper.standalone.routing.OverflowPolicy;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the full standalone event path over the in-memory transport: an event is published to
+ * the input topic, decoded by the input collector, handed to a pass-through processor, encoded by
+ * the output collector and published to the output topic. Publishing blocks while the bounded
+ * in-memory queues are full, so the score reflects the throughput of the whole path.
+ */
+@State(Scope.Benchmark)
+public class StandaloneRoutingBenchmark extends AbstractBenchmark {
+
+  private static final String INPUT_TOPIC = "benchmark.input";
+  private static final String OUTPUT_TOPIC = "benchmark.output";
+
+  @Param({"json", "cbor", "smile", "fst"})
+  public String format;
+
+  @Param({"FLAT", "NESTED"})
+  public BenchmarkData data;
+
+  private StandaloneSpInputCollector<InMemoryTransportProtocol> inputCollector;
+  private StandaloneSpOutputCollector<InMemoryTransportProtocol> outputCollector;
+  private InMemoryConsumer outputConsumer;
+  private AtomicLong deliveredEvents;
+  private byte[] serialized;
+
+  @Setup
+  public void setup() throws SpRuntimeException {
+    SpProtocolManager.INSTANCE.register(new SpInMemoryProtocolFactory());
+    SpDataFormatManager.INSTANCE.register(new JsonDataFormatFactory());
+    SpDataFormatManager.INSTANCE.register(new CborDataFormatFactory());
+    SpDataFormatManager.INSTANCE.register(new SmileDataFormatFactory());
+    SpDataFormatManager.INSTANCE.register(new FstDataFormatFactory());
+
+    TransportFormat transportFormat = new TransportFormat(toFormatUri(format));
+    SpDataFormatDefinition dataFormatDefinition = DataFormatBenchmark.makeDataFormatDefinition
+            (format);
+    this.serialized = dataFormatDefinition.fromMap(data.makeMap(1));
+
+    this.inputCollector = new StandaloneSpInputCollector<>(new InMemoryTransportProtocol
+            (INPUT_TOPIC), transportFormat, false, new InputBufferSettings(0, OverflowPolicy.BLOCK, 0));
+    this.outputCollector = new StandaloneSpOutputCollector<>(new InMemoryTransportProtocol
+            (OUTPUT_TOPIC), transportFormat, new OutputBufferSettings(0, 0, 0));
+
+    EventLayout eventLayout = data.compileLayout();
+    inputCollector.registerConsumer("benchmark", new RawDataProcessor() {
+      @Override
+      public void process(Map<String, Object> rawEvent, String sourceInfo) {
+        outputCollector.collect(eventLayout.fromMap(rawEvent));
+      }
+
+      @Override
+      public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+              sourceInfo) throws SpRuntimeException {
+        outputCollector.collect(dataFormatDefinition.toEvent(rawEvent, eventLayout));
+      }
+    });
+
+    this.deliveredEvents = new AtomicLong();
+    this.outputConsumer = new InMemoryConsumer();
+    outputConsumer.connect(new InMemoryTransportProtocol(OUTPUT_TOPIC), event -> deliveredEvents
+            .incrementAndGet());
+    outputCollector.connect();
+    inputCollector.connect();
+  }
+
+  @TearDown
+  public void tearDown() throws SpRuntimeException {
+    inputCollector.unregisterConsumer("benchmark");
+    inputCollector.disconnect();
+    outputCollector.disconnect();
+    outputConsumer.disconnect();
+  }
+
+  @Benchmark
+  public void route() {
+    InMemoryBroker.INSTANCE.publish(INPUT_TOPIC, serialized);
+  }
+
+  private String toFormatUri(String format) {
+    switch (format) {
+      case "cbor":
+        return MessageFormat.Cbor;
+      case "smile":
+        return MessageFormat.Smile;
+      case "fst":
+        return MessageFormat.Fst;
+      default:
+        return MessageFormat.Json;
+    }
+  }
+}
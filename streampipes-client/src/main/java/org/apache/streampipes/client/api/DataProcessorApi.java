@@ -71,13 +71,13 @@ public class DataProcessorApi extends AbstractClientApi<DataProcessorInvocation>
 
   public SpKafkaConsumer subscribe(DataProcessorInvocation processor,
                                    EventProcessor callback) {
-    return new SubscriptionManager(clientConfig, processor.getOutputStream().getEventGrounding(), callback).subscribe();
+    return new SubscriptionManager(clientConfig, processor.getOutputStream(), callback).subscribe();
   }
 
   public SpKafkaConsumer subscribe(DataProcessorInvocation processor,
                                    KafkaConfig kafkaConfig,
                                    EventProcessor callback) {
-    return new SubscriptionManager(clientConfig, kafkaConfig, processor.getOutputStream().getEventGrounding(), callback)
+    return new SubscriptionManager(clientConfig, kafkaConfig, processor.getOutputStream(), callback)
             .subscribe();
   }
 }
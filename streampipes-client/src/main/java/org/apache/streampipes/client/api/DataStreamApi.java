@@ -75,7 +75,7 @@ public class DataStreamApi extends AbstractClientApi<SpDataStream> implements CR
    */
   public SpKafkaConsumer subscribe(SpDataStream stream,
                                    EventProcessor callback) {
-    return new SubscriptionManager(clientConfig, stream.getEventGrounding(), callback).subscribe();
+    return new SubscriptionManager(clientConfig, stream, callback).subscribe();
   }
 
   /**
@@ -87,7 +87,7 @@ public class DataStreamApi extends AbstractClientApi<SpDataStream> implements CR
   public SpKafkaConsumer subscribe(SpDataStream stream,
                                    KafkaConfig kafkaConfig,
                                    EventProcessor callback) {
-    return new SubscriptionManager(clientConfig, kafkaConfig, stream.getEventGrounding(), callback).subscribe();
+    return new SubscriptionManager(clientConfig, kafkaConfig, stream, callback).subscribe();
   }
 
   @Override
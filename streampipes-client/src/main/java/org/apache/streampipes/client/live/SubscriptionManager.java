@@ -19,19 +19,23 @@ package org.apache.streampipes.client.live;
 
 import org.apache.streampipes.client.model.StreamPipesClientConfig;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.EventEnvelope;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.dataformat.SpDataFormatFactory;
 import org.apache.streampipes.messaging.kafka.SpKafkaConsumer;
+import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.grounding.EventGrounding;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.schema.EventSchema;
 
 import java.util.Optional;
 
 public class SubscriptionManager {
 
   private final EventGrounding grounding;
+  private final EventSchema eventSchema;
   private final EventProcessor callback;
   private final StreamPipesClientConfig clientConfig;
 
@@ -39,23 +43,30 @@ public class SubscriptionManager {
   private boolean overrideKafkaSettings = false;
 
   public SubscriptionManager(StreamPipesClientConfig clientConfig,
-                             EventGrounding grounding,
+                             SpDataStream stream,
                              EventProcessor callback) {
-    this.grounding = grounding;
+    this.grounding = stream.getEventGrounding();
+    // schema-aware formats, e.g., binary, write events of the stream without field names
+    this.eventSchema = stream.getEventSchema();
     this.callback = callback;
     this.clientConfig = clientConfig;
   }
 
   public SubscriptionManager(StreamPipesClientConfig clientConfig,
                              KafkaConfig kafkaConfig,
-                             EventGrounding grounding,
+                             SpDataStream stream,
                              EventProcessor callback) {
-    this(clientConfig, grounding, callback);
+    this(clientConfig, stream, callback);
     this.kafkaConfig = kafkaConfig;
     this.overrideKafkaSettings = true;
   }
 
   public SpKafkaConsumer subscribe() {
+    if (!(this.grounding.getTransportProtocol() instanceof KafkaTransportProtocol)) {
+      throw new SpRuntimeException("Only streams transported by Kafka can be subscribed to, this "
+              + "stream uses " + this.grounding.getTransportProtocol().getClass().getSimpleName());
+    }
+
     Optional<SpDataFormatFactory> formatConverterOpt = this
             .clientConfig
             .getRegisteredDataFormats()
@@ -69,13 +80,21 @@ public class SubscriptionManager {
             .findFirst();
 
     if (formatConverterOpt.isPresent()) {
-      final SpDataFormatDefinition converter = formatConverterOpt.get().createInstance();
+      final SpDataFormatDefinition converter = formatConverterOpt.get().createInstance()
+              .forSchema(eventSchema);
+      final boolean envelope = EventEnvelope.isEnvelope(this.grounding.getTransportFormats().get(0));
 
       KafkaTransportProtocol protocol = overrideKafkaSettings ? overrideHostname(getKafkaProtocol()) : getKafkaProtocol();
       SpKafkaConsumer kafkaConsumer = new SpKafkaConsumer(protocol, getOutputTopic(), event -> {
         try {
-          Event spEvent = EventFactory.fromMap(converter.toMap(event));
-          callback.onEvent(spEvent);
+          if (envelope) {
+            for (byte[] packedEvent : EventEnvelope.unpack(event)) {
+              callback.onEvent(EventFactory.fromMap(converter.toMap(packedEvent)));
+            }
+          } else {
+            Event spEvent = EventFactory.fromMap(converter.toMap(event));
+            callback.onEvent(spEvent);
+          }
         } catch (SpRuntimeException e) {
           e.printStackTrace();
         }
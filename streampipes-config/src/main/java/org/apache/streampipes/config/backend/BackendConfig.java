@@ -43,10 +43,22 @@ public enum BackendConfig {
     config.register(BackendConfigKeys.JMS_PORT, 61616, "Port for backend service for active mq");
     config.register(BackendConfigKeys.MQTT_HOST, "activemq", "Hostname of mqtt service");
     config.register(BackendConfigKeys.MQTT_PORT, 1883, "Port of mqtt service");
+    config.register(BackendConfigKeys.MQTT_QOS, 1, "Quality of service level (0, 1 or 2) of mqtt " +
+            "topics created for pipelines");
+    config.register(BackendConfigKeys.MQTT_IN_FLIGHT_WINDOW, 1, "Number of unacknowledged mqtt " +
+            "messages a consumer may receive ahead of processing");
     config.register(BackendConfigKeys.KAFKA_HOST, "kafka", "Hostname for backend service for kafka");
     config.register(BackendConfigKeys.KAFKA_PORT, 9092, "Port for backend service for kafka");
     config.register(BackendConfigKeys.ZOOKEEPER_HOST, "zookeeper", "Hostname for backend service for zookeeper");
     config.register(BackendConfigKeys.ZOOKEEPER_PORT, 2181, "Port for backend service for zookeeper");
+    config.register(BackendConfigKeys.KAFKA_TOPIC_PARTITIONS, 1, "Number of partitions of Kafka " +
+            "topics created for pipelines");
+    config.register(BackendConfigKeys.KAFKA_TOPIC_REPLICATION_FACTOR, 1, "Replication factor of " +
+            "Kafka topics created for pipelines");
+    config.register(BackendConfigKeys.KAFKA_PROCESSING_GUARANTEE, "AT_MOST_ONCE", "Processing " +
+            "guarantee of pipeline elements consuming Kafka topics (AT_MOST_ONCE or AT_LEAST_ONCE)");
+    config.register(BackendConfigKeys.IN_MEMORY_COLOCATION, false, "Connect pipeline elements of " +
+            "the same container in memory, only if no container is replicated behind its host name");
     config.register(BackendConfigKeys.ELASTICSEARCH_HOST, "elasticsearch", "Hostname for elasticsearch service");
     config.register(BackendConfigKeys.ELASTICSEARCH_PORT, 9200, "Port for elasticsearch service");
     config.register(BackendConfigKeys.ELASTICSEARCH_PROTOCOL, "http", "Protocol the elasticsearch service");
@@ -118,6 +130,14 @@ public enum BackendConfig {
     return config.getInteger(BackendConfigKeys.MQTT_PORT);
   }
 
+  public int getMqttQos() {
+    return config.getInteger(BackendConfigKeys.MQTT_QOS);
+  }
+
+  public int getMqttInFlightWindow() {
+    return config.getInteger(BackendConfigKeys.MQTT_IN_FLIGHT_WINDOW);
+  }
+
   public String getKafkaHost() {
     return config.getString(BackendConfigKeys.KAFKA_HOST);
   }
@@ -138,6 +158,22 @@ public enum BackendConfig {
     return config.getInteger(BackendConfigKeys.ZOOKEEPER_PORT);
   }
 
+  public int getKafkaTopicPartitions() {
+    return config.getInteger(BackendConfigKeys.KAFKA_TOPIC_PARTITIONS);
+  }
+
+  public int getKafkaTopicReplicationFactor() {
+    return config.getInteger(BackendConfigKeys.KAFKA_TOPIC_REPLICATION_FACTOR);
+  }
+
+  public String getKafkaProcessingGuarantee() {
+    return config.getString(BackendConfigKeys.KAFKA_PROCESSING_GUARANTEE);
+  }
+
+  public boolean isInMemoryColocation() {
+    return config.getBoolean(BackendConfigKeys.IN_MEMORY_COLOCATION);
+  }
+
   public MessagingSettings getMessagingSettings() {
     return config.getObject(BackendConfigKeys.MESSAGING_SETTINGS, MessagingSettings.class,
             new MessagingSettings());
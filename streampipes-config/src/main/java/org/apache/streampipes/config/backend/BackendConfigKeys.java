@@ -25,10 +25,17 @@ public class BackendConfigKeys {
   public static final String JMS_PORT = "SP_JMS_PORT";
   public static final String MQTT_HOST = "SP_MQTT_HOST";
   public static final String MQTT_PORT = "SP_MQTT_PORT";
+  public static final String MQTT_QOS = "SP_MQTT_QOS";
+  public static final String MQTT_IN_FLIGHT_WINDOW = "SP_MQTT_IN_FLIGHT_WINDOW";
   public static final String KAFKA_HOST = "SP_KAFKA_HOST";
   public static final String KAFKA_PORT = "SP_KAFKA_PORT";
   public static final String ZOOKEEPER_HOST = "SP_ZOOKEEPER_HOST";
   public static final String ZOOKEEPER_PORT = "SP_ZOOKEEPER_PORT";
+  public static final String KAFKA_TOPIC_PARTITIONS = "SP_KAFKA_TOPIC_PARTITIONS";
+  public static final String KAFKA_TOPIC_REPLICATION_FACTOR = "SP_KAFKA_TOPIC_REPLICATION_FACTOR";
+  public static final String KAFKA_PROCESSING_GUARANTEE = "SP_KAFKA_PROCESSING_GUARANTEE";
+  public static final String KAFKA_TUNING_PROFILE = "SP_KAFKA_TUNING_PROFILE";
+  public static final String IN_MEMORY_COLOCATION = "SP_IN_MEMORY_COLOCATION";
   public static final String ELASTICSEARCH_HOST = "SP_ELASTICSEARCH_HOST";
   public static final String ELASTICSEARCH_PORT = "SP_ELASTICSEARCH_PORT";
   public static final String ELASTICSEARCH_PROTOCOL = "SP_ELASTICSEARCH_PROTOCOL";
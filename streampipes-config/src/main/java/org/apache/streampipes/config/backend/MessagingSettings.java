@@ -27,6 +27,7 @@ public class MessagingSettings {
   private Integer messageMaxBytes;
   private Integer lingerMs;
   private Integer acks;
+  private String kafkaTuningProfile;
 
   private List<SpDataFormat> prioritizedFormats;
   private List<SpProtocol> prioritizedProtocols;
@@ -51,10 +52,14 @@ public class MessagingSettings {
       protocolList = Arrays.asList(SpProtocol.KAFKA, SpProtocol.MQTT, SpProtocol.JMS);
     }
 
-    return new MessagingSettings(
+    MessagingSettings settings = new MessagingSettings(
             1638400, 5000012, 20, 2,
-            Arrays.asList(SpDataFormat.JSON, SpDataFormat.CBOR, SpDataFormat.FST, SpDataFormat.SMILE),
+            Arrays.asList(SpDataFormat.JSON, SpDataFormat.CBOR, SpDataFormat.FST, SpDataFormat.SMILE,
+                    SpDataFormat.BINARY),
             protocolList);
+    settings.setKafkaTuningProfile(System.getenv(BackendConfigKeys.KAFKA_TUNING_PROFILE) != null ?
+            System.getenv(BackendConfigKeys.KAFKA_TUNING_PROFILE).toUpperCase() : "DEFAULT");
+    return settings;
   }
 
   public MessagingSettings(Integer batchSize, Integer messageMaxBytes, Integer lingerMs,
@@ -104,6 +109,14 @@ public class MessagingSettings {
     this.acks = acks;
   }
 
+  public String getKafkaTuningProfile() {
+    return kafkaTuningProfile;
+  }
+
+  public void setKafkaTuningProfile(String kafkaTuningProfile) {
+    this.kafkaTuningProfile = kafkaTuningProfile;
+  }
+
   public List<SpDataFormat> getPrioritizedFormats() {
     return prioritizedFormats;
   }
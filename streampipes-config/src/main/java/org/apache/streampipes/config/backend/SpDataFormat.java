@@ -25,7 +25,8 @@ public enum SpDataFormat {
   CBOR("Cbor", MessageFormat.Cbor),
   JSON("JSON", MessageFormat.Json),
   FST("Fast-Serializer", MessageFormat.Fst),
-  SMILE("Smile", MessageFormat.Smile);
+  SMILE("Smile", MessageFormat.Smile),
+  BINARY("Binary", MessageFormat.Binary);
 
   private String name;
   private String messageFormat;
@@ -25,7 +25,7 @@ import org.apache.streampipes.messaging.kafka.SpKafkaProducer;
 
 import java.util.Map;
 
-public class SendToPipeline implements EmitBinaryEvent {
+public class SendToPipeline implements EmitEvent {
 
     private Format format;
 
@@ -58,4 +58,10 @@ public class SendToPipeline implements EmitBinaryEvent {
         }
         return true;
     }
+
+    @Override
+    public Boolean emit(Map<String, Object> event) {
+        adapterPipeline.process(event);
+        return true;
+    }
 }
@@ -32,7 +32,10 @@ import org.apache.streampipes.connect.adapter.exception.ParseException;
 import org.apache.streampipes.connect.adapter.model.Connector;
 import org.apache.streampipes.connect.adapter.model.pipeline.AdapterPipeline;
 import org.apache.streampipes.connect.adapter.model.pipeline.AdapterPipelineElement;
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
 import org.apache.streampipes.model.connect.adapter.AdapterDescription;
+import org.apache.streampipes.model.connect.adapter.AdapterStreamDescription;
+import org.apache.streampipes.model.connect.adapter.GenericAdapterDescription;
 import org.apache.streampipes.model.connect.guess.GuessSchema;
 import org.apache.streampipes.model.connect.rules.stream.EventRateTransformationRuleDescription;
 import org.apache.streampipes.model.connect.rules.stream.RemoveDuplicatesTransformationRuleDescription;
@@ -40,7 +43,11 @@ import org.apache.streampipes.model.connect.rules.TransformationRuleDescription;
 import org.apache.streampipes.model.connect.rules.value.AddTimestampRuleDescription;
 import org.apache.streampipes.model.connect.rules.value.AddValueTransformationRuleDescription;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.SO;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -116,26 +123,13 @@ public abstract class Adapter<T extends AdapterDescription> implements Connector
 
         List<AdapterPipelineElement> pipelineElements = new ArrayList<>();
 
-        // Must be before the schema transformations to ensure that user can move this event property
-        AddTimestampRuleDescription timestampTransformationRuleDescription = getTimestampRule(adapterDescription);
-        if (timestampTransformationRuleDescription != null) {
-            pipelineElements.add(new AddTimestampPipelineElement(
-                    timestampTransformationRuleDescription.getRuntimeKey()));
-        }
-
-        AddValueTransformationRuleDescription valueTransformationRuleDescription = getAddValueRule(adapterDescription);
-        if (valueTransformationRuleDescription != null) {
-            pipelineElements.add(new AddValuePipelineElement(
-                    valueTransformationRuleDescription.getRuntimeKey(),
-                    valueTransformationRuleDescription.getStaticValue()));
-        }
-
-
-        // first transform schema before transforming vales
-        // value rules should use unique keys for of new schema
-        pipelineElements.add(new TransformSchemaAdapterPipelineElement(adapterDescription.getSchemaRules()));
-        pipelineElements.add(new TransformValueAdapterPipelineElement(adapterDescription.getValueRules()));
-
+        // added properties are applied before the schema transformations to ensure that user can move them,
+        // schema transformations before value transformations as value rules use the keys of the new schema
+        pipelineElements.add(new TransformEventAdapterPipelineElement(
+                getTimestampRule(adapterDescription),
+                getAddValueRule(adapterDescription),
+                adapterDescription.getSchemaRules(),
+                adapterDescription.getValueRules()));
 
         RemoveDuplicatesTransformationRuleDescription duplicatesTransformationRuleDescription = getRemoveDuplicateRule(adapterDescription);
         if (duplicatesTransformationRuleDescription != null) {
@@ -145,7 +139,8 @@ public abstract class Adapter<T extends AdapterDescription> implements Connector
         TransformStreamAdapterElement transformStreamAdapterElement = new TransformStreamAdapterElement();
         EventRateTransformationRuleDescription eventRateTransformationRuleDescription = getEventRateTransformationRule(adapterDescription);
         if (eventRateTransformationRuleDescription != null) {
-            transformStreamAdapterElement.addStreamTransformationRuleDescription(eventRateTransformationRuleDescription);
+            transformStreamAdapterElement.addStreamTransformationRuleDescription(eventRateTransformationRuleDescription,
+                    getTimestampKey(adapterDescription));
         }
         pipelineElements.add(transformStreamAdapterElement);
 
@@ -173,6 +168,32 @@ public abstract class Adapter<T extends AdapterDescription> implements Connector
         }
     }
 
+    // the added timestamp or the top-level property of the event schema marked as timestamp
+    private String getTimestampKey(T adapterDescription) {
+        AddTimestampRuleDescription timestampRule = getTimestampRule(adapterDescription);
+        if (timestampRule != null) {
+            return timestampRule.getRuntimeKey();
+        }
+
+        EventSchema eventSchema = null;
+        if (adapterDescription instanceof GenericAdapterDescription) {
+            eventSchema = Util.getEventSchema((GenericAdapterDescription) adapterDescription);
+        } else if (adapterDescription instanceof AdapterStreamDescription
+                && ((AdapterStreamDescription) adapterDescription).getDataStream() != null) {
+            eventSchema = ((AdapterStreamDescription) adapterDescription).getDataStream().getEventSchema();
+        }
+
+        if (eventSchema != null && eventSchema.getEventProperties() != null) {
+            for (EventProperty property : eventSchema.getEventProperties()) {
+                if (property.getDomainProperties() != null
+                        && property.getDomainProperties().contains(URI.create(SO.DateTime))) {
+                    return property.getRuntimeName();
+                }
+            }
+        }
+        return null;
+    }
+
     private RemoveDuplicatesTransformationRuleDescription getRemoveDuplicateRule(T adapterDescription) {
         return getRule(adapterDescription, RemoveDuplicatesTransformationRuleDescription.class);
     }
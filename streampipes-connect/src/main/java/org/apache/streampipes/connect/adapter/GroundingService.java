@@ -140,6 +140,7 @@ public class GroundingService {
                                                               TopicDefinition topicDefinition) {
         KafkaTransportProtocol transportProtocol = new KafkaTransportProtocol();
         transportProtocol.setKafkaPort(port);
+        transportProtocol.setTuningProfile(BackendConfig.INSTANCE.getMessagingSettings().getKafkaTuningProfile());
         fillTransportProtocol(transportProtocol, hostname, topicDefinition);
 
         return transportProtocol;
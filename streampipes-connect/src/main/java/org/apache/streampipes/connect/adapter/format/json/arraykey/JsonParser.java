@@ -25,6 +25,7 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.connect.EmitBinaryEvent;
 import org.apache.streampipes.connect.adapter.model.generic.Parser;
 import org.apache.streampipes.connect.adapter.format.util.JsonEventProperty;
+import org.apache.streampipes.connect.adapter.format.util.JsonNumbers;
 import org.apache.streampipes.connect.adapter.sdk.ParameterExtractor;
 import org.apache.streampipes.connect.adapter.exception.ParseException;
 import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
@@ -104,15 +105,15 @@ public class JsonParser extends Parser {
     while (jsonParser.hasNext() && isEvent && result) {
       Map<String, Object> objectMap = parseObject(jsonParser, true, 1);
       if (objectMap != null) {
-        byte[] tmp = new byte[0];
-        try {
-          tmp = jsonDefinition.fromMap(objectMap);
-        } catch (SpRuntimeException e) {
-          e.printStackTrace();
-        }
-//                    handleEvent(new EventObjectEndEvent(parseObject(tmp)));
         // TODO decide what happens id emit returns false
-        result = emitBinaryEvent.emit(tmp);
+        result = emit(emitBinaryEvent, objectMap, () -> {
+          try {
+            return jsonDefinition.fromMap(objectMap);
+          } catch (SpRuntimeException e) {
+            e.printStackTrace();
+            return new byte[0];
+          }
+        });
       } else {
         isEvent = false;
       }
@@ -214,9 +215,9 @@ public class JsonParser extends Parser {
           break;
         case VALUE_NUMBER:
           if (arr == null) {
-            result.put(mapKey, jsonParser.getBigDecimal());
+            result.put(mapKey, JsonNumbers.getNumber(jsonParser));
           } else {
-            arr.add(jsonParser.getBigDecimal());
+            arr.add(JsonNumbers.getNumber(jsonParser));
           }
           logger.debug("value number: " + jsonParser.getBigDecimal());
           break;
@@ -25,6 +25,7 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.connect.EmitBinaryEvent;
 import org.apache.streampipes.connect.adapter.exception.ParseException;
 import org.apache.streampipes.connect.adapter.format.util.JsonEventProperty;
+import org.apache.streampipes.connect.adapter.format.util.JsonNumbers;
 import org.apache.streampipes.connect.adapter.model.generic.Parser;
 import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
 import org.apache.streampipes.model.connect.grounding.FormatDescription;
@@ -79,15 +80,14 @@ public class JsonArrayParser extends Parser {
     while (jsonParser.hasNext() && isEvent && result) {
       Map<String, Object> objectMap = parseObject(jsonParser, true, 1);
       if (objectMap != null) {
-        byte[] tmp = new byte[0];
-        try {
-          tmp = jsonDefinition.fromMap(objectMap);
-        } catch (SpRuntimeException e) {
-          throw new ParseException(e.toString());
-        }
-//                    handleEvent(new EventObjectEndEvent(parseObject(tmp)));
         // TODO decide what happens id emit returns false
-        result = emitBinaryEvent.emit(tmp);
+        result = emit(emitBinaryEvent, objectMap, () -> {
+          try {
+            return jsonDefinition.fromMap(objectMap);
+          } catch (SpRuntimeException e) {
+            throw new ParseException(e.toString());
+          }
+        });
       } else {
         isEvent = false;
       }
@@ -190,9 +190,9 @@ public class JsonArrayParser extends Parser {
           break;
         case VALUE_NUMBER:
           if (arr == null) {
-            result.put(mapKey, jsonParser.getBigDecimal());
+            result.put(mapKey, JsonNumbers.getNumber(jsonParser));
           } else {
-            arr.add(jsonParser.getBigDecimal());
+            arr.add(JsonNumbers.getNumber(jsonParser));
           }
           logger.debug("value number: " + jsonParser.getBigDecimal());
           break;
@@ -64,7 +64,7 @@ public class JsonObjectParser extends Parser {
 
         try {
             Map<String, Object> map = mapper.readValue(data, HashMap.class);
-            emitBinaryEvent.emit(jsonDefinition.fromMap(map));
+            emit(emitBinaryEvent, map, () -> jsonDefinition.fromMap(map));
         } catch (IOException e) {
             e.printStackTrace();
         } catch (SpRuntimeException e) {
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.format.util;
+
+import java.math.BigInteger;
+
+import javax.json.stream.JsonParser;
+
+/**
+ * Converts numbers read by a streaming JSON parser to the types the JSON data format yields for
+ * them, so that events emitted as maps equal their serialized and re-parsed form. Numbers are
+ * parsed from their text, only integers with more than 18 digits are read as BigInteger.
+ */
+public class JsonNumbers {
+
+  // every integer with fewer digits fits into a long
+  private static final int MAX_LONG_DIGITS = 19;
+
+  public static Object getNumber(JsonParser jsonParser) {
+    String number = jsonParser.getString();
+    if (!jsonParser.isIntegralNumber()) {
+      return Double.parseDouble(number);
+    }
+    int digits = number.charAt(0) == '-' ? number.length() - 1 : number.length();
+    if (digits < MAX_LONG_DIGITS) {
+      long value = Long.parseLong(number);
+      return (int) value == value ? (Object) (int) value : (Object) value;
+    }
+    BigInteger value = new BigInteger(number);
+    return value.bitLength() < 64 ? (Object) value.longValue() : (Object) value;
+  }
+}
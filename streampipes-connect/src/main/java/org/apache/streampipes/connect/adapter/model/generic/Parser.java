@@ -24,9 +24,12 @@ import org.apache.streampipes.connect.adapter.exception.ParseException;
 import org.apache.streampipes.model.connect.grounding.FormatDescription;
 import org.apache.streampipes.model.schema.EventSchema;
 import org.apache.streampipes.connect.EmitBinaryEvent;
+import org.apache.streampipes.connect.EmitEvent;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 public abstract class Parser {
 
@@ -49,6 +52,19 @@ public abstract class Parser {
         return gne.getEvents();
     }
 
+    /**
+     * Emits an event the parser has already decoded into a map. Emitters which accept structured
+     * events receive the map itself, all others the serialized event created by the serializer.
+     */
+    protected Boolean emit(EmitBinaryEvent emitBinaryEvent, Map<String, Object> event,
+                           Supplier<byte[]> serializer) {
+        if (emitBinaryEvent instanceof EmitEvent) {
+            return ((EmitEvent) emitBinaryEvent).emit(event);
+        } else {
+            return emitBinaryEvent.emit(serializer.get());
+        }
+    }
+
     /**
      * Pass one event to Parser to get the event schema
      * @param oneEvent
@@ -23,8 +23,10 @@ import org.apache.streampipes.model.connect.adapter.GenericAdapterSetDescription
 import org.apache.streampipes.model.connect.adapter.GenericAdapterStreamDescription;
 import org.apache.streampipes.model.schema.EventSchema;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 public class Util {
 
@@ -46,6 +48,30 @@ public class Util {
         }
     }
 
+    /**
+     * Returns all but the last key of a key path, i.e., the path to the map holding the property.
+     */
+    public static List<String> getParentKeys(List<String> keys) {
+        return new ArrayList<>(keys.subList(0, keys.size() - 1));
+    }
+
+    /**
+     * Returns the nested map of the event at the given key path, or null if the event has no map
+     * at this path.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> getNestedMap(Map<String, Object> event, List<String> keys) {
+        Map<String, Object> map = event;
+        for (String key : keys) {
+            Object nested = map.get(key);
+            if (!(nested instanceof Map)) {
+                return null;
+            }
+            map = (Map<String, Object>) nested;
+        }
+        return map;
+    }
+
     public static EventSchema getEventSchema(GenericAdapterDescription adapterDescription) {
         if(adapterDescription instanceof GenericAdapterStreamDescription) {
             return ((GenericAdapterStreamDescription) adapterDescription).getDataStream().getEventSchema();
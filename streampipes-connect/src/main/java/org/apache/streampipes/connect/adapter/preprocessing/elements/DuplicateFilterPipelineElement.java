@@ -20,58 +20,95 @@ package org.apache.streampipes.connect.adapter.preprocessing.elements;
 
 import org.apache.streampipes.connect.adapter.model.pipeline.AdapterPipelineElement;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  *  A hash of events is stored to check if event was already sent
  *  If the same event is sent multiple times the timer is always reseted to cover polling of rest endpoints
  *  User can configure how long events are stored in cache, it should be minimum 2x the polling intervall
+ *  The number of stored hashes is bounded, if more distinct events arrive within the time window, the oldest
+ *  hashes are forgotten earlier
  */
 public class DuplicateFilterPipelineElement implements AdapterPipelineElement {
 
     /**
-     * Lifetime of events
+     * Environment variable to configure the maximum number of event hashes stored within the time window
      */
-    private long filterTimeWindow;
+    public static final String MAX_EVENTS = "SP_CONNECT_DUPLICATE_FILTER_MAX_EVENTS";
+
+    private static final int DEFAULT_MAX_EVENTS = 100000;
+
+    private final TimeSlicedHashSet eventState;
 
     public DuplicateFilterPipelineElement(String filterTimeWindow) {
-        // convert it to seconds
-        this.filterTimeWindow = 1000 * Long.parseLong(filterTimeWindow);
+        this(filterTimeWindow, maxEventsFromEnvironment());
     }
 
-    // Trade of between computation and storage, maybe change value in future
-    private static final long CLEAN_UP_INTERVAL_MILLI_SEC = 10000   ; //10 seconds
-
-    private Map<Integer, Long> eventState = new HashMap<>();
-    private long lastCleanUpTimestamp = System.currentTimeMillis();
+    public DuplicateFilterPipelineElement(String filterTimeWindow, int maxEvents) {
+        // convert it to seconds
+        long filterTimeWindowMillis = 1000 * Long.parseLong(filterTimeWindow);
+        this.eventState = new TimeSlicedHashSet(filterTimeWindowMillis, maxEvents, System.currentTimeMillis());
+    }
 
     @Override
     public Map<String, Object> process(Map<String, Object> event) {
-        cleanUpEvenState();
-
-        int hash = event.hashCode();
+        if (eventState.add(hash(event), System.currentTimeMillis())) {
+            return event;
+        }
+        return null;
+    }
 
-        if (isDuplicatedEvent(hash)) {
-            saveEvent(hash);
-            return null;
+    /**
+     * 64-bit hash of the event content, the order of map entries does not change the hash
+     */
+    static long hash(Object value) {
+        if (value == null) {
+            return 0x9E3779B97F4A7C15L;
+        } else if (value instanceof Map) {
+            long hash = 0x4D;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                hash += mix(hash(entry.getKey()) * 31 + hash(entry.getValue()));
+            }
+            return mix(hash);
+        } else if (value instanceof List) {
+            long hash = 0x4C;
+            for (Object element : (List<?>) value) {
+                hash = hash * 31 + hash(element);
+            }
+            return mix(hash);
+        } else if (value instanceof String) {
+            return mix(fnv((String) value));
+        } else if (value instanceof Double || value instanceof Float) {
+            return mix(Double.doubleToLongBits(((Number) value).doubleValue()) ^ 0x44);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte) {
+            return mix(((Number) value).longValue());
+        } else {
+            return mix(fnv(value.toString()) ^ value.getClass().getName().hashCode());
         }
-        saveEvent(hash);
-        return event;
     }
 
-    private boolean isDuplicatedEvent(int key) {
-        return eventState.containsKey(key);
+    private static long fnv(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
     }
 
-    private void saveEvent(int key) {
-        eventState.put(key, System.currentTimeMillis());
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93e53ca6fe1L;
+        hash ^= hash >>> 33;
+        return hash;
     }
 
-    private void cleanUpEvenState() {
-        if (System.currentTimeMillis() > lastCleanUpTimestamp + CLEAN_UP_INTERVAL_MILLI_SEC) {
-           eventState.entrySet().removeIf(entry -> entry.getValue() + filterTimeWindow < System.currentTimeMillis());
-           lastCleanUpTimestamp = System.currentTimeMillis();
-        }
+    private static int maxEventsFromEnvironment() {
+        String maxEvents = System.getenv(MAX_EVENTS);
+        return maxEvents != null ? Integer.parseInt(maxEvents) : DEFAULT_MAX_EVENTS;
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.elements;
+
+import java.util.Arrays;
+
+/**
+ * A set of 64-bit hashes which forgets hashes after a time window. The window is divided into
+ * slices, each being an open-addressing table of primitive longs. Hashes are added to the current
+ * slice, and whenever a slice has expired, the oldest slice is cleared and reused. The number of
+ * hashes per slice is bounded, a full slice is rotated early, which shortens the window instead
+ * of growing the set. Slice tables are allocated when first used and grow with their number of
+ * hashes, so that memory follows the actual event rate rather than the configured maximum.
+ */
+public class TimeSlicedHashSet {
+
+    private static final int SLICES = 8;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long EMPTY = 0L;
+
+    private final long sliceDurationMillis;
+    private final int maxSliceSize;
+    private final int maxCapacity;
+
+    // one more slice than the window is divided into, so that the oldest slice covers its start
+    private final long[][] slices;
+    private final int[] sliceSizes;
+    private int currentSlice;
+    private long currentSliceStart;
+
+    public TimeSlicedHashSet(long windowMillis, int maxHashes, long now) {
+        this.sliceDurationMillis = Math.max(1, windowMillis / SLICES);
+        this.maxSliceSize = Math.max(1, (maxHashes + SLICES - 1) / SLICES);
+        // keep the load factor of a full slice at or below 0.5
+        this.maxCapacity = Integer.highestOneBit(Math.max(1, maxSliceSize - 1)) << 2;
+        this.slices = new long[SLICES + 1][];
+        this.sliceSizes = new int[SLICES + 1];
+        this.currentSlice = 0;
+        this.currentSliceStart = now;
+    }
+
+    /**
+     * Adds the hash to the set and returns true if it was not contained. A hash which was already
+     * contained is moved to the current slice, so that it is kept for another window.
+     */
+    public boolean add(long hash, long now) {
+        rotate(now);
+        long key = hash == EMPTY ? 1L : hash;
+
+        boolean contained = false;
+        for (int i = 0; i < slices.length && !contained; i++) {
+            if (slices[i] != null && contains(slices[i], key)) {
+                if (i == currentSlice) {
+                    return false;
+                }
+                contained = true;
+            }
+        }
+
+        if (sliceSizes[currentSlice] >= maxSliceSize) {
+            nextSlice(now);
+        }
+        ensureCapacity(currentSlice, sliceSizes[currentSlice] + 1);
+        insert(slices[currentSlice], key);
+        sliceSizes[currentSlice]++;
+        return !contained;
+    }
+
+    private void rotate(long now) {
+        long elapsedSlices = (now - currentSliceStart) / sliceDurationMillis;
+        if (elapsedSlices >= slices.length) {
+            for (int i = 0; i < slices.length; i++) {
+                clear(i);
+            }
+            currentSliceStart = now;
+        } else {
+            for (long i = 0; i < elapsedSlices; i++) {
+                nextSlice(currentSliceStart + sliceDurationMillis);
+            }
+        }
+    }
+
+    private void nextSlice(long sliceStart) {
+        currentSlice = (currentSlice + 1) % slices.length;
+        clear(currentSlice);
+        currentSliceStart = sliceStart;
+    }
+
+    // cleared tables are kept for reuse, they have grown to the size the event rate requires
+    private void clear(int slice) {
+        if (slices[slice] != null) {
+            Arrays.fill(slices[slice], EMPTY);
+        }
+        sliceSizes[slice] = 0;
+    }
+
+    private void ensureCapacity(int slice, int size) {
+        long[] table = slices[slice];
+        if (table == null) {
+            slices[slice] = new long[Math.min(INITIAL_CAPACITY, maxCapacity)];
+        } else if (size > table.length / 2 && table.length < maxCapacity) {
+            long[] grown = new long[table.length * 2];
+            for (long key : table) {
+                if (key != EMPTY) {
+                    insert(grown, key);
+                }
+            }
+            slices[slice] = grown;
+        }
+    }
+
+    private boolean contains(long[] table, long key) {
+        int mask = table.length - 1;
+        for (int i = index(key, mask); table[i] != EMPTY; i = (i + 1) & mask) {
+            if (table[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insert(long[] table, long key) {
+        int mask = table.length - 1;
+        int i = index(key, mask);
+        while (table[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+    }
+
+    private int index(long key, int mask) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.elements;
+
+import org.apache.streampipes.connect.adapter.model.pipeline.AdapterPipelineElement;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.TransformationPlan;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.TransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.AddTimestampTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.AddValueTransformationRule;
+import org.apache.streampipes.model.connect.rules.schema.SchemaTransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.AddTimestampRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.AddValueTransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.ValueTransformationRuleDescription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the add timestamp, add value, schema and value transformation elements by a single
+ * element applying all of their rules in one compiled {@link TransformationPlan}.
+ */
+public class TransformEventAdapterPipelineElement implements AdapterPipelineElement {
+
+    private TransformationPlan transformationPlan;
+
+    public TransformEventAdapterPipelineElement(AddTimestampRuleDescription timestampRuleDescription,
+                                                AddValueTransformationRuleDescription valueRuleDescription,
+                                                List<SchemaTransformationRuleDescription> schemaRuleDescriptions,
+                                                List<ValueTransformationRuleDescription> valueRuleDescriptions) {
+        List<TransformationRule> rules = new ArrayList<>();
+
+        if (timestampRuleDescription != null) {
+            rules.add(new AddTimestampTransformationRule(timestampRuleDescription.getRuntimeKey()));
+        }
+
+        if (valueRuleDescription != null) {
+            rules.add(new AddValueTransformationRule(valueRuleDescription.getRuntimeKey(),
+                    valueRuleDescription.getStaticValue()));
+        }
+
+        rules.addAll(TransformSchemaAdapterPipelineElement.toRules(schemaRuleDescriptions));
+        rules.addAll(TransformValueAdapterPipelineElement.toRules(valueRuleDescriptions));
+
+        this.transformationPlan = new TransformationPlan(rules);
+    }
+
+    @Override
+    public Map<String, Object> process(Map<String, Object> event) {
+        return transformationPlan.transform(event);
+    }
+}
@@ -34,9 +34,13 @@ import java.util.Map;
 public class TransformSchemaAdapterPipelineElement implements AdapterPipelineElement {
 
     private SchemaEventTransformer eventTransformer;
-    Logger logger = LoggerFactory.getLogger(TransformSchemaAdapterPipelineElement.class);
+    private static Logger logger = LoggerFactory.getLogger(TransformSchemaAdapterPipelineElement.class);
 
     public TransformSchemaAdapterPipelineElement(List<SchemaTransformationRuleDescription> transformationRuleDescriptions) {
+        eventTransformer = new SchemaEventTransformer(toRules(transformationRuleDescriptions));
+    }
+
+    public static List<TransformationRule> toRules(List<SchemaTransformationRuleDescription> transformationRuleDescriptions) {
         List<TransformationRule> rules = new ArrayList<>();
 
         // transforms description to actual rules
@@ -58,7 +62,7 @@ public class TransformSchemaAdapterPipelineElement implements AdapterPipelineEle
             }
         }
 
-        eventTransformer = new SchemaEventTransformer(rules);
+        return rules;
     }
 
     @Override
@@ -56,9 +56,19 @@ public class TransformStreamAdapterElement implements AdapterPipelineElement {
     }
 
     public void addStreamTransformationRuleDescription(StreamTransformationRuleDescription ruleDescription) {
+        addStreamTransformationRuleDescription(ruleDescription, null);
+    }
+
+    /**
+     * Adds the rule, the property with the given runtime name holds the event timestamp and is
+     * not aggregated by event rate rules.
+     */
+    public void addStreamTransformationRuleDescription(StreamTransformationRuleDescription ruleDescription,
+                                                       String timestampKey) {
         if (ruleDescription instanceof EventRateTransformationRuleDescription) {
             EventRateTransformationRuleDescription tmp = (EventRateTransformationRuleDescription) ruleDescription;
-            eventTransformer.addEventRateTransformationRule(new EventRateTransformationRule(tmp.getAggregationTimeWindow(), tmp.getAggregationType()));
+            eventTransformer.addEventRateTransformationRule(new EventRateTransformationRule(tmp.getAggregationTimeWindow(),
+                    tmp.getAggregationType(), timestampKey));
         }
     }
 
@@ -36,9 +36,13 @@ import java.util.Map;
 public class TransformValueAdapterPipelineElement implements AdapterPipelineElement {
 
     private ValueEventTransformer eventTransformer;
-    private Logger logger = LoggerFactory.getLogger(TransformValueAdapterPipelineElement.class);
+    private static Logger logger = LoggerFactory.getLogger(TransformValueAdapterPipelineElement.class);
 
     public TransformValueAdapterPipelineElement(List<ValueTransformationRuleDescription> transformationRuleDescriptions) {
+        eventTransformer = new ValueEventTransformer(toRules(transformationRuleDescriptions));
+    }
+
+    public static List<ValueTransformationRule> toRules(List<ValueTransformationRuleDescription> transformationRuleDescriptions) {
         List<ValueTransformationRule> rules = new ArrayList<>();
 
         // transforms description to actual rules
@@ -68,7 +72,7 @@ public class TransformValueAdapterPipelineElement implements AdapterPipelineElem
             }
         }
 
-        eventTransformer = new ValueEventTransformer(rules);
+        return rules;
     }
 
     @Override
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform;
+
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A rule which only modifies the map holding the property it is defined on. The key path to
+ * this map is known when the rule is created, so that a {@link TransformationPlan} can apply all
+ * rules on the same map after looking it up once.
+ */
+public interface KeyTransformationRule extends TransformationRule {
+
+    /**
+     * Returns the keys leading from the event to the map holding the property, which are empty
+     * for top-level properties.
+     */
+    List<String> getParentKeys();
+
+    void apply(Map<String, Object> parent);
+
+    @Override
+    default Map<String, Object> transform(Map<String, Object> event) {
+        Map<String, Object> parent = Util.getNestedMap(event, getParentKeys());
+        if (parent != null) {
+            apply(parent);
+        }
+        return event;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform;
+
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.schema.CreateNestedTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.schema.DeleteTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.schema.MoveTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.schema.RenameTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.AddTimestampTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.AddValueTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.CorrectionValueTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.TimestampTranformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.UnitTransformationRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the schema and value rules of an adapter in one pass over each event.
+ * <p>
+ * The rules are applied in the same order as by the single pipeline elements: added properties
+ * first, then renames, nested properties, moves and deletes, then unit, timestamp and correction
+ * rules. Consecutive rules on the same map are compiled into one step which looks up the map once.
+ * Value rules do not change the structure of the event, so they are additionally grouped by the
+ * map they modify.
+ */
+public class TransformationPlan implements TransformationRule {
+
+    private static final List<Class<? extends TransformationRule>> SCHEMA_RULE_ORDER = Arrays.asList(
+            AddTimestampTransformationRule.class,
+            AddValueTransformationRule.class,
+            RenameTransformationRule.class,
+            CreateNestedTransformationRule.class,
+            MoveTransformationRule.class,
+            DeleteTransformationRule.class);
+
+    private static final List<Class<? extends TransformationRule>> VALUE_RULE_ORDER = Arrays.asList(
+            UnitTransformationRule.class,
+            TimestampTranformationRule.class,
+            CorrectionValueTransformationRule.class);
+
+    private List<TransformationRule> steps;
+
+    public TransformationPlan(List<? extends TransformationRule> rules) {
+        List<TransformationRule> orderedRules = new ArrayList<>();
+        for (Class<? extends TransformationRule> type : SCHEMA_RULE_ORDER) {
+            orderedRules.addAll(filter(rules, type));
+        }
+
+        List<KeyTransformationRule> valueRules = new ArrayList<>();
+        for (Class<? extends TransformationRule> type : VALUE_RULE_ORDER) {
+            filter(rules, type).forEach(rule -> valueRules.add((KeyTransformationRule) rule));
+        }
+        orderedRules.addAll(groupByParent(valueRules, orderedRules.isEmpty() ? null :
+                orderedRules.get(orderedRules.size() - 1)));
+
+        this.steps = compile(orderedRules);
+    }
+
+    @Override
+    public Map<String, Object> transform(Map<String, Object> event) {
+        for (TransformationRule step : steps) {
+            event = step.transform(event);
+        }
+        return event;
+    }
+
+    public int getStepCount() {
+        return steps.size();
+    }
+
+    private static List<TransformationRule> filter(List<? extends TransformationRule> rules,
+                                                   Class<? extends TransformationRule> type) {
+        List<TransformationRule> result = new ArrayList<>();
+        for (TransformationRule rule : rules) {
+            if (type.isInstance(rule)) {
+                result.add(rule);
+            }
+        }
+        return result;
+    }
+
+    // the value rules on the map of the preceding rule come first, so that they share its step
+    private static List<KeyTransformationRule> groupByParent(List<KeyTransformationRule> rules,
+                                                             TransformationRule precedingRule) {
+        Map<List<String>, List<KeyTransformationRule>> groups = new LinkedHashMap<>();
+        if (precedingRule instanceof KeyTransformationRule) {
+            groups.put(((KeyTransformationRule) precedingRule).getParentKeys(), new ArrayList<>());
+        }
+        for (KeyTransformationRule rule : rules) {
+            groups.computeIfAbsent(rule.getParentKeys(), keys -> new ArrayList<>()).add(rule);
+        }
+
+        List<KeyTransformationRule> result = new ArrayList<>();
+        groups.values().forEach(result::addAll);
+        return result;
+    }
+
+    private static List<TransformationRule> compile(List<TransformationRule> rules) {
+        List<TransformationRule> steps = new ArrayList<>();
+        List<KeyTransformationRule> sameParentRules = new ArrayList<>();
+
+        for (TransformationRule rule : rules) {
+            if (!sameParentRules.isEmpty() && !(rule instanceof KeyTransformationRule &&
+                    hasSameParent(sameParentRules.get(0), (KeyTransformationRule) rule))) {
+                steps.add(new KeyStep(sameParentRules));
+                sameParentRules = new ArrayList<>();
+            }
+
+            if (rule instanceof KeyTransformationRule) {
+                sameParentRules.add((KeyTransformationRule) rule);
+            } else {
+                steps.add(rule);
+            }
+        }
+
+        if (!sameParentRules.isEmpty()) {
+            steps.add(new KeyStep(sameParentRules));
+        }
+        return steps;
+    }
+
+    private static boolean hasSameParent(KeyTransformationRule first, KeyTransformationRule second) {
+        return first.getParentKeys().equals(second.getParentKeys());
+    }
+
+    private static class KeyStep implements TransformationRule {
+
+        private final List<String> parentKeys;
+        private final KeyTransformationRule[] rules;
+
+        KeyStep(List<KeyTransformationRule> rules) {
+            this.parentKeys = rules.get(0).getParentKeys();
+            this.rules = rules.toArray(new KeyTransformationRule[0]);
+        }
+
+        @Override
+        public Map<String, Object> transform(Map<String, Object> event) {
+            Map<String, Object> parent = Util.getNestedMap(event, parentKeys);
+            if (parent != null) {
+                for (KeyTransformationRule rule : rules) {
+                    rule.apply(parent);
+                }
+            }
+            return event;
+        }
+    }
+}
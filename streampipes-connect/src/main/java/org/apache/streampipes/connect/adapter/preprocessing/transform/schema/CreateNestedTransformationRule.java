@@ -18,38 +18,29 @@
 
 package org.apache.streampipes.connect.adapter.preprocessing.transform.schema;
 
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.KeyTransformationRule;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class CreateNestedTransformationRule implements SchemaTransformationRule {
-    private List<String> key;
+public class CreateNestedTransformationRule implements SchemaTransformationRule, KeyTransformationRule {
+    private List<String> parentKeys;
+    private String key;
 
     public CreateNestedTransformationRule(List<String> key) {
-        this.key = key;
+        this.parentKeys = Util.getParentKeys(key);
+        this.key = key.get(key.size() - 1);
     }
 
     @Override
-    public Map<String, Object> transform(Map<String, Object> event) {
-        return transform(event, key);
+    public List<String> getParentKeys() {
+        return parentKeys;
     }
 
-    private Map<String, Object> transform(Map<String, Object> event, List<String> keys) {
-
-        if (keys.size() == 1) {
-            event.put(keys.get(0), new HashMap<>());
-            return event;
-        } else {
-            String key = keys.get(0);
-            List<String> newKeysTmpList = keys.subList(1, keys.size());
-
-            Map<String, Object> newSubEvent =
-                    transform((Map<String, Object>) event.get(keys.get(0)), newKeysTmpList);
-
-            event.remove(key);
-            event.put(key, newSubEvent);
-            return event;
-        }
-
+    @Override
+    public void apply(Map<String, Object> parent) {
+        parent.put(key, new HashMap<>());
     }
 }
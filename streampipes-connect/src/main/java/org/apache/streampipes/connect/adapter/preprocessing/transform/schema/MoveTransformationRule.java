@@ -18,90 +18,55 @@
 
 package org.apache.streampipes.connect.adapter.preprocessing.transform.schema;
 
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+
 import java.util.*;
 
 public class MoveTransformationRule implements SchemaTransformationRule {
 
-    private List<String> oldKey;
-    private List<String> newKey;
+    private List<String> oldParentKeys;
+    private String oldKey;
+    private List<String> newParentKeys;
+    // null if the property is moved to the top level of the event
+    private String newKey;
 
     public MoveTransformationRule(List<String> oldKey, List<String> newKey) {
-        this.oldKey = oldKey;
-
-//        List<String> tmp = new ArrayList<>();
-//        for (int i = 0; i < newKey.size() - 1; i++) {
-//            tmp.add(newKey.get(i));
-//        }
+        this.oldParentKeys = Util.getParentKeys(oldKey);
+        this.oldKey = oldKey.get(oldKey.size() - 1);
 
-        this.newKey = newKey;
+        if (newKey.size() == 0 || (newKey.size() == 1 && newKey.get(0).equals(""))) {
+            this.newParentKeys = Collections.emptyList();
+            this.newKey = null;
+        } else {
+            this.newParentKeys = Util.getParentKeys(newKey);
+            this.newKey = newKey.get(newKey.size() - 1);
+        }
     }
 
     @Override
     public Map<String, Object> transform(Map<String, Object> event) {
+        Map<String, Object> oldParent = Util.getNestedMap(event, oldParentKeys);
+        Map<String, Object> newParent = Util.getNestedMap(event, newParentKeys);
 
-        Map<String, Object> objectToMove = (Map<String, Object>) ((HashMap<String, Object>) getItem(event, oldKey)).clone();
-
-
-        Map<String, Object> resultEvent = addItem(event, newKey, objectToMove);
-        resultEvent = deleteItem(resultEvent, oldKey);
-
-        return resultEvent;
-    }
-
-    private Map<String, Object> addItem(Map<String, Object> event, List<String> keys, Map<String, Object> movedObject) {
-        if (keys.size() == 0 || (keys.size() == 1 && keys.get(0).equals(""))) {
-            String key = (String) movedObject.keySet().toArray()[0];
-            event.put(key, movedObject.get(key));
-            return event;
-        } else if (keys.size() == 1) {
-            if (event.get(keys.get(0)) != null && event.get(keys.get(0)) instanceof HashMap) {
-                String movedObjectKey = movedObject.keySet().iterator().next();
-                ((Map<String, Object>) event.get(keys.get(0))).put(movedObjectKey, movedObject.get(movedObjectKey));
-            } else {
-                event.put(keys.get(0), movedObject);
-            }
-            return event;
-        } else {
-            String key = keys.get(0);
-            List<String> newKeysTmpList = keys.subList(1, keys.size());
-
-            Map<String, Object> newSubEvent =
-                    addItem((Map<String, Object>) event.get(keys.get(0)), newKeysTmpList, movedObject);
-
-            event.remove(key);
-            event.put(key, newSubEvent);
-            return event;
+        if (oldParent != null && newParent != null) {
+            Object objectToMove = oldParent.get(oldKey);
+            addItem(newParent, objectToMove);
+            oldParent.remove(oldKey);
         }
-    }
-
-
-    private Map<String, Object> getItem(Map<String, Object> event, List<String> keys) {
-        if (keys.size() == 1) {
-            Map<String, Object> res = new HashMap<>();
-            res.put(keys.get(0), event.get(keys.get(0)));
-            return res;
-        } else {
-            List<String> newKeysTmpList = keys.subList(1, keys.size());
 
-            return getItem((Map<String, Object>) event.get(keys.get(0)), newKeysTmpList);
-        }
+        return event;
     }
 
-    private Map<String, Object> deleteItem(Map<String, Object> event, List<String> keys) {
-        if (keys.size() == 1) {
-
-            event.remove(keys.get(0));
-            return event;
+    @SuppressWarnings("unchecked")
+    private void addItem(Map<String, Object> newParent, Object movedObject) {
+        if (newKey == null) {
+            newParent.put(oldKey, movedObject);
+        } else if (newParent.get(newKey) instanceof HashMap) {
+            ((Map<String, Object>) newParent.get(newKey)).put(oldKey, movedObject);
         } else {
-            String key = keys.get(0);
-            List<String> newKeysTmpList = keys.subList(1, keys.size());
-
-            Map<String, Object> newSubEvent =
-                    deleteItem((Map<String, Object>) event.get(keys.get(0)), newKeysTmpList);
-
-            event.remove(key);
-            event.put(key, newSubEvent);
-            return event;
+            Map<String, Object> nested = new HashMap<>();
+            nested.put(oldKey, movedObject);
+            newParent.put(newKey, nested);
         }
     }
 }
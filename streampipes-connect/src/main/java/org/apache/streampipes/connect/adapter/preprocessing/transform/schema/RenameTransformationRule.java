@@ -18,42 +18,31 @@
 
 package org.apache.streampipes.connect.adapter.preprocessing.transform.schema;
 
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.KeyTransformationRule;
+
 import java.util.List;
 import java.util.Map;
 
-public class RenameTransformationRule implements SchemaTransformationRule {
-    private List<String> oldKey;
+public class RenameTransformationRule implements SchemaTransformationRule, KeyTransformationRule {
+    private List<String> parentKeys;
+    private String oldKey;
     private  String newKey;
 
     public RenameTransformationRule(List<String> oldKey, String newKey) {
-        this.oldKey = oldKey;
+        this.parentKeys = Util.getParentKeys(oldKey);
+        this.oldKey = oldKey.get(oldKey.size() - 1);
         this.newKey = newKey;
     }
 
     @Override
-    public Map<String, Object> transform(Map<String, Object> event) {
-        Map<String, Object> nestedEvent = event;
-
-        return transform(event, oldKey);
+    public List<String> getParentKeys() {
+        return parentKeys;
     }
 
-    private Map<String, Object> transform(Map<String, Object> event, List<String> keys) {
-        if (keys.size() == 1) {
-            Object o = event.get(keys.get(0));
-            event.remove(keys.get(0));
-            event.put(newKey, o);
-
-        } else {
-            String key = keys.get(0);
-            List<String> newKeysTmpList = keys.subList(1, keys.size());
-            Map<String, Object> newSubEvent =
-                    transform((Map<String, Object>) event.get(key), newKeysTmpList);
-
-            event.remove(key);
-            event.put(key, newSubEvent);
-        }
-
-        return event;
+    @Override
+    public void apply(Map<String, Object> parent) {
+        Object o = parent.remove(oldKey);
+        parent.put(newKey, o);
     }
 }
-
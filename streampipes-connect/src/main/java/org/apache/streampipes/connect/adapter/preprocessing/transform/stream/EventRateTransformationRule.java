@@ -21,9 +21,18 @@ package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
 import io.fogsy.empire.annotations.RdfProperty;
 import org.apache.streampipes.vocabulary.StreamPipes;
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Reduces the event rate to one event per time window. With the aggregation type none, the first
+ * event after a window is passed on. Otherwise the numeric top-level properties are aggregated
+ * over the window and the aggregates are emitted with the last event of the window. The timestamp
+ * property is not aggregated, the emitted event keeps the timestamp of the last event. Aggregates
+ * are kept per property in arrays, events themselves are not stored. Minimum, maximum and last
+ * value keep the type of the original value, sums of integral values are computed exactly.
+ */
 public class EventRateTransformationRule implements StreamTransformationRule {
 
     @RdfProperty(StreamPipes.FILTER_TIME_WINDOW)
@@ -33,34 +42,148 @@ public class EventRateTransformationRule implements StreamTransformationRule {
     @RdfProperty(StreamPipes.AGGREGATION_TYPE)
     private String aggregationType;
 
-    private LinkedList<Map<String, Object>> eventStorage = new LinkedList<>();
+    private String timestampKey;
+
     private long lastSentToPipelineTimestamp = System.currentTimeMillis();
 
+    private Map<String, Integer> fieldIndex = new HashMap<>();
+    private Number[] min = new Number[0];
+    private Number[] max = new Number[0];
+    private Number[] last = new Number[0];
+    private double[] sum = new double[0];
+    private long[] integralSum = new long[0];
+    private long[] count = new long[0];
+    private boolean[] integral = new boolean[0];
+
     public EventRateTransformationRule(long aggregationTimeWindow, String aggregationType) {
+        this(aggregationTimeWindow, aggregationType, null);
+    }
+
+    /**
+     * @param timestampKey the runtime name of the top-level timestamp property, which is excluded
+     *                     from aggregation, or null if the events do not have one
+     */
+    public EventRateTransformationRule(long aggregationTimeWindow, String aggregationType, String timestampKey) {
         this.aggregationTimeWindow = aggregationTimeWindow;
         this.aggregationType = aggregationType;
+        this.timestampKey = timestampKey;
     }
 
     @Override
     public Map<String, Object> transform(Map<String, Object> event) {
-        if (!aggregationType.equals("none")) {
-            eventStorage.add(event);
-        }
+        return transform(event, System.currentTimeMillis());
+    }
 
-        if (System.currentTimeMillis() > lastSentToPipelineTimestamp + aggregationTimeWindow) {
-            switch (aggregationType) {
-                case "none":
-                    lastSentToPipelineTimestamp = System.currentTimeMillis();
-                    return event;
-//                case "max":
-//                case "min":
-//                case "mean":
-//                case "sum":
+    Map<String, Object> transform(Map<String, Object> event, long now) {
+        boolean aggregate = !aggregationType.equals("none");
+        if (aggregate) {
+            add(event);
+        }
 
+        if (now > lastSentToPipelineTimestamp + aggregationTimeWindow) {
+            lastSentToPipelineTimestamp = now;
+            if (aggregate) {
+                emit(event);
+                reset();
             }
+            return event;
         }
         return null;
     }
 
+    private void add(Map<String, Object> event) {
+        for (Map.Entry<String, Object> entry : event.entrySet()) {
+            if (entry.getValue() instanceof Number && !entry.getKey().equals(timestampKey)) {
+                Number number = (Number) entry.getValue();
+                int i = index(entry.getKey());
+
+                if (min[i] == null || compare(number, min[i]) < 0) {
+                    min[i] = number;
+                }
+                if (max[i] == null || compare(number, max[i]) > 0) {
+                    max[i] = number;
+                }
+                sum[i] += number.doubleValue();
+                integralSum[i] += number.longValue();
+                last[i] = number;
+                count[i]++;
+                integral[i] &= isIntegral(number);
+            }
+        }
+    }
+
+    private void emit(Map<String, Object> event) {
+        for (Map.Entry<String, Integer> field : fieldIndex.entrySet()) {
+            int i = field.getValue();
+            if (count[i] > 0) {
+                switch (aggregationType) {
+                    case "max":
+                        event.put(field.getKey(), max[i]);
+                        break;
+                    case "min":
+                        event.put(field.getKey(), min[i]);
+                        break;
+                    case "mean":
+                        event.put(field.getKey(), (integral[i] ? (double) integralSum[i] : sum[i]) / count[i]);
+                        break;
+                    case "sum":
+                        event.put(field.getKey(), integral[i] ? (Number) integralSum[i] : (Number) sum[i]);
+                        break;
+                    default:
+                        event.put(field.getKey(), last[i]);
+                }
+            }
+        }
+    }
+
+    private int index(String key) {
+        Integer i = fieldIndex.get(key);
+        if (i == null) {
+            i = fieldIndex.size();
+            fieldIndex.put(key, i);
+            if (i == count.length) {
+                grow(Math.max(4, 2 * count.length));
+            }
+            resetField(i);
+        }
+        return i;
+    }
+
+    private void grow(int size) {
+        min = Arrays.copyOf(min, size);
+        max = Arrays.copyOf(max, size);
+        last = Arrays.copyOf(last, size);
+        sum = Arrays.copyOf(sum, size);
+        integralSum = Arrays.copyOf(integralSum, size);
+        count = Arrays.copyOf(count, size);
+        integral = Arrays.copyOf(integral, size);
+    }
+
+    private void reset() {
+        for (int i = 0; i < fieldIndex.size(); i++) {
+            resetField(i);
+        }
+    }
+
+    private void resetField(int i) {
+        min[i] = null;
+        max[i] = null;
+        last[i] = null;
+        sum[i] = 0;
+        integralSum[i] = 0;
+        count[i] = 0;
+        integral[i] = true;
+    }
+
+    private int compare(Number a, Number b) {
+        return isIntegral(a) && isIntegral(b)
+                ? Long.compare(a.longValue(), b.longValue())
+                : Double.compare(a.doubleValue(), b.doubleValue());
+    }
+
+    private boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short
+                || number instanceof Byte;
+    }
 
 }
@@ -59,6 +59,10 @@ public class StreamEventTransformer implements StreamTransformationRule {
 
         for (EventRateTransformationRule rateRule : eventRateTransformationRules) {
             event = rateRule.transform(event);
+            // the event is part of a window which is not complete yet
+            if (event == null) {
+                return null;
+            }
         }
 
         return event;
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.value;
+
+import org.apache.streampipes.connect.adapter.preprocessing.transform.KeyTransformationRule;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class AddValueTransformationRule implements ValueTransformationRule, KeyTransformationRule {
+
+    private String runtimeKey;
+    private String value;
+
+    public AddValueTransformationRule(String runtimeKey, String value) {
+        this.runtimeKey = runtimeKey;
+        this.value = value;
+    }
+
+    @Override
+    public List<String> getParentKeys() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void apply(Map<String, Object> parent) {
+        parent.put(runtimeKey, value);
+    }
+}
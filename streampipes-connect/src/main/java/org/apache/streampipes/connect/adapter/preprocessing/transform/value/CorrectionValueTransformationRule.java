@@ -20,15 +20,18 @@ package org.apache.streampipes.connect.adapter.preprocessing.transform.value;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.KeyTransformationRule;
 
 import java.util.List;
 import java.util.Map;
 
-public class CorrectionValueTransformationRule implements ValueTransformationRule {
+public class CorrectionValueTransformationRule implements ValueTransformationRule, KeyTransformationRule {
 
     private static Logger logger = LoggerFactory.getLogger(CorrectionValueTransformationRule.class);
 
-    private final List<String> eventKey;
+    private final List<String> parentKeys;
+    private final String eventKey;
     private final double correctionValue;
     private final String operator;
 
@@ -36,58 +39,43 @@ public class CorrectionValueTransformationRule implements ValueTransformationRul
                                              double correctionValue, String operator) {
         this.correctionValue = correctionValue;
         this.operator = operator;
-        this.eventKey = keys;
+        this.parentKeys = Util.getParentKeys(keys);
+        this.eventKey = keys.get(keys.size() - 1);
     }
 
     @Override
-    public Map<String, Object> transform(Map<String, Object> event) {
-        return transform(event, eventKey);
+    public List<String> getParentKeys() {
+        return parentKeys;
     }
 
-    private Map<String, Object> transform(Map<String, Object> event, List<String> eventKey) {
-
-        if (eventKey.size() == 1) {
-            try {
-                Object obj = event.get(eventKey.get(0));
-                double old = 0d;
-                if (obj instanceof Number) {
-                    old = ((Number) obj).doubleValue();
-                }
-
-                double corrected = 0d;
-                switch (operator) {
-                    case "MULTIPLY":
-                        corrected = old * correctionValue;
-                        break;
-                    case "ADD":
-                        corrected = old + correctionValue;
-                        break;
-                    case "SUBSTRACT":
-                        corrected = old - correctionValue;
-                        break;
-                    default:
-                        corrected = old;
-                        break;
-                }
-
-                event.put(eventKey.get(0), corrected);
-            } catch (ClassCastException e) {
-                logger.error(e.toString());
+    @Override
+    public void apply(Map<String, Object> parent) {
+        try {
+            Object obj = parent.get(eventKey);
+            double old = 0d;
+            if (obj instanceof Number) {
+                old = ((Number) obj).doubleValue();
             }
-            return event;
 
-        } else {
-            String key = eventKey.get(0);
-            List<String> newKeysTmpList = eventKey.subList(1, eventKey.size());
-
-            Map<String, Object> newSubEvent =
-                    transform((Map<String, Object>) event.get(eventKey.get(0)), newKeysTmpList);
-
-            event.remove(key);
-            event.put(key, newSubEvent);
+            double corrected = 0d;
+            switch (operator) {
+                case "MULTIPLY":
+                    corrected = old * correctionValue;
+                    break;
+                case "ADD":
+                    corrected = old + correctionValue;
+                    break;
+                case "SUBSTRACT":
+                    corrected = old - correctionValue;
+                    break;
+                default:
+                    corrected = old;
+                    break;
+            }
 
-            return event;
+            parent.put(eventKey, corrected);
+        } catch (ClassCastException e) {
+            logger.error(e.toString());
         }
-
     }
 }
@@ -20,78 +20,69 @@ package org.apache.streampipes.connect.adapter.preprocessing.transform.value;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.KeyTransformationRule;
+import org.apache.streampipes.connect.adapter.util.TimestampParser;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
 import java.util.List;
 import java.util.Map;
 
-public class TimestampTranformationRule implements ValueTransformationRule {
+public class TimestampTranformationRule implements ValueTransformationRule, KeyTransformationRule {
 
-    private List<String> eventKey;
+    private List<String> parentKeys;
+    private String eventKey;
     private TimestampTranformationRuleMode mode;
     private String formatString;
     private long multiplier;
 
-    private SimpleDateFormat dateFormatter;
+    private TimestampParser dateFormatter;
 
     private static Logger logger = LoggerFactory.getLogger(TimestampTranformationRule.class) ;
 
     public TimestampTranformationRule(List<String> eventKey, TimestampTranformationRuleMode mode, String formatString, long multiplier) {
-        this.eventKey = eventKey;
+        this.parentKeys = Util.getParentKeys(eventKey);
+        this.eventKey = eventKey.get(eventKey.size() - 1);
         this.mode = mode;
         this.formatString = formatString;
         this.multiplier = multiplier;
 
         if (mode == TimestampTranformationRuleMode.FORMAT_STRING)
-            dateFormatter = new SimpleDateFormat(formatString);
+            dateFormatter = TimestampParser.of(formatString);
     }
 
     @Override
-    public Map<String, Object> transform(Map<String, Object> event) {
-        return transform(event, eventKey);
+    public List<String> getParentKeys() {
+        return parentKeys;
     }
 
-    private Map<String, Object> transform(Map<String, Object> event, List<String> eventKey) {
-
-        if (eventKey.size() == 1) {
-
-            switch (mode) {
-                case TIME_UNIT:
-                    long timeLong = Long.valueOf(String.valueOf(event.get(eventKey.get(0))));
-                    event.put(eventKey.get(0), this.performTimeUnitTransformation(timeLong));
-                    break;
-                case FORMAT_STRING:
-                    String dateString = String.valueOf(event.get(eventKey.get(0)));
-                    event.put(eventKey.get(0), performFormatStringTransformation(dateString));
-            }
-
-            return event;
-
-        } else {
-            String key = eventKey.get(0);
-            List<String> newKeysTmpList = eventKey.subList(1, eventKey.size());
-
-            Map<String, Object> newSubEvent =
-                    transform((Map<String, Object>) event.get(eventKey.get(0)), newKeysTmpList);
-
-            event.remove(key);
-            event.put(key, newSubEvent);
-
-            return event;
+    @Override
+    public void apply(Map<String, Object> parent) {
+        switch (mode) {
+            case TIME_UNIT:
+                Object time = parent.get(eventKey);
+                long timeLong = time instanceof Number ? ((Number) time).longValue() : Long.parseLong(String.valueOf(time));
+                parent.put(eventKey, this.performTimeUnitTransformation(timeLong));
+                break;
+            case FORMAT_STRING:
+                Object date = parent.get(eventKey);
+                parent.put(eventKey, performFormatStringTransformation(date));
         }
-
     }
 
     private long performTimeUnitTransformation(long time) {
         return time * multiplier;
     }
 
-    private long performFormatStringTransformation(String date) {
+    private long performFormatStringTransformation(Object date) {
+        // epoch timestamps are accepted when the format is detected automatically
+        if (date instanceof Number && TimestampParser.isAuto(formatString)) {
+            return TimestampParser.fromEpoch(((Number) date).longValue());
+        }
         //TODO how to handle exception?
         try {
-            return dateFormatter.parse(date).getTime();
-        } catch (ParseException e) {
+            return dateFormatter.parse(String.valueOf(date));
+        } catch (DateTimeException | NumberFormatException e) {
             logger.error(e.toString());
         }
         return 0;
@@ -23,15 +23,18 @@ import com.github.jqudt.Unit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.streampipes.units.UnitProvider;
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.KeyTransformationRule;
 
 import java.util.List;
 import java.util.Map;
 
-public class UnitTransformationRule implements ValueTransformationRule {
+public class UnitTransformationRule implements ValueTransformationRule, KeyTransformationRule {
 
     private static Logger logger = LoggerFactory.getLogger(UnitTransformationRule.class);
 
-    private List<String> eventKey;
+    private List<String> parentKeys;
+    private String eventKey;
     private Unit unitTypeFrom;
     private Unit unitTypeTo;
 
@@ -39,43 +42,29 @@ public class UnitTransformationRule implements ValueTransformationRule {
                                   String fromUnitRessourceURL, String toUnitRessourceURL) {
         this.unitTypeFrom = UnitProvider.INSTANCE.getUnit(fromUnitRessourceURL);
         this.unitTypeTo = UnitProvider.INSTANCE.getUnit(toUnitRessourceURL);
-        this.eventKey = keys;
+        this.parentKeys = Util.getParentKeys(keys);
+        this.eventKey = keys.get(keys.size() - 1);
     }
 
     @Override
-    public Map<String, Object> transform(Map<String, Object> event) {
-        return transform(event, eventKey);
+    public List<String> getParentKeys() {
+        return parentKeys;
     }
 
-    private Map<String, Object> transform(Map<String, Object> event, List<String> eventKey) {
-
-        if (eventKey.size() == 1) {
-            try {
-                double value = Double.valueOf(String.valueOf(event.get(eventKey.get(0))));
-
-                Quantity obs = new Quantity(value, unitTypeFrom);
-                double newValue = obs.convertTo(unitTypeTo).getValue();
-
-                event.put(eventKey.get(0), newValue);
-            } catch (ClassCastException e) {
-                logger.error(e.toString());
-            } catch (IllegalAccessException e) {
-                logger.error(e.toString());
-            }
-            return event;
-
-        } else {
-            String key = eventKey.get(0);
-            List<String> newKeysTmpList = eventKey.subList(1, eventKey.size());
-
-            Map<String, Object> newSubEvent =
-                    transform((Map<String, Object>) event.get(eventKey.get(0)), newKeysTmpList);
-
-            event.remove(key);
-            event.put(key, newSubEvent);
-
-            return event;
+    @Override
+    public void apply(Map<String, Object> parent) {
+        try {
+            Object obj = parent.get(eventKey);
+            double value = obj instanceof Number ? ((Number) obj).doubleValue() : Double.valueOf(String.valueOf(obj));
+
+            Quantity obs = new Quantity(value, unitTypeFrom);
+            double newValue = obs.convertTo(unitTypeTo).getValue();
+
+            parent.put(eventKey, newValue);
+        } catch (ClassCastException e) {
+            logger.error(e.toString());
+        } catch (IllegalAccessException e) {
+            logger.error(e.toString());
         }
-
     }
 }
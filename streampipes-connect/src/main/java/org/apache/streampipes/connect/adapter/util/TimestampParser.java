@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.util;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Converts date strings to epoch milliseconds. Parsers are immutable apart from their caches,
+ * which only hold immutable entries, so a parser can be shared between threads.
+ *
+ * Date-time patterns use the notation of SimpleDateFormat. They are parsed with java.time where
+ * the pattern letters have the same meaning in both notations, and with SimpleDateFormat
+ * otherwise, or once a date string does not match the strict field widths of java.time.
+ *
+ * Besides date-time patterns, the format string can be "ISO-8601" (also used for the ISO
+ * patterns in their SimpleDateFormat notation), which is parsed without a formatter for the
+ * common layouts, or "auto", which accepts ISO-8601 strings and epoch seconds, milliseconds,
+ * microseconds or nanoseconds.
+ */
+public abstract class TimestampParser {
+
+  public static final String ISO_8601 = "ISO-8601";
+  public static final String AUTO = "auto";
+
+  private static final List<String> ISO_PATTERNS = Arrays.asList(
+          "yyyy-MM-dd'T'HH:mm:ss'Z'",
+          "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
+          "yyyy-MM-dd'T'HH:mm:ssXXX",
+          "yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+
+  private static final long MILLIS_PER_DAY = 86400000L;
+
+  private static final String SAME_MEANING = "MdHhmskKaEDXZ";
+
+  public static TimestampParser of(String formatString) {
+    return of(formatString, ZoneId.systemDefault());
+  }
+
+  /**
+   * @param zone the zone of date strings without offset
+   */
+  public static TimestampParser of(String formatString, ZoneId zone) {
+    if (isAuto(formatString)) {
+      return new AutoParser(zone);
+    } else if (formatString.equalsIgnoreCase(ISO_8601) || ISO_PATTERNS.contains(formatString)) {
+      return new IsoParser(zone);
+    } else {
+      return new PatternParser(formatString, zone);
+    }
+  }
+
+  public static boolean isAuto(String formatString) {
+    return formatString == null || formatString.isEmpty() || formatString.equalsIgnoreCase(AUTO);
+  }
+
+  /**
+   * @throws DateTimeParseException if the date string does not match the format
+   */
+  public abstract long parse(String date);
+
+  /**
+   * Converts an epoch timestamp to milliseconds, the unit (seconds, milliseconds, microseconds or
+   * nanoseconds) is detected by the magnitude of the value, assuming dates after 1973.
+   */
+  public static long fromEpoch(long epoch) {
+    long abs = Math.abs(epoch);
+    if (abs < 100000000000L) {
+      return epoch * 1000;
+    } else if (abs < 100000000000000L) {
+      return epoch;
+    } else if (abs < 100000000000000000L) {
+      return epoch / 1000;
+    } else {
+      return epoch / 1000000;
+    }
+  }
+
+  /**
+   * Compiles a date-time pattern. Date fields which the pattern does not contain default to
+   * 1970-01-01 like in SimpleDateFormat, so that e.g. "HH:mm:ss" resolves to a time on that day.
+   *
+   * @return the formatter, or null if the pattern letters have a different meaning in java.time
+   */
+  static DateTimeFormatter compile(String pattern) {
+    if (!isJavaTimeCompatible(pattern)) {
+      return null;
+    }
+    String letters = patternLetters(pattern);
+    DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder().appendPattern(pattern);
+    if (!containsAny(letters, "yuY")) {
+      builder.parseDefaulting(ChronoField.YEAR, 1970);
+    }
+    if (!containsAny(letters, "MLDwW")) {
+      builder.parseDefaulting(ChronoField.MONTH_OF_YEAR, 1);
+    }
+    if (!containsAny(letters, "dDwWeEcF")) {
+      builder.parseDefaulting(ChronoField.DAY_OF_MONTH, 1);
+    }
+    return builder.toFormatter();
+  }
+
+  // letters like u (day of week vs. year), z, two-digit years or S (milliseconds vs. fraction)
+  // are interpreted differently by java.time, these patterns are left to SimpleDateFormat
+  private static boolean isJavaTimeCompatible(String pattern) {
+    String letters = patternLetters(pattern);
+    int i = 0;
+    while (i < letters.length()) {
+      char letter = letters.charAt(i);
+      int count = 1;
+      while (i + count < letters.length() && letters.charAt(i + count) == letter) {
+        count++;
+      }
+      boolean compatible = SAME_MEANING.indexOf(letter) >= 0
+              || (letter == 'y' && count == 4)
+              || (letter == 'S' && count == 3);
+      if (!compatible) {
+        return false;
+      }
+      i += count;
+    }
+    return true;
+  }
+
+  // the pattern letters outside of quoted literals
+  private static String patternLetters(String pattern) {
+    StringBuilder letters = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == '\'') {
+        quoted = !quoted;
+      } else if (!quoted && Character.isLetter(c)) {
+        letters.append(c);
+      }
+    }
+    return letters.toString();
+  }
+
+  private static boolean containsAny(String letters, String candidates) {
+    for (int i = 0; i < candidates.length(); i++) {
+      if (letters.indexOf(candidates.charAt(i)) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static long toEpochMillis(TemporalAccessor temporal, ZoneId zone) {
+    if (temporal.isSupported(ChronoField.INSTANT_SECONDS)) {
+      return Instant.from(temporal).toEpochMilli();
+    } else if (temporal.isSupported(ChronoField.HOUR_OF_DAY)) {
+      return LocalDateTime.from(temporal).atZone(zone).toInstant().toEpochMilli();
+    } else {
+      return LocalDate.from(temporal).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+  }
+
+  private static class PatternParser extends TimestampParser {
+
+    private final DateTimeFormatter formatter;
+    private final ZoneId zone;
+    private final ThreadLocal<SimpleDateFormat> lenientFormat;
+
+    // set once a date string only matched with the lenient field widths of SimpleDateFormat
+    private volatile boolean lenient;
+
+    // repeating date strings are common for sources with a coarse timestamp resolution
+    private CachedTimestamp last;
+
+    PatternParser(String pattern, ZoneId zone) {
+      this.formatter = compile(pattern);
+      this.zone = zone;
+      this.lenientFormat = ThreadLocal.withInitial(() -> {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(TimeZone.getTimeZone(zone));
+        return format;
+      });
+      this.lenient = formatter == null;
+    }
+
+    @Override
+    public long parse(String date) {
+      CachedTimestamp cached = last;
+      if (cached != null && cached.date.equals(date)) {
+        return cached.epochMillis;
+      }
+      long epochMillis = lenient ? parseLenient(date) : parseStrict(date);
+      last = new CachedTimestamp(date, epochMillis);
+      return epochMillis;
+    }
+
+    private long parseStrict(String date) {
+      try {
+        return toEpochMillis(formatter.parse(date), zone);
+      } catch (DateTimeParseException e) {
+        long epochMillis = parseLenient(date);
+        this.lenient = true;
+        return epochMillis;
+      }
+    }
+
+    private long parseLenient(String date) {
+      ParsePosition position = new ParsePosition(0);
+      Date parsed = lenientFormat.get().parse(date, position);
+      if (parsed == null) {
+        throw new DateTimeParseException("Text '" + date + "' could not be parsed", date,
+                position.getErrorIndex());
+      }
+      return parsed.getTime();
+    }
+  }
+
+  /**
+   * Parses yyyy-MM-dd'T'HH:mm:ss[.fraction](Z|+HH:mm|+HHmm), a space is accepted instead of the T.
+   * The epoch milliseconds of the last date prefix are cached, other layouts are delegated to
+   * {@link DateTimeFormatter#ISO_DATE_TIME}.
+   */
+  private static class IsoParser extends TimestampParser {
+
+    private final ZoneId zone;
+
+    private CachedTimestamp lastDay;
+
+    IsoParser(ZoneId zone) {
+      this.zone = zone;
+    }
+
+    @Override
+    public long parse(String date) {
+      long epochMillis = parseFast(date);
+      if (epochMillis == Long.MIN_VALUE) {
+        return toEpochMillis(DateTimeFormatter.ISO_DATE_TIME.parse(date), zone);
+      }
+      return epochMillis;
+    }
+
+    private long parseFast(String date) {
+      int length = date.length();
+      if (length < 20 || date.charAt(4) != '-' || date.charAt(7) != '-'
+              || (date.charAt(10) != 'T' && date.charAt(10) != ' ')
+              || date.charAt(13) != ':' || date.charAt(16) != ':') {
+        return Long.MIN_VALUE;
+      }
+
+      int hour = digits(date, 11, 2);
+      int minute = digits(date, 14, 2);
+      int second = digits(date, 17, 2);
+      if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+        return Long.MIN_VALUE;
+      }
+
+      int i = 19;
+      int millis = 0;
+      if (date.charAt(i) == '.') {
+        int scale = 100;
+        for (i++; i < length && isDigit(date.charAt(i)); i++) {
+          millis += scale * (date.charAt(i) - '0');
+          scale /= 10;
+        }
+        if (i == 20) {
+          return Long.MIN_VALUE;
+        }
+      }
+
+      long offsetMillis = offsetMillis(date, i);
+      if (offsetMillis == Long.MIN_VALUE) {
+        return Long.MIN_VALUE;
+      }
+
+      long day = dayMillis(date);
+      if (day == Long.MIN_VALUE) {
+        return Long.MIN_VALUE;
+      }
+      return day + ((hour * 60L + minute) * 60 + second) * 1000 + millis - offsetMillis;
+    }
+
+    private long dayMillis(String date) {
+      CachedTimestamp cached = lastDay;
+      if (cached != null && date.regionMatches(0, cached.date, 0, 10)) {
+        return cached.epochMillis;
+      }
+
+      int year = digits(date, 0, 4);
+      int month = digits(date, 5, 2);
+      int day = digits(date, 8, 2);
+      if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+        return Long.MIN_VALUE;
+      }
+      try {
+        long epochMillis = LocalDate.of(year, month, day).toEpochDay() * MILLIS_PER_DAY;
+        lastDay = new CachedTimestamp(date.substring(0, 10), epochMillis);
+        return epochMillis;
+      } catch (RuntimeException e) {
+        return Long.MIN_VALUE;
+      }
+    }
+
+    private long offsetMillis(String date, int i) {
+      int length = date.length();
+      if (i == length - 1 && date.charAt(i) == 'Z') {
+        return 0;
+      } else if (i < length && (date.charAt(i) == '+' || date.charAt(i) == '-')) {
+        int hours = digits(date, i + 1, 2);
+        int minutes;
+        if (length - i == 6 && date.charAt(i + 3) == ':') {
+          minutes = digits(date, i + 4, 2);
+        } else if (length - i == 5) {
+          minutes = digits(date, i + 3, 2);
+        } else {
+          return Long.MIN_VALUE;
+        }
+        if (hours < 0 || hours > 18 || minutes < 0 || minutes > 59) {
+          return Long.MIN_VALUE;
+        }
+        long offset = (hours * 60L + minutes) * 60000;
+        return date.charAt(i) == '-' ? -offset : offset;
+      }
+      // no offset, the zone rules apply
+      return Long.MIN_VALUE;
+    }
+
+    private int digits(String date, int start, int count) {
+      int value = 0;
+      for (int i = start; i < start + count; i++) {
+        char c = date.charAt(i);
+        if (!isDigit(c)) {
+          return -1;
+        }
+        value = value * 10 + (c - '0');
+      }
+      return value;
+    }
+
+    private boolean isDigit(char c) {
+      return c >= '0' && c <= '9';
+    }
+  }
+
+  private static class AutoParser extends TimestampParser {
+
+    private final IsoParser isoParser;
+
+    AutoParser(ZoneId zone) {
+      this.isoParser = new IsoParser(zone);
+    }
+
+    @Override
+    public long parse(String date) {
+      if (!date.isEmpty() && date.length() < 20 && isEpoch(date)) {
+        return fromEpoch(Long.parseLong(date));
+      }
+      return isoParser.parse(date);
+    }
+
+    private boolean isEpoch(String date) {
+      int start = date.charAt(0) == '-' ? 1 : 0;
+      if (start == date.length()) {
+        return false;
+      }
+      for (int i = start; i < date.length(); i++) {
+        if (date.charAt(i) < '0' || date.charAt(i) > '9') {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static class CachedTimestamp {
+
+    private final String date;
+    private final long epochMillis;
+
+    CachedTimestamp(String date, long epochMillis) {
+      this.date = date;
+      this.epochMillis = epochMillis;
+    }
+  }
+}
@@ -24,12 +24,16 @@ import static org.apache.streampipes.connect.adapter.TestUtils.*;
 import com.google.gson.JsonObject;
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
+import org.apache.streampipes.connect.EmitEvent;
 import org.apache.streampipes.connect.adapter.exception.AdapterException;
+import org.apache.streampipes.connect.adapter.format.json.object.JsonObjectFormat;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class JsonParserTest {
 
@@ -88,6 +92,33 @@ public class JsonParserTest {
     assertEquals("{\"one\":1}", parsedStringEventOne);
   }
 
+  @Test
+  public void parseStructuredEvents() throws AdapterException {
+
+    String jo = "{\"key0\":[{\"one\":1,\"two\":2.5,\"three\":5000000000,\"four\":[1,2]," +
+            "\"five\":{\"six\":\"a\"}}]}";
+    JsonParser parser = new JsonParser(true, "key0");
+
+    List<Map<String, Object>> structuredEvents = new ArrayList<>();
+    parser.parse(getInputStream(jo), new EmitEvent() {
+      @Override
+      public Boolean emit(Map<String, Object> event) {
+        structuredEvents.add(event);
+        return true;
+      }
+
+      @Override
+      public Boolean emit(byte[] event) {
+        throw new IllegalStateException("Structured events must not be serialized");
+      }
+    });
+
+    List<byte[]> binaryEvents = parser.parseNEvents(getInputStream(jo), 1);
+
+    assertEquals(1, structuredEvents.size());
+    assertEquals(new JsonObjectFormat().parse(binaryEvents.get(0)), structuredEvents.get(0));
+  }
+
   private InputStream getInputStream(String s) {
 
     try {
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.format.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.math.BigInteger;
+
+import javax.json.Json;
+import javax.json.stream.JsonParser;
+
+public class JsonNumbersTest {
+
+  @Test
+  public void integralNumbers() {
+    assertEquals(0, getNumber("0"));
+    assertEquals(-42, getNumber("-42"));
+    assertEquals(Integer.MAX_VALUE, getNumber("2147483647"));
+    assertEquals(Integer.MIN_VALUE, getNumber("-2147483648"));
+    assertEquals(2147483648L, getNumber("2147483648"));
+    assertEquals(-2147483649L, getNumber("-2147483649"));
+    assertEquals(1552380411000L, getNumber("1552380411000"));
+  }
+
+  @Test
+  public void largeIntegralNumbers() {
+    assertEquals(Long.MAX_VALUE, getNumber("9223372036854775807"));
+    assertEquals(Long.MIN_VALUE, getNumber("-9223372036854775808"));
+    assertEquals(new BigInteger("9223372036854775808"), getNumber("9223372036854775808"));
+    assertEquals(new BigInteger("-123456789012345678901234567890"),
+            getNumber("-123456789012345678901234567890"));
+  }
+
+  @Test
+  public void decimalNumbers() {
+    assertEquals(1.5, getNumber("1.5"));
+    assertEquals(-0.1, getNumber("-0.1"));
+    assertEquals(1.0, getNumber("1.0"));
+    assertEquals(100.0, getNumber("1e2"));
+    assertEquals(1.25E-3, getNumber("1.25E-3"));
+  }
+
+  private Object getNumber(String json) {
+    JsonParser jsonParser = Json.createParser(new StringReader("[" + json + "]"));
+    jsonParser.next();
+    jsonParser.next();
+    return JsonNumbers.getNumber(jsonParser);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.elements;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class DuplicateFilterPipelineElementTest {
+
+    @Test
+    public void filterDuplicatedEvents() {
+        DuplicateFilterPipelineElement filter = new DuplicateFilterPipelineElement("60");
+
+        assertNotNull(filter.process(event("a", 1)));
+        assertNull(filter.process(event("a", 1)));
+        assertNotNull(filter.process(event("a", 2)));
+        assertNotNull(filter.process(event("b", 1)));
+    }
+
+    @Test
+    public void hashIndependentOfEntryOrder() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("a", 1);
+        first.put("b", "value");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("b", "value");
+        second.put("a", 1);
+
+        assertEquals(DuplicateFilterPipelineElement.hash(first), DuplicateFilterPipelineElement.hash(second));
+        assertNotEquals(DuplicateFilterPipelineElement.hash(first), DuplicateFilterPipelineElement.hash(event("a", 1)));
+    }
+
+    @Test
+    public void forgetHashesAfterWindow() {
+        TimeSlicedHashSet set = new TimeSlicedHashSet(8000, 100, 0);
+
+        assertTrue(set.add(42, 0));
+        assertFalse(set.add(42, 5000));
+        // the duplicate at 5000 keeps the hash for another window
+        assertFalse(set.add(42, 12000));
+        assertTrue(set.add(42, 30000));
+    }
+
+    @Test
+    public void boundedNumberOfHashes() {
+        TimeSlicedHashSet set = new TimeSlicedHashSet(8000, 16, 0);
+
+        for (long i = 1; i <= 1000; i++) {
+            assertTrue(set.add(i, 0));
+        }
+        assertFalse(set.add(1000, 0));
+        assertTrue(set.add(1, 0));
+    }
+
+    @Test
+    public void growSlicesWithNumberOfHashes() {
+        TimeSlicedHashSet set = new TimeSlicedHashSet(8000, 1000000, 0);
+
+        for (long i = 1; i <= 100000; i++) {
+            assertTrue(set.add(i, 0));
+        }
+        for (long i = 1; i <= 100000; i++) {
+            assertFalse(set.add(i, 0));
+        }
+    }
+
+    private Map<String, Object> event(String key, Object value) {
+        Map<String, Object> event = new HashMap<>();
+        event.put(key, value);
+        return event;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform;
+
+import org.junit.Test;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.schema.CreateNestedTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.schema.DeleteTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.schema.MoveTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.schema.RenameTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.schema.SchemaEventTransformer;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.AddValueTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.CorrectionValueTransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.ValueEventTransformer;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.ValueTransformationRule;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TransformationPlanTest {
+
+    @Test
+    public void transformLikeSingleTransformers() {
+        List<TransformationRule> schemaRules = new ArrayList<>();
+        schemaRules.add(new RenameTransformationRule(Arrays.asList("a"), "a1"));
+        schemaRules.add(new RenameTransformationRule(Arrays.asList("b"), "b1"));
+        schemaRules.add(new RenameTransformationRule(Arrays.asList("c"), "c1"));
+        schemaRules.add(new RenameTransformationRule(Arrays.asList("c1", "d"), "d1"));
+        schemaRules.add(new CreateNestedTransformationRule(Arrays.asList("c1", "f")));
+        schemaRules.add(new MoveTransformationRule(Arrays.asList("b1"), Arrays.asList("c1", "f")));
+        schemaRules.add(new DeleteTransformationRule(Arrays.asList("e")));
+
+        List<ValueTransformationRule> valueRules = new ArrayList<>();
+        valueRules.add(new CorrectionValueTransformationRule(Arrays.asList("a1"), 2, "MULTIPLY"));
+        valueRules.add(new CorrectionValueTransformationRule(Arrays.asList("c1", "g"), 1, "ADD"));
+        valueRules.add(new CorrectionValueTransformationRule(Arrays.asList("a1"), 1, "ADD"));
+
+        Map<String, Object> expected = new ValueEventTransformer(valueRules)
+                .transform(new SchemaEventTransformer(schemaRules).transform(getEvent()));
+
+        List<TransformationRule> rules = new ArrayList<>(schemaRules);
+        rules.addAll(valueRules);
+        Map<String, Object> result = new TransformationPlan(rules).transform(getEvent());
+
+        assertEquals(expected, result);
+        assertEquals(5.0, result.get("a1"));
+    }
+
+    @Test
+    public void compileRulesOnSameMapIntoOneStep() {
+        List<TransformationRule> rules = new ArrayList<>();
+        rules.add(new CorrectionValueTransformationRule(Arrays.asList("c", "g"), 1, "ADD"));
+        rules.add(new RenameTransformationRule(Arrays.asList("a"), "a1"));
+        rules.add(new CorrectionValueTransformationRule(Arrays.asList("a1"), 2, "MULTIPLY"));
+        rules.add(new AddValueTransformationRule("h", "x"));
+        rules.add(new DeleteTransformationRule(Arrays.asList("e")));
+        rules.add(new CorrectionValueTransformationRule(Arrays.asList("c", "g"), 2, "MULTIPLY"));
+
+        TransformationPlan plan = new TransformationPlan(rules);
+        Map<String, Object> result = plan.transform(getEvent());
+
+        // top-level add, rename, delete and correction, then both corrections of the nested map
+        assertEquals(2, plan.getStepCount());
+        assertEquals(4.0, result.get("a1"));
+        assertEquals("x", result.get("h"));
+        assertFalse(result.containsKey("e"));
+        assertEquals(8.0, ((Map<String, Object>) result.get("c")).get("g"));
+    }
+
+    private Map<String, Object> getEvent() {
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("d", "z");
+        nested.put("g", 3);
+
+        Map<String, Object> event = new HashMap<>();
+        event.put("a", 2);
+        event.put("b", "z");
+        event.put("e", "z");
+        event.put("c", nested);
+
+        return event;
+    }
+}
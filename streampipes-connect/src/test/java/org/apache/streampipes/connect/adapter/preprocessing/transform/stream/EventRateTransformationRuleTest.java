@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class EventRateTransformationRuleTest {
+
+    @Test
+    public void transformNone() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, "none");
+        long start = System.currentTimeMillis();
+
+        assertNull(rule.transform(event(1.0, 1), start + 100));
+        Map<String, Object> result = rule.transform(event(2.0, 2), start + 1100);
+
+        assertEquals(2.0, result.get("temperature"));
+        assertNull(rule.transform(event(3.0, 3), start + 1200));
+    }
+
+    @Test
+    public void transformMean() {
+        Map<String, Object> result = aggregate("mean");
+
+        assertEquals(2.0, result.get("temperature"));
+        assertEquals(2.0, result.get("count"));
+        assertEquals("sensor", result.get("id"));
+    }
+
+    @Test
+    public void transformMinMaxSum() {
+        assertEquals(1.0, aggregate("min").get("temperature"));
+        assertEquals(3.0, aggregate("max").get("temperature"));
+        assertEquals(6.0, aggregate("sum").get("temperature"));
+        assertEquals(6L, aggregate("sum").get("count"));
+    }
+
+    @Test
+    public void keepTypeOfOriginalValues() {
+        assertEquals(1, aggregate("min").get("count"));
+        assertEquals(3, aggregate("max").get("count"));
+        assertEquals(3, aggregate("none").get("count"));
+        assertEquals(2.0, aggregate("mean").get("count"));
+    }
+
+    @Test
+    public void sumLargeIntegralValuesExactly() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, "sum");
+        long start = System.currentTimeMillis();
+        long large = (1L << 53) + 1;
+
+        assertNull(rule.transform(Collections.singletonMap("value", large), start + 100));
+        Map<String, Object> result = rule.transform(new HashMap<>(Collections.singletonMap("value", 1L)),
+                start + 1100);
+
+        assertEquals(large + 1, result.get("value"));
+    }
+
+    @Test
+    public void compareLargeIntegralValuesExactly() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, "max");
+        long start = System.currentTimeMillis();
+        long large = (1L << 53) + 1;
+
+        assertNull(rule.transform(Collections.singletonMap("value", large), start + 100));
+        Map<String, Object> result = rule.transform(new HashMap<>(Collections.singletonMap("value", large - 1)),
+                start + 1100);
+
+        assertEquals(large, result.get("value"));
+    }
+
+    @Test
+    public void resetAfterWindow() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, "max");
+        long start = System.currentTimeMillis();
+
+        assertNull(rule.transform(event(5.0, 1), start + 100));
+        assertEquals(5.0, rule.transform(event(1.0, 1), start + 1100).get("temperature"));
+        assertNull(rule.transform(event(2.0, 1), start + 1200));
+        assertEquals(3.0, rule.transform(event(3.0, 1), start + 2200).get("temperature"));
+    }
+
+    @Test
+    public void keepTimestampOfLastEvent() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, "sum", "timestamp");
+        long start = System.currentTimeMillis();
+
+        assertNull(rule.transform(timestampedEvent(1.0, 1000L), start + 100));
+        assertNull(rule.transform(timestampedEvent(2.0, 2000L), start + 200));
+        Map<String, Object> result = rule.transform(timestampedEvent(3.0, 3000L), start + 1100);
+
+        assertEquals(6.0, result.get("temperature"));
+        assertEquals(3000L, result.get("timestamp"));
+    }
+
+    private Map<String, Object> aggregate(String aggregationType) {
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, aggregationType);
+        long start = System.currentTimeMillis();
+
+        assertNull(rule.transform(event(1.0, 1), start + 100));
+        assertNull(rule.transform(event(2.0, 2), start + 200));
+        return rule.transform(event(3.0, 3), start + 1100);
+    }
+
+    private Map<String, Object> timestampedEvent(double temperature, long timestamp) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("timestamp", timestamp);
+        event.put("temperature", temperature);
+        return event;
+    }
+
+    private Map<String, Object> event(double temperature, int count) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("id", "sensor");
+        event.put("temperature", temperature);
+        event.put("count", count);
+        return event;
+    }
+}
@@ -18,8 +18,117 @@
 
 package org.apache.streampipes.connect.adapter.preprocessing.transform.value;
 
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
 public class TimestampTransformRuleTest {
 
+    @Test
+    public void transformIsoFormatString() {
+        TimestampTranformationRule rule = new TimestampTranformationRule(Arrays.asList("value"),
+                TimestampTranformationRuleMode.FORMAT_STRING, "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", 1000);
+
+        assertEquals(1552337438138L, rule.transform(event("2019-03-11T20:50:38.138Z")).get("value"));
+        assertEquals(1552337438000L, rule.transform(event("2019-03-11T21:50:38+01:00")).get("value"));
+    }
+
+    @Test
+    public void transformPatternFormatString() {
+        TimestampTranformationRule rule = new TimestampTranformationRule(Arrays.asList("value"),
+                TimestampTranformationRuleMode.FORMAT_STRING, "yyyy-MM-dd HH:mm:ss", 1000);
+        long expected = LocalDateTime.of(2019, 3, 15, 10, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        assertEquals(expected, rule.transform(event("2019-03-15 10:00:00")).get("value"));
+        assertEquals(expected, rule.transform(event("2019-03-15 10:00:00")).get("value"));
+    }
+
+    @Test
+    public void transformPatternWithoutDate() {
+        TimestampTranformationRule rule = new TimestampTranformationRule(Arrays.asList("value"),
+                TimestampTranformationRuleMode.FORMAT_STRING, "HH:mm:ss", 1000);
+        long expected = LocalDateTime.of(1970, 1, 1, 10, 30, 15).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        assertEquals(expected, rule.transform(event("10:30:15")).get("value"));
+    }
+
+    @Test
+    public void transformPatternWithoutYear() {
+        TimestampTranformationRule rule = new TimestampTranformationRule(Arrays.asList("value"),
+                TimestampTranformationRuleMode.FORMAT_STRING, "dd.MM. HH:mm", 1000);
+        long expected = LocalDateTime.of(1970, 3, 15, 10, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        assertEquals(expected, rule.transform(event("15.03. 10:00")).get("value"));
+    }
+
+    @Test
+    public void transformPatternWithLenientWidths() {
+        TimestampTranformationRule rule = new TimestampTranformationRule(Arrays.asList("value"),
+                TimestampTranformationRuleMode.FORMAT_STRING, "dd.MM.yyyy HH:mm", 1000);
+
+        assertEquals(epochMillis(2019, 3, 15, 10, 0), rule.transform(event("15.03.2019 10:00")).get("value"));
+        assertEquals(epochMillis(2019, 3, 5, 9, 5), rule.transform(event("5.3.2019 9:05")).get("value"));
+        assertEquals(epochMillis(2019, 12, 24, 18, 30), rule.transform(event("24.12.2019 18:30")).get("value"));
+    }
+
+    @Test
+    public void transformPatternWithTwoDigitYear() {
+        TimestampTranformationRule rule = new TimestampTranformationRule(Arrays.asList("value"),
+                TimestampTranformationRuleMode.FORMAT_STRING, "dd.MM.yy HH:mm", 1000);
+
+        assertEquals(epochMillis(2019, 3, 15, 10, 0), rule.transform(event("15.03.19 10:00")).get("value"));
+    }
+
+    @Test
+    public void transformPatternWithSimpleDateFormatLetters() {
+        TimestampTranformationRule rule = new TimestampTranformationRule(Arrays.asList("value"),
+                TimestampTranformationRuleMode.FORMAT_STRING, "yyyy-MM-dd HH:mm:ss.S (u)", 1000);
+
+        assertEquals(epochMillis(2019, 3, 15, 10, 0) + 42, rule.transform(event("2019-03-15 10:00:00.42 (5)")).get("value"));
+    }
+
+    @Test
+    public void transformInvalidDate() {
+        TimestampTranformationRule rule = new TimestampTranformationRule(Arrays.asList("value"),
+                TimestampTranformationRuleMode.FORMAT_STRING, "yyyy-MM-dd HH:mm:ss", 1000);
+
+        assertEquals(0L, rule.transform(event("15.03.2019")).get("value"));
+    }
+
+    @Test
+    public void transformAutoFormatString() {
+        TimestampTranformationRule rule = new TimestampTranformationRule(Arrays.asList("value"),
+                TimestampTranformationRuleMode.FORMAT_STRING, "auto", 1000);
+
+        assertEquals(1552380411000L, rule.transform(event(1552380411)).get("value"));
+        assertEquals(1552380411000L, rule.transform(event(1552380411000L)).get("value"));
+        assertEquals(1552380411000L, rule.transform(event("1552380411000000")).get("value"));
+        assertEquals(1552337438138L, rule.transform(event("2019-03-11T20:50:38.138Z")).get("value"));
+    }
+
+    @Test
+    public void transformTimeUnit() {
+        TimestampTranformationRule rule = new TimestampTranformationRule(Arrays.asList("value"),
+                TimestampTranformationRuleMode.TIME_UNIT, "", 1000);
+
+        assertEquals(1552380411000L, rule.transform(event(1552380411)).get("value"));
+        assertEquals(1552380411000L, rule.transform(event("1552380411")).get("value"));
+    }
+
+    private long epochMillis(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private Map<String, Object> event(Object value) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("value", value);
+        return event;
+    }
+
 //    @Test
 //    public void transformListFormatString() {
 //        EventSchema eventSchema = new EventSchema();
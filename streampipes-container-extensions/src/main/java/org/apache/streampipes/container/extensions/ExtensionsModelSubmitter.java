@@ -27,10 +27,12 @@ import org.apache.streampipes.container.init.RunningInstances;
 import org.apache.streampipes.container.locales.LabelGenerator;
 import org.apache.streampipes.container.model.ExtensionsConfig;
 import org.apache.streampipes.container.util.ConsulUtil;
+import org.apache.streampipes.dataformat.binary.BinaryDataFormatFactory;
 import org.apache.streampipes.dataformat.cbor.CborDataFormatFactory;
 import org.apache.streampipes.dataformat.fst.FstDataFormatFactory;
 import org.apache.streampipes.dataformat.json.JsonDataFormatFactory;
 import org.apache.streampipes.dataformat.smile.SmileDataFormatFactory;
+import org.apache.streampipes.messaging.inmemory.SpInMemoryProtocolFactory;
 import org.apache.streampipes.messaging.jms.SpJmsProtocolFactory;
 import org.apache.streampipes.messaging.kafka.SpKafkaProtocolFactory;
 import org.apache.streampipes.messaging.mqtt.SpMqttProtocolFactory;
@@ -67,12 +69,14 @@ public abstract class ExtensionsModelSubmitter extends ModelSubmitter<Extensions
                 new JsonDataFormatFactory(),
                 new CborDataFormatFactory(),
                 new SmileDataFormatFactory(),
-                new FstDataFormatFactory());
+                new FstDataFormatFactory(),
+                new BinaryDataFormatFactory());
 
         DeclarersSingleton.getInstance().registerProtocols(
                 new SpKafkaProtocolFactory(),
                 new SpMqttProtocolFactory(),
-                new SpJmsProtocolFactory());
+                new SpJmsProtocolFactory(),
+                new SpInMemoryProtocolFactory());
 
         LOG.info("Starting StreamPipes Extensions Bundle");
         SpringApplication app = new SpringApplication(ExtensionsModelSubmitter.class);
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.binary;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.CompiledEvent;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventSchema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact, schema-aware binary data format. A definition bound to the schema of a stream
+ * (see {@link #forSchema(EventSchema)}) writes values in the order of the schema's properties
+ * behind a schema fingerprint instead of repeating all field names in every message. Readers
+ * resolve the field names from the layout of their input stream. Unbound definitions write
+ * self-describing messages with field names, as do bound definitions for events which contain
+ * fields outside of the schema. Properties without a value are written as null and are left out
+ * when the message is read.
+ */
+public class BinaryDataFormatDefinition implements SpDataFormatDefinition {
+
+  private final BinarySchema schema;
+  private transient volatile LayoutSchema layoutSchema;
+
+  public BinaryDataFormatDefinition() {
+    this(null);
+  }
+
+  private BinaryDataFormatDefinition(BinarySchema schema) {
+    this.schema = schema;
+  }
+
+  @Override
+  public SpDataFormatDefinition forSchema(EventSchema eventSchema) {
+    List<EventProperty> properties = eventSchema != null ? eventSchema.getEventProperties() : null;
+    if (properties == null || properties.isEmpty()) {
+      return this;
+    }
+    return new BinaryDataFormatDefinition(BinarySchema.of(properties));
+  }
+
+  @Override
+  public Map<String, Object> toMap(byte[] event) throws SpRuntimeException {
+    return toMap(event, 0, event.length);
+  }
+
+  @Override
+  public Map<String, Object> toMap(ByteBuffer event) throws SpRuntimeException {
+    if (!event.hasArray()) {
+      return toMap(SpDataFormatDefinition.toByteArray(event));
+    }
+    return toMap(event.array(), event.arrayOffset() + event.position(), event.remaining());
+  }
+
+  private Map<String, Object> toMap(byte[] event, int offset, int length) throws
+          SpRuntimeException {
+    try {
+      BinaryDecoder decoder = new BinaryDecoder(event, offset, length);
+      if (decoder.readMode() == BinaryFormat.MODE_NAMED) {
+        return decoder.readObject();
+      }
+      BinarySchema eventSchema = resolveSchema(decoder.readFingerprint(), null);
+      Map<String, Object> map = new HashMap<>();
+      for (int i = 0; i < eventSchema.size(); i++) {
+        byte tag = decoder.readTag();
+        if (tag != BinaryFormat.NULL) {
+          map.put(eventSchema.getName(i), decoder.readValue(tag));
+        }
+      }
+      return map;
+    } catch (IndexOutOfBoundsException e) {
+      throw new SpRuntimeException("Could not convert event to map data structure");
+    }
+  }
+
+  @Override
+  public byte[] fromMap(Map<String, Object> event) throws SpRuntimeException {
+    BinaryEncoder encoder = new BinaryEncoder();
+    if (schema != null && coversAllFields(event)) {
+      encoder.writeSchemaHeader(schema);
+      for (int i = 0; i < schema.size(); i++) {
+        encoder.writeValue(null, event.get(schema.getName(i)));
+      }
+    } else {
+      encoder.writeNamedHeader();
+      event.forEach(encoder::writeValue);
+      encoder.writeEnd();
+    }
+    return encoder.toByteArray();
+  }
+
+  private boolean coversAllFields(Map<String, Object> event) {
+    int known = 0;
+    for (int i = 0; i < schema.size(); i++) {
+      if (event.containsKey(schema.getName(i))) {
+        known++;
+      }
+    }
+    return known == event.size();
+  }
+
+  @Override
+  public Event toEvent(byte[] event, EventLayout eventLayout) throws SpRuntimeException {
+    return toEvent(event, 0, event.length, eventLayout);
+  }
+
+  @Override
+  public Event toEvent(ByteBuffer event, EventLayout eventLayout) throws SpRuntimeException {
+    if (!event.hasArray()) {
+      return toEvent(SpDataFormatDefinition.toByteArray(event), eventLayout);
+    }
+    return toEvent(event.array(), event.arrayOffset() + event.position(), event.remaining(),
+            eventLayout);
+  }
+
+  private Event toEvent(byte[] event, int offset, int length, EventLayout eventLayout) throws
+          SpRuntimeException {
+    if (eventLayout.size() == 0) {
+      return eventLayout.fromMap(toMap(event, offset, length));
+    }
+
+    try {
+      BinaryDecoder decoder = new BinaryDecoder(event, offset, length);
+      CompiledEvent compiledEvent = new CompiledEvent(eventLayout);
+      if (decoder.readMode() == BinaryFormat.MODE_NAMED) {
+        byte tag;
+        while ((tag = decoder.readTag()) != BinaryFormat.END) {
+          readValue(decoder, tag, decoder.readName(), compiledEvent);
+        }
+      } else {
+        BinarySchema eventSchema = resolveSchema(decoder.readFingerprint(), eventLayout);
+        for (int i = 0; i < eventSchema.size(); i++) {
+          byte tag = decoder.readTag();
+          if (tag != BinaryFormat.NULL) {
+            readValue(decoder, tag, eventSchema.getName(i), compiledEvent);
+          }
+        }
+      }
+      return compiledEvent;
+    } catch (IndexOutOfBoundsException e) {
+      throw new SpRuntimeException("Could not convert event to event data structure");
+    }
+  }
+
+  private void readValue(BinaryDecoder decoder, byte tag, String runtimeName, CompiledEvent
+          compiledEvent) throws SpRuntimeException {
+    switch (tag) {
+      case BinaryFormat.INT:
+        compiledEvent.putValue(runtimeName, decoder.readInt());
+        break;
+      case BinaryFormat.LONG:
+        compiledEvent.putValue(runtimeName, decoder.readLong());
+        break;
+      case BinaryFormat.DOUBLE:
+        compiledEvent.putValue(runtimeName, decoder.readDouble());
+        break;
+      default:
+        compiledEvent.putValue(runtimeName, decoder.readValue(tag));
+    }
+  }
+
+  @Override
+  public byte[] fromEvent(Event event) throws SpRuntimeException {
+    return encode(event).toByteArray();
+  }
+
+  @Override
+  public void fromEvent(Event event, OutputStream outputStream) throws SpRuntimeException {
+    try {
+      encode(event).writeTo(outputStream);
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not write event to output stream");
+    }
+  }
+
+  private BinaryEncoder encode(Event event) throws SpRuntimeException {
+    BinaryEncoder encoder = new BinaryEncoder();
+    try {
+      EventConverter converter = new EventConverter(event);
+      if (schema != null) {
+        SchemaEventWriter writer = new SchemaEventWriter(schema);
+        converter.writeTo(writer);
+        if (!writer.hasUnknownFields()) {
+          writer.encode(encoder);
+          return encoder;
+        }
+      }
+      converter.writeTo(new NamedEventWriter(encoder));
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to binary format");
+    }
+    return encoder;
+  }
+
+  /**
+   * Finds the schema a message was written with, either the schema of the reader's input stream
+   * or the schema this definition is bound to.
+   */
+  private BinarySchema resolveSchema(long fingerprint, EventLayout eventLayout) throws
+          SpRuntimeException {
+    if (eventLayout != null) {
+      BinarySchema readerSchema = getLayoutSchema(eventLayout);
+      if (readerSchema.getFingerprint() == fingerprint) {
+        return readerSchema;
+      }
+    }
+    if (schema != null && schema.getFingerprint() == fingerprint) {
+      return schema;
+    }
+    throw new SpRuntimeException("Could not convert event: unknown schema fingerprint "
+            + Long.toHexString(fingerprint));
+  }
+
+  private BinarySchema getLayoutSchema(EventLayout eventLayout) {
+    LayoutSchema current = layoutSchema;
+    if (current == null || current.layout != eventLayout) {
+      EventSchema eventSchema = eventLayout.getSchemaInfo().getEventSchema();
+      current = new LayoutSchema(eventLayout, BinarySchema.of(eventSchema != null ? eventSchema
+              .getEventProperties() : Collections.emptyList()));
+      layoutSchema = current;
+    }
+    return current.schema;
+  }
+
+  private static class LayoutSchema {
+
+    private final EventLayout layout;
+    private final BinarySchema schema;
+
+    LayoutSchema(EventLayout layout, BinarySchema schema) {
+      this.layout = layout;
+      this.schema = schema;
+    }
+  }
+}
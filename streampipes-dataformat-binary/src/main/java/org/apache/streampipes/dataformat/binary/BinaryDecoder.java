@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.binary;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.streampipes.dataformat.binary.BinaryFormat.*;
+
+/**
+ * Reads the binary format from a region of a byte array.
+ */
+class BinaryDecoder {
+
+  private final byte[] data;
+  private final int limit;
+  private int position;
+
+  BinaryDecoder(byte[] data, int offset, int length) {
+    this.data = data;
+    this.position = offset;
+    this.limit = offset + length;
+  }
+
+  byte readMode() throws SpRuntimeException {
+    if (readByte() != MAGIC) {
+      throw new SpRuntimeException("Could not convert event: not a binary message");
+    }
+    byte mode = readByte();
+    if (mode != MODE_NAMED && mode != MODE_SCHEMA) {
+      throw new SpRuntimeException("Could not convert event: unknown binary mode " + mode);
+    }
+    return mode;
+  }
+
+  long readFingerprint() {
+    return readFixedLong();
+  }
+
+  byte readTag() {
+    return readByte();
+  }
+
+  String readName() {
+    return readString();
+  }
+
+  int readInt() {
+    return (int) readVarLong();
+  }
+
+  long readLong() {
+    return readVarLong();
+  }
+
+  double readDouble() {
+    return Double.longBitsToDouble(readFixedLong());
+  }
+
+  Object readValue(byte tag) throws SpRuntimeException {
+    switch (tag) {
+      case NULL:
+        return null;
+      case FALSE:
+        return false;
+      case TRUE:
+        return true;
+      case INT:
+        return readInt();
+      case LONG:
+        return readLong();
+      case FLOAT:
+        return readFloat();
+      case DOUBLE:
+        return readDouble();
+      case STRING:
+        return readString();
+      case OBJECT:
+        return readObject();
+      case LIST:
+        return readList();
+      default:
+        throw new SpRuntimeException("Could not convert event: unknown binary type tag " + tag);
+    }
+  }
+
+  Map<String, Object> readObject() throws SpRuntimeException {
+    Map<String, Object> object = new HashMap<>();
+    byte tag;
+    while ((tag = readTag()) != END) {
+      String name = readName();
+      object.put(name, readValue(tag));
+    }
+    return object;
+  }
+
+  private List<Object> readList() throws SpRuntimeException {
+    List<Object> list = new ArrayList<>();
+    byte tag;
+    while ((tag = readTag()) != END) {
+      list.add(readValue(tag));
+    }
+    return list;
+  }
+
+  private float readFloat() {
+    checkAvailable(4);
+    int bits = 0;
+    for (int i = 0; i < 4; i++) {
+      bits |= (data[position++] & 0xFF) << (8 * i);
+    }
+    return Float.intBitsToFloat(bits);
+  }
+
+  private String readString() {
+    int length = (int) readVarLong();
+    checkAvailable(length);
+    String value = new String(data, position, length, StandardCharsets.UTF_8);
+    position += length;
+    return value;
+  }
+
+  private long readVarLong() {
+    long zigZag = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = readByte();
+      zigZag |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return (zigZag >>> 1) ^ -(zigZag & 1);
+  }
+
+  private long readFixedLong() {
+    checkAvailable(8);
+    long value = 0;
+    for (int i = 0; i < 8; i++) {
+      value |= (long) (data[position++] & 0xFF) << (8 * i);
+    }
+    return value;
+  }
+
+  private byte readByte() {
+    checkAvailable(1);
+    return data[position++];
+  }
+
+  private void checkAvailable(int bytes) {
+    if (bytes < 0 || position + bytes > limit) {
+      throw new IndexOutOfBoundsException("Truncated binary message");
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.apache.streampipes.dataformat.binary.BinaryFormat.*;
+
+/**
+ * Writes the binary format into a growable byte array. Integers are written as zig-zag encoded
+ * variable length numbers, floating point numbers as their little-endian IEEE 754 bits.
+ */
+class BinaryEncoder {
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  private byte[] buffer;
+  private int position;
+
+  BinaryEncoder() {
+    this.buffer = new byte[INITIAL_CAPACITY];
+    this.position = 0;
+  }
+
+  void writeNamedHeader() {
+    writeByte(MAGIC);
+    writeByte(MODE_NAMED);
+  }
+
+  void writeSchemaHeader(BinarySchema schema) {
+    writeByte(MAGIC);
+    writeByte(MODE_SCHEMA);
+    writeFixedLong(schema.getFingerprint());
+  }
+
+  void writeEnd() {
+    writeByte(END);
+  }
+
+  void writeTag(byte tag, String fieldName) {
+    writeByte(tag);
+    if (fieldName != null) {
+      writeString(fieldName);
+    }
+  }
+
+  void writeNull(String fieldName) {
+    writeTag(NULL, fieldName);
+  }
+
+  void writeInt(String fieldName, int value) {
+    writeTag(INT, fieldName);
+    writeVarLong(value);
+  }
+
+  void writeLong(String fieldName, long value) {
+    writeTag(LONG, fieldName);
+    writeVarLong(value);
+  }
+
+  void writeFloat(String fieldName, float value) {
+    writeTag(FLOAT, fieldName);
+    int bits = Float.floatToRawIntBits(value);
+    ensureCapacity(4);
+    for (int i = 0; i < 4; i++) {
+      buffer[position++] = (byte) (bits >>> (8 * i));
+    }
+  }
+
+  void writeDouble(String fieldName, double value) {
+    writeTag(DOUBLE, fieldName);
+    writeFixedLong(Double.doubleToRawLongBits(value));
+  }
+
+  void writeValue(String fieldName, Object value) {
+    if (value == null) {
+      writeNull(fieldName);
+    } else if (value instanceof Boolean) {
+      writeTag((Boolean) value ? TRUE : FALSE, fieldName);
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      writeInt(fieldName, ((Number) value).intValue());
+    } else if (value instanceof Long) {
+      writeLong(fieldName, (Long) value);
+    } else if (value instanceof Float) {
+      writeFloat(fieldName, (Float) value);
+    } else if (value instanceof BigInteger || value instanceof BigDecimal) {
+      writeTag(STRING, fieldName);
+      writeString(value.toString());
+    } else if (value instanceof Number) {
+      writeDouble(fieldName, ((Number) value).doubleValue());
+    } else if (value instanceof Map) {
+      writeTag(OBJECT, fieldName);
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        writeValue(String.valueOf(entry.getKey()), entry.getValue());
+      }
+      writeEnd();
+    } else if (value instanceof Collection) {
+      writeTag(LIST, fieldName);
+      for (Object item : (Collection<?>) value) {
+        writeValue(null, item);
+      }
+      writeEnd();
+    } else if (value instanceof Object[]) {
+      writeValue(fieldName, Arrays.asList((Object[]) value));
+    } else {
+      writeTag(STRING, fieldName);
+      writeString(value.toString());
+    }
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(buffer, position);
+  }
+
+  void writeTo(OutputStream outputStream) throws IOException {
+    outputStream.write(buffer, 0, position);
+  }
+
+  private void writeString(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(bytes.length);
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  private void writeVarLong(long value) {
+    long zigZag = (value << 1) ^ (value >> 63);
+    ensureCapacity(10);
+    while ((zigZag & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((zigZag & 0x7F) | 0x80);
+      zigZag >>>= 7;
+    }
+    buffer[position++] = (byte) zigZag;
+  }
+
+  private void writeFixedLong(long value) {
+    ensureCapacity(8);
+    for (int i = 0; i < 8; i++) {
+      buffer[position++] = (byte) (value >>> (8 * i));
+    }
+  }
+
+  private void writeByte(byte value) {
+    ensureCapacity(1);
+    buffer[position++] = value;
+  }
+
+  private void ensureCapacity(int additionalBytes) {
+    if (position + additionalBytes > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additionalBytes));
+    }
+  }
+}
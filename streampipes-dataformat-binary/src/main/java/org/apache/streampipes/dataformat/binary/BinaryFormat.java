@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.binary;
+
+/**
+ * Constants of the binary wire format.
+ *
+ * <p>A message starts with {@link #MAGIC} and a mode byte. Messages in {@link #MODE_NAMED} contain
+ * a sequence of entries (type tag, field name, value) terminated by {@link #END}. Messages in
+ * {@link #MODE_SCHEMA} contain the 8-byte schema fingerprint followed by one value (type tag,
+ * value) per schema property, in schema order and without field names. Nested objects and lists
+ * are written like named messages and lists of values, each terminated by {@link #END}.
+ */
+final class BinaryFormat {
+
+  static final byte MAGIC = (byte) 0xB5;
+
+  static final byte MODE_NAMED = 1;
+  static final byte MODE_SCHEMA = 2;
+
+  static final byte END = 0;
+  static final byte NULL = 1;
+  static final byte FALSE = 2;
+  static final byte TRUE = 3;
+  static final byte INT = 4;
+  static final byte LONG = 5;
+  static final byte FLOAT = 6;
+  static final byte DOUBLE = 7;
+  static final byte STRING = 8;
+  static final byte OBJECT = 9;
+  static final byte LIST = 10;
+
+  private BinaryFormat() {
+  }
+}
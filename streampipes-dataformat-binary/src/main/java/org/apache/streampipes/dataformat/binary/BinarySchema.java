@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.binary;
+
+import org.apache.streampipes.model.schema.EventProperty;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ordered top-level runtime names of an event schema together with their fingerprint.
+ * Messages written against a schema carry only the fingerprint, values are stored in the
+ * order of the schema's properties.
+ */
+final class BinarySchema implements Serializable {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final String[] names;
+  private final Map<String, Integer> indices;
+  private final long fingerprint;
+
+  private BinarySchema(String[] names) {
+    this.names = names;
+    this.indices = new HashMap<>();
+    for (int i = 0; i < names.length; i++) {
+      indices.putIfAbsent(names[i], i);
+    }
+    this.fingerprint = fingerprint(names);
+  }
+
+  static BinarySchema of(List<EventProperty> properties) {
+    String[] names = new String[properties.size()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = properties.get(i).getRuntimeName();
+    }
+    return new BinarySchema(names);
+  }
+
+  int size() {
+    return names.length;
+  }
+
+  String getName(int index) {
+    return names[index];
+  }
+
+  /**
+   * Returns the index of the given name, trying the expected index first since events usually
+   * provide their fields in schema order.
+   */
+  int indexOf(String name, int expectedIndex) {
+    if (expectedIndex < names.length && names[expectedIndex].equals(name)) {
+      return expectedIndex;
+    }
+    Integer index = indices.get(name);
+    return index != null ? index : -1;
+  }
+
+  long getFingerprint() {
+    return fingerprint;
+  }
+
+  // 64-bit FNV-1a over the UTF-8 encoded names, each name terminated by a zero byte
+  private static long fingerprint(String[] names) {
+    long hash = FNV_OFFSET_BASIS;
+    for (String name : names) {
+      for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+        hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+      }
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.binary;
+
+import org.apache.streampipes.model.runtime.EventWriter;
+
+/**
+ * Streams an event into a binary message in named mode, i.e., with the field name in front of
+ * every value.
+ */
+class NamedEventWriter implements EventWriter {
+
+  private final BinaryEncoder encoder;
+  private boolean rootStarted;
+
+  NamedEventWriter(BinaryEncoder encoder) {
+    this.encoder = encoder;
+  }
+
+  @Override
+  public void writeStartObject(String fieldName) {
+    if (!rootStarted) {
+      rootStarted = true;
+      encoder.writeNamedHeader();
+    } else {
+      encoder.writeTag(BinaryFormat.OBJECT, fieldName);
+    }
+  }
+
+  @Override
+  public void writeEndObject() {
+    encoder.writeEnd();
+  }
+
+  @Override
+  public void writeStartArray(String fieldName) {
+    encoder.writeTag(BinaryFormat.LIST, fieldName);
+  }
+
+  @Override
+  public void writeEndArray() {
+    encoder.writeEnd();
+  }
+
+  @Override
+  public void writeValue(String fieldName, int value) {
+    encoder.writeInt(fieldName, value);
+  }
+
+  @Override
+  public void writeValue(String fieldName, long value) {
+    encoder.writeLong(fieldName, value);
+  }
+
+  @Override
+  public void writeValue(String fieldName, float value) {
+    encoder.writeFloat(fieldName, value);
+  }
+
+  @Override
+  public void writeValue(String fieldName, double value) {
+    encoder.writeDouble(fieldName, value);
+  }
+
+  @Override
+  public void writeValue(String fieldName, Object value) {
+    encoder.writeValue(fieldName, value);
+  }
+}
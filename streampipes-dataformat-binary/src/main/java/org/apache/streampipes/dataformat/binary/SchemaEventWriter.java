@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.binary;
+
+import org.apache.streampipes.model.runtime.EventWriter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the top-level values of an event into the slots of a {@link BinarySchema}, so that
+ * they can be written in schema order regardless of the order in which the event provides them.
+ * Numeric values are kept unboxed, nested objects and lists are assembled into maps and lists.
+ * Fields which are not part of the schema cannot be written in schema mode, they are recorded
+ * (see {@link #hasUnknownFields()}) so that the caller can write the event in named mode instead.
+ */
+class SchemaEventWriter implements EventWriter {
+
+  private static final byte MISSING = 0;
+  private static final byte INT = 1;
+  private static final byte LONG = 2;
+  private static final byte FLOAT = 3;
+  private static final byte DOUBLE = 4;
+  private static final byte OBJECT = 5;
+
+  private final BinarySchema schema;
+  private final byte[] kinds;
+  private final long[] longValues;
+  private final double[] doubleValues;
+  private final Object[] values;
+
+  private final List<Object> containers;
+  private final List<String> containerNames;
+  private boolean rootStarted;
+  private int nextIndex;
+  private boolean unknownFields;
+
+  SchemaEventWriter(BinarySchema schema) {
+    this.schema = schema;
+    this.kinds = new byte[schema.size()];
+    this.longValues = new long[schema.size()];
+    this.doubleValues = new double[schema.size()];
+    this.values = new Object[schema.size()];
+    this.containers = new ArrayList<>();
+    this.containerNames = new ArrayList<>();
+  }
+
+  boolean hasUnknownFields() {
+    return unknownFields;
+  }
+
+  void encode(BinaryEncoder encoder) {
+    encoder.writeSchemaHeader(schema);
+    for (int i = 0; i < kinds.length; i++) {
+      switch (kinds[i]) {
+        case INT:
+          encoder.writeInt(null, (int) longValues[i]);
+          break;
+        case LONG:
+          encoder.writeLong(null, longValues[i]);
+          break;
+        case FLOAT:
+          encoder.writeFloat(null, (float) doubleValues[i]);
+          break;
+        case DOUBLE:
+          encoder.writeDouble(null, doubleValues[i]);
+          break;
+        case OBJECT:
+          encoder.writeValue(null, values[i]);
+          break;
+        default:
+          encoder.writeNull(null);
+      }
+    }
+  }
+
+  @Override
+  public void writeStartObject(String fieldName) {
+    if (!rootStarted) {
+      rootStarted = true;
+    } else {
+      push(fieldName, new HashMap<String, Object>());
+    }
+  }
+
+  @Override
+  public void writeEndObject() {
+    if (!containers.isEmpty()) {
+      pop();
+    }
+  }
+
+  @Override
+  public void writeStartArray(String fieldName) {
+    push(fieldName, new ArrayList<>());
+  }
+
+  @Override
+  public void writeEndArray() {
+    pop();
+  }
+
+  @Override
+  public void writeValue(String fieldName, int value) {
+    if (containers.isEmpty()) {
+      putSlot(fieldName, INT, value, 0);
+    } else {
+      attach(fieldName, value);
+    }
+  }
+
+  @Override
+  public void writeValue(String fieldName, long value) {
+    if (containers.isEmpty()) {
+      putSlot(fieldName, LONG, value, 0);
+    } else {
+      attach(fieldName, value);
+    }
+  }
+
+  @Override
+  public void writeValue(String fieldName, float value) {
+    if (containers.isEmpty()) {
+      putSlot(fieldName, FLOAT, 0, value);
+    } else {
+      attach(fieldName, value);
+    }
+  }
+
+  @Override
+  public void writeValue(String fieldName, double value) {
+    if (containers.isEmpty()) {
+      putSlot(fieldName, DOUBLE, 0, value);
+    } else {
+      attach(fieldName, value);
+    }
+  }
+
+  @Override
+  public void writeValue(String fieldName, Object value) {
+    attach(fieldName, value);
+  }
+
+  private void putSlot(String fieldName, byte kind, long longValue, double doubleValue) {
+    int index = indexOf(fieldName);
+    if (index >= 0) {
+      kinds[index] = kind;
+      longValues[index] = longValue;
+      doubleValues[index] = doubleValue;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void attach(String fieldName, Object value) {
+    if (containers.isEmpty()) {
+      int index = indexOf(fieldName);
+      if (index >= 0) {
+        kinds[index] = OBJECT;
+        values[index] = value;
+      }
+    } else {
+      Object parent = containers.get(containers.size() - 1);
+      if (parent instanceof Map) {
+        ((Map<String, Object>) parent).put(fieldName, value);
+      } else {
+        ((List<Object>) parent).add(value);
+      }
+    }
+  }
+
+  private int indexOf(String fieldName) {
+    int index = schema.indexOf(fieldName, nextIndex);
+    if (index >= 0) {
+      nextIndex = index + 1;
+    } else {
+      unknownFields = true;
+    }
+    return index;
+  }
+
+  private void push(String fieldName, Object container) {
+    containers.add(container);
+    containerNames.add(fieldName);
+  }
+
+  private void pop() {
+    Object container = containers.remove(containers.size() - 1);
+    String fieldName = containerNames.remove(containerNames.size() - 1);
+    attach(fieldName, container);
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestBinaryDataFormat {
+
+  @Test
+  public void testPrimitiveValues() {
+    Map<String, Object> event = new HashMap<>();
+    event.put("int", 42);
+    event.put("negativeInt", -1);
+    event.put("minInt", Integer.MIN_VALUE);
+    event.put("maxInt", Integer.MAX_VALUE);
+    event.put("long", 1600000000000L);
+    event.put("minLong", Long.MIN_VALUE);
+    event.put("maxLong", Long.MAX_VALUE);
+    event.put("float", 1.5f);
+    event.put("double", -2.25);
+    event.put("true", true);
+    event.put("false", false);
+    event.put("string", "value \u00e4\u00f6\u00fc");
+
+    Map<String, Object> result = roundTrip(new BinaryDataFormatDefinition(), event);
+
+    assertEquals(event, result);
+  }
+
+  @Test
+  public void testNestedAndListValues() {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("timestamp", 1L);
+    nested.put("values", Arrays.asList(1, 2, 3));
+
+    Map<String, Object> event = new HashMap<>();
+    event.put("nested", nested);
+    event.put("list", Arrays.asList("a", "b"));
+    event.put("emptyList", new ArrayList<>());
+    event.put("listOfObjects", Collections.singletonList(Collections.singletonMap("x", 1.0)));
+
+    Map<String, Object> result = roundTrip(new BinaryDataFormatDefinition(), event);
+
+    assertEquals(event, result);
+  }
+
+  @Test
+  public void testNullValues() {
+    Map<String, Object> event = new HashMap<>();
+    event.put("present", 1);
+    event.put("absent", null);
+    event.put("list", Arrays.asList(1, null, 3));
+
+    Map<String, Object> named = roundTrip(new BinaryDataFormatDefinition(), event);
+    assertEquals(event, named);
+
+    Map<String, Object> schemaEvent = new HashMap<>();
+    schemaEvent.put("timestamp", 1L);
+    schemaEvent.put("temperature", null);
+    Map<String, Object> result = roundTrip(schemaDefinition("timestamp", "temperature",
+            "pressure"), schemaEvent);
+
+    assertEquals(Collections.singletonMap("timestamp", 1L), result);
+  }
+
+  @Test
+  public void testSchemaMode() {
+    SpDataFormatDefinition definition = schemaDefinition("timestamp", "temperature", "sensorId");
+    Map<String, Object> event = new HashMap<>();
+    event.put("sensorId", "s1");
+    event.put("timestamp", 1L);
+    event.put("temperature", 20.5);
+
+    byte[] bytes = definition.fromMap(event);
+
+    assertEquals(BinaryFormat.MAGIC, bytes[0]);
+    assertEquals(BinaryFormat.MODE_SCHEMA, bytes[1]);
+    assertEquals(event, definition.toMap(bytes));
+    assertTrue(bytes.length < new BinaryDataFormatDefinition().fromMap(event).length);
+  }
+
+  @Test
+  public void testSchemaModeFallsBackToNamedModeForUnknownFields() {
+    SpDataFormatDefinition definition = schemaDefinition("timestamp", "temperature");
+    Map<String, Object> event = new HashMap<>();
+    event.put("timestamp", 1L);
+    event.put("temperature", 20.5);
+    event.put("addedByProcessor", "value");
+
+    byte[] bytes = definition.fromMap(event);
+
+    assertEquals(BinaryFormat.MODE_NAMED, bytes[1]);
+    assertEquals(event, definition.toMap(bytes));
+  }
+
+  @Test
+  public void testEventWithUnknownFields() {
+    SpDataFormatDefinition definition = schemaDefinition("timestamp", "temperature");
+    Map<String, Object> known = new HashMap<>();
+    known.put("timestamp", 1L);
+    known.put("temperature", 20.5);
+    Map<String, Object> withUnknown = new HashMap<>(known);
+    withUnknown.put("addedByProcessor", 3);
+
+    byte[] knownBytes = definition.fromEvent(makeEvent(known));
+    byte[] unknownBytes = definition.fromEvent(makeEvent(withUnknown));
+
+    assertEquals(BinaryFormat.MODE_SCHEMA, knownBytes[1]);
+    assertEquals(known, definition.toMap(knownBytes));
+    assertEquals(BinaryFormat.MODE_NAMED, unknownBytes[1]);
+    assertEquals(withUnknown, definition.toMap(unknownBytes));
+  }
+
+  @Test
+  public void testFingerprint() {
+    BinarySchema schema = BinarySchema.of(properties("timestamp", "temperature"));
+
+    assertEquals(schema.getFingerprint(), BinarySchema.of(properties("timestamp",
+            "temperature")).getFingerprint());
+    assertFalse(schema.getFingerprint() == BinarySchema.of(properties("temperature",
+            "timestamp")).getFingerprint());
+    assertFalse(BinarySchema.of(properties("ab", "c")).getFingerprint() == BinarySchema.of
+            (properties("a", "bc")).getFingerprint());
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testFingerprintMismatch() {
+    Map<String, Object> event = new HashMap<>();
+    event.put("timestamp", 1L);
+    event.put("temperature", 20.5);
+    byte[] bytes = schemaDefinition("timestamp", "temperature").fromMap(event);
+
+    schemaDefinition("timestamp", "humidity").toMap(bytes);
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testNonBinaryMessage() {
+    new BinaryDataFormatDefinition().toMap("{\"timestamp\":1}".getBytes());
+  }
+
+  @Test
+  public void testUnboundReaderReadsNamedMessages() {
+    Map<String, Object> event = Collections.singletonMap("timestamp", 1L);
+    byte[] bytes = schemaDefinition("other").fromMap(event);
+
+    Map<String, Object> result = new BinaryDataFormatDefinition().toMap(bytes);
+
+    assertEquals(event, result);
+    assertNull(result.get("other"));
+  }
+
+  private Map<String, Object> roundTrip(SpDataFormatDefinition definition, Map<String, Object>
+          event) {
+    return definition.toMap(definition.fromMap(event));
+  }
+
+  private SpDataFormatDefinition schemaDefinition(String... runtimeNames) {
+    return new BinaryDataFormatDefinition().forSchema(new EventSchema(properties(runtimeNames)));
+  }
+
+  private Event makeEvent(Map<String, Object> event) {
+    return EventFactory.fromMap(event, new SourceInfo("source", "s0"), new SchemaInfo(null,
+            Collections.emptyList()));
+  }
+
+  private List<EventProperty> properties(String... runtimeNames) {
+    List<EventProperty> properties = new ArrayList<>();
+    for (String runtimeName : runtimeNames) {
+      properties.add(new EventPropertyPrimitive(XSD._integer.toString(), runtimeName, "",
+              Collections.emptyList()));
+    }
+    return properties;
+  }
+}
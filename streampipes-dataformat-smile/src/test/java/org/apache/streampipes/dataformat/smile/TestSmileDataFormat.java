@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.smile;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyList;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestSmileDataFormat {
+
+  private static final SourceInfo SOURCE_INFO = new SourceInfo("source", "s0");
+
+  private final SpDataFormatDefinition definition = new SmileDataFormatDefinition();
+
+  @Test
+  public void testFromEventEqualsFromMap() {
+    Map<String, Object> event = makeEvent();
+
+    byte[] fromEvent = definition.fromEvent(EventFactory.fromMap(event, SOURCE_INFO,
+            makeSchemaInfo()));
+
+    assertEquals(definition.toMap(definition.fromMap(event)), definition.toMap(fromEvent));
+    assertEquals(event, definition.toMap(fromEvent));
+  }
+
+  @Test
+  public void testRoundTripWithLayout() {
+    Map<String, Object> event = makeEvent();
+    EventLayout layout = EventLayout.compile(SOURCE_INFO, makeSchemaInfo());
+
+    Event decoded = definition.toEvent(definition.fromMap(event), layout);
+
+    assertEquals(event, decoded.getRaw());
+    assertEquals(event, definition.toMap(definition.fromEvent(decoded)));
+  }
+
+  @Test
+  public void testRoundTripWithoutLayout() {
+    Map<String, Object> event = makeEvent();
+    EventLayout layout = EventLayout.compile(SOURCE_INFO, new SchemaInfo(null, Collections
+            .emptyList()));
+
+    Event decoded = definition.toEvent(definition.fromMap(event), layout);
+
+    assertEquals(event, definition.toMap(definition.fromEvent(decoded)));
+  }
+
+  @Test
+  public void testRoundTripFromBuffer() {
+    Map<String, Object> event = makeEvent();
+    byte[] bytes = definition.fromMap(event);
+    byte[] message = new byte[bytes.length + 4];
+    System.arraycopy(bytes, 0, message, 2, bytes.length);
+    ByteBuffer buffer = ByteBuffer.wrap(message, 2, bytes.length);
+
+    Event decoded = definition.toEvent(buffer, EventLayout.compile(SOURCE_INFO, makeSchemaInfo()));
+
+    assertEquals(event, decoded.getRaw());
+    assertEquals(event, definition.toMap(buffer));
+  }
+
+  private Map<String, Object> makeEvent() {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("sensorId", "s1");
+    nested.put("values", Arrays.asList(1, 2, 3));
+
+    Map<String, Object> event = new HashMap<>();
+    event.put("timestamp", 1600000000000L);
+    event.put("count", 42);
+    event.put("temperature", 20.5);
+    event.put("active", true);
+    event.put("name", "sensor");
+    event.put("nested", nested);
+    event.put("list", Arrays.asList("a", "b"));
+    event.put("listOfObjects", Collections.singletonList(Collections.singletonMap("x", 1.5)));
+    return event;
+  }
+
+  private SchemaInfo makeSchemaInfo() {
+    List<EventProperty> properties = Arrays.asList(
+            primitive(XSD._long, "timestamp"),
+            primitive(XSD._integer, "count"),
+            primitive(XSD._double, "temperature"),
+            primitive(XSD._boolean, "active"),
+            primitive(XSD._string, "name"),
+            new EventPropertyNested("nested", Arrays.asList(primitive(XSD._string, "sensorId"),
+                    new EventPropertyList("values", primitive(XSD._integer, "value")))),
+            new EventPropertyList("list", primitive(XSD._string, "value")),
+            new EventPropertyList("listOfObjects", new EventPropertyNested("object",
+                    Collections.singletonList(primitive(XSD._double, "x")))));
+    return new SchemaInfo(new EventSchema(properties), Collections.emptyList());
+  }
+
+  private EventProperty primitive(Object type, String runtimeName) {
+    return new EventPropertyPrimitive(type.toString(), runtimeName, "", Collections.emptyList());
+  }
+}
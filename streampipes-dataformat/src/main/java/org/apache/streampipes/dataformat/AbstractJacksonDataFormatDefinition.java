@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.CompiledEvent;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.EventWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class for all data formats backed by a Jackson {@link ObjectMapper}. Besides the map-based
+ * conversion, events are decoded and encoded in a single pass with the streaming parser and
+ * generator of the underlying format.
+ */
+public abstract class AbstractJacksonDataFormatDefinition implements SpDataFormatDefinition {
+
+  protected ObjectMapper objectMapper;
+
+  public AbstractJacksonDataFormatDefinition(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public Map<String, Object> toMap(byte[] event) throws SpRuntimeException {
+    try {
+      return objectMapper.readValue(event, HashMap.class);
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to map data structure");
+    }
+  }
+
+  @Override
+  public Map<String, Object> toMap(ByteBuffer event) throws SpRuntimeException {
+    if (!event.hasArray()) {
+      return toMap(SpDataFormatDefinition.toByteArray(event));
+    }
+    try {
+      return objectMapper.readValue(event.array(), event.arrayOffset() + event.position(), event
+              .remaining(), HashMap.class);
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to map data structure");
+    }
+  }
+
+  @Override
+  public byte[] fromMap(Map<String, Object> event) throws SpRuntimeException {
+    try {
+      return objectMapper.writeValueAsBytes(event);
+    } catch (JsonProcessingException e) {
+      throw new SpRuntimeException("Could not convert map data structure to JSON string");
+    }
+  }
+
+  @Override
+  public Event toEvent(byte[] event, EventLayout eventLayout) throws SpRuntimeException {
+    return toEvent(event, 0, event.length, eventLayout);
+  }
+
+  @Override
+  public Event toEvent(ByteBuffer event, EventLayout eventLayout) throws SpRuntimeException {
+    if (!event.hasArray()) {
+      return toEvent(SpDataFormatDefinition.toByteArray(event), eventLayout);
+    }
+    return toEvent(event.array(), event.arrayOffset() + event.position(), event.remaining(),
+            eventLayout);
+  }
+
+  private Event toEvent(byte[] event, int offset, int length, EventLayout eventLayout) throws
+          SpRuntimeException {
+    if (eventLayout.size() == 0) {
+      return eventLayout.fromMap(toMap(ByteBuffer.wrap(event, offset, length)));
+    }
+
+    try (JsonParser parser = objectMapper.getFactory().createParser(event, offset, length)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new SpRuntimeException("Could not convert event: expected an object");
+      }
+      CompiledEvent compiledEvent = new CompiledEvent(eventLayout);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String runtimeName = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+          readInteger(parser, runtimeName, compiledEvent);
+        } else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+          compiledEvent.putValue(runtimeName, parser.getDoubleValue());
+        } else if (token == JsonToken.VALUE_STRING) {
+          compiledEvent.putValue(runtimeName, (Object) parser.getText());
+        } else if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+          compiledEvent.putValue(runtimeName, (Object) parser.getBooleanValue());
+        } else if (token == JsonToken.VALUE_NULL) {
+          compiledEvent.putValue(runtimeName, (Object) null);
+        } else {
+          compiledEvent.putValue(runtimeName, parser.readValueAs(Object.class));
+        }
+      }
+      return compiledEvent;
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to event data structure");
+    }
+  }
+
+  @Override
+  public byte[] fromEvent(Event event) throws SpRuntimeException {
+    ByteArrayBuilder builder = new ByteArrayBuilder();
+    fromEvent(event, builder);
+    return builder.toByteArray();
+  }
+
+  @Override
+  public void fromEvent(Event event, OutputStream outputStream) throws SpRuntimeException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      new EventConverter(event).writeTo(new GeneratorEventWriter(generator));
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to " + objectMapper.getFactory()
+              .getFormatName());
+    }
+  }
+
+  private void readInteger(JsonParser parser, String runtimeName, CompiledEvent compiledEvent)
+          throws IOException {
+    switch (parser.getNumberType()) {
+      case INT:
+        compiledEvent.putValue(runtimeName, parser.getIntValue());
+        break;
+      case LONG:
+        compiledEvent.putValue(runtimeName, parser.getLongValue());
+        break;
+      default:
+        compiledEvent.putValue(runtimeName, (Object) parser.getNumberValue());
+    }
+  }
+
+  private static class GeneratorEventWriter implements EventWriter {
+
+    private final JsonGenerator generator;
+
+    GeneratorEventWriter(JsonGenerator generator) {
+      this.generator = generator;
+    }
+
+    @Override
+    public void writeStartObject(String fieldName) throws IOException {
+      writeFieldName(fieldName);
+      generator.writeStartObject();
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+      generator.writeEndObject();
+    }
+
+    @Override
+    public void writeStartArray(String fieldName) throws IOException {
+      writeFieldName(fieldName);
+      generator.writeStartArray();
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+      generator.writeEndArray();
+    }
+
+    @Override
+    public void writeValue(String fieldName, int value) throws IOException {
+      writeFieldName(fieldName);
+      generator.writeNumber(value);
+    }
+
+    @Override
+    public void writeValue(String fieldName, long value) throws IOException {
+      writeFieldName(fieldName);
+      generator.writeNumber(value);
+    }
+
+    @Override
+    public void writeValue(String fieldName, float value) throws IOException {
+      writeFieldName(fieldName);
+      generator.writeNumber(value);
+    }
+
+    @Override
+    public void writeValue(String fieldName, double value) throws IOException {
+      writeFieldName(fieldName);
+      generator.writeNumber(value);
+    }
+
+    @Override
+    public void writeValue(String fieldName, Object value) throws IOException {
+      writeFieldName(fieldName);
+      generator.writeObject(value);
+    }
+
+    private void writeFieldName(String fieldName) throws IOException {
+      if (fieldName != null) {
+        generator.writeFieldName(fieldName);
+      }
+    }
+  }
+}
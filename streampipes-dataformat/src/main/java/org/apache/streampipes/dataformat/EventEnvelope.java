@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.vocabulary.MessageFormat;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Packs several serialized events into a single broker message. The envelope is independent of
+ * the data format of the contained events and is negotiated by adding {@link
+ * MessageFormat#Envelope} to the rdf types of a stream's {@link TransportFormat}.
+ *
+ * <p>An envelope starts with a 4-byte magic number and the number of events, followed by the
+ * length and content of each event. Lengths and counts are 4-byte big-endian integers.
+ */
+public final class EventEnvelope {
+
+  private static final byte[] MAGIC = {(byte) 0xEB, 'S', 'P', 1};
+  private static final int HEADER_LENGTH = MAGIC.length + Integer.BYTES;
+
+  private EventEnvelope() {
+  }
+
+  public static boolean isEnvelope(TransportFormat transportFormat) {
+    return transportFormat
+            .getRdfType()
+            .stream()
+            .anyMatch(tf -> tf.toString().equals(MessageFormat.Envelope));
+  }
+
+  public static byte[] pack(List<byte[]> events) {
+    int length = HEADER_LENGTH;
+    for (byte[] event : events) {
+      length += Integer.BYTES + event.length;
+    }
+    ByteBuffer envelope = ByteBuffer.allocate(length);
+    envelope.put(MAGIC);
+    envelope.putInt(events.size());
+    for (byte[] event : events) {
+      envelope.putInt(event.length);
+      envelope.put(event);
+    }
+    return envelope.array();
+  }
+
+  /**
+   * Packs the given events into as few envelopes as possible, each of them at most {@code
+   * maxBytes} long. An event which does not fit into an envelope of that size is packed alone.
+   */
+  public static List<byte[]> pack(List<byte[]> events, int maxBytes) {
+    List<byte[]> envelopes = new ArrayList<>(1);
+    int start = 0;
+    int length = HEADER_LENGTH;
+    for (int i = 0; i < events.size(); i++) {
+      int eventLength = Integer.BYTES + events.get(i).length;
+      if (i > start && length + eventLength > maxBytes) {
+        envelopes.add(pack(events.subList(start, i)));
+        start = i;
+        length = HEADER_LENGTH;
+      }
+      length += eventLength;
+    }
+    if (start < events.size()) {
+      envelopes.add(pack(events.subList(start, events.size())));
+    }
+    return envelopes;
+  }
+
+  public static List<byte[]> unpack(byte[] message) throws SpRuntimeException {
+    return unpack(ByteBuffer.wrap(message));
+  }
+
+  /**
+   * Returns copies of the events contained in the remaining bytes of the given buffer without
+   * consuming them. Messages which are not an envelope are returned as a single event.
+   *
+   * @throws SpRuntimeException if the envelope is truncated or its counts and lengths are invalid
+   */
+  public static List<byte[]> unpack(ByteBuffer message) throws SpRuntimeException {
+    ByteBuffer envelope = message.duplicate();
+    if (!isPacked(envelope)) {
+      return Collections.singletonList(SpDataFormatDefinition.toByteArray(envelope));
+    }
+    envelope.position(envelope.position() + MAGIC.length);
+    int count = envelope.getInt();
+    // each event takes at least the bytes of its length
+    if (count < 0 || count > envelope.remaining() / Integer.BYTES) {
+      throw new SpRuntimeException("Invalid envelope: " + count + " events in "
+              + envelope.remaining() + " bytes");
+    }
+    List<byte[]> events = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      if (envelope.remaining() < Integer.BYTES) {
+        throw new SpRuntimeException("Invalid envelope: missing length of event " + i);
+      }
+      int length = envelope.getInt();
+      if (length < 0 || length > envelope.remaining()) {
+        throw new SpRuntimeException("Invalid envelope: event " + i + " of " + length
+                + " bytes exceeds the remaining " + envelope.remaining() + " bytes");
+      }
+      byte[] event = new byte[length];
+      envelope.get(event);
+      events.add(event);
+    }
+    return events;
+  }
+
+  private static boolean isPacked(ByteBuffer message) {
+    if (message.remaining() < HEADER_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (message.get(message.position() + i) != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -19,8 +19,15 @@
 package org.apache.streampipes.dataformat;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.schema.EventSchema;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 public interface SpDataFormatDefinition extends Serializable {
@@ -28,4 +35,50 @@ public interface SpDataFormatDefinition extends Serializable {
   Map<String, Object> toMap(byte[] event) throws SpRuntimeException;
 
   byte[] fromMap(Map<String, Object> event) throws SpRuntimeException;
+
+  /**
+   * Decodes a serialized event directly into an {@link Event} of the given layout. Formats which
+   * cannot decode in a single pass fall back to {@link #toMap(byte[])}.
+   */
+  default Event toEvent(byte[] event, EventLayout eventLayout) throws SpRuntimeException {
+    return eventLayout.fromMap(toMap(event));
+  }
+
+  /**
+   * Decodes the remaining bytes of the given buffer without consuming them. Formats which cannot
+   * read from a buffer view copy its content and fall back to {@link #toMap(byte[])}.
+   */
+  default Map<String, Object> toMap(ByteBuffer event) throws SpRuntimeException {
+    return toMap(toByteArray(event));
+  }
+
+  default Event toEvent(ByteBuffer event, EventLayout eventLayout) throws SpRuntimeException {
+    return toEvent(toByteArray(event), eventLayout);
+  }
+
+  default byte[] fromEvent(Event event) throws SpRuntimeException {
+    return fromMap(new EventConverter(event).toMap());
+  }
+
+  default void fromEvent(Event event, OutputStream outputStream) throws SpRuntimeException {
+    try {
+      outputStream.write(fromEvent(event));
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not write event to output stream");
+    }
+  }
+
+  /**
+   * Returns a definition bound to the schema of the events it writes. Schema-aware formats use
+   * the schema to omit field names on the wire, all other formats return themselves.
+   */
+  default SpDataFormatDefinition forSchema(EventSchema eventSchema) {
+    return this;
+  }
+
+  static byte[] toByteArray(ByteBuffer event) {
+    byte[] data = new byte[event.remaining()];
+    event.duplicate().get(data);
+    return data;
+  }
 }
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.vocabulary.MessageFormat;
+import org.junit.Test;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TestEventEnvelope {
+
+  @Test
+  public void testRoundTrip() {
+    List<byte[]> events = Arrays.asList(bytes("{\"a\":1}"), new byte[0], bytes("{\"b\":2}"));
+
+    List<byte[]> unpacked = EventEnvelope.unpack(EventEnvelope.pack(events));
+
+    assertEvents(events, unpacked);
+  }
+
+  @Test
+  public void testEmptyEnvelope() {
+    byte[] envelope = EventEnvelope.pack(Collections.emptyList());
+
+    assertTrue(EventEnvelope.unpack(envelope).isEmpty());
+  }
+
+  @Test
+  public void testNonEnvelopePassesThrough() {
+    byte[] event = bytes("{\"timestamp\":1}");
+
+    List<byte[]> unpacked = EventEnvelope.unpack(event);
+
+    assertEquals(1, unpacked.size());
+    assertArrayEquals(event, unpacked.get(0));
+  }
+
+  @Test
+  public void testShortMessagePassesThrough() {
+    byte[] event = {(byte) 0xEB, 'S', 'P'};
+
+    assertArrayEquals(event, EventEnvelope.unpack(event).get(0));
+  }
+
+  @Test
+  public void testUnpackDoesNotConsumeBuffer() {
+    byte[] envelope = EventEnvelope.pack(Collections.singletonList(bytes("event")));
+    byte[] message = new byte[envelope.length + 2];
+    System.arraycopy(envelope, 0, message, 2, envelope.length);
+    ByteBuffer buffer = ByteBuffer.wrap(message);
+    buffer.position(2);
+
+    List<byte[]> unpacked = EventEnvelope.unpack(buffer);
+
+    assertEquals(1, unpacked.size());
+    assertArrayEquals(bytes("event"), unpacked.get(0));
+    assertEquals(2, buffer.position());
+  }
+
+  @Test
+  public void testPackWithMaximumSize() {
+    List<byte[]> events = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      events.add(new byte[100]);
+    }
+
+    // header of 8 bytes and 104 bytes per event, i.e., three events per envelope
+    List<byte[]> envelopes = EventEnvelope.pack(events, 320);
+
+    assertEquals(4, envelopes.size());
+    List<byte[]> unpacked = new ArrayList<>();
+    for (byte[] envelope : envelopes) {
+      assertTrue(envelope.length <= 320);
+      unpacked.addAll(EventEnvelope.unpack(envelope));
+    }
+    assertEvents(events, unpacked);
+  }
+
+  @Test
+  public void testPackOversizedEventAlone() {
+    List<byte[]> events = Arrays.asList(new byte[10], new byte[500], new byte[10]);
+
+    List<byte[]> envelopes = EventEnvelope.pack(events, 100);
+
+    assertEquals(3, envelopes.size());
+    assertEquals(500, EventEnvelope.unpack(envelopes.get(1)).get(0).length);
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testTruncatedEnvelope() {
+    byte[] envelope = EventEnvelope.pack(Arrays.asList(bytes("first"), bytes("second")));
+
+    EventEnvelope.unpack(Arrays.copyOf(envelope, envelope.length - 1));
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testMissingEventLength() {
+    byte[] envelope = EventEnvelope.pack(Arrays.asList(bytes("first"), bytes("second")));
+
+    // ends after the first event, before the length of the second one
+    EventEnvelope.unpack(Arrays.copyOf(envelope, 8 + 4 + 5 + 2));
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testNegativeEventLength() {
+    ByteBuffer envelope = ByteBuffer.wrap(EventEnvelope.pack(Collections.singletonList(bytes
+            ("event"))));
+    envelope.putInt(8, -1);
+
+    EventEnvelope.unpack(envelope);
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testInvalidEventCount() {
+    ByteBuffer envelope = ByteBuffer.wrap(EventEnvelope.pack(Collections.singletonList(bytes
+            ("event"))));
+    envelope.putInt(4, Integer.MAX_VALUE);
+
+    EventEnvelope.unpack(envelope);
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testNegativeEventCount() {
+    ByteBuffer envelope = ByteBuffer.wrap(EventEnvelope.pack(Collections.emptyList()));
+    envelope.putInt(4, -1);
+
+    EventEnvelope.unpack(envelope);
+  }
+
+  @Test
+  public void testIsEnvelope() {
+    TransportFormat format = new TransportFormat(MessageFormat.Json);
+    assertFalse(EventEnvelope.isEnvelope(format));
+
+    format.getRdfType().add(URI.create(MessageFormat.Envelope));
+    assertTrue(EventEnvelope.isEnvelope(format));
+  }
+
+  private void assertEvents(List<byte[]> expected, List<byte[]> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertArrayEquals(expected.get(i), actual.get(i));
+    }
+  }
+
+  private byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging.inmemory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes published events to all in-memory consumers of a topic within this JVM. Like a broker
+ * topic without durable subscriptions, events published while a topic has no consumer are
+ * dropped, which is logged once per topic and counted.
+ */
+public enum InMemoryBroker {
+
+  INSTANCE;
+
+  private static final Logger LOG = LoggerFactory.getLogger(InMemoryBroker.class);
+
+  private final Map<String, List<InMemoryConsumer>> subscriptions = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> droppedEvents = new ConcurrentHashMap<>();
+
+  public void subscribe(String topic, InMemoryConsumer consumer) {
+    subscriptions.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(consumer);
+  }
+
+  public void unsubscribe(String topic, InMemoryConsumer consumer) {
+    subscriptions.computeIfPresent(topic, (t, consumers) -> {
+      consumers.remove(consumer);
+      return consumers.isEmpty() ? null : consumers;
+    });
+  }
+
+  public void publish(String topic, byte[] event) {
+    List<InMemoryConsumer> consumers = subscriptions.get(topic);
+    if (consumers != null) {
+      for (InMemoryConsumer consumer : consumers) {
+        consumer.enqueue(event);
+      }
+    } else {
+      drop(topic, 1);
+    }
+  }
+
+  public void publish(String topic, List<byte[]> events) {
+    List<InMemoryConsumer> consumers = subscriptions.get(topic);
+    if (consumers != null) {
+      for (InMemoryConsumer consumer : consumers) {
+        consumer.enqueue(events);
+      }
+    } else {
+      drop(topic, events.size());
+    }
+  }
+
+  /**
+   * Returns the number of events of the given topic which were dropped because the topic had no
+   * consumer.
+   */
+  public long getDroppedEvents(String topic) {
+    AtomicLong dropped = droppedEvents.get(topic);
+    return dropped != null ? dropped.get() : 0;
+  }
+
+  private void drop(String topic, int count) {
+    AtomicLong dropped = droppedEvents.computeIfAbsent(topic, t -> new AtomicLong());
+    if (dropped.getAndAdd(count) == 0) {
+      LOG.warn("Dropping events of topic {}, which has no in-memory consumer", topic);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging.inmemory;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives events from the {@link InMemoryBroker} through a bounded queue, which is drained in
+ * batches by a dedicated thread. Publishers block while the queue is full.
+ */
+public class InMemoryConsumer implements EventConsumer<InMemoryTransportProtocol> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InMemoryConsumer.class);
+
+  private static final String QUEUE_CAPACITY = "SP_IN_MEMORY_QUEUE_CAPACITY";
+  private static final Integer DEFAULT_QUEUE_CAPACITY = 10000;
+  private static final Integer MAX_BATCH_SIZE = 500;
+  private static final Long POLL_TIMEOUT_MS = 100L;
+
+  private String topic;
+  private InternalEventProcessor<byte[]> eventProcessor;
+  private BlockingQueue<byte[]> queue;
+  private Thread thread;
+
+  private volatile Boolean connected = false;
+
+  @Override
+  public void connect(InMemoryTransportProtocol protocolSettings, InternalEventProcessor<byte[]>
+          eventProcessor) throws SpRuntimeException {
+    this.topic = protocolSettings.getTopicDefinition().getActualTopicName();
+    this.eventProcessor = eventProcessor;
+    this.queue = new ArrayBlockingQueue<>(getQueueCapacity());
+    this.connected = true;
+    this.thread = new Thread(this::deliver, "in-memory-consumer-" + topic);
+    this.thread.start();
+    InMemoryBroker.INSTANCE.subscribe(topic, this);
+  }
+
+  void enqueue(byte[] event) {
+    try {
+      queue.put(event);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  void enqueue(List<byte[]> events) {
+    for (byte[] event : events) {
+      enqueue(event);
+    }
+  }
+
+  private void deliver() {
+    List<byte[]> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    while (connected || !queue.isEmpty()) {
+      try {
+        byte[] event = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (event == null) {
+          continue;
+        }
+        batch.add(event);
+        queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+        if (batch.size() == 1) {
+          eventProcessor.onEvent(event);
+        } else {
+          eventProcessor.onEvents(new ArrayList<>(batch));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error("Could not process events of topic {}", topic, e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  @Override
+  public void disconnect() throws SpRuntimeException {
+    InMemoryBroker.INSTANCE.unsubscribe(topic, this);
+    this.connected = false;
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while disconnecting from topic " + topic);
+    }
+  }
+
+  @Override
+  public Boolean isConnected() {
+    return connected;
+  }
+
+  private Integer getQueueCapacity() {
+    return System.getenv(QUEUE_CAPACITY) != null ? Integer.parseInt(System.getenv(QUEUE_CAPACITY))
+            : DEFAULT_QUEUE_CAPACITY;
+  }
+}
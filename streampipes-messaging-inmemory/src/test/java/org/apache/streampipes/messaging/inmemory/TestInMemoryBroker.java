@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TestInMemoryBroker {
+
+  @Test
+  public void testPublishToAllConsumers() throws InterruptedException {
+    String topic = makeTopic();
+    RecordingProcessor first = new RecordingProcessor(3);
+    RecordingProcessor second = new RecordingProcessor(3);
+    InMemoryConsumer firstConsumer = connect(topic, first);
+    InMemoryConsumer secondConsumer = connect(topic, second);
+
+    InMemoryPublisher publisher = new InMemoryPublisher();
+    publisher.connect(new InMemoryTransportProtocol(topic));
+    publisher.publish(new byte[]{0});
+    publisher.publish(Arrays.asList(new byte[]{1}, new byte[]{2}));
+
+    assertTrue(first.await());
+    assertTrue(second.await());
+    assertEquals(Arrays.asList(0, 1, 2), first.received);
+    assertEquals(Arrays.asList(0, 1, 2), second.received);
+    assertEquals(0, InMemoryBroker.INSTANCE.getDroppedEvents(topic));
+
+    firstConsumer.disconnect();
+    secondConsumer.disconnect();
+  }
+
+  @Test
+  public void testCountsEventsWithoutConsumer() {
+    String topic = makeTopic();
+
+    InMemoryBroker.INSTANCE.publish(topic, new byte[]{0});
+    InMemoryBroker.INSTANCE.publish(topic, Arrays.asList(new byte[]{1}, new byte[]{2}));
+
+    assertEquals(3, InMemoryBroker.INSTANCE.getDroppedEvents(topic));
+  }
+
+  @Test
+  public void testUnsubscribedConsumerReceivesNoEvents() throws InterruptedException {
+    String topic = makeTopic();
+    RecordingProcessor processor = new RecordingProcessor(1);
+    InMemoryConsumer consumer = connect(topic, processor);
+    consumer.disconnect();
+
+    InMemoryBroker.INSTANCE.publish(topic, new byte[]{0});
+
+    assertFalse(consumer.isConnected());
+    assertTrue(processor.received.isEmpty());
+    assertEquals(1, InMemoryBroker.INSTANCE.getDroppedEvents(topic));
+  }
+
+  @Test
+  public void testConsumerDeliversInOrderAndDrainsOnDisconnect() {
+    String topic = makeTopic();
+    RecordingProcessor processor = new RecordingProcessor(1000);
+    InMemoryConsumer consumer = connect(topic, processor);
+
+    List<byte[]> events = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      events.add(new byte[]{(byte) i});
+    }
+    InMemoryBroker.INSTANCE.publish(topic, events);
+    consumer.disconnect();
+
+    assertEquals(1000, processor.received.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals((int) (byte) i, (int) processor.received.get(i));
+    }
+    // events which arrive together are delivered in batches
+    assertTrue(processor.deliveries < 1000);
+  }
+
+  @Test
+  public void testConsumerSurvivesProcessingFailure() throws InterruptedException {
+    String topic = makeTopic();
+    RecordingProcessor processor = new RecordingProcessor(1) {
+      @Override
+      public void onEvent(byte[] event) {
+        if (event[0] == 0) {
+          throw new IllegalStateException("failed");
+        }
+        super.onEvent(event);
+      }
+    };
+    InMemoryConsumer consumer = connect(topic, processor);
+
+    InMemoryBroker.INSTANCE.publish(topic, new byte[]{0});
+    Thread.sleep(200);
+    InMemoryBroker.INSTANCE.publish(topic, new byte[]{1});
+
+    assertTrue(processor.await());
+    assertEquals(Arrays.asList(1), processor.received);
+    consumer.disconnect();
+  }
+
+  private InMemoryConsumer connect(String topic, InternalEventProcessor<byte[]> processor) {
+    InMemoryConsumer consumer = new InMemoryConsumer();
+    consumer.connect(new InMemoryTransportProtocol(topic), processor);
+    return consumer;
+  }
+
+  private String makeTopic() {
+    return "test-" + UUID.randomUUID();
+  }
+
+  private static class RecordingProcessor implements InternalEventProcessor<byte[]> {
+
+    private final List<Integer> received = new CopyOnWriteArrayList<>();
+    private final CountDownLatch latch;
+    private volatile int deliveries;
+
+    RecordingProcessor(int expectedEvents) {
+      this.latch = new CountDownLatch(expectedEvents);
+    }
+
+    @Override
+    public void onEvent(byte[] event) {
+      deliveries++;
+      record(event);
+    }
+
+    @Override
+    public void onEvents(List<byte[]> events) {
+      deliveries++;
+      events.forEach(this::record);
+    }
+
+    private void record(byte[] event) {
+      received.add((int) event[0]);
+      latch.countDown();
+    }
+
+    boolean await() throws InterruptedException {
+      return latch.await(5, TimeUnit.SECONDS);
+    }
+  }
+}
@@ -22,6 +22,7 @@ import org.apache.activemq.command.ActiveMQBytesMessage;
 import org.apache.activemq.util.ByteSequence;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.InternalEventBufferProcessor;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 
@@ -29,6 +30,7 @@ import java.io.Serializable;
 
 import javax.jms.BytesMessage;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.Session;
 
@@ -44,18 +46,21 @@ public class ActiveMQConsumer extends ActiveMQConnectionProvider implements
 
   private void initListener() {
     try {
-      consumer.setMessageListener(message -> {
-        if (message instanceof BytesMessage) {
-          ByteSequence bs = ((ActiveMQBytesMessage) message).getContent();
-          eventProcessor.onEvent(bs.getData());
-        }
-
-      });
+      consumer.setMessageListener(message -> onMessage(message, eventProcessor));
     } catch (JMSException e) {
       e.printStackTrace();
     }
   }
 
+  // the content of the message may be a region of a larger array which is reused afterwards
+  static void onMessage(Message message, InternalEventProcessor<byte[]> eventProcessor) {
+    if (message instanceof BytesMessage) {
+      ByteSequence bs = ((ActiveMQBytesMessage) message).getContent();
+      InternalEventBufferProcessor.dispatch(eventProcessor, bs.getData(), bs.getOffset(), bs
+              .getLength());
+    }
+  }
+
   @Override
   public void connect(JmsTransportProtocol protocolSettings, InternalEventProcessor<byte[]>
           eventProcessor) throws SpRuntimeException {
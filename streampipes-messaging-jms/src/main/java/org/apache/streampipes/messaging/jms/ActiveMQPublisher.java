@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.messaging.SharedClientPool;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 
@@ -39,6 +40,15 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ActiveMQPublisher.class);
 
+  private static final int CONNECT_ATTEMPTS = 10;
+  private static final long CONNECT_RETRY_INTERVAL_MS = 1000;
+
+  // JMS connections are thread-safe, so all publishers of a broker share one connection and only
+  // create their own session
+  private static final SharedClientPool<String, Connection> CONNECTIONS =
+          new SharedClientPool<>(ActiveMQPublisher::closeConnection);
+
+  private String url;
   private Connection connection;
   private Session session;
   private MessageProducer producer;
@@ -81,18 +91,8 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
   @Override
   public void connect(JmsTransportProtocol protocolSettings) throws SpRuntimeException {
 
-    String url = ActiveMQUtils.makeActiveMqUrl(protocolSettings);
-    ConnectionFactory connectionFactory = new ActiveMQConnectionFactory(url);
-
-    boolean co = false;
-    do {
-      try {
-        this.connection = connectionFactory.createConnection();
-        co = true;
-      } catch (JMSException e) {
-        LOG.error("Trying to connect...", e);
-      }
-    } while (!co);
+    this.url = ActiveMQUtils.makeActiveMqUrl(protocolSettings);
+    this.connection = CONNECTIONS.acquire(url, () -> startConnection(protocolSettings));
 
     try {
       this.session = connection
@@ -101,15 +101,45 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
                       .getTopicDefinition()
                       .getActualTopicName()));
       this.producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
-      this.connection.start();
       this.connected = true;
     } catch (JMSException e) {
+      CONNECTIONS.release(url);
       throw new SpRuntimeException("could not connect to activemq broker. Broker: '" +
               protocolSettings.getBrokerHostname() + "' Port: " + protocolSettings.getPort());
     }
 
   }
 
+  private Connection startConnection(JmsTransportProtocol protocolSettings) throws
+          SpRuntimeException {
+    ConnectionFactory connectionFactory = new ActiveMQConnectionFactory(url);
+    for (int attempt = 1; attempt <= CONNECT_ATTEMPTS; attempt++) {
+      try {
+        Connection connection = connectionFactory.createConnection();
+        connection.start();
+        return connection;
+      } catch (JMSException e) {
+        LOG.error("Trying to connect (attempt " + attempt + " of " + CONNECT_ATTEMPTS + ")...", e);
+      }
+      try {
+        Thread.sleep(CONNECT_RETRY_INTERVAL_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    throw new SpRuntimeException("could not connect to activemq broker. Broker: '" +
+            protocolSettings.getBrokerHostname() + "' Port: " + protocolSettings.getPort());
+  }
+
+  private static void closeConnection(Connection connection) {
+    try {
+      connection.close();
+    } catch (JMSException e) {
+      LOG.warn("Could not close ActiveMQ connection.", e);
+    }
+  }
+
   @Override
   public void publish(byte[] event) {
     BytesMessage message;
@@ -127,12 +157,13 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
     try {
       producer.close();
       session.close();
-      connection.close();
-      this.connected = false;
       //logger.info("ActiveMQ connection closed successfully.");
     } catch (JMSException e) {
       //logger.warn("Could not close ActiveMQ connection.");
       throw new SpRuntimeException("could not disconnect from activemq broker");
+    } finally {
+      CONNECTIONS.release(url);
+      this.connected = false;
     }
   }
 
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.jms;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.apache.activemq.util.ByteSequence;
+import org.apache.streampipes.messaging.InternalEventBufferProcessor;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestActiveMQConsumer {
+
+  @Test
+  public void testContentRegionIsDecodedBeforeReturning() {
+    byte[] data = new byte[32];
+    BufferProcessor processor = new BufferProcessor();
+
+    ActiveMQConsumer.onMessage(makeMessage(data, "{\"value\":1}"), processor);
+    ActiveMQConsumer.onMessage(makeMessage(data, "{\"value\":2}"), processor);
+    Arrays.fill(data, (byte) 0);
+
+    assertEquals(Arrays.asList("{\"value\":1}", "{\"value\":2}"), processor.events);
+  }
+
+  @Test
+  public void testContentRegionIsCopiedForByteArrayProcessor() {
+    byte[] data = new byte[32];
+    List<byte[]> events = new ArrayList<>();
+    InternalEventProcessor<byte[]> processor = events::add;
+
+    ActiveMQConsumer.onMessage(makeMessage(data, "first"), processor);
+    ActiveMQConsumer.onMessage(makeMessage(data, "second"), processor);
+
+    assertEquals(2, events.size());
+    assertArrayEquals(bytes("first"), events.get(0));
+    assertArrayEquals(bytes("second"), events.get(1));
+  }
+
+  @Test
+  public void testOtherMessagesAreIgnored() throws Exception {
+    BufferProcessor processor = new BufferProcessor();
+    ActiveMQTextMessage message = new ActiveMQTextMessage();
+    message.setText("event");
+
+    ActiveMQConsumer.onMessage(message, processor);
+
+    assertTrue(processor.events.isEmpty());
+  }
+
+  // places the payload in the middle of the shared array, like a reused receive buffer
+  private ActiveMQBytesMessage makeMessage(byte[] data, String payload) {
+    Arrays.fill(data, (byte) 'x');
+    byte[] event = bytes(payload);
+    System.arraycopy(event, 0, data, 4, event.length);
+    ActiveMQBytesMessage message = new ActiveMQBytesMessage();
+    message.setContent(new ByteSequence(data, 4, event.length));
+    return message;
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static class BufferProcessor implements InternalEventBufferProcessor {
+
+    final List<String> events = new ArrayList<>();
+
+    @Override
+    public void onEvent(ByteBuffer event) {
+      byte[] data = new byte[event.remaining()];
+      event.get(data);
+      events.add(new String(data, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void onEvent(byte[] event) {
+      events.add(new String(event, StandardCharsets.UTF_8));
+    }
+  }
+}
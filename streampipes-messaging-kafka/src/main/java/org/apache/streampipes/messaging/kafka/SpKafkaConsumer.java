@@ -19,6 +19,7 @@
 package org.apache.streampipes.messaging.kafka;
 
 import org.apache.kafka.clients.consumer.*;
+import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,21 +32,40 @@ import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 import org.apache.streampipes.model.grounding.WildcardTopicDefinition;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
+/**
+ * Consumes a Kafka topic with a pool of poller threads. All pollers join the same consumer group,
+ * so that each poller owns a subset of the topic's partitions. The number of pollers follows the
+ * partition count of the transport protocol and is limited by SP_KAFKA_MAX_CONSUMER_THREADS.
+ * Events are handed to the event processor by one poller at a time. A poller stops when its events
+ * cannot be delivered, the consumer is reported as disconnected once all pollers have stopped.
+ */
 public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, Runnable,
         Serializable {
 
+  private static final String MAX_CONSUMER_THREADS = "SP_KAFKA_MAX_CONSUMER_THREADS";
+
   private String topic;
   private InternalEventProcessor<byte[]> eventProcessor;
   private KafkaTransportProtocol protocol;
   private String username;
   private String password;
   private volatile boolean isRunning;
+  private volatile boolean pauseRequested;
   private Boolean patternTopic = false;
+  private transient Properties consumerProperties;
+  private transient Object deliveryLock;
+  private transient boolean atLeastOnce;
+  private transient AtomicInteger activePollers;
 
   private static final Logger LOG = LoggerFactory.getLogger(SpKafkaConsumer.class);
 
@@ -90,38 +110,150 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
 
   @Override
   public void run() {
-    Properties props;
-    if (username != null && password != null) {
-      props = makePropertiesSaslPlain(protocol, username, password);
-    }
-    else {
-      props = makeProperties(protocol);
-    }
-    KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(props);
-    if (!patternTopic) {
-      consumer.subscribe(Collections.singletonList(topic));
-    } else {
-      topic = replaceWildcardWithPatternFormat(topic);
-      consumer.subscribe(Pattern.compile(topic), new ConsumerRebalanceListener() {
-        @Override
-        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
-          // TODO
+    initialize();
+    activePollers.incrementAndGet();
+    poll();
+  }
+
+  private void poll() {
+    Consumer<String, byte[]> consumer = makeConsumer(makePollerProperties());
+    // positions after a failed delivery are never committed, its events are consumed again
+    AtomicBoolean deliveryFailed = new AtomicBoolean();
+    ConsumerRebalanceListener rebalanceListener = new ConsumerRebalanceListener() {
+      @Override
+      public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        // all polled events have been processed when a rebalance starts within poll
+        if (atLeastOnce && !deliveryFailed.get()) {
+          commit(consumer);
         }
+      }
 
-        @Override
-        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
-          // TODO
+      @Override
+      public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        // TODO
+      }
+    };
+    try {
+      if (!patternTopic) {
+        consumer.subscribe(Collections.singletonList(topic), rebalanceListener);
+      } else {
+        consumer.subscribe(Pattern.compile(topic), rebalanceListener);
+      }
+      while (isRunning) {
+        applyFlowControl(consumer);
+        ConsumerRecords<String, byte[]> records = consumer.poll(100);
+        if (!records.isEmpty()) {
+          List<byte[]> events = new ArrayList<>(records.count());
+          for (ConsumerRecord<String, byte[]> record : records) {
+            events.add(record.value());
+          }
+          try {
+            deliver(events);
+          } catch (SpRuntimeException e) {
+            LOG.error("Could not deliver events of topic " + topic + ", stopping poller", e);
+            deliveryFailed.set(true);
+            break;
+          }
+          if (atLeastOnce) {
+            consumer.commitAsync((offsets, e) -> {
+              if (e != null) {
+                LOG.warn("Could not commit offsets of topic " + topic, e);
+              }
+            });
+          }
         }
-      });
+      }
+      LOG.info("Closing Kafka Consumer.");
+      if (atLeastOnce && !deliveryFailed.get()) {
+        commit(consumer);
+      }
+    } finally {
+      consumer.close();
+      onPollerStopped();
     }
-    while (isRunning) {
-      ConsumerRecords<String, byte[]> records = consumer.poll(100);
-      for (ConsumerRecord<String, byte[]> record : records) {
-        eventProcessor.onEvent(record.value());
+  }
+
+  // the partitions of a stopped poller are taken over by the remaining pollers, the consumer is
+  // only disconnected once no poller is left
+  private void onPollerStopped() {
+    if (activePollers.decrementAndGet() == 0 && isRunning) {
+      LOG.error("All pollers of topic " + topic + " have stopped, disconnecting consumer");
+      this.isRunning = false;
+    }
+  }
+
+  Consumer<String, byte[]> makeConsumer(Properties props) {
+    return new KafkaConsumer<>(props);
+  }
+
+  // pollers only fetch in parallel, the event processor is not required to be thread-safe
+  private void deliver(List<byte[]> events) {
+    synchronized (deliveryLock) {
+      eventProcessor.onEvents(events);
+      if (atLeastOnce) {
+        eventProcessor.flush();
       }
     }
-    LOG.info("Closing Kafka Consumer.");
-    consumer.close();
+  }
+
+  private void commit(Consumer<String, byte[]> consumer) {
+    try {
+      consumer.commitSync();
+    } catch (KafkaException e) {
+      LOG.warn("Could not commit offsets of topic " + topic, e);
+    }
+  }
+
+  // consumers created with a constructor may also be run directly without calling connect
+  private synchronized void initialize() {
+    if (consumerProperties == null) {
+      this.consumerProperties = username != null && password != null
+              ? makePropertiesSaslPlain(protocol, username, password)
+              : makeProperties(protocol);
+      this.deliveryLock = new Object();
+      this.atLeastOnce = new ConsumerConfigFactory(protocol).isAtLeastOnce();
+      this.activePollers = new AtomicInteger();
+    }
+  }
+
+  // all pollers share the group id, each poller needs its own client id
+  private Properties makePollerProperties() {
+    Properties props = new Properties();
+    props.putAll(consumerProperties);
+    props.put(ConsumerConfig.CLIENT_ID_CONFIG, UUID.randomUUID().toString());
+    return props;
+  }
+
+  int numberOfPollers(KafkaTransportProtocol protocol, String maxConsumerThreads) {
+    Integer partitions = protocol.getPartitions();
+    if (patternTopic || partitions == null || partitions < 1) {
+      return 1;
+    }
+    return Math.min(partitions, maxConsumerThreads(maxConsumerThreads));
+  }
+
+  private int maxConsumerThreads(String maxConsumerThreads) {
+    int defaultThreads = Runtime.getRuntime().availableProcessors();
+    if (maxConsumerThreads == null) {
+      return defaultThreads;
+    }
+    try {
+      return Math.max(1, Integer.parseInt(maxConsumerThreads.trim()));
+    } catch (NumberFormatException e) {
+      LOG.warn("Invalid value " + maxConsumerThreads + " for " + MAX_CONSUMER_THREADS + ", using "
+              + defaultThreads + " consumer threads");
+      return defaultThreads;
+    }
+  }
+
+  // pausing is applied on the polling thread since the Kafka consumer is not thread-safe; polling
+  // continues while paused so that the consumer stays in its group
+  private void applyFlowControl(Consumer<String, byte[]> consumer) {
+    if (pauseRequested) {
+      consumer.pause(consumer.assignment());
+    } else if (!consumer.paused().isEmpty()) {
+      consumer.resume(consumer.paused());
+    }
   }
 
   private String replaceWildcardWithPatternFormat(String topic) {
@@ -148,10 +280,19 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
     this.eventProcessor = eventProcessor;
     this.protocol = protocol;
     this.topic = protocol.getTopicDefinition().getActualTopicName();
+    if (patternTopic) {
+      this.topic = replaceWildcardWithPatternFormat(topic);
+    }
+    this.consumerProperties = null;
     this.isRunning = true;
+    initialize();
 
-    Thread thread = new Thread(this);
-    thread.start();
+    int pollers = numberOfPollers(protocol, System.getenv(MAX_CONSUMER_THREADS));
+    activePollers.set(pollers);
+    for (int i = 0; i < pollers; i++) {
+      Thread thread = new Thread(this::poll, "sp-kafka-consumer-" + topic + "-" + i);
+      thread.start();
+    }
   }
 
   @Override
@@ -165,4 +306,19 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
   public Boolean isConnected() {
     return isRunning;
   }
+
+  @Override
+  public void pause() {
+    this.pauseRequested = true;
+  }
+
+  @Override
+  public void resume() {
+    this.pauseRequested = false;
+  }
+
+  @Override
+  public boolean supportsPause() {
+    return true;
+  }
 }
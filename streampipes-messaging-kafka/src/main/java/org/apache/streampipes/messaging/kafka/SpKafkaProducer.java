@@ -21,15 +21,19 @@ package org.apache.streampipes.messaging.kafka;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.CreateTopicsResult;
 import org.apache.kafka.clients.admin.KafkaAdminClient;
+import org.apache.kafka.clients.admin.NewPartitions;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.messaging.SharedClientPool;
 import org.apache.streampipes.messaging.kafka.config.ProducerConfigFactory;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 
@@ -44,9 +48,14 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
 
   private static final String COLON = ":";
 
+  // Kafka producers are thread-safe, so all producers with the same settings share one client
+  private static final SharedClientPool<Properties, Producer<byte[], byte[]>> PRODUCERS =
+          new SharedClientPool<>(Producer::close);
+
   private String brokerUrl;
   private String topic;
-  private Producer<String, byte[]> producer;
+  private Producer<byte[], byte[]> producer;
+  private transient Properties producerProperties;
 
   private Boolean connected;
 
@@ -61,7 +70,7 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
             Integer.parseInt(urlParts[1]), topic);
     this.brokerUrl = url;
     this.topic = topic;
-    this.producer = new KafkaProducer<>(makeProperties(protocol));
+    acquireProducer(makeProperties(protocol));
   }
 
   // TODO backwards compatibility, remove later
@@ -71,7 +80,7 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
             Integer.parseInt(urlParts[1]), topic);
     this.brokerUrl = url;
     this.topic = topic;
-    this.producer = new KafkaProducer<>(makePropertiesSaslPlain(protocol, username, password));
+    acquireProducer(makePropertiesSaslPlain(protocol, username, password));
   }
 
   public void publish(String message) {
@@ -82,12 +91,33 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
     producer.send(new ProducerRecord<>(topic, message));
   }
 
+  @Override
+  public void publish(byte[] key, byte[] message) {
+    producer.send(new ProducerRecord<>(topic, key, message));
+  }
+
+  @Override
+  public void flush() {
+    producer.flush();
+  }
+
   private Properties makeProperties(KafkaTransportProtocol protocol) {
-    return new ProducerConfigFactory(protocol).makeProperties();
+    return withByteArrayKeys(new ProducerConfigFactory(protocol).makeProperties());
   }
 
   private Properties makePropertiesSaslPlain(KafkaTransportProtocol protocol, String username, String password) {
-    return new ProducerConfigFactory(protocol).makePropertiesSaslPlain(username, password);
+    return withByteArrayKeys(new ProducerConfigFactory(protocol).makePropertiesSaslPlain(username, password));
+  }
+
+  private void acquireProducer(Properties props) {
+    this.producerProperties = props;
+    this.producer = PRODUCERS.acquire(props, () -> new KafkaProducer<>(props));
+  }
+
+  // keys are passed as bytes, consumers can still read keys created from strings as strings
+  private Properties withByteArrayKeys(Properties props) {
+    props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+    return props;
   }
 
   @Override
@@ -98,18 +128,20 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
 
     createKafaTopic(protocol);
 
-    this.producer = new KafkaProducer<>(makeProperties(protocol));
+    acquireProducer(makeProperties(protocol));
     this.connected = true;
   }
 
   /**
-   * Create a new topic and define number partitions, replicas, and retention time
+   * Create a new topic and define number partitions, replicas, and retention time. If the topic
+   * already exists with fewer partitions than requested, its partition count is increased.
    *
    * @param settings
    */
   private void createKafaTopic(KafkaTransportProtocol settings) {
     String zookeeperHost = settings.getZookeeperHost() + ":" + settings.getZookeeperPort();
-
+    int partitions = getOrDefault(settings.getPartitions());
+    short replicationFactor = (short) getOrDefault(settings.getReplicationFactor());
 
     Properties props = new Properties();
     props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokerUrl);
@@ -117,24 +149,56 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
     Map<String, String> topicConfig = new HashMap<>();
     topicConfig.put(TopicConfig.RETENTION_MS_CONFIG, "600000");
 
-    AdminClient adminClient = KafkaAdminClient.create(props);
-
-    final NewTopic newTopic = new NewTopic(topic, 1, (short) 1);
-    newTopic.configs(topicConfig);
-
-    final CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic));
+    try (AdminClient adminClient = KafkaAdminClient.create(props)) {
+      final NewTopic newTopic = new NewTopic(topic, partitions, replicationFactor);
+      newTopic.configs(topicConfig);
+
+      final CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic));
+
+      try {
+        createTopicsResult.values().get(topic).get();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof TopicExistsException) {
+          ensurePartitions(adminClient, topic, partitions);
+        } else {
+          LOG.error("Could not create topic: " + topic + " on broker " + zookeeperHost);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.error("Could not create topic: " + topic + " on broker " + zookeeperHost);
+    }
+  }
 
+  static void ensurePartitions(AdminClient adminClient, String topic, int partitions) throws
+          InterruptedException {
     try {
-      createTopicsResult.values().get(topic).get();
-    } catch (InterruptedException | ExecutionException e) {
-      LOG.error("Could not create topic: " + topic + " on broker " + zookeeperHost);
+      int currentPartitions = adminClient
+              .describeTopics(Collections.singleton(topic))
+              .values()
+              .get(topic)
+              .get()
+              .partitions()
+              .size();
+      if (currentPartitions < partitions) {
+        LOG.info("Increasing partitions of topic " + topic + " from " + currentPartitions + " to "
+                + partitions);
+        adminClient.createPartitions(Collections.singletonMap(topic,
+                NewPartitions.increaseTo(partitions))).all().get();
+      }
+    } catch (ExecutionException e) {
+      LOG.error("Could not update partitions of topic: " + topic, e);
     }
   }
 
+  private int getOrDefault(Integer value) {
+    return value != null && value > 0 ? value : 1;
+  }
+
   @Override
   public void disconnect() {
     LOG.info("Kafka producer: Disconnecting from " + topic);
-    this.producer.close();
+    PRODUCERS.release(producerProperties);
     this.connected = false;
   }
 
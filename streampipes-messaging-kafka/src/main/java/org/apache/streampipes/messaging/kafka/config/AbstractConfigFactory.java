@@ -41,6 +41,17 @@ public abstract class AbstractConfigFactory {
     return function.get() != null ? function.get() : defaultValue;
   }
 
+  protected <T> void putIfPresent(Properties props, String key, Supplier<T> function) {
+    T value = function.get();
+    if (value != null) {
+      props.put(key, value);
+    }
+  }
+
+  protected KafkaTuningProfile getTuningProfile() {
+    return KafkaTuningProfile.from(protocol.getTuningProfile());
+  }
+
   protected String getBrokerUrl() {
     return protocol.getBrokerHostname() + COLON + protocol.getKafkaPort();
   }
@@ -23,6 +23,7 @@ import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.config.SaslConfigs;
 import org.apache.kafka.common.security.auth.SecurityProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.ProcessingGuarantee;
 
 import java.util.Properties;
 import java.util.UUID;
@@ -30,6 +31,8 @@ import java.util.UUID;
 public class ConsumerConfigFactory extends AbstractConfigFactory {
 
   private static final String ENABLE_AUTO_COMMIT_CONFIG_DEFAULT = "true";
+  private static final String ENABLE_AUTO_COMMIT_CONFIG_AT_LEAST_ONCE = "false";
+  private static final String AUTO_OFFSET_RESET_CONFIG_AT_LEAST_ONCE = "earliest";
   private static final String AUTO_COMMIT_INTERVAL_MS_CONFIG_DEFAULT = "5000";
   private static final String SESSION_TIMEOUT_MS_CONFIG_DEFAULT = "30000";
   private static final Integer FETCH_MAX_BYTES_CONFIG_DEFAULT = 5000012;
@@ -53,15 +56,28 @@ public class ConsumerConfigFactory extends AbstractConfigFactory {
     props.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG,
             AUTO_COMMIT_INTERVAL_MS_CONFIG_DEFAULT);
     props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, SESSION_TIMEOUT_MS_CONFIG_DEFAULT);
-    props.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG,
-            getConfigOrDefault(protocol::getMessageMaxBytes, FETCH_MAX_BYTES_CONFIG_DEFAULT));
+    props.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, FETCH_MAX_BYTES_CONFIG_DEFAULT);
     props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, KEY_DESERIALIZER_CLASS_CONFIG_DEFAULT);
     props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, VALUE_DESERIALIZER_CLASS_CONFIG_DEFAULT);
     props.put(ConsumerConfig.CLIENT_ID_CONFIG, UUID.randomUUID().toString());
 
+    getTuningProfile().applyConsumerConfig(props);
+
+    putIfPresent(props, ConsumerConfig.FETCH_MAX_BYTES_CONFIG, protocol::getMessageMaxBytes);
+
+    if (isAtLeastOnce()) {
+      // offsets are committed by the consumer after events have been processed
+      props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, ENABLE_AUTO_COMMIT_CONFIG_AT_LEAST_ONCE);
+      props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, AUTO_OFFSET_RESET_CONFIG_AT_LEAST_ONCE);
+    }
+
     return props;
   }
 
+  public boolean isAtLeastOnce() {
+    return ProcessingGuarantee.AT_LEAST_ONCE.name().equals(protocol.getProcessingGuarantee());
+  }
+
   @Override
   public Properties makePropertiesSaslPlain(String username, String password) {
     Properties props = makeProperties();
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Named sets of producer and consumer settings. A profile is selected by its name in the
+ * messaging settings or per transport protocol. Its values replace the defaults of the config
+ * factories, while settings defined explicitly in the transport protocol take precedence.
+ */
+public enum KafkaTuningProfile {
+
+  /**
+   * Keeps the defaults of the config factories.
+   */
+  DEFAULT(config(), config()),
+
+  /**
+   * Large compressed batches and large fetches, for high-volume streams.
+   */
+  THROUGHPUT(config(
+          ProducerConfig.ACKS_CONFIG, "1",
+          ProducerConfig.LINGER_MS_CONFIG, 50,
+          ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4",
+          ProducerConfig.BUFFER_MEMORY_CONFIG, 67108864),
+          config(
+                  ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 65536,
+                  ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 100,
+                  ConsumerConfig.FETCH_MAX_BYTES_CONFIG, 52428800,
+                  ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, 5242880,
+                  ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000)),
+
+  /**
+   * Sends and fetches each event as soon as possible.
+   */
+  LOW_LATENCY(config(
+          ProducerConfig.ACKS_CONFIG, "1",
+          ProducerConfig.LINGER_MS_CONFIG, 0,
+          ProducerConfig.BATCH_SIZE_CONFIG, 16384,
+          ProducerConfig.COMPRESSION_TYPE_CONFIG, "none"),
+          config(
+                  ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1,
+                  ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 10,
+                  ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 100)),
+
+  /**
+   * Idempotent producers which retry until all replicas acknowledged an event.
+   */
+  DURABLE(config(
+          ProducerConfig.ACKS_CONFIG, "all",
+          ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE,
+          ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+          ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5),
+          config(
+                  ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500));
+
+  private final Map<String, Object> producerConfig;
+  private final Map<String, Object> consumerConfig;
+
+  KafkaTuningProfile(Map<String, Object> producerConfig, Map<String, Object> consumerConfig) {
+    this.producerConfig = producerConfig;
+    this.consumerConfig = consumerConfig;
+  }
+
+  /**
+   * Returns the profile with the given name, or the default profile for null or unknown names.
+   */
+  public static KafkaTuningProfile from(String name) {
+    if (name != null) {
+      for (KafkaTuningProfile profile : values()) {
+        if (profile.name().equalsIgnoreCase(name)) {
+          return profile;
+        }
+      }
+    }
+    return DEFAULT;
+  }
+
+  public void applyProducerConfig(Properties props) {
+    props.putAll(producerConfig);
+  }
+
+  public void applyConsumerConfig(Properties props) {
+    props.putAll(consumerConfig);
+  }
+
+  private static Map<String, Object> config(Object... keyValues) {
+    Map<String, Object> config = new HashMap<>();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      config.put((String) keyValues[i], keyValues[i + 1]);
+    }
+    return config;
+  }
+}
@@ -52,18 +52,22 @@ public class ProducerConfigFactory extends AbstractConfigFactory {
   public Properties makeProperties() {
     Properties props = new Properties();
     props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, getBrokerUrl());
-    props.put(ProducerConfig.ACKS_CONFIG, getConfigOrDefault(protocol::getAcks,
-            ACKS_CONFIG_DEFAULT));
+    props.put(ProducerConfig.ACKS_CONFIG, ACKS_CONFIG_DEFAULT);
     props.put(ProducerConfig.RETRIES_CONFIG, RETRIES_CONFIG_DEFAULT);
-    props.put(ProducerConfig.BATCH_SIZE_CONFIG,
-            getConfigOrDefault(protocol::getBatchSize, BATCH_SIZE_CONFIG_DEFAULT));
-    props.put(ProducerConfig.LINGER_MS_CONFIG,
-            getConfigOrDefault(protocol::getLingerMs, LINGER_MS_DEFAULT));
-    props.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, getConfigOrDefault(protocol::getMaxRequestSize,
-            MAX_REQUEST_SIZE_CONFIG_DEFAULT));
+    props.put(ProducerConfig.BATCH_SIZE_CONFIG, BATCH_SIZE_CONFIG_DEFAULT);
+    props.put(ProducerConfig.LINGER_MS_CONFIG, LINGER_MS_DEFAULT);
+    props.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, MAX_REQUEST_SIZE_CONFIG_DEFAULT);
     props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, BUFFER_MEMORY_CONFIG_DEFAULT);
     props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, KEY_SERIALIZER_DEFAULT);
     props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, VALUE_SERIALIZER_DEFAULT);
+
+    getTuningProfile().applyProducerConfig(props);
+
+    putIfPresent(props, ProducerConfig.ACKS_CONFIG, protocol::getAcks);
+    putIfPresent(props, ProducerConfig.BATCH_SIZE_CONFIG, protocol::getBatchSize);
+    putIfPresent(props, ProducerConfig.LINGER_MS_CONFIG, protocol::getLingerMs);
+    putIfPresent(props, ProducerConfig.MAX_REQUEST_SIZE_CONFIG, protocol::getMaxRequestSize);
+    putIfPresent(props, ProducerConfig.COMPRESSION_TYPE_CONFIG, protocol::getCompressionType);
     return props;
   }
 
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.ProcessingGuarantee;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+public class TestSpKafkaConsumer {
+
+  private static final String TOPIC = "org.apache.streampipes.test";
+  private static final long TIMEOUT_MS = 5000;
+
+  @Test
+  public void testNumberOfPollersFollowsPartitions() {
+    SpKafkaConsumer consumer = new SpKafkaConsumer();
+
+    assertEquals(1, consumer.numberOfPollers(makeProtocol(null), "4"));
+    assertEquals(1, consumer.numberOfPollers(makeProtocol(0), "4"));
+    assertEquals(2, consumer.numberOfPollers(makeProtocol(2), "4"));
+  }
+
+  @Test
+  public void testNumberOfPollersIsLimitedByMaxConsumerThreads() {
+    SpKafkaConsumer consumer = new SpKafkaConsumer();
+    int processors = Runtime.getRuntime().availableProcessors();
+
+    assertEquals(4, consumer.numberOfPollers(makeProtocol(8), "4"));
+    assertEquals(1, consumer.numberOfPollers(makeProtocol(8), "0"));
+    assertEquals(Math.min(64, processors), consumer.numberOfPollers(makeProtocol(64), null));
+    assertEquals(Math.min(64, processors), consumer.numberOfPollers(makeProtocol(64), "many"));
+  }
+
+  @Test
+  public void testPollerDeliversAndCommitsEvents() throws Exception {
+    TopicPartition partition = new TopicPartition(TOPIC, 0);
+    RecordingMockConsumer mockConsumer = makeMockConsumer(partition, "a", "b");
+    RecordingProcessor processor = new RecordingProcessor();
+    SpKafkaConsumer consumer = new MockedKafkaConsumer(mockConsumer);
+
+    consumer.connect(makeAtLeastOnceProtocol(null), processor);
+
+    awaitCondition(() -> processor.events.size() == 2);
+    assertEquals("a", processor.events.get(0));
+    assertEquals("b", processor.events.get(1));
+    awaitCondition(() -> mockConsumer.commits.containsKey(partition));
+    assertEquals(2, mockConsumer.commits.get(partition).offset());
+
+    consumer.disconnect();
+    awaitCondition(mockConsumer::closed);
+    assertFalse(consumer.isConnected());
+  }
+
+  @Test
+  public void testConsumerDisconnectsWhenLastPollerStops() throws Exception {
+    TopicPartition firstPartition = new TopicPartition(TOPIC, 0);
+    TopicPartition secondPartition = new TopicPartition(TOPIC, 1);
+    RecordingMockConsumer first = makeMockConsumer(firstPartition, "fail");
+    RecordingMockConsumer second = makeMockConsumer(secondPartition);
+    CountDownLatch secondPolling = new CountDownLatch(1);
+    second.schedulePollTask(secondPolling::countDown);
+    RecordingProcessor processor = new RecordingProcessor();
+    SpKafkaConsumer consumer = new MockedKafkaConsumer(makeAtLeastOnceProtocol(2), TOPIC,
+            processor, second, first);
+
+    new Thread(consumer).start();
+    assertTrue(secondPolling.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    new Thread(consumer).start();
+
+    // the remaining poller keeps the consumer connected
+    awaitCondition(first::closed);
+    assertTrue(consumer.isConnected());
+    assertTrue(first.commits.isEmpty());
+
+    second.schedulePollTask(() -> second.addRecord(makeRecord(secondPartition, 0, "fail")));
+    awaitCondition(second::closed);
+    awaitCondition(() -> !consumer.isConnected());
+    assertTrue(second.commits.isEmpty());
+  }
+
+  private KafkaTransportProtocol makeProtocol(Integer partitions) {
+    KafkaTransportProtocol protocol = new KafkaTransportProtocol("localhost", 9092, TOPIC);
+    protocol.setPartitions(partitions);
+    return protocol;
+  }
+
+  private KafkaTransportProtocol makeAtLeastOnceProtocol(Integer partitions) {
+    KafkaTransportProtocol protocol = makeProtocol(partitions);
+    protocol.setProcessingGuarantee(ProcessingGuarantee.AT_LEAST_ONCE.name());
+    return protocol;
+  }
+
+  private RecordingMockConsumer makeMockConsumer(TopicPartition partition, String... values) {
+    RecordingMockConsumer mockConsumer = new RecordingMockConsumer();
+    mockConsumer.schedulePollTask(() -> {
+      mockConsumer.rebalance(Collections.singletonList(partition));
+      mockConsumer.updateBeginningOffsets(Collections.singletonMap(partition, 0L));
+      for (int i = 0; i < values.length; i++) {
+        mockConsumer.addRecord(makeRecord(partition, i, values[i]));
+      }
+    });
+    return mockConsumer;
+  }
+
+  private ConsumerRecord<String, byte[]> makeRecord(TopicPartition partition, long offset,
+                                                    String value) {
+    return new ConsumerRecord<>(partition.topic(), partition.partition(), offset, null, value
+            .getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+    while (!condition.getAsBoolean()) {
+      assertTrue("Condition not met within " + TIMEOUT_MS + " ms",
+              System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private static class MockedKafkaConsumer extends SpKafkaConsumer {
+
+    private final Queue<Consumer<String, byte[]>> consumers = new ConcurrentLinkedQueue<>();
+
+    MockedKafkaConsumer(Consumer<String, byte[]> consumer) {
+      this.consumers.add(consumer);
+    }
+
+    @SafeVarargs
+    MockedKafkaConsumer(KafkaTransportProtocol protocol, String topic,
+                        InternalEventProcessor<byte[]> eventProcessor,
+                        Consumer<String, byte[]>... consumers) {
+      super(protocol, topic, eventProcessor);
+      Collections.addAll(this.consumers, consumers);
+    }
+
+    @Override
+    Consumer<String, byte[]> makeConsumer(Properties props) {
+      return consumers.remove();
+    }
+  }
+
+  private static class RecordingMockConsumer extends MockConsumer<String, byte[]> {
+
+    private final Map<TopicPartition, OffsetAndMetadata> commits = new ConcurrentHashMap<>();
+
+    RecordingMockConsumer() {
+      super(OffsetResetStrategy.EARLIEST);
+    }
+
+    @Override
+    public synchronized void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+      commits.putAll(offsets);
+      super.commitSync(offsets);
+    }
+
+    @Override
+    public synchronized void commitAsync(Map<TopicPartition, OffsetAndMetadata> offsets,
+                                         OffsetCommitCallback callback) {
+      commits.putAll(offsets);
+      super.commitAsync(offsets, callback);
+    }
+  }
+
+  private static class RecordingProcessor implements InternalEventProcessor<byte[]> {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onEvent(byte[] event) {
+      String value = new String(event, StandardCharsets.UTF_8);
+      if ("fail".equals(value)) {
+        throw new SpRuntimeException("Could not process " + value);
+      }
+      events.add(value);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.CreatePartitionsResult;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.NewPartitions;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class TestSpKafkaProducer {
+
+  private static final String TOPIC = "org.apache.streampipes.test";
+
+  @Test
+  public void testEnsurePartitionsIncreasesPartitionCount() throws Exception {
+    AdminClient adminClient = makeAdminClient(2);
+
+    SpKafkaProducer.ensurePartitions(adminClient, TOPIC, 4);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<String, NewPartitions>> captor = ArgumentCaptor.forClass(Map.class);
+    verify(adminClient).createPartitions(captor.capture());
+    assertEquals(Collections.singleton(TOPIC), captor.getValue().keySet());
+    assertEquals(4, captor.getValue().get(TOPIC).totalCount());
+  }
+
+  @Test
+  public void testEnsurePartitionsKeepsSufficientPartitionCount() throws Exception {
+    AdminClient adminClient = makeAdminClient(4);
+
+    SpKafkaProducer.ensurePartitions(adminClient, TOPIC, 4);
+    SpKafkaProducer.ensurePartitions(adminClient, TOPIC, 2);
+
+    verify(adminClient, never()).createPartitions(anyMap());
+  }
+
+  private AdminClient makeAdminClient(int currentPartitions) {
+    Node node = new Node(0, "localhost", 9092);
+    List<TopicPartitionInfo> partitions = new ArrayList<>();
+    for (int i = 0; i < currentPartitions; i++) {
+      partitions.add(new TopicPartitionInfo(i, node, Collections.singletonList(node),
+              Collections.singletonList(node)));
+    }
+    TopicDescription description = new TopicDescription(TOPIC, false, partitions);
+
+    DescribeTopicsResult describeTopicsResult = mock(DescribeTopicsResult.class);
+    when(describeTopicsResult.values()).thenReturn(Collections.singletonMap(TOPIC, KafkaFuture
+            .completedFuture(description)));
+    CreatePartitionsResult createPartitionsResult = mock(CreatePartitionsResult.class);
+    when(createPartitionsResult.all()).thenReturn(KafkaFuture.completedFuture(null));
+
+    AdminClient adminClient = mock(AdminClient.class);
+    when(adminClient.describeTopics(any())).thenReturn(describeTopicsResult);
+    when(adminClient.createPartitions(anyMap())).thenReturn(createPartitionsResult);
+    return adminClient;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.ProcessingGuarantee;
+import org.junit.Test;
+
+import java.util.Properties;
+
+public class TestConsumerConfigFactory {
+
+  @Test
+  public void testDefaults() {
+    Properties props = makeProperties(makeProtocol(null));
+
+    assertEquals("localhost:9092", props.get(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG));
+    assertEquals("true", props.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG));
+    assertEquals(5000012, props.get(ConsumerConfig.FETCH_MAX_BYTES_CONFIG));
+    assertFalse(props.containsKey(ConsumerConfig.FETCH_MIN_BYTES_CONFIG));
+    assertFalse(props.containsKey(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+  }
+
+  @Test
+  public void testThroughputProfile() {
+    Properties props = makeProperties(makeProtocol("THROUGHPUT"));
+
+    assertEquals(65536, props.get(ConsumerConfig.FETCH_MIN_BYTES_CONFIG));
+    assertEquals(100, props.get(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG));
+    assertEquals(52428800, props.get(ConsumerConfig.FETCH_MAX_BYTES_CONFIG));
+    assertEquals(5242880, props.get(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG));
+    assertEquals(5000, props.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+  }
+
+  @Test
+  public void testLowLatencyProfile() {
+    Properties props = makeProperties(makeProtocol("LOW_LATENCY"));
+
+    assertEquals(1, props.get(ConsumerConfig.FETCH_MIN_BYTES_CONFIG));
+    assertEquals(10, props.get(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG));
+    assertEquals(100, props.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+    // settings which are not part of the profile keep their defaults
+    assertEquals(5000012, props.get(ConsumerConfig.FETCH_MAX_BYTES_CONFIG));
+  }
+
+  @Test
+  public void testDurableProfile() {
+    Properties props = makeProperties(makeProtocol("DURABLE"));
+
+    assertEquals(500, props.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+    assertFalse(props.containsKey(ConsumerConfig.FETCH_MIN_BYTES_CONFIG));
+  }
+
+  @Test
+  public void testProtocolSettingsOverrideProfile() {
+    KafkaTransportProtocol protocol = makeProtocol("THROUGHPUT");
+    protocol.setMessageMaxBytes("1000");
+    protocol.setGroupId("group");
+
+    Properties props = makeProperties(protocol);
+
+    assertEquals("1000", props.get(ConsumerConfig.FETCH_MAX_BYTES_CONFIG));
+    assertEquals("group", props.get(ConsumerConfig.GROUP_ID_CONFIG));
+    assertEquals(65536, props.get(ConsumerConfig.FETCH_MIN_BYTES_CONFIG));
+  }
+
+  @Test
+  public void testAtLeastOnceWithProfile() {
+    KafkaTransportProtocol protocol = makeProtocol("THROUGHPUT");
+    protocol.setProcessingGuarantee(ProcessingGuarantee.AT_LEAST_ONCE.name());
+
+    Properties props = makeProperties(protocol);
+
+    assertEquals("false", props.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG));
+    assertEquals("earliest", props.get(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG));
+    assertEquals(5000, props.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+  }
+
+  private Properties makeProperties(KafkaTransportProtocol protocol) {
+    return new ConsumerConfigFactory(protocol).makeProperties();
+  }
+
+  private KafkaTransportProtocol makeProtocol(String tuningProfile) {
+    KafkaTransportProtocol protocol = new KafkaTransportProtocol("localhost", 9092, "topic");
+    protocol.setTuningProfile(tuningProfile);
+    return protocol;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.junit.Test;
+
+import java.util.Properties;
+
+public class TestProducerConfigFactory {
+
+  @Test
+  public void testDefaults() {
+    Properties props = makeProperties(makeProtocol(null));
+
+    assertEquals("localhost:9092", props.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+    assertEquals("all", props.get(ProducerConfig.ACKS_CONFIG));
+    assertEquals(0, props.get(ProducerConfig.RETRIES_CONFIG));
+    assertEquals(1638400, props.get(ProducerConfig.BATCH_SIZE_CONFIG));
+    assertEquals(20, props.get(ProducerConfig.LINGER_MS_CONFIG));
+    assertEquals(33554432, props.get(ProducerConfig.BUFFER_MEMORY_CONFIG));
+    assertFalse(props.containsKey(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+  }
+
+  @Test
+  public void testThroughputProfile() {
+    Properties props = makeProperties(makeProtocol("THROUGHPUT"));
+
+    assertEquals("1", props.get(ProducerConfig.ACKS_CONFIG));
+    assertEquals(50, props.get(ProducerConfig.LINGER_MS_CONFIG));
+    assertEquals("lz4", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    assertEquals(67108864, props.get(ProducerConfig.BUFFER_MEMORY_CONFIG));
+    // settings which are not part of the profile keep their defaults
+    assertEquals(1638400, props.get(ProducerConfig.BATCH_SIZE_CONFIG));
+  }
+
+  @Test
+  public void testLowLatencyProfile() {
+    Properties props = makeProperties(makeProtocol("LOW_LATENCY"));
+
+    assertEquals("1", props.get(ProducerConfig.ACKS_CONFIG));
+    assertEquals(0, props.get(ProducerConfig.LINGER_MS_CONFIG));
+    assertEquals(16384, props.get(ProducerConfig.BATCH_SIZE_CONFIG));
+    assertEquals("none", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+  }
+
+  @Test
+  public void testDurableProfile() {
+    Properties props = makeProperties(makeProtocol("DURABLE"));
+
+    assertEquals("all", props.get(ProducerConfig.ACKS_CONFIG));
+    assertEquals(Integer.MAX_VALUE, props.get(ProducerConfig.RETRIES_CONFIG));
+    assertEquals(true, props.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+    assertEquals(5, props.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+  }
+
+  @Test
+  public void testProtocolSettingsOverrideProfile() {
+    KafkaTransportProtocol protocol = makeProtocol("THROUGHPUT");
+    protocol.setAcks("all");
+    protocol.setCompressionType("zstd");
+    protocol.setLingerMs(5);
+    protocol.setBatchSize("1000");
+    protocol.setMaxRequestSize("2000");
+
+    Properties props = makeProperties(protocol);
+
+    assertEquals("all", props.get(ProducerConfig.ACKS_CONFIG));
+    assertEquals("zstd", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    assertEquals(5, props.get(ProducerConfig.LINGER_MS_CONFIG));
+    assertEquals("1000", props.get(ProducerConfig.BATCH_SIZE_CONFIG));
+    assertEquals("2000", props.get(ProducerConfig.MAX_REQUEST_SIZE_CONFIG));
+    assertEquals(67108864, props.get(ProducerConfig.BUFFER_MEMORY_CONFIG));
+  }
+
+  @Test
+  public void testProfileNameIsCaseInsensitive() {
+    Properties props = makeProperties(makeProtocol("throughput"));
+
+    assertEquals("lz4", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+  }
+
+  @Test
+  public void testUnknownProfileKeepsDefaults() {
+    Properties props = makeProperties(makeProtocol("unknown"));
+
+    assertEquals("all", props.get(ProducerConfig.ACKS_CONFIG));
+    assertEquals(20, props.get(ProducerConfig.LINGER_MS_CONFIG));
+    assertFalse(props.containsKey(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+  }
+
+  @Test
+  public void testProfileIsAppliedWithSaslPlain() {
+    Properties props = new ProducerConfigFactory(makeProtocol("THROUGHPUT"))
+            .makePropertiesSaslPlain("user", "secret");
+
+    assertEquals("lz4", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    assertEquals("SASL_PLAINTEXT", props.get(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG));
+  }
+
+  private Properties makeProperties(KafkaTransportProtocol protocol) {
+    return new ProducerConfigFactory(protocol).makeProperties();
+  }
+
+  private KafkaTransportProtocol makeProtocol(String tuningProfile) {
+    KafkaTransportProtocol protocol = new KafkaTransportProtocol("localhost", 9092, "topic");
+    protocol.setTuningProfile(tuningProfile);
+    return protocol;
+  }
+}
@@ -16,24 +16,53 @@
  */
 package org.apache.streampipes.messaging.mqtt;
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.fusesource.mqtt.client.BlockingConnection;
 import org.fusesource.mqtt.client.MQTT;
+import org.fusesource.mqtt.client.QoS;
 
 public class AbstractMqttConnector {
 
+  private static final QoS DEFAULT_QOS = QoS.AT_LEAST_ONCE;
+  private static final int DEFAULT_IN_FLIGHT_WINDOW = 1;
+
   protected MQTT mqtt;
   protected BlockingConnection connection;
   protected Boolean connected = false;
 
   protected void createBrokerConnection(MqttTransportProtocol protocolSettings) throws Exception {
-    this.mqtt = new MQTT();
-    this.mqtt.setHost(makeBrokerUrl(protocolSettings));
+    this.mqtt = makeMqtt(protocolSettings);
     this.connection = mqtt.blockingConnection();
     this.connection.connect();
     this.connected = true;
   }
 
+  protected MQTT makeMqtt(MqttTransportProtocol protocolSettings) throws Exception {
+    MQTT mqtt = new MQTT();
+    mqtt.setHost(makeBrokerUrl(protocolSettings));
+    return mqtt;
+  }
+
+  protected QoS getQos(MqttTransportProtocol protocolSettings) {
+    Integer qos = protocolSettings.getQos();
+    if (qos == null) {
+      return DEFAULT_QOS;
+    } else if (qos < 0 || qos >= QoS.values().length) {
+      throw new SpRuntimeException("Unsupported MQTT quality of service level: " + qos);
+    } else {
+      return QoS.values()[qos];
+    }
+  }
+
+  protected int getInFlightWindow(MqttTransportProtocol protocolSettings) {
+    return positiveOrDefault(protocolSettings.getInFlightWindow(), DEFAULT_IN_FLIGHT_WINDOW);
+  }
+
+  private int positiveOrDefault(Integer value, int defaultValue) {
+    return value != null && value > 0 ? value : defaultValue;
+  }
+
   private String makeBrokerUrl(MqttTransportProtocol protocolSettings) {
     return "tcp://" + protocolSettings.getBrokerHostname() + ":" + protocolSettings.getPort();
   }
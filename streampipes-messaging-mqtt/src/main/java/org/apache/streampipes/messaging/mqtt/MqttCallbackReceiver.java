@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+import org.apache.streampipes.messaging.InternalEventBufferProcessor;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.fusesource.hawtbuf.Buffer;
+import org.fusesource.hawtbuf.UTF8Buffer;
+import org.fusesource.mqtt.client.CallbackConnection;
+import org.fusesource.mqtt.client.Listener;
+import org.fusesource.mqtt.client.MQTT;
+import org.fusesource.mqtt.client.Promise;
+import org.fusesource.mqtt.client.Topic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking MQTT receiver which hands received messages to a single receive thread and
+ * acknowledges them once they are processed, so that up to {@code inFlightWindow} messages are
+ * pipelined instead of being received and acknowledged one at a time.
+ *
+ * <p>Messages are processed one at a time and in the order in which they were received, only
+ * receiving and acknowledging overlaps with processing. Reading from the socket is suspended
+ * while the window is full and resumed once half of the window has been acknowledged. All flow
+ * control state is only touched from the dispatch queue of the connection.
+ */
+class MqttCallbackReceiver implements Listener {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MqttCallbackReceiver.class);
+
+  private static final long TIMEOUT_SECONDS = 30;
+
+  private final CallbackConnection connection;
+  private final InternalEventProcessor<byte[]> eventProcessor;
+  private final ExecutorService receiveThread;
+  private final int inFlightWindow;
+  private final int resumeThreshold;
+  private final AtomicInteger inFlight;
+
+  private boolean suspendedByWindow;
+  private boolean pausedByConsumer;
+
+  MqttCallbackReceiver(MQTT mqtt, InternalEventProcessor<byte[]> eventProcessor, int
+          inFlightWindow, String topic) {
+    this.connection = mqtt.callbackConnection();
+    this.eventProcessor = eventProcessor;
+    this.inFlightWindow = inFlightWindow;
+    this.resumeThreshold = inFlightWindow / 2;
+    this.inFlight = new AtomicInteger(0);
+    this.receiveThread = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "mqtt-receive-" + topic);
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  void connect(Topic[] topics) throws Exception {
+    connection.listener(this);
+
+    Promise<Void> connected = new Promise<>();
+    connection.connect(connected);
+    connected.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    Promise<byte[]> subscribed = new Promise<>();
+    connection.subscribe(topics, subscribed);
+    subscribed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  void disconnect() throws Exception {
+    try {
+      Promise<Void> disconnected = new Promise<>();
+      connection.disconnect(disconnected);
+      disconnected.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } finally {
+      receiveThread.shutdown();
+      receiveThread.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+  }
+
+  void pause() {
+    connection.getDispatchQueue().execute(() -> {
+      if (!pausedByConsumer) {
+        pausedByConsumer = true;
+        connection.suspend();
+      }
+    });
+  }
+
+  void resume() {
+    connection.getDispatchQueue().execute(() -> {
+      if (pausedByConsumer) {
+        pausedByConsumer = false;
+        connection.resume();
+      }
+    });
+  }
+
+  @Override
+  public void onPublish(UTF8Buffer topic, Buffer body, Runnable ack) {
+    if (inFlight.incrementAndGet() >= inFlightWindow && !suspendedByWindow) {
+      suspendedByWindow = true;
+      connection.suspend();
+    }
+    try {
+      receiveThread.execute(() -> {
+        try {
+          InternalEventBufferProcessor.dispatch(eventProcessor, body.data, body.offset,
+                  body.length);
+        } catch (RuntimeException e) {
+          LOG.error("Could not process message received from topic {}", topic, e);
+        } finally {
+          connection.getDispatchQueue().execute(() -> acknowledge(ack));
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the receiver is disconnecting, the message is not acknowledged and will be redelivered
+      inFlight.decrementAndGet();
+      LOG.debug("Discarding message received from topic {} after disconnect", topic);
+    }
+  }
+
+  private void acknowledge(Runnable ack) {
+    ack.run();
+    if (inFlight.decrementAndGet() <= resumeThreshold && suspendedByWindow) {
+      suspendedByWindow = false;
+      connection.resume();
+    }
+  }
+
+  @Override
+  public void onConnected() {
+    LOG.info("Connected to MQTT broker");
+  }
+
+  @Override
+  public void onDisconnected() {
+    LOG.info("Disconnected from MQTT broker");
+  }
+
+  @Override
+  public void onFailure(Throwable throwable) {
+    LOG.error("MQTT connection failed", throwable);
+  }
+}
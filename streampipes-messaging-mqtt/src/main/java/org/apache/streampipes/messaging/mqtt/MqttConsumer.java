@@ -18,26 +18,44 @@ package org.apache.streampipes.messaging.mqtt;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.InternalEventBufferProcessor;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
+import org.fusesource.hawtbuf.Buffer;
 import org.fusesource.mqtt.client.Message;
-import org.fusesource.mqtt.client.QoS;
 import org.fusesource.mqtt.client.Topic;
 
 import java.io.Serializable;
 
+/**
+ * Consumes an MQTT topic. With an in-flight window of one, messages are received and
+ * acknowledged one at a time by a blocking consumer thread. A larger window switches to a
+ * non-blocking {@link MqttCallbackReceiver} which pipelines processing and acknowledgements.
+ */
 public class MqttConsumer extends AbstractMqttConnector implements
         EventConsumer<MqttTransportProtocol>,
         AutoCloseable, Serializable {
 
+  private MqttCallbackReceiver callbackReceiver;
+
   @Override
   public void connect(MqttTransportProtocol protocolSettings, InternalEventProcessor<byte[]> eventProcessor) throws SpRuntimeException {
     try {
-      this.createBrokerConnection(protocolSettings);
-      Topic[] topics = {new Topic(protocolSettings.getTopicDefinition().getActualTopicName(), QoS.AT_LEAST_ONCE)};
-      connection.subscribe(topics);
-      new Thread(new ConsumerThread(eventProcessor)).start();
+      String topic = protocolSettings.getTopicDefinition().getActualTopicName();
+      Topic[] topics = {new Topic(topic, getQos(protocolSettings))};
+      int inFlightWindow = getInFlightWindow(protocolSettings);
 
+      if (inFlightWindow > 1) {
+        this.mqtt = makeMqtt(protocolSettings);
+        this.callbackReceiver = new MqttCallbackReceiver(mqtt, eventProcessor, inFlightWindow,
+                topic);
+        this.callbackReceiver.connect(topics);
+        this.connected = true;
+      } else {
+        this.createBrokerConnection(protocolSettings);
+        connection.subscribe(topics);
+        new Thread(new ConsumerThread(eventProcessor)).start();
+      }
     } catch (Exception e) {
       throw new SpRuntimeException(e);
     }
@@ -56,8 +74,9 @@ public class MqttConsumer extends AbstractMqttConnector implements
       try {
         while (connected) {
           Message message = connection.receive();
-          byte[] payload = message.getPayload();
-          eventProcessor.onEvent(payload);
+          Buffer payload = message.getPayloadBuffer();
+          InternalEventBufferProcessor.dispatch(eventProcessor, payload.data, payload.offset,
+                  payload.length);
           message.ack();
         }
       } catch (Exception e) {
@@ -69,7 +88,11 @@ public class MqttConsumer extends AbstractMqttConnector implements
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
-      this.connection.disconnect();
+      if (callbackReceiver != null) {
+        this.callbackReceiver.disconnect();
+      } else {
+        this.connection.disconnect();
+      }
     } catch (Exception e) {
       throw new SpRuntimeException(e);
     } finally {
@@ -77,6 +100,26 @@ public class MqttConsumer extends AbstractMqttConnector implements
     }
   }
 
+  @Override
+  public void pause() {
+    if (callbackReceiver != null) {
+      callbackReceiver.pause();
+    }
+  }
+
+  @Override
+  public void resume() {
+    if (callbackReceiver != null) {
+      callbackReceiver.resume();
+    }
+  }
+
+  // only the callback receiver applies flow control
+  @Override
+  public boolean supportsPause() {
+    return callbackReceiver != null;
+  }
+
   @Override
   public Boolean isConnected() {
     return this.connected;
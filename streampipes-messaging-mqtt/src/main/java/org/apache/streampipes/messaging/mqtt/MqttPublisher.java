@@ -28,10 +28,12 @@ public class MqttPublisher extends AbstractMqttConnector implements EventProduce
   private static final Logger LOG = LoggerFactory.getLogger(MqttPublisher.class);
 
   private String currentTopic;
+  private QoS qos;
 
   @Override
   public void connect(MqttTransportProtocol protocolSettings) throws SpRuntimeException {
     try {
+      this.qos = getQos(protocolSettings);
       this.createBrokerConnection(protocolSettings);
       this.currentTopic = protocolSettings.getTopicDefinition().getActualTopicName();
     } catch (Exception e) {
@@ -43,7 +45,7 @@ public class MqttPublisher extends AbstractMqttConnector implements EventProduce
   public void publish(byte[] event) {
     if (connected && currentTopic != null) {
       try {
-        this.connection.publish(currentTopic, event, QoS.AT_LEAST_ONCE, false);
+        this.connection.publish(currentTopic, event, qos, false);
       } catch (Exception e) {
         // TODO exception handling once system-wide logging is implemented
         LOG.error(e.getMessage());
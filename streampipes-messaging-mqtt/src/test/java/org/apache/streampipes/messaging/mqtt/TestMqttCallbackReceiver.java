@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.streampipes.messaging.InternalEventBufferProcessor;
+import org.fusesource.hawtbuf.Buffer;
+import org.fusesource.hawtbuf.UTF8Buffer;
+import org.fusesource.hawtdispatch.DispatchQueue;
+import org.fusesource.mqtt.client.Callback;
+import org.fusesource.mqtt.client.CallbackConnection;
+import org.fusesource.mqtt.client.MQTT;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestMqttCallbackReceiver {
+
+  private static final int WINDOW = 4;
+  private static final UTF8Buffer TOPIC = new UTF8Buffer("topic");
+
+  private ExecutorService dispatchQueue;
+  private CallbackConnection connection;
+  private RecordingProcessor processor;
+  private MqttCallbackReceiver receiver;
+
+  // suspend and resume calls of the connection, which only suspends while it has more of them
+  private int suspends;
+  private int resumes;
+  private int maxSuspensions;
+
+  @Before
+  public void setUp() {
+    dispatchQueue = Executors.newSingleThreadExecutor();
+    connection = mock(CallbackConnection.class);
+    DispatchQueue queue = mock(DispatchQueue.class);
+    doAnswer(invocation -> {
+      dispatchQueue.execute(invocation.getArgument(0));
+      return null;
+    }).when(queue).execute(any(Runnable.class));
+    when(connection.getDispatchQueue()).thenReturn(queue);
+    doAnswer(invocation -> {
+      suspends++;
+      maxSuspensions = Math.max(maxSuspensions, suspends - resumes);
+      return null;
+    }).when(connection).suspend();
+    doAnswer(invocation -> {
+      resumes++;
+      return null;
+    }).when(connection).resume();
+
+    MQTT mqtt = mock(MQTT.class);
+    when(mqtt.callbackConnection()).thenReturn(connection);
+    processor = new RecordingProcessor();
+    receiver = new MqttCallbackReceiver(mqtt, processor, WINDOW, "topic");
+  }
+
+  @After
+  public void tearDown() {
+    processor.release();
+    dispatchQueue.shutdownNow();
+  }
+
+  @Test
+  public void testReadingIsSuspendedWhileWindowIsFull() throws Exception {
+    processor.block();
+    CountDownLatch acks = new CountDownLatch(WINDOW);
+
+    for (int i = 0; i < WINDOW - 1; i++) {
+      publish("event-" + i, acks);
+    }
+    awaitDispatchQueue();
+    assertEquals(0, suspends);
+
+    publish("event-" + (WINDOW - 1), acks);
+    awaitDispatchQueue();
+    assertEquals(1, suspends);
+    assertEquals(0, resumes);
+
+    processor.release();
+    assertTrue(acks.await(10, TimeUnit.SECONDS));
+    awaitDispatchQueue();
+    assertEquals(1, resumes);
+  }
+
+  @Test
+  public void testSuspendAndResumeArePaired() throws Exception {
+    int messages = 1000;
+    CountDownLatch acks = new CountDownLatch(messages);
+
+    for (int i = 0; i < messages; i++) {
+      publish("event-" + i, acks);
+    }
+
+    assertTrue(acks.await(10, TimeUnit.SECONDS));
+    awaitDispatchQueue();
+    assertEquals(suspends, resumes);
+    assertTrue(maxSuspensions <= 1);
+    assertEquals(messages, processor.events.size());
+  }
+
+  @Test
+  public void testPauseByConsumerIsIndependentOfWindow() throws Exception {
+    processor.block();
+    CountDownLatch acks = new CountDownLatch(WINDOW);
+
+    receiver.pause();
+    receiver.pause();
+    for (int i = 0; i < WINDOW; i++) {
+      publish("event-" + i, acks);
+    }
+    awaitDispatchQueue();
+    assertEquals(2, suspends);
+
+    processor.release();
+    assertTrue(acks.await(10, TimeUnit.SECONDS));
+    awaitDispatchQueue();
+    // the window has drained, but the consumer still holds its suspension
+    assertEquals(1, resumes);
+
+    receiver.resume();
+    receiver.resume();
+    awaitDispatchQueue();
+    assertEquals(2, resumes);
+  }
+
+  @Test
+  public void testMessagesAreProcessedInOrder() throws Exception {
+    CountDownLatch acks = new CountDownLatch(100);
+    List<String> expected = new ArrayList<>();
+
+    for (int i = 0; i < 100; i++) {
+      expected.add("event-" + i);
+      publish("event-" + i, acks);
+    }
+
+    assertTrue(acks.await(10, TimeUnit.SECONDS));
+    assertEquals(expected, processor.events);
+  }
+
+  @Test
+  public void testPayloadRegionIsDecodedBeforeAcknowledgement() throws Exception {
+    byte[] data = "xxeventyy".getBytes(StandardCharsets.UTF_8);
+    CountDownLatch acks = new CountDownLatch(1);
+
+    onDispatchQueue(() -> receiver.onPublish(TOPIC, new Buffer(data, 2, 5), acks::countDown));
+
+    assertTrue(acks.await(10, TimeUnit.SECONDS));
+    assertEquals(Collections.singletonList("event"), processor.events);
+  }
+
+  @Test
+  public void testFailedMessageIsAcknowledged() throws Exception {
+    processor.fail();
+    CountDownLatch acks = new CountDownLatch(WINDOW);
+
+    for (int i = 0; i < WINDOW; i++) {
+      publish("event-" + i, acks);
+    }
+
+    assertTrue(acks.await(10, TimeUnit.SECONDS));
+    awaitDispatchQueue();
+    assertEquals(suspends, resumes);
+  }
+
+  @Test
+  public void testMessageAfterDisconnectIsNotAcknowledged() throws Exception {
+    doAnswer(invocation -> {
+      ((Callback<Void>) invocation.getArgument(0)).onSuccess(null);
+      return null;
+    }).when(connection).disconnect(any());
+    receiver.disconnect();
+    AtomicInteger acks = new AtomicInteger(0);
+
+    onDispatchQueue(() -> receiver.onPublish(TOPIC, new Buffer(bytes("event")),
+            acks::incrementAndGet));
+    awaitDispatchQueue();
+
+    assertEquals(0, acks.get());
+    assertTrue(processor.events.isEmpty());
+    assertEquals(0, suspends);
+  }
+
+  private void publish(String event, CountDownLatch acks) {
+    onDispatchQueue(() -> receiver.onPublish(TOPIC, new Buffer(bytes(event)), acks::countDown));
+  }
+
+  // flow control state is confined to the dispatch queue of the connection
+  private void onDispatchQueue(Runnable task) {
+    dispatchQueue.execute(task);
+  }
+
+  private void awaitDispatchQueue() throws Exception {
+    dispatchQueue.submit(() -> {
+    }).get(10, TimeUnit.SECONDS);
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static class RecordingProcessor implements InternalEventBufferProcessor {
+
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile CountDownLatch blocked = new CountDownLatch(0);
+    private volatile boolean failing;
+
+    void block() {
+      blocked = new CountDownLatch(1);
+    }
+
+    void release() {
+      blocked.countDown();
+    }
+
+    void fail() {
+      failing = true;
+    }
+
+    @Override
+    public void onEvent(ByteBuffer event) {
+      try {
+        blocked.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (failing) {
+        throw new IllegalStateException("failed");
+      }
+      byte[] data = new byte[event.remaining()];
+      event.get(data);
+      events.add(new String(data, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void onEvent(byte[] event) {
+      onEvent(ByteBuffer.wrap(event));
+    }
+  }
+}
@@ -29,4 +29,22 @@ public interface EventConsumer<TP extends TransportProtocol> {
     void disconnect() throws SpRuntimeException;
 
     Boolean isConnected();
+
+    /**
+     * Asks the consumer to stop fetching new messages from the broker without disconnecting,
+     * e.g., when downstream processing cannot keep up. Consumers without flow control ignore it.
+     */
+    default void pause() {
+    }
+
+    default void resume() {
+    }
+
+    /**
+     * Returns true if {@link #pause()} takes effect, i.e., the consumer stops delivering messages
+     * shortly after being paused.
+     */
+    default boolean supportsPause() {
+        return false;
+    }
 }
@@ -22,6 +22,7 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
 import java.io.Serializable;
+import java.util.List;
 
 public interface EventProducer<TP extends TransportProtocol> extends Serializable {
 
@@ -29,6 +30,26 @@ public interface EventProducer<TP extends TransportProtocol> extends Serializabl
 
     void publish(byte[] event);
 
+    /**
+     * Publishes an event with a key. Transports that support partitioning deliver events with the
+     * same key in order, all others ignore the key.
+     */
+    default void publish(byte[] key, byte[] event) {
+        publish(event);
+    }
+
+    default void publish(List<byte[]> events) {
+        for (byte[] event : events) {
+            publish(event);
+        }
+    }
+
+    /**
+     * Blocks until all published events have been sent to the broker.
+     */
+    default void flush() {
+    }
+
     void disconnect() throws SpRuntimeException;
 
     Boolean isConnected();
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An {@link InternalEventProcessor} which accepts a view on a received payload, so that consumers
+ * can hand over the broker's buffer without copying it per message.
+ */
+public interface InternalEventBufferProcessor extends InternalEventProcessor<byte[]> {
+
+  /**
+   * Processes the remaining bytes of the given buffer. The buffer is only valid during this call.
+   */
+  default void onEvent(ByteBuffer event) {
+    byte[] data = new byte[event.remaining()];
+    event.duplicate().get(data);
+    onEvent(data);
+  }
+
+  /**
+   * Hands the given payload region to the event processor, avoiding a copy if the processor
+   * accepts buffer views.
+   */
+  static void dispatch(InternalEventProcessor<byte[]> eventProcessor, byte[] data, int offset,
+                       int length) {
+    if (eventProcessor instanceof InternalEventBufferProcessor) {
+      ((InternalEventBufferProcessor) eventProcessor).onEvent(ByteBuffer.wrap(data, offset,
+              length));
+    } else if (offset == 0 && length == data.length) {
+      eventProcessor.onEvent(data);
+    } else {
+      eventProcessor.onEvent(Arrays.copyOfRange(data, offset, offset + length));
+    }
+  }
+}
@@ -18,7 +18,22 @@
 
 package org.apache.streampipes.messaging;
 
+import java.util.List;
+
 public interface InternalEventProcessor<T> {
 
   void onEvent(T event);
+
+  default void onEvents(List<T> events) {
+    for (T event : events) {
+      onEvent(event);
+    }
+  }
+
+  /**
+   * Blocks until all events handed to this processor have been processed and their results have
+   * been published. Consumers with an at-least-once guarantee call this before committing.
+   */
+  default void flush() {
+  }
 }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A reference-counted pool of broker clients which are shared by all producers of a JVM that use
+ * the same settings. A client is created by the first producer that acquires it and closed as
+ * soon as the last producer has released it.
+ *
+ * @param <K> the settings which identify a client, e.g., the broker url and security settings
+ * @param <C> the client type, which must be safe to use from several producers
+ */
+public class SharedClientPool<K, C> {
+
+  private final Map<K, PooledClient<C>> clients;
+  private final Consumer<C> clientCloser;
+
+  public SharedClientPool(Consumer<C> clientCloser) {
+    this.clients = new HashMap<>();
+    this.clientCloser = clientCloser;
+  }
+
+  /**
+   * Returns the client for the given key and creates it if required. The pool itself is only
+   * locked to update the reference count, the client is created while holding a lock on its own
+   * entry, so that slow connects only block producers which wait for the same client.
+   */
+  public <E extends Exception> C acquire(K key, ClientFactory<C, E> clientFactory) throws E {
+    PooledClient<C> pooledClient;
+    synchronized (clients) {
+      pooledClient = clients.computeIfAbsent(key, k -> new PooledClient<>());
+      pooledClient.references++;
+    }
+
+    boolean created = false;
+    try {
+      synchronized (pooledClient) {
+        if (pooledClient.client == null) {
+          pooledClient.client = clientFactory.create();
+        }
+        created = true;
+        return pooledClient.client;
+      }
+    } finally {
+      if (!created) {
+        release(key);
+      }
+    }
+  }
+
+  /**
+   * Releases the client for the given key. The last release removes the client from the pool and
+   * closes it outside of the pool's lock.
+   */
+  public void release(K key) {
+    PooledClient<C> pooledClient;
+    synchronized (clients) {
+      pooledClient = clients.get(key);
+      if (pooledClient == null || --pooledClient.references > 0) {
+        return;
+      }
+      clients.remove(key);
+    }
+
+    synchronized (pooledClient) {
+      if (pooledClient.client != null) {
+        clientCloser.accept(pooledClient.client);
+        pooledClient.client = null;
+      }
+    }
+  }
+
+  public int size() {
+    synchronized (clients) {
+      return clients.size();
+    }
+  }
+
+  public interface ClientFactory<C, E extends Exception> {
+
+    C create() throws E;
+  }
+
+  private static class PooledClient<C> {
+
+    // guarded by the pool's lock
+    private int references;
+    // guarded by the entry's own lock
+    private C client;
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestInternalEventBufferProcessor {
+
+  @Test
+  public void testRegionIsPassedWithoutCopy() {
+    byte[] data = bytes("xxeventyy");
+    List<ByteBuffer> buffers = new ArrayList<>();
+    InternalEventBufferProcessor processor = new BufferProcessor() {
+      @Override
+      public void onEvent(ByteBuffer event) {
+        buffers.add(event);
+      }
+    };
+
+    InternalEventBufferProcessor.dispatch(processor, data, 2, 5);
+
+    assertEquals(1, buffers.size());
+    assertSame(data, buffers.get(0).array());
+    assertEquals(2, buffers.get(0).arrayOffset() + buffers.get(0).position());
+    assertEquals(5, buffers.get(0).remaining());
+  }
+
+  @Test
+  public void testReusedArrayIsDecodedDuringCall() {
+    byte[] data = new byte[16];
+    BufferProcessor processor = new BufferProcessor();
+
+    dispatch(processor, data, "first");
+    dispatch(processor, data, "second");
+    Arrays.fill(data, (byte) 'x');
+
+    assertEquals(Arrays.asList("first", "second"), processor.events);
+  }
+
+  @Test
+  public void testRegionIsCopiedForByteArrayProcessor() {
+    byte[] data = new byte[16];
+    ByteArrayProcessor processor = new ByteArrayProcessor();
+
+    dispatch(processor, data, "first");
+    dispatch(processor, data, "second");
+    Arrays.fill(data, (byte) 'x');
+
+    assertEquals(2, processor.events.size());
+    assertArrayEquals(bytes("first"), processor.events.get(0));
+    assertArrayEquals(bytes("second"), processor.events.get(1));
+  }
+
+  @Test
+  public void testWholeArrayIsNotCopiedForByteArrayProcessor() {
+    byte[] data = bytes("event");
+    ByteArrayProcessor processor = new ByteArrayProcessor();
+
+    InternalEventBufferProcessor.dispatch(processor, data, 0, data.length);
+
+    assertSame(data, processor.events.get(0));
+  }
+
+  @Test
+  public void testDefaultBufferHandlingDoesNotConsumeBuffer() {
+    List<byte[]> events = new ArrayList<>();
+    InternalEventBufferProcessor processor = new InternalEventBufferProcessor() {
+      @Override
+      public void onEvent(byte[] event) {
+        events.add(event);
+      }
+    };
+    ByteBuffer buffer = ByteBuffer.wrap(bytes("xxevent"), 2, 5);
+
+    processor.onEvent(buffer);
+
+    assertArrayEquals(bytes("event"), events.get(0));
+    assertEquals(2, buffer.position());
+  }
+
+  // writes the value after a prefix into the shared array, like a broker client reusing its buffer
+  private void dispatch(InternalEventProcessor<byte[]> processor, byte[] data, String value) {
+    Arrays.fill(data, (byte) 'x');
+    byte[] event = bytes(value);
+    System.arraycopy(event, 0, data, 3, event.length);
+    InternalEventBufferProcessor.dispatch(processor, data, 3, event.length);
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static class BufferProcessor implements InternalEventBufferProcessor {
+
+    final List<String> events = new ArrayList<>();
+
+    @Override
+    public void onEvent(ByteBuffer event) {
+      byte[] data = new byte[event.remaining()];
+      event.get(data);
+      events.add(new String(data, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void onEvent(byte[] event) {
+      events.add(new String(event, StandardCharsets.UTF_8));
+    }
+  }
+
+  private static class ByteArrayProcessor implements InternalEventProcessor<byte[]> {
+
+    final List<byte[]> events = new ArrayList<>();
+
+    @Override
+    public void onEvent(byte[] event) {
+      events.add(event);
+    }
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestSharedClientPool {
+
+  private static final int THREADS = 16;
+
+  private final Queue<Client> created = new ConcurrentLinkedQueue<>();
+  private final SharedClientPool<String, Client> pool = new SharedClientPool<>(Client::close);
+
+  @Test
+  public void testClientIsSharedByAllUsers() {
+    Client producer = pool.acquire("broker", this::makeClient);
+    Client consumer = pool.acquire("broker", this::makeClient);
+
+    assertSame(producer, consumer);
+    assertEquals(1, created.size());
+    assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void testClientIsClosedByLastRelease() {
+    Client client = pool.acquire("broker", this::makeClient);
+    pool.acquire("broker", this::makeClient);
+
+    pool.release("broker");
+    assertEquals(0, client.closed.get());
+    assertEquals(1, pool.size());
+
+    pool.release("broker");
+    assertEquals(1, client.closed.get());
+    assertEquals(0, pool.size());
+  }
+
+  @Test
+  public void testClientsAreKeyedBySettings() {
+    Client first = pool.acquire("broker-1", this::makeClient);
+    Client second = pool.acquire("broker-2", this::makeClient);
+
+    assertNotSame(first, second);
+    assertEquals(2, pool.size());
+
+    pool.release("broker-1");
+    assertEquals(1, first.closed.get());
+    assertEquals(0, second.closed.get());
+  }
+
+  @Test
+  public void testClientIsCreatedAgainAfterLastRelease() {
+    Client first = pool.acquire("broker", this::makeClient);
+    pool.release("broker");
+
+    Client second = pool.acquire("broker", this::makeClient);
+
+    assertNotSame(first, second);
+    assertEquals(0, second.closed.get());
+  }
+
+  @Test
+  public void testFailedCreationIsNotReferenced() {
+    try {
+      pool.acquire("broker", () -> {
+        throw new IOException("broker not available");
+      });
+      fail("Expected the failure of the client factory to be rethrown");
+    } catch (IOException e) {
+      assertEquals(0, pool.size());
+    }
+
+    Client client = pool.acquire("broker", this::makeClient);
+    pool.release("broker");
+
+    assertEquals(1, client.closed.get());
+    assertEquals(0, pool.size());
+  }
+
+  @Test
+  public void testReleaseOfUnknownClientIsIgnored() {
+    Client client = pool.acquire("broker", this::makeClient);
+
+    pool.release("other");
+
+    assertEquals(0, client.closed.get());
+    assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void testConcurrentAcquireCreatesOneClient() throws Exception {
+    List<Client> acquired = runConcurrently(i -> pool.acquire("broker", this::makeSlowClient));
+
+    assertEquals(1, new HashSet<>(acquired).size());
+    assertEquals(1, created.size());
+  }
+
+  @Test
+  public void testConcurrentLastReleaseClosesClientOnce() throws Exception {
+    for (int i = 0; i < THREADS; i++) {
+      pool.acquire("broker", this::makeClient);
+    }
+    Client client = created.peek();
+
+    runConcurrently(i -> {
+      pool.release("broker");
+      return null;
+    });
+
+    assertEquals(1, client.closed.get());
+    assertEquals(0, pool.size());
+  }
+
+  @Test
+  public void testConcurrentAcquireAndRelease() throws Exception {
+    runConcurrently(i -> {
+      for (int j = 0; j < 200; j++) {
+        Client client = pool.acquire("broker", this::makeClient);
+        // a client is never closed while it is referenced
+        assertEquals(0, client.closed.get());
+        pool.release("broker");
+      }
+      return null;
+    });
+
+    assertEquals(0, pool.size());
+    for (Client client : created) {
+      assertEquals(1, client.closed.get());
+    }
+  }
+
+  @Test
+  public void testConcurrentReleaseWhileClientIsPinned() throws Exception {
+    Client pinned = pool.acquire("broker", this::makeClient);
+
+    runConcurrently(i -> {
+      for (int j = 0; j < 200; j++) {
+        assertSame(pinned, pool.acquire("broker", this::makeClient));
+        pool.release("broker");
+      }
+      return null;
+    });
+
+    assertEquals(0, pinned.closed.get());
+    assertEquals(1, created.size());
+    pool.release("broker");
+    assertEquals(1, pinned.closed.get());
+    assertEquals(0, pool.size());
+  }
+
+  private Client makeClient() {
+    Client client = new Client();
+    created.add(client);
+    return client;
+  }
+
+  private Client makeSlowClient() throws InterruptedException {
+    Thread.sleep(50);
+    return makeClient();
+  }
+
+  private <T> List<T> runConcurrently(IndexedTask<T> task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CyclicBarrier barrier = new CyclicBarrier(THREADS);
+    try {
+      List<Future<T>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        int index = i;
+        futures.add(executor.submit((Callable<T>) () -> {
+          barrier.await();
+          return task.run(index);
+        }));
+      }
+      List<T> results = new ArrayList<>();
+      for (Future<T> future : futures) {
+        results.add(future.get(10, TimeUnit.SECONDS));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private interface IndexedTask<T> {
+
+    T run(int index) throws Exception;
+  }
+
+  private static class Client {
+
+    private final AtomicInteger closed = new AtomicInteger(0);
+
+    void close() {
+      closed.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.grounding;
+
+import io.fogsy.empire.annotations.RdfsClass;
+import org.apache.streampipes.vocabulary.StreamPipes;
+
+import javax.persistence.Entity;
+
+/**
+ * Transports events within a single container JVM without any broker. Only applicable if the
+ * producing and all consuming pipeline elements run in the same container.
+ */
+@RdfsClass(StreamPipes.IN_MEMORY_TRANSPORT_PROTOCOL)
+@Entity
+public class InMemoryTransportProtocol extends TransportProtocol {
+
+  private static final String LOCAL_HOSTNAME = "localhost";
+
+  public InMemoryTransportProtocol(String topicName) {
+    super(LOCAL_HOSTNAME, new SimpleTopicDefinition(topicName));
+  }
+
+  public InMemoryTransportProtocol(InMemoryTransportProtocol other) {
+    super(other);
+  }
+
+  public InMemoryTransportProtocol() {
+    super();
+  }
+
+  @Override
+  public String toString() {
+    return getTopicDefinition() != null ? getTopicDefinition().getActualTopicName() : "";
+  }
+}
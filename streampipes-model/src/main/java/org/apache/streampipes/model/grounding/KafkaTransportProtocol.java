@@ -60,6 +60,21 @@ public class KafkaTransportProtocol extends TransportProtocol {
   @RdfProperty(StreamPipes.KAFKA_GROUP_ID)
   private String groupId;
 
+  @RdfProperty(StreamPipes.KAFKA_PARTITIONS)
+  private Integer partitions;
+
+  @RdfProperty(StreamPipes.KAFKA_REPLICATION_FACTOR)
+  private Integer replicationFactor;
+
+  @RdfProperty(StreamPipes.KAFKA_PROCESSING_GUARANTEE)
+  private String processingGuarantee;
+
+  @RdfProperty(StreamPipes.KAFKA_TUNING_PROFILE)
+  private String tuningProfile;
+
+  @RdfProperty(StreamPipes.KAFKA_COMPRESSION_TYPE)
+  private String compressionType;
+
   public KafkaTransportProtocol(String kafkaHost, int kafkaPort, String topic) {
     super(kafkaHost, new SimpleTopicDefinition(topic));
     this.zookeeperHost = kafkaHost;
@@ -86,6 +101,11 @@ public class KafkaTransportProtocol extends TransportProtocol {
     this.maxRequestSize = other.getMaxRequestSize();
     this.messageMaxBytes = other.getMessageMaxBytes();
     this.offset = other.getOffset();
+    this.partitions = other.getPartitions();
+    this.replicationFactor = other.getReplicationFactor();
+    this.processingGuarantee = other.getProcessingGuarantee();
+    this.tuningProfile = other.getTuningProfile();
+    this.compressionType = other.getCompressionType();
   }
 
   public KafkaTransportProtocol(String kafkaHost, Integer kafkaPort, WildcardTopicDefinition wildcardTopicDefinition) {
@@ -182,4 +202,51 @@ public class KafkaTransportProtocol extends TransportProtocol {
   public void setMaxRequestSize(String maxRequestSize) {
     this.maxRequestSize = maxRequestSize;
   }
+
+  public Integer getPartitions() {
+    return partitions;
+  }
+
+  public void setPartitions(Integer partitions) {
+    this.partitions = partitions;
+  }
+
+  public Integer getReplicationFactor() {
+    return replicationFactor;
+  }
+
+  public void setReplicationFactor(Integer replicationFactor) {
+    this.replicationFactor = replicationFactor;
+  }
+
+  /**
+   * The name of the {@link ProcessingGuarantee} of consumers, defaults to at-most-once if not set.
+   */
+  public String getProcessingGuarantee() {
+    return processingGuarantee;
+  }
+
+  public void setProcessingGuarantee(String processingGuarantee) {
+    this.processingGuarantee = processingGuarantee;
+  }
+
+  /**
+   * The name of the tuning profile of producers and consumers (DEFAULT, THROUGHPUT, LOW_LATENCY or
+   * DURABLE). Settings defined in this protocol override the values of the profile.
+   */
+  public String getTuningProfile() {
+    return tuningProfile;
+  }
+
+  public void setTuningProfile(String tuningProfile) {
+    this.tuningProfile = tuningProfile;
+  }
+
+  public String getCompressionType() {
+    return compressionType;
+  }
+
+  public void setCompressionType(String compressionType) {
+    this.compressionType = compressionType;
+  }
 }
@@ -29,6 +29,12 @@ public class MqttTransportProtocol extends TransportProtocol {
   @RdfProperty(StreamPipes.HAS_MQTT_PORT)
   private int port;
 
+  @RdfProperty(StreamPipes.MQTT_QOS)
+  private Integer qos;
+
+  @RdfProperty(StreamPipes.MQTT_IN_FLIGHT_WINDOW)
+  private Integer inFlightWindow;
+
   public MqttTransportProtocol(String hostname, int port, String topicName)
   {
     super(hostname, new SimpleTopicDefinition(topicName));
@@ -39,6 +45,8 @@ public class MqttTransportProtocol extends TransportProtocol {
   {
     super(other);
     this.port = other.getPort();
+    this.qos = other.getQos();
+    this.inFlightWindow = other.getInFlightWindow();
   }
 
   public MqttTransportProtocol()
@@ -54,6 +62,29 @@ public class MqttTransportProtocol extends TransportProtocol {
     this.port = port;
   }
 
+  /**
+   * The MQTT quality of service level (0, 1 or 2) used to publish and subscribe.
+   */
+  public Integer getQos() {
+    return qos;
+  }
+
+  public void setQos(Integer qos) {
+    this.qos = qos;
+  }
+
+  /**
+   * The number of unacknowledged messages a consumer may have in flight. A window larger than
+   * one switches the consumer to the non-blocking callback mode.
+   */
+  public Integer getInFlightWindow() {
+    return inFlightWindow;
+  }
+
+  public void setInFlightWindow(Integer inFlightWindow) {
+    this.inFlightWindow = inFlightWindow;
+  }
+
   @Override
   public String toString() {
     return getBrokerHostname() + ":" + getPort();
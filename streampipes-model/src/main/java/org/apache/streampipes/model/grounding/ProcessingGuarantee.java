@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.grounding;
+
+/**
+ * Defines when a consumer marks received events as consumed.
+ */
+public enum ProcessingGuarantee {
+
+  /**
+   * Positions are committed periodically, independent of processing. Events which were not
+   * processed before a restart might be lost.
+   */
+  AT_MOST_ONCE,
+
+  /**
+   * Positions are committed only after events have been processed and their results have been
+   * published. Events which were processed before a restart might be delivered again.
+   */
+  AT_LEAST_ONCE
+}
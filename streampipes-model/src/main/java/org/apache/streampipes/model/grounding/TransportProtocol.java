@@ -34,6 +34,7 @@ import javax.persistence.*;
 				@JsonSubTypes.Type(JmsTransportProtocol.class),
 				@JsonSubTypes.Type(KafkaTransportProtocol.class),
 				@JsonSubTypes.Type(MqttTransportProtocol.class),
+				@JsonSubTypes.Type(InMemoryTransportProtocol.class),
 })
 public abstract class TransportProtocol extends UnnamedStreamPipesEntity {
 	
@@ -45,6 +46,9 @@ public abstract class TransportProtocol extends UnnamedStreamPipesEntity {
 	@OneToOne(fetch = FetchType.EAGER,cascade = {CascadeType.ALL})
 	@RdfProperty(StreamPipes.TOPIC)
 	private TopicDefinition topicDefinition;
+
+	@RdfProperty(StreamPipes.PARTITION_KEY)
+	private String partitionKey;
 	
 	public TransportProtocol() {
 		super();
@@ -63,6 +67,7 @@ public abstract class TransportProtocol extends UnnamedStreamPipesEntity {
 		if (other.getTopicDefinition() != null) {
 			this.topicDefinition = new Cloner().topicDefinition(other.getTopicDefinition());
 		}
+		this.partitionKey = other.getPartitionKey();
 	}
 
 	public String getBrokerHostname() {
@@ -81,4 +86,16 @@ public abstract class TransportProtocol extends UnnamedStreamPipesEntity {
 		this.topicDefinition = topicDefinition;
 	}
 
+	/**
+	 * The runtime name of the output property whose value is used as the key of published events,
+	 * or null if events are published without a key.
+	 */
+	public String getPartitionKey() {
+		return partitionKey;
+	}
+
+	public void setPartitionKey(String partitionKey) {
+		this.partitionKey = partitionKey;
+	}
+
 }
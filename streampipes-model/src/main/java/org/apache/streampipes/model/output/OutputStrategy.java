@@ -54,6 +54,9 @@ public abstract class OutputStrategy extends UnnamedStreamPipesEntity {
   @RdfProperty(StreamPipes.HAS_RENAME_RULE)
   private List<PropertyRenameRule> renameRules;
 
+  @RdfProperty(StreamPipes.PARTITION_KEY)
+  private String partitionKey;
+
   public OutputStrategy() {
     super();
     this.renameRules = new ArrayList<>();
@@ -63,6 +66,7 @@ public abstract class OutputStrategy extends UnnamedStreamPipesEntity {
     super(other);
     this.name = other.getName();
     this.renameRules = new Cloner().renameRules(other.getRenameRules());
+    this.partitionKey = other.getPartitionKey();
   }
 
   public OutputStrategy(String name) {
@@ -85,4 +89,16 @@ public abstract class OutputStrategy extends UnnamedStreamPipesEntity {
   public void setRenameRules(List<PropertyRenameRule> renameRules) {
     this.renameRules = renameRules;
   }
+
+  /**
+   * The runtime name of the output property whose value keys the events of the output stream,
+   * or null if events are published without a key.
+   */
+  public String getPartitionKey() {
+    return partitionKey;
+  }
+
+  public void setPartitionKey(String partitionKey) {
+    this.partitionKey = partitionKey;
+  }
 }
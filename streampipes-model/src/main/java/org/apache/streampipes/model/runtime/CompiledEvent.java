@@ -0,0 +1,413 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import com.google.gson.internal.LinkedTreeMap;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link Event} backed by the fixed slot layout of an {@link EventLayout}. Numeric values are
+ * kept in primitive slots and field objects are only created when a field is requested.
+ * Operations which cannot be answered from the layout (e.g., {@link #getFields()}) convert the
+ * event once into the map-based representation of {@link Event}.
+ */
+public class CompiledEvent extends Event {
+
+  private static final byte ABSENT = 0;
+  private static final byte OBJECT = 1;
+  private static final byte INTEGER = 2;
+  private static final byte LONG = 3;
+  private static final byte FLOAT = 4;
+  private static final byte DOUBLE = 5;
+  private static final byte FIELD = 6;
+
+  private final EventLayout layout;
+
+  private final byte[] kinds;
+  private final Object[] values;
+  private final long[] longValues;
+  private final double[] doubleValues;
+  private final AbstractField[] fields;
+
+  private Map<String, AbstractField> additionalFields;
+  private boolean inflated;
+
+  public CompiledEvent(EventLayout layout) {
+    super(null, layout.getSourceInfo(), layout.getSchemaInfo());
+    this.layout = layout;
+    this.kinds = new byte[layout.size()];
+    this.values = new Object[layout.size()];
+    this.longValues = new long[layout.size()];
+    this.doubleValues = new double[layout.size()];
+    this.fields = new AbstractField[layout.size()];
+  }
+
+  @Override
+  public Map<String, AbstractField> getFields() {
+    inflate();
+    return super.getFields();
+  }
+
+  @Override
+  public AbstractField getFieldByRuntimeName(String runtimeName) {
+    if (!inflated) {
+      Integer index = layout.indexOfRuntimeName(runtimeName);
+      if (index != null && kinds[index] != ABSENT) {
+        return field(index);
+      }
+      if (additionalFields != null) {
+        for (AbstractField field : additionalFields.values()) {
+          if (field.getFieldNameIn().equals(runtimeName)) {
+            return field;
+          }
+        }
+      }
+    }
+    inflate();
+    return super.getFieldByRuntimeName(runtimeName);
+  }
+
+  @Override
+  public void removeFieldBySelector(String fieldSelector) {
+    if (inflated) {
+      super.removeFieldBySelector(fieldSelector);
+    } else {
+      Integer index = layout.indexOfSelector(fieldSelector);
+      if (index != null) {
+        clear(index);
+      } else if (additionalFields != null) {
+        additionalFields.remove(fieldSelector);
+      }
+    }
+  }
+
+  @Override
+  public AbstractField getFieldBySelector(String fieldSelector) {
+    if (!inflated) {
+      Integer index = layout.indexOfSelector(fieldSelector);
+      if (index != null && kinds[index] != ABSENT) {
+        return field(index);
+      }
+      if (additionalFields != null && additionalFields.containsKey(fieldSelector)) {
+        return additionalFields.get(fieldSelector);
+      }
+      Map<String, AbstractField> parent = findParent(layout.nestedPath(fieldSelector));
+      if (parent != null && parent.containsKey(fieldSelector)) {
+        return parent.get(fieldSelector);
+      }
+    }
+    inflate();
+    return super.getFieldBySelector(fieldSelector);
+  }
+
+  @Override
+  public void updateFieldBySelector(String selector, AbstractField field) {
+    if (!inflated) {
+      Integer index = layout.indexOfSelector(selector);
+      if (index != null) {
+        setField(index, field);
+        return;
+      }
+      if (additionalFields != null && additionalFields.containsKey(selector)) {
+        additionalFields.put(selector, field);
+        return;
+      }
+      Map<String, AbstractField> parent = findParent(layout.nestedPath(selector));
+      if (parent != null) {
+        parent.put(selector, field);
+        return;
+      }
+    }
+    inflate();
+    super.updateFieldBySelector(selector, field);
+  }
+
+  @Override
+  public void updateFieldBySelector(String selector, Integer value) {
+    if (!updateSlot(selector, value)) {
+      super.updateFieldBySelector(selector, value);
+    }
+  }
+
+  @Override
+  public void updateFieldBySelector(String selector, String value) {
+    if (!updateSlot(selector, value)) {
+      super.updateFieldBySelector(selector, value);
+    }
+  }
+
+  @Override
+  public void updateFieldBySelector(String selector, Float value) {
+    if (!updateSlot(selector, value)) {
+      super.updateFieldBySelector(selector, value);
+    }
+  }
+
+  @Override
+  public void updateFieldBySelector(String selector, Boolean value) {
+    if (!updateSlot(selector, value)) {
+      super.updateFieldBySelector(selector, value);
+    }
+  }
+
+  @Override
+  public void updateFieldBySelector(String selector, Double value) {
+    if (!updateSlot(selector, value)) {
+      super.updateFieldBySelector(selector, value);
+    }
+  }
+
+  @Override
+  public void addField(AbstractField field) {
+    if (inflated) {
+      super.addField(field);
+    } else {
+      String key = makeKey(field);
+      Integer index = layout.indexOfSelector(key);
+      if (index != null) {
+        setField(index, field);
+      } else {
+        additionalFields().put(key, field);
+      }
+    }
+  }
+
+  @Override
+  protected void addPrimitive(String runtimeName, Object value) {
+    if (inflated) {
+      super.addPrimitive(runtimeName, value);
+    } else {
+      Integer index = layout.indexOfSelector(runtimeName);
+      if (index != null) {
+        clear(index);
+        setSlotValue(index, value);
+      } else {
+        additionalFields().put(runtimeName, new PrimitiveField(runtimeName, runtimeName, value));
+      }
+    }
+  }
+
+  public void putValue(String runtimeName, Object value) {
+    Integer index = layout.indexOfRuntimeName(runtimeName);
+    if (index != null) {
+      setSlotValue(index, value);
+    } else {
+      addAdditionalField(runtimeName, value);
+    }
+  }
+
+  public void putValue(String runtimeName, int value) {
+    Integer index = layout.indexOfRuntimeName(runtimeName);
+    if (index != null) {
+      longValues[index] = value;
+      kinds[index] = INTEGER;
+    } else {
+      addAdditionalField(runtimeName, value);
+    }
+  }
+
+  public void putValue(String runtimeName, long value) {
+    Integer index = layout.indexOfRuntimeName(runtimeName);
+    if (index != null) {
+      longValues[index] = value;
+      kinds[index] = LONG;
+    } else {
+      addAdditionalField(runtimeName, value);
+    }
+  }
+
+  public void putValue(String runtimeName, double value) {
+    Integer index = layout.indexOfRuntimeName(runtimeName);
+    if (index != null) {
+      doubleValues[index] = value;
+      kinds[index] = DOUBLE;
+    } else {
+      addAdditionalField(runtimeName, value);
+    }
+  }
+
+  public EventLayout getLayout() {
+    return layout;
+  }
+
+  boolean isInflated() {
+    return inflated;
+  }
+
+  boolean isPresent(int index) {
+    return kinds[index] != ABSENT;
+  }
+
+  AbstractField getMaterializedField(int index) {
+    return fields[index];
+  }
+
+  Map<String, AbstractField> getAdditionalFields() {
+    return additionalFields;
+  }
+
+  void setSlotValue(int index, Object value) {
+    if (value instanceof Integer) {
+      longValues[index] = (Integer) value;
+      kinds[index] = INTEGER;
+    } else if (value instanceof Long) {
+      longValues[index] = (Long) value;
+      kinds[index] = LONG;
+    } else if (value instanceof Float) {
+      doubleValues[index] = (Float) value;
+      kinds[index] = FLOAT;
+    } else if (value instanceof Double) {
+      doubleValues[index] = (Double) value;
+      kinds[index] = DOUBLE;
+    } else if (value instanceof Map || value instanceof List) {
+      setField(index, EventFactory.makeField(layout.getRuntimeName(index), value,
+              layout.getSelector(index), layout.getSchemaInfo()));
+    } else {
+      values[index] = value;
+      kinds[index] = OBJECT;
+    }
+  }
+
+  Object getSlotValue(int index) {
+    switch (kinds[index]) {
+      case INTEGER:
+        return (int) longValues[index];
+      case LONG:
+        return longValues[index];
+      case FLOAT:
+        return (float) doubleValues[index];
+      case DOUBLE:
+        return doubleValues[index];
+      case FIELD:
+        return fields[index].getRawValue();
+      case OBJECT:
+        return values[index];
+      default:
+        return null;
+    }
+  }
+
+  void writeSlot(int index, String fieldName, EventWriter writer) throws IOException {
+    switch (kinds[index]) {
+      case INTEGER:
+        writer.writeValue(fieldName, (int) longValues[index]);
+        break;
+      case LONG:
+        writer.writeValue(fieldName, longValues[index]);
+        break;
+      case FLOAT:
+        writer.writeValue(fieldName, (float) doubleValues[index]);
+        break;
+      case DOUBLE:
+        writer.writeValue(fieldName, doubleValues[index]);
+        break;
+      default:
+        writer.writeValue(fieldName, getSlotValue(index));
+    }
+  }
+
+  private void addAdditionalField(String runtimeName, Object value) {
+    String selector = EventFactory.makeSelector(runtimeName, layout.getSourceInfo()
+            .getSelectorPrefix());
+    addField(EventFactory.makeField(runtimeName, value, selector, layout.getSchemaInfo()));
+  }
+
+  private boolean updateSlot(String selector, Object value) {
+    if (inflated) {
+      return false;
+    }
+    Integer index = layout.indexOfSelector(selector);
+    if (index == null || kinds[index] == ABSENT) {
+      return false;
+    }
+    if (fields[index] != null) {
+      fields[index].getAsPrimitive().setValue(value);
+    } else {
+      values[index] = null;
+      setSlotValue(index, value);
+    }
+    return true;
+  }
+
+  private AbstractField field(int index) {
+    if (fields[index] == null) {
+      setField(index, new PrimitiveField(layout.getRuntimeName(index), layout.getOutputName(index),
+              getSlotValue(index)));
+    }
+    return fields[index];
+  }
+
+  private void setField(int index, AbstractField field) {
+    fields[index] = field;
+    values[index] = null;
+    kinds[index] = FIELD;
+  }
+
+  private void clear(int index) {
+    fields[index] = null;
+    values[index] = null;
+    kinds[index] = ABSENT;
+  }
+
+  private Map<String, AbstractField> findParent(EventLayout.NestedPath path) {
+    if (path == null || kinds[path.getSlot()] != FIELD) {
+      return null;
+    }
+    AbstractField current = fields[path.getSlot()];
+    String[] keys = path.getKeys();
+    for (int i = 0; i < keys.length - 1; i++) {
+      if (!current.isComposite()) {
+        return null;
+      }
+      current = current.getAsComposite().getRawValue().get(keys[i]);
+      if (current == null) {
+        return null;
+      }
+    }
+    return current.isComposite() ? current.getAsComposite().getRawValue() : null;
+  }
+
+  private Map<String, AbstractField> additionalFields() {
+    if (additionalFields == null) {
+      additionalFields = new LinkedTreeMap<>();
+    }
+    return additionalFields;
+  }
+
+  private void inflate() {
+    if (!inflated) {
+      Map<String, AbstractField> fieldMap = new LinkedTreeMap<>();
+      for (int i = 0; i < kinds.length; i++) {
+        if (kinds[i] != ABSENT) {
+          fieldMap.put(layout.getSelector(i), field(i));
+        }
+      }
+      if (additionalFields != null) {
+        fieldMap.putAll(additionalFields);
+        additionalFields = null;
+      }
+      this.fieldMap = fieldMap;
+      this.inflated = true;
+    }
+  }
+}
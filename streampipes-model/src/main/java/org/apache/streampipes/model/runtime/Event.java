@@ -30,7 +30,7 @@ public class Event {
 
   private SourceInfo sourceInfo;
   private SchemaInfo schemaInfo;
-  private Map<String, AbstractField> fieldMap;
+  protected Map<String, AbstractField> fieldMap;
 
   public Event(Map<String, AbstractField> fieldMap, SourceInfo
           sourceInfo, SchemaInfo schemaInfo) {
@@ -65,13 +65,12 @@ public class Event {
 
   public AbstractField getFieldByRuntimeName(String runtimeName) {
     // TODO this currently only works for first-level properties
-    return fieldMap
-            .entrySet()
-            .stream()
-            .map(Map.Entry::getValue)
-            .filter(entry -> entry.getFieldNameIn().equals(runtimeName))
-            .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("Field " + runtimeName + " not found"));
+    for (AbstractField field : fieldMap.values()) {
+      if (field.getFieldNameIn().equals(runtimeName)) {
+        return field;
+      }
+    }
+    throw new IllegalArgumentException("Field " + runtimeName + " not found");
   }
 
   public void removeFieldBySelector(String fieldSelector) {
@@ -116,21 +115,22 @@ public class Event {
     } else {
         updateFieldMap(currentFieldMap.get(makeSelector(selector, position + 1))
                 .getAsComposite()
-                .getRawValue(), selector, 2, field);
+                .getRawValue(), selector, position + 1, field);
     }
   }
 
   private String makeSelector(String selector, int position) {
-    String[] selectorParts = selector.split(PropertySelectorConstants.PROPERTY_DELIMITER);
-    StringBuilder selectorBuilder = new StringBuilder();
+    // returns the selector of the first position parts without splitting the selector
+    int delimiterLength = PropertySelectorConstants.PROPERTY_DELIMITER.length();
+    int end = -delimiterLength;
     for (int i = 0; i < position; i++) {
-      selectorBuilder.append(selectorParts[i]);
-      if (i != (position - 1)) {
-        selectorBuilder.append(PropertySelectorConstants.PROPERTY_DELIMITER);
+      end = selector.indexOf(PropertySelectorConstants.PROPERTY_DELIMITER, end + delimiterLength);
+      if (end == -1) {
+        return selector;
       }
     }
 
-    return selectorBuilder.toString();
+    return selector.substring(0, end);
   }
 
   private String makeSelector(String prefix, String runtimeName) {
@@ -194,7 +194,7 @@ public class Event {
     addPrimitive(runtimeName, value);
   }
 
-  private void addPrimitive(String runtimeName, Object value) {
+  protected void addPrimitive(String runtimeName, Object value) {
     this.fieldMap.put(runtimeName, new PrimitiveField(runtimeName, runtimeName, value));
   }
 
@@ -203,7 +203,7 @@ public class Event {
             (makeSelector(baseSelector, field.getFieldNameIn()), field);
   }
 
-  private String makeKey(AbstractField field) {
+  protected String makeKey(AbstractField field) {
     return sourceInfo != null && sourceInfo.getSelectorPrefix() != null ? sourceInfo
             .getSelectorPrefix()
             + PropertySelectorConstants.PROPERTY_DELIMITER
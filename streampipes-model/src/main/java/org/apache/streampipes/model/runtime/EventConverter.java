@@ -21,6 +21,7 @@ import org.apache.streampipes.model.runtime.field.AbstractField;
 import org.apache.streampipes.model.runtime.field.ListField;
 import org.apache.streampipes.model.runtime.field.PrimitiveField;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,12 +38,37 @@ public class EventConverter {
   public Map<String, Object> toMap(Boolean renameProperties) {
     Map<String, Object> outMap = new HashMap<>();
 
-    event.getFields().forEach((key, value) -> outMap.put(getValue(value, renameProperties), makeEntry
-            (value, renameProperties)));
+    if (CompiledEvent.class.isInstance(event) && !((CompiledEvent) event).isInflated()) {
+      addCompiledEntries((CompiledEvent) event, outMap, renameProperties);
+    } else {
+      event.getFields().forEach((key, value) -> outMap.put(getValue(value, renameProperties),
+              makeEntry(value, renameProperties)));
+    }
 
     return outMap;
   }
 
+  private void addCompiledEntries(CompiledEvent compiledEvent, Map<String, Object> outMap,
+                                  Boolean renameProperties) {
+    EventLayout layout = compiledEvent.getLayout();
+    for (int i = 0; i < layout.size(); i++) {
+      if (compiledEvent.isPresent(i)) {
+        AbstractField field = compiledEvent.getMaterializedField(i);
+        if (field != null) {
+          outMap.put(getValue(field, renameProperties), makeEntry(field, renameProperties));
+        } else {
+          outMap.put(renameProperties ? layout.getOutputName(i) : layout.getRuntimeName(i),
+                  compiledEvent.getSlotValue(i));
+        }
+      }
+    }
+
+    if (compiledEvent.getAdditionalFields() != null) {
+      compiledEvent.getAdditionalFields().forEach((key, value) -> outMap.put(getValue(value,
+              renameProperties), makeEntry(value, renameProperties)));
+    }
+  }
+
   public Map<String, Object> toMap() {
     return toMap(true);
   }
@@ -51,6 +77,58 @@ public class EventConverter {
     return toMap(false);
   }
 
+  public void writeTo(EventWriter writer) throws IOException {
+    writeTo(writer, true);
+  }
+
+  public void writeTo(EventWriter writer, Boolean renameProperties) throws IOException {
+    writer.writeStartObject(null);
+    if (CompiledEvent.class.isInstance(event) && !((CompiledEvent) event).isInflated()) {
+      CompiledEvent compiledEvent = (CompiledEvent) event;
+      EventLayout layout = compiledEvent.getLayout();
+      for (int i = 0; i < layout.size(); i++) {
+        if (compiledEvent.isPresent(i)) {
+          AbstractField field = compiledEvent.getMaterializedField(i);
+          if (field != null) {
+            writeField(getValue(field, renameProperties), field, renameProperties, writer);
+          } else {
+            compiledEvent.writeSlot(i, renameProperties ? layout.getOutputName(i) : layout
+                    .getRuntimeName(i), writer);
+          }
+        }
+      }
+      if (compiledEvent.getAdditionalFields() != null) {
+        for (AbstractField field : compiledEvent.getAdditionalFields().values()) {
+          writeField(getValue(field, renameProperties), field, renameProperties, writer);
+        }
+      }
+    } else {
+      for (AbstractField field : event.getFields().values()) {
+        writeField(getValue(field, renameProperties), field, renameProperties, writer);
+      }
+    }
+    writer.writeEndObject();
+  }
+
+  private void writeField(String fieldName, AbstractField field, Boolean renameProperties,
+                          EventWriter writer) throws IOException {
+    if (PrimitiveField.class.isInstance(field)) {
+      writer.writeValue(fieldName, field.getRawValue());
+    } else if (ListField.class.isInstance(field)) {
+      writer.writeStartArray(fieldName);
+      for (AbstractField item : field.getAsList().getRawValue()) {
+        writeField(null, item, renameProperties, writer);
+      }
+      writer.writeEndArray();
+    } else {
+      writer.writeStartObject(fieldName);
+      for (AbstractField item : field.getAsComposite().getRawValue().values()) {
+        writeField(getValue(item, renameProperties), item, renameProperties, writer);
+      }
+      writer.writeEndObject();
+    }
+  }
+
   private Object makeEntry(AbstractField value, Boolean renameProperties) {
     if (PrimitiveField.class.isInstance(value)) {
       return value.getRawValue();
@@ -119,7 +119,7 @@ public class EventFactory {
     return fieldSelectors.stream().anyMatch(f -> f.equals(key));
   }
 
-  private static AbstractField makeField(String runtimeName, Object o, String currentSelector,
+  static AbstractField makeField(String runtimeName, Object o, String currentSelector,
                                          SchemaInfo schemaInfo) {
     if (Map.class.isInstance(o)) {
       Map<String, Object> items = (Map<String, Object>) o;
@@ -154,7 +154,7 @@ public class EventFactory {
             .map(PropertyRenameRule::getNewRuntimeName).orElse(runtimeName);
   }
 
-  private static String makeSelector(String key, String selectorPrefix) {
+  static String makeSelector(String key, String selectorPrefix) {
     return selectorPrefix + PropertySelectorConstants.PROPERTY_DELIMITER + key;
   }
 }
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fixed slot layout of the top-level properties of an input stream, compiled once from the
+ * {@link SchemaInfo} when a pipeline element is invoked. Events created from a layout
+ * ({@link CompiledEvent}) resolve selectors to slot indices instead of walking field maps.
+ */
+public class EventLayout {
+
+  private final SourceInfo sourceInfo;
+  private final SchemaInfo schemaInfo;
+
+  private final String[] runtimeNames;
+  private final String[] selectors;
+  private final String[] outputNames;
+
+  private final Map<String, Integer> runtimeNameIndex;
+  private final Map<String, Integer> selectorIndex;
+  private final Map<String, NestedPath> nestedPaths;
+
+  private EventLayout(SourceInfo sourceInfo, SchemaInfo schemaInfo, List<EventProperty>
+          properties) {
+    this.sourceInfo = sourceInfo;
+    this.schemaInfo = schemaInfo;
+    this.runtimeNames = new String[properties.size()];
+    this.selectors = new String[properties.size()];
+    this.outputNames = new String[properties.size()];
+    this.runtimeNameIndex = new HashMap<>();
+    this.selectorIndex = new HashMap<>();
+    this.nestedPaths = new HashMap<>();
+
+    Map<String, String> renameRules = makeRenameRules(schemaInfo.getRenameRules());
+    for (int i = 0; i < properties.size(); i++) {
+      EventProperty property = properties.get(i);
+      String runtimeName = property.getRuntimeName();
+      String selector = EventFactory.makeSelector(runtimeName, sourceInfo.getSelectorPrefix());
+      runtimeNames[i] = runtimeName;
+      selectors[i] = selector;
+      outputNames[i] = renameRules.getOrDefault(selector, runtimeName);
+      runtimeNameIndex.put(runtimeName, i);
+      selectorIndex.put(selector, i);
+      if (property instanceof EventPropertyNested) {
+        addNestedPaths(i, selector, ((EventPropertyNested) property).getEventProperties(),
+                new ArrayList<>());
+      }
+    }
+  }
+
+  public static EventLayout compile(SourceInfo sourceInfo, SchemaInfo schemaInfo) {
+    List<EventProperty> properties = schemaInfo.getEventSchema() != null ? schemaInfo
+            .getEventSchema().getEventProperties() : Collections.emptyList();
+    return new EventLayout(sourceInfo, schemaInfo, properties);
+  }
+
+  public Event fromMap(Map<String, Object> event) {
+    if (size() == 0) {
+      return EventFactory.fromMap(event, sourceInfo, schemaInfo);
+    }
+
+    CompiledEvent compiledEvent = new CompiledEvent(this);
+    event.forEach(compiledEvent::putValue);
+    return compiledEvent;
+  }
+
+  public SourceInfo getSourceInfo() {
+    return sourceInfo;
+  }
+
+  public SchemaInfo getSchemaInfo() {
+    return schemaInfo;
+  }
+
+  public int size() {
+    return selectors.length;
+  }
+
+  Integer indexOfSelector(String selector) {
+    return selectorIndex.get(selector);
+  }
+
+  Integer indexOfRuntimeName(String runtimeName) {
+    return runtimeNameIndex.get(runtimeName);
+  }
+
+  NestedPath nestedPath(String selector) {
+    return nestedPaths.get(selector);
+  }
+
+  String getRuntimeName(int index) {
+    return runtimeNames[index];
+  }
+
+  String getSelector(int index) {
+    return selectors[index];
+  }
+
+  String getOutputName(int index) {
+    return outputNames[index];
+  }
+
+  private void addNestedPaths(int slot, String parentSelector, List<EventProperty> properties,
+                              List<String> parentKeys) {
+    for (EventProperty property : properties) {
+      String selector = EventFactory.makeSelector(property.getRuntimeName(), parentSelector);
+      List<String> keys = new ArrayList<>(parentKeys);
+      keys.add(selector);
+      nestedPaths.put(selector, new NestedPath(slot, keys.toArray(new String[0])));
+      if (property instanceof EventPropertyNested) {
+        addNestedPaths(slot, selector, ((EventPropertyNested) property).getEventProperties(), keys);
+      }
+    }
+  }
+
+  private Map<String, String> makeRenameRules(List<PropertyRenameRule> renameRules) {
+    Map<String, String> rules = new HashMap<>();
+    if (renameRules != null) {
+      renameRules.forEach(r -> rules.putIfAbsent(r.getRuntimeId(), r.getNewRuntimeName()));
+    }
+    return rules;
+  }
+
+  /**
+   * The pre-resolved chain of field map keys leading from a top-level slot to a nested field.
+   */
+  static class NestedPath {
+
+    private final int slot;
+    private final String[] keys;
+
+    NestedPath(int slot, String[] keys) {
+      this.slot = slot;
+      this.keys = keys;
+    }
+
+    int getSlot() {
+      return slot;
+    }
+
+    String[] getKeys() {
+      return keys;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import java.io.IOException;
+
+/**
+ * Receives the content of an event in document order, used by data formats which serialize
+ * events without building an intermediate map. Field names are null for the root object and
+ * for list items.
+ */
+public interface EventWriter {
+
+  void writeStartObject(String fieldName) throws IOException;
+
+  void writeEndObject() throws IOException;
+
+  void writeStartArray(String fieldName) throws IOException;
+
+  void writeEndArray() throws IOException;
+
+  void writeValue(String fieldName, int value) throws IOException;
+
+  void writeValue(String fieldName, long value) throws IOException;
+
+  void writeValue(String fieldName, float value) throws IOException;
+
+  void writeValue(String fieldName, double value) throws IOException;
+
+  void writeValue(String fieldName, Object value) throws IOException;
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import java.util.Map;
+
+/**
+ * A handle to a single field of an event, created once from a property selector (e.g., when a
+ * pipeline element is invoked). The selector is split into the keys of all nesting levels up
+ * front, so that accessing the field of an event only requires one map lookup per level.
+ */
+public class FieldAccessor {
+
+  private final String selector;
+  private final String[] path;
+
+  private FieldAccessor(String selector, String[] path) {
+    this.selector = selector;
+    this.path = path;
+  }
+
+  public static FieldAccessor of(String selector) {
+    String[] parts = selector.split(PropertySelectorConstants.PROPERTY_DELIMITER);
+    // the first part is the stream prefix, each following part adds one nesting level
+    int depth = Math.max(parts.length - 1, 1);
+    String[] path = new String[depth];
+    StringBuilder currentSelector = new StringBuilder(parts[0]);
+    for (int i = 0; i < depth; i++) {
+      if (i + 1 < parts.length) {
+        currentSelector.append(PropertySelectorConstants.PROPERTY_DELIMITER).append(parts[i + 1]);
+      }
+      path[i] = currentSelector.toString();
+    }
+    return new FieldAccessor(selector, path);
+  }
+
+  public String getSelector() {
+    return selector;
+  }
+
+  public AbstractField getField(Event event) {
+    if (event instanceof CompiledEvent) {
+      return event.getFieldBySelector(selector);
+    }
+    AbstractField field = resolve(event.getFields());
+    return field != null ? field : event.getFieldBySelector(selector);
+  }
+
+  public PrimitiveField getPrimitive(Event event) {
+    return getField(event).getAsPrimitive();
+  }
+
+  public boolean isPresent(Event event) {
+    try {
+      return getField(event) != null;
+    } catch (IllegalArgumentException | NullPointerException e) {
+      return false;
+    }
+  }
+
+  public void update(Event event, AbstractField field) {
+    Map<String, AbstractField> parent =
+            event instanceof CompiledEvent ? null : resolveParent(event.getFields());
+    if (parent != null && parent.containsKey(selector)) {
+      parent.put(selector, field);
+    } else {
+      event.updateFieldBySelector(selector, field);
+    }
+  }
+
+  public void update(Event event, Integer value) {
+    getPrimitive(event).setValue(value);
+  }
+
+  public void update(Event event, Long value) {
+    getPrimitive(event).setValue(value);
+  }
+
+  public void update(Event event, Float value) {
+    getPrimitive(event).setValue(value);
+  }
+
+  public void update(Event event, Double value) {
+    getPrimitive(event).setValue(value);
+  }
+
+  public void update(Event event, Boolean value) {
+    getPrimitive(event).setValue(value);
+  }
+
+  public void update(Event event, String value) {
+    getPrimitive(event).setValue(value);
+  }
+
+  private AbstractField resolve(Map<String, AbstractField> fields) {
+    Map<String, AbstractField> parent = resolveParent(fields);
+    return parent != null ? parent.get(selector) : null;
+  }
+
+  private Map<String, AbstractField> resolveParent(Map<String, AbstractField> fields) {
+    Map<String, AbstractField> current = fields;
+    for (int i = 0; i < path.length - 1; i++) {
+      AbstractField field = current.get(path[i]);
+      if (field == null || !field.isComposite()) {
+        return null;
+      }
+      current = field.getAsComposite().getRawValue();
+    }
+    return current;
+  }
+
+  @Override
+  public String toString() {
+    return selector;
+  }
+}
@@ -25,7 +25,8 @@ public abstract class AbstractField<FV> {
   protected String fieldNameOut;
   protected FV value;
 
-  protected TypeParser typeParser;
+  // TypeParser instances are immutable, so a single parser is shared by all fields
+  protected static final TypeParser typeParser = TypeParser.newBuilder().build();
 
   public AbstractField(String fieldNameIn, String fieldNameOut, FV value) {
     this(fieldNameIn);
@@ -40,7 +41,6 @@ public abstract class AbstractField<FV> {
   }
 
   public AbstractField() {
-    this.typeParser = TypeParser.newBuilder().build();
   }
 
   protected String asString(Object field) {
@@ -54,7 +54,7 @@ public class ListField extends AbstractField<List<AbstractField>> {
   public <T> List<T> parseAsSimpleType(Class<T> type) {
     return value.stream()
             .map(v -> v.getAsPrimitive().getRawValue())
-            .map(f -> typeParser.parse(asString(f), type))
+            .map(f -> type.isInstance(f) ? type.cast(f) : typeParser.parse(asString(f), type))
             .collect(Collectors.toList());
   }
 }
@@ -17,6 +17,11 @@
  */
 package org.apache.streampipes.model.runtime.field;
 
+/**
+ * A field holding a single value. Values that already have the requested type (e.g., numbers
+ * decoded by a data format) are returned directly; only string values and values of a
+ * different type are converted by parsing their string representation.
+ */
 public class PrimitiveField extends AbstractField<Object> {
 
   public PrimitiveField(String fieldNameIn, String fieldNameOut, Object value) {
@@ -24,27 +29,87 @@ public class PrimitiveField extends AbstractField<Object> {
   }
 
   public String getAsString() {
-    return asString(value);
+    return value instanceof String ? (String) value : asString(value);
   }
 
   public Long getAsLong() {
+    if (value instanceof Long) {
+      return (Long) value;
+    }
+    return getAsLongPrimitive();
+  }
+
+  public long getAsLongPrimitive() {
+    if (isIntegral(value)) {
+      return ((Number) value).longValue();
+    }
     return Long.parseLong(asString(value));
   }
 
   public Integer getAsInt() {
+    if (value instanceof Integer) {
+      return (Integer) value;
+    }
+    return getAsIntPrimitive();
+  }
+
+  public int getAsIntPrimitive() {
+    if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return ((Number) value).intValue();
+    }
     return Integer.parseInt(asString(value));
   }
 
   public Float getAsFloat() {
+    if (value instanceof Float) {
+      return (Float) value;
+    }
+    return getAsFloatPrimitive();
+  }
+
+  public float getAsFloatPrimitive() {
+    if (value instanceof Float || isIntegral(value)) {
+      return ((Number) value).floatValue();
+    } else if (value instanceof Double) {
+      return (float) ((Double) value).doubleValue();
+    }
     return Float.parseFloat(asString(value));
   }
 
   public Boolean getAsBoolean() {
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    return getAsBooleanPrimitive();
+  }
+
+  public boolean getAsBooleanPrimitive() {
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
     return Boolean.parseBoolean(asString(value));
   }
 
   public Double getAsDouble() {
+    if (value instanceof Double) {
+      return (Double) value;
+    }
+    return getAsDoublePrimitive();
+  }
+
+  public double getAsDoublePrimitive() {
+    // floats are parsed from their string representation to keep their decimal value
+    if (value instanceof Double || isIntegral(value)) {
+      return ((Number) value).doubleValue();
+    }
     return Double.parseDouble(asString(value));
   }
 
+  private static boolean isIntegral(Object value) {
+    return value instanceof Integer
+            || value instanceof Long
+            || value instanceof Short
+            || value instanceof Byte;
+  }
+
 }
@@ -132,6 +132,8 @@ public class Cloner {
       return new JmsTransportProtocol((JmsTransportProtocol) protocol);
     } else if (protocol instanceof MqttTransportProtocol) {
       return new MqttTransportProtocol((MqttTransportProtocol) protocol);
+    } else if (protocol instanceof InMemoryTransportProtocol) {
+      return new InMemoryTransportProtocol((InMemoryTransportProtocol) protocol);
     } else {
       LOG.error("Could not clone protocol of type {}", protocol.getClass().getCanonicalName());
       return protocol;
@@ -19,6 +19,11 @@ package org.apache.streampipes.model.runtime;
 
 import org.apache.streampipes.model.constants.PropertySelectorConstants;
 import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -88,4 +93,22 @@ public class RuntimeTestUtils {
     return EventFactory.fromMap(runtimeMap, sourceInfo, new SchemaInfo(null, Arrays.asList(rule,
             rule2)));
   }
+
+  public static EventSchema nestedSchema() {
+    EventProperty timestamp = primitive("timestamp");
+    EventProperty nested = new EventPropertyNested("nested", Arrays.asList(primitive
+            ("timestamp"), primitive("timestamp2")));
+    return new EventSchema(Arrays.asList(timestamp, nested));
+  }
+
+  public static Event makeCompiledEvent(Map<String, Object> runtimeMap, SourceInfo sourceInfo) {
+    PropertyRenameRule rule = new PropertyRenameRule("s0::timestamp", "ts");
+    return EventLayout.compile(sourceInfo, new SchemaInfo(nestedSchema(), Collections
+            .singletonList(rule))).fromMap(runtimeMap);
+  }
+
+  private static EventProperty primitive(String runtimeName) {
+    return new EventPropertyPrimitive(XSD._integer.toString(), runtimeName, "", Collections
+            .emptyList());
+  }
 }
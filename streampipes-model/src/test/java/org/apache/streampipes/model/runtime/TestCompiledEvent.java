@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+public class TestCompiledEvent {
+
+  @Test
+  public void testPrimitiveValue() {
+    Event event = RuntimeTestUtils.makeCompiledEvent(RuntimeTestUtils.nestedMap(),
+            RuntimeTestUtils.getSourceInfo());
+
+    assertTrue(event instanceof CompiledEvent);
+    assertEquals(Integer.valueOf(1), event.getFieldBySelector("s0::timestamp").getAsPrimitive()
+            .getAsInt());
+    assertEquals("ts", event.getFieldBySelector("s0::timestamp").getFieldNameOut());
+  }
+
+  @Test
+  public void testNestedValue() {
+    Event event = RuntimeTestUtils.makeCompiledEvent(RuntimeTestUtils.nestedMap(),
+            RuntimeTestUtils.getSourceInfo());
+
+    assertEquals(Integer.valueOf(2), event.getFieldBySelector("s0::nested::timestamp2")
+            .getAsPrimitive()
+            .getAsInt());
+
+    event.updateFieldBySelector("s0::nested::timestamp2", 3);
+
+    assertEquals(Integer.valueOf(3), event.getFieldBySelector("s0::nested::timestamp2")
+            .getAsPrimitive()
+            .getAsInt());
+  }
+
+  @Test
+  public void testPrimitiveUpdate() {
+    Event event = RuntimeTestUtils.makeCompiledEvent(RuntimeTestUtils.nestedMap(),
+            RuntimeTestUtils.getSourceInfo());
+
+    event.updateFieldBySelector("s0::timestamp", 2.0);
+
+    assertEquals(Double.valueOf(2.0), event.getFieldBySelector("s0::timestamp").getAsPrimitive()
+            .getAsDouble());
+  }
+
+  @Test
+  public void testFieldAdditionAndRemoval() {
+    Event event = RuntimeTestUtils.makeCompiledEvent(RuntimeTestUtils.nestedMap(),
+            RuntimeTestUtils.getSourceInfo());
+
+    event.addField("result", 5L);
+    event.removeFieldBySelector("s0::nested");
+
+    Map<String, Object> convertedMap = new EventConverter(event).toMap();
+
+    assertEquals(2, convertedMap.size());
+    assertEquals(1, convertedMap.get("ts"));
+    assertEquals(5L, convertedMap.get("result"));
+    assertFalse(convertedMap.containsKey("nested"));
+  }
+
+  @Test
+  public void testUnknownPropertyAndConversion() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    runtimeMap.put("unknown", "value");
+    Event event = RuntimeTestUtils.makeCompiledEvent(runtimeMap, RuntimeTestUtils.getSourceInfo());
+
+    assertEquals("value", event.getFieldBySelector("s0::unknown").getAsPrimitive()
+            .getAsString());
+
+    Map<String, Object> convertedMap = new EventConverter(event).toMap();
+    assertEquals(3, convertedMap.size());
+    assertEquals(1, convertedMap.get("ts"));
+    assertEquals(2, ((Map<String, Object>) convertedMap.get("nested")).get("timestamp2"));
+
+    assertEquals(3, event.getFields().size());
+    assertEquals(convertedMap, new EventConverter(event).toMap());
+  }
+}
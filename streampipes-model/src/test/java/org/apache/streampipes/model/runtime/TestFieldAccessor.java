@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+public class TestFieldAccessor {
+
+  @Test
+  public void testPrimitiveValue() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.simpleMap();
+    Event event = RuntimeTestUtils.makeSimpleEvent(runtimeMap, RuntimeTestUtils.getSourceInfo());
+
+    FieldAccessor accessor = FieldAccessor.of("s0::timestamp");
+
+    assertEquals(Integer.valueOf(1), accessor.getPrimitive(event).getAsInt());
+  }
+
+  @Test
+  public void testNestedValue() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    Event event = RuntimeTestUtils.makeSimpleEvent(runtimeMap, RuntimeTestUtils.getSourceInfo());
+
+    FieldAccessor accessor = FieldAccessor.of("s0::nested::timestamp2");
+
+    assertEquals(Integer.valueOf(2), accessor.getPrimitive(event).getAsInt());
+  }
+
+  @Test
+  public void testCompiledValue() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    Event event = RuntimeTestUtils.makeCompiledEvent(runtimeMap, RuntimeTestUtils.getSourceInfo());
+
+    assertEquals(Integer.valueOf(1), FieldAccessor.of("s0::timestamp").getPrimitive(event).getAsInt());
+    assertEquals(Integer.valueOf(2), FieldAccessor.of("s0::nested::timestamp2").getPrimitive(event)
+            .getAsInt());
+  }
+
+  @Test
+  public void testPresence() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    Event event = RuntimeTestUtils.makeSimpleEvent(runtimeMap, RuntimeTestUtils.getSourceInfo());
+
+    assertTrue(FieldAccessor.of("s0::nested::timestamp2").isPresent(event));
+    assertFalse(FieldAccessor.of("s0::nested::unknown").isPresent(event));
+  }
+
+  @Test
+  public void testNestedUpdate() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    Event event = RuntimeTestUtils.makeSimpleEvent(runtimeMap, RuntimeTestUtils.getSourceInfo());
+
+    FieldAccessor accessor = FieldAccessor.of("s0::nested::timestamp2");
+    accessor.update(event, 3);
+
+    assertEquals(Integer.valueOf(3), event.getFieldBySelector("s0::nested::timestamp2")
+            .getAsPrimitive()
+            .getAsInt());
+  }
+}
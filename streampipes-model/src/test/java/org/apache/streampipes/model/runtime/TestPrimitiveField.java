@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+public class TestPrimitiveField {
+
+  @Test
+  public void testNumericValues() {
+    Double value = 2.5;
+    PrimitiveField field = new PrimitiveField("value", "value", value);
+
+    assertSame(value, field.getAsDouble());
+    assertEquals(2.5, field.getAsDoublePrimitive(), 0.0);
+    assertEquals(2.5f, field.getAsFloatPrimitive(), 0.0f);
+  }
+
+  @Test
+  public void testIntegralValues() {
+    PrimitiveField field = new PrimitiveField("value", "value", 42);
+
+    assertEquals(Integer.valueOf(42), field.getAsInt());
+    assertEquals(42L, field.getAsLongPrimitive());
+    assertEquals(42.0, field.getAsDoublePrimitive(), 0.0);
+  }
+
+  @Test
+  public void testFloatToDouble() {
+    PrimitiveField field = new PrimitiveField("value", "value", 1.1f);
+
+    assertEquals(Double.valueOf(1.1), field.getAsDouble());
+  }
+
+  @Test
+  public void testDoubleToFloat() {
+    assertEquals(Float.valueOf(1.1f), new PrimitiveField("value", "value", 1.1).getAsFloat());
+    assertEquals(-0.1f, new PrimitiveField("value", "value", -0.1).getAsFloatPrimitive(), 0.0f);
+    assertEquals(Float.POSITIVE_INFINITY, new PrimitiveField("value", "value", 1e300)
+            .getAsFloatPrimitive(), 0.0f);
+  }
+
+  @Test
+  public void testStringValues() {
+    assertEquals(Long.valueOf(3), new PrimitiveField("value", "value", "3").getAsLong());
+    assertEquals(3.5, new PrimitiveField("value", "value", "3.5").getAsDoublePrimitive(), 0.0);
+    assertTrue(new PrimitiveField("value", "value", "true").getAsBooleanPrimitive());
+    assertEquals("1", new PrimitiveField("value", "value", 1).getAsString());
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testDecimalAsInt() {
+    new PrimitiveField("value", "value", 2.5).getAsInt();
+  }
+}
@@ -26,6 +26,7 @@ import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.vocabulary.MessageFormat;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Set;
 
@@ -42,6 +43,21 @@ public class FormatSelector extends GroundingSelector {
                     .getEventGrounding()
                     .getTransportFormats()
                     .get(0);
+        } else {
+            TransportFormat format = selectDataFormat();
+            if (supportsFormat(MessageFormat.Envelope)) {
+                // events are packed into envelopes in addition to their data format
+                format.getRdfType().add(URI.create(MessageFormat.Envelope));
+            }
+            return format;
+        }
+    }
+
+    private TransportFormat selectDataFormat() {
+        if (supportsFormat(MessageFormat.Binary)) {
+            // the schema-aware binary format omits field names, prefer it whenever the source and
+            // all targets support it
+            return new TransportFormat(MessageFormat.Binary);
         } else {
             List<SpDataFormat> prioritizedFormats =
                     BackendConfig.INSTANCE.getMessagingSettings().getPrioritizedFormats();
@@ -63,6 +79,8 @@ public class FormatSelector extends GroundingSelector {
                         .getSupportedGrounding()
                         .getTransportFormats()
                         .stream()
-                        .anyMatch(s -> s.getRdfType().contains(format)));
+                        .anyMatch(s -> s.getRdfType()
+                                .stream()
+                                .anyMatch(tf -> tf.toString().equals(format))));
     }
 }
@@ -28,8 +28,11 @@ import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.ProcessingGuarantee;
 import org.apache.streampipes.model.monitoring.ElementStatusInfoSettings;
 import org.apache.streampipes.model.output.OutputStrategy;
+import org.apache.streampipes.model.schema.EventProperty;
 import org.apache.streampipes.model.schema.EventSchema;
 import org.apache.streampipes.sdk.helpers.Tuple2;
 
@@ -75,6 +78,7 @@ public class InvocationGraphBuilder {
       if (source instanceof DataProcessorInvocation && ((DataProcessorInvocation) source).isConfigured()) {
 
         DataProcessorInvocation dataProcessorInvocation = (DataProcessorInvocation) source;
+        String partitionKey = dataProcessorInvocation.getOutputStrategies().get(0).getPartitionKey();
         Tuple2<EventSchema, ? extends OutputStrategy> outputSettings;
         OutputSchemaGenerator<?> schemaGenerator = new OutputSchemaFactory(dataProcessorInvocation)
                 .getOuputSchemaGenerator();
@@ -94,6 +98,10 @@ public class InvocationGraphBuilder {
                   .getOutputStrategies().get(0));
         }
 
+        outputSettings.b.setPartitionKey(partitionKey);
+        inputGrounding.getTransportProtocol().setPartitionKey(findPartitionKey(outputSettings.a,
+                partitionKey));
+
         SpDataStream outputStream = new SpDataStream();
         outputStream.setEventGrounding(inputGrounding);
         dataProcessorInvocation.setOutputStrategies(Collections.singletonList(outputSettings.b));
@@ -109,7 +117,7 @@ public class InvocationGraphBuilder {
     targets.forEach(t -> {
       t.getInputStreams()
               .get(getIndex(source.getDOM(), t))
-              .setEventGrounding(inputGrounding);
+              .setEventGrounding(makeTargetGrounding(inputGrounding, t));
 
       t.getInputStreams()
               .get(getIndex(source.getDOM(), t))
@@ -130,6 +138,36 @@ public class InvocationGraphBuilder {
 
   }
 
+  // at-least-once consumers resume from their committed position and therefore need a group id
+  // which identifies the pipeline element instance
+  private EventGrounding makeTargetGrounding(EventGrounding grounding, InvocableStreamPipesEntity target) {
+    if (!(grounding.getTransportProtocol() instanceof KafkaTransportProtocol)
+            || !ProcessingGuarantee.AT_LEAST_ONCE.name().equals(((KafkaTransportProtocol) grounding
+            .getTransportProtocol()).getProcessingGuarantee())) {
+      return grounding;
+    }
+    EventGrounding targetGrounding = new EventGrounding(grounding);
+    ((KafkaTransportProtocol) targetGrounding.getTransportProtocol()).setGroupId(
+            makeElementIdentifier(pipelineId, grounding.getTransportProtocol().getTopicDefinition()
+                    .getActualTopicName(), target.getName()));
+    return targetGrounding;
+  }
+
+  // events are only keyed if the output strategy declares a partition key which is a property of
+  // the output schema
+  private String findPartitionKey(EventSchema outputSchema, String partitionKey) {
+    if (partitionKey == null || outputSchema.getEventProperties() == null) {
+      return null;
+    }
+    return outputSchema
+            .getEventProperties()
+            .stream()
+            .map(EventProperty::getRuntimeName)
+            .filter(partitionKey::equals)
+            .findFirst()
+            .orElse(null);
+  }
+
   private ElementStatusInfoSettings makeStatusInfoSettings(String elementIdentifier) {
     ElementStatusInfoSettings statusSettings = new ElementStatusInfoSettings();
     statusSettings.setKafkaHost(BackendConfig.INSTANCE.getKafkaHost());
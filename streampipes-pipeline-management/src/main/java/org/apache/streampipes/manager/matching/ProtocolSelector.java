@@ -24,13 +24,17 @@ import org.apache.streampipes.manager.util.TopicGenerator;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public class ProtocolSelector extends GroundingSelector {
 
@@ -49,6 +53,9 @@ public class ProtocolSelector extends GroundingSelector {
             return ((SpDataStream) source)
                     .getEventGrounding()
                     .getTransportProtocol();
+        } else if (BackendConfig.INSTANCE.isInMemoryColocation() && isColocated()
+                && supportsProtocol(InMemoryTransportProtocol.class)) {
+            return inMemoryTopic();
         } else {
             for(SpProtocol prioritizedProtocol: prioritizedProtocols) {
                 if (prioritizedProtocol.getProtocolClass().equals(KafkaTransportProtocol.class.getCanonicalName()) &&
@@ -67,10 +74,17 @@ public class ProtocolSelector extends GroundingSelector {
         return kafkaTopic();
     }
 
+    private TransportProtocol inMemoryTopic() {
+        return new InMemoryTransportProtocol(outputTopic);
+    }
+
     private TransportProtocol mqttTopic() {
-        return new MqttTransportProtocol(BackendConfig.INSTANCE.getMqttHost(),
+        MqttTransportProtocol protocol = new MqttTransportProtocol(BackendConfig.INSTANCE.getMqttHost(),
                 BackendConfig.INSTANCE.getMqttPort(),
                 outputTopic);
+        protocol.setQos(BackendConfig.INSTANCE.getMqttQos());
+        protocol.setInFlightWindow(BackendConfig.INSTANCE.getMqttInFlightWindow());
+        return protocol;
     }
 
     private TransportProtocol jmsTopic() {
@@ -80,13 +94,45 @@ public class ProtocolSelector extends GroundingSelector {
     }
 
     private TransportProtocol kafkaTopic() {
-        return new KafkaTransportProtocol(BackendConfig.INSTANCE.getKafkaHost(),
+        KafkaTransportProtocol protocol = new KafkaTransportProtocol(BackendConfig.INSTANCE.getKafkaHost(),
                 BackendConfig.INSTANCE.getKafkaPort(),
                 outputTopic,
                 BackendConfig.INSTANCE.getZookeeperHost(),
                 BackendConfig.INSTANCE.getZookeeperPort());
+        protocol.setPartitions(BackendConfig.INSTANCE.getKafkaTopicPartitions());
+        protocol.setReplicationFactor(BackendConfig.INSTANCE.getKafkaTopicReplicationFactor());
+        protocol.setProcessingGuarantee(BackendConfig.INSTANCE.getKafkaProcessingGuarantee());
+        protocol.setTuningProfile(BackendConfig.INSTANCE.getMessagingSettings().getKafkaTuningProfile());
+        return protocol;
+    }
+
+
+    /**
+     * Checks whether the source and all targets are served by the same container, i.e., whether
+     * their element descriptions share the same host and port. This only implies the same JVM if
+     * the container is not replicated behind its host name, which is why in-memory connections
+     * need to be enabled in the backend configuration.
+     */
+    public boolean isColocated() {
+        List<String> containers = buildInvocables()
+                .stream()
+                .map(e -> containerOf(e.getBelongsTo()))
+                .distinct()
+                .collect(Collectors.toList());
+
+        return containers.size() == 1 && containers.get(0) != null;
     }
 
+    private String containerOf(String belongsTo) {
+        if (belongsTo == null) {
+            return null;
+        }
+        try {
+            return new URI(belongsTo).getAuthority();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
 
     public <T extends TransportProtocol> boolean supportsProtocol(Class<T> protocol) {
         List<InvocableStreamPipesEntity> elements = buildInvocables();
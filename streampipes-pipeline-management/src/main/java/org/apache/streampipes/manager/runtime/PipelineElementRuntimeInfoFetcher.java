@@ -54,8 +54,12 @@ public enum PipelineElementRuntimeInfoFetcher {
     }
     else if (spDataStream.getEventGrounding().getTransportProtocol() instanceof JmsTransportProtocol){
       return getLatestEventFromJms(spDataStream);
-    } else {
+    } else if (spDataStream.getEventGrounding().getTransportProtocol() instanceof MqttTransportProtocol) {
       return getLatestEventFromMqtt(spDataStream);
+    } else {
+      // e.g., in-memory streams between co-located pipeline elements cannot be consumed here
+      throw new SpRuntimeException("No runtime data available for streams transported by "
+              + spDataStream.getEventGrounding().getTransportProtocol().getClass().getSimpleName());
     }
   }
 
@@ -82,7 +86,8 @@ public enum PipelineElementRuntimeInfoFetcher {
     }
     if (!converterMap.containsKey(jmsTopic)) {
       this.converterMap.put(jmsTopic,
-              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream)).makeConverter());
+              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream),
+                      spDataStream.getEventSchema()).makeConverter());
     }
 
     ActiveMQConsumer consumer = new ActiveMQConsumer();
@@ -121,7 +126,8 @@ public enum PipelineElementRuntimeInfoFetcher {
 
     if (!converterMap.containsKey(mqttTopic)){
       this.converterMap.put(mqttTopic,
-              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream)).makeConverter());
+              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream),
+                      spDataStream.getEventSchema()).makeConverter());
     }
     MqttConsumer mqttConsumer = new MqttConsumer();
     mqttConsumer.connect(protocol, new InternalEventProcessor<byte[]>() {
@@ -160,7 +166,8 @@ public enum PipelineElementRuntimeInfoFetcher {
 
     if (!converterMap.containsKey(kafkaTopic)) {
       this.converterMap.put(kafkaTopic,
-              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream)).makeConverter());
+              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream),
+                      spDataStream.getEventSchema()).makeConverter());
     }
 
     SpKafkaConsumer kafkaConsumer = new SpKafkaConsumer(protocol, kafkaTopic, new InternalEventProcessor<byte[]>() {
@@ -18,22 +18,35 @@
 package org.apache.streampipes.manager.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.EventEnvelope;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
 
+import java.util.List;
 import java.util.Map;
 
 public class SpDataFormatConverter {
 
   private SpDataFormatDefinition spDataFormatDefinition;
   private JsonDataFormatDefinition jsonDataFormatDefinition;
+  private boolean envelope;
 
   public SpDataFormatConverter(SpDataFormatDefinition spDataFormatDefinition) {
+    this(spDataFormatDefinition, false);
+  }
+
+  public SpDataFormatConverter(SpDataFormatDefinition spDataFormatDefinition, boolean envelope) {
     this.spDataFormatDefinition = spDataFormatDefinition;
     this.jsonDataFormatDefinition = new JsonDataFormatDefinition();
+    this.envelope = envelope;
   }
 
   public String convert(byte[] message) throws SpRuntimeException {
+    if (envelope) {
+      // only the most recent event of an envelope is shown
+      List<byte[]> events = EventEnvelope.unpack(message);
+      message = events.get(events.size() - 1);
+    }
     Map<String, Object> event = spDataFormatDefinition.toMap(message);
     return toJson(event);
   }
@@ -17,35 +17,52 @@
  */
 package org.apache.streampipes.manager.runtime;
 
+import org.apache.streampipes.dataformat.EventEnvelope;
+import org.apache.streampipes.dataformat.binary.BinaryDataFormatDefinition;
 import org.apache.streampipes.dataformat.cbor.CborDataFormatDefinition;
 import org.apache.streampipes.dataformat.fst.FstDataFormatDefinition;
 import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
 import org.apache.streampipes.dataformat.smile.SmileDataFormatDefinition;
 import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.schema.EventSchema;
 import org.apache.streampipes.vocabulary.MessageFormat;
 
 public class SpDataFormatConverterGenerator {
 
   private TransportFormat transportFormat;
+  private EventSchema eventSchema;
 
   public SpDataFormatConverterGenerator(TransportFormat transportFormat) {
+    this(transportFormat, null);
+  }
+
+  public SpDataFormatConverterGenerator(TransportFormat transportFormat, EventSchema eventSchema) {
     this.transportFormat = transportFormat;
+    this.eventSchema = eventSchema;
   }
 
   public SpDataFormatConverter makeConverter() {
+    boolean envelope = EventEnvelope.isEnvelope(transportFormat);
     if (isJsonFormat(transportFormat)) {
-      return new SpDataFormatConverter(new JsonDataFormatDefinition());
+      return new SpDataFormatConverter(new JsonDataFormatDefinition(), envelope);
     } else if (isCborFormat(transportFormat)) {
-      return new SpDataFormatConverter(new CborDataFormatDefinition());
+      return new SpDataFormatConverter(new CborDataFormatDefinition(), envelope);
     } else if (isFstFormat(transportFormat)) {
-      return new SpDataFormatConverter(new FstDataFormatDefinition());
+      return new SpDataFormatConverter(new FstDataFormatDefinition(), envelope);
     } else if (isSmileFormat(transportFormat)) {
-      return new SpDataFormatConverter(new SmileDataFormatDefinition());
+      return new SpDataFormatConverter(new SmileDataFormatDefinition(), envelope);
+    } else if (isBinaryFormat(transportFormat)) {
+      return new SpDataFormatConverter(new BinaryDataFormatDefinition().forSchema(eventSchema),
+              envelope);
     } else {
       throw new IllegalArgumentException("Wrong transport format: " + makeError(transportFormat));
     }
   }
 
+  private boolean isBinaryFormat(TransportFormat transportFormat) {
+    return isFormat(MessageFormat.Binary, transportFormat);
+  }
+
   private boolean isSmileFormat(TransportFormat transportFormat) {
     return isFormat(MessageFormat.Smile, transportFormat);
   }
@@ -84,6 +84,20 @@ public class ProcessingElementBuilder extends AbstractProcessingElementBuilder<P
     return me();
   }
 
+  /**
+   * Assigns an output strategy to the element and declares the output property whose value keys
+   * the produced events. Events with the same key are published in order to the same partition.
+   *
+   * @param outputStrategy An {@link org.apache.streampipes.model.output.OutputStrategy}. Use
+   *                       {@link org.apache.streampipes.sdk.helpers.OutputStrategies} to assign the strategy.
+   * @param partitionKey   The runtime name of the output property, e.g., a sensor id.
+   * @return {@link ProcessingElementBuilder}
+   */
+  public ProcessingElementBuilder outputStrategy(OutputStrategy outputStrategy, String partitionKey) {
+    outputStrategy.setPartitionKey(partitionKey);
+    return outputStrategy(outputStrategy);
+  }
+
   /**
    * Assigns a category to the element which later serves to categorize data processors in the UI.
    *
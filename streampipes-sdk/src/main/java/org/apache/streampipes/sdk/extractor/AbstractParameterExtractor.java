@@ -25,6 +25,7 @@ import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.FieldAccessor;
 import org.apache.streampipes.model.schema.*;
 import org.apache.streampipes.model.staticproperty.*;
 import org.apache.streampipes.sdk.utils.Datatypes;
@@ -269,6 +270,10 @@ public abstract class AbstractParameterExtractor<T extends InvocableStreamPipesE
     return getPropertySelectorFromUnaryMapping(staticPropertyName);
   }
 
+  public FieldAccessor mappingPropertyAccessor(String staticPropertyName) {
+    return FieldAccessor.of(mappingPropertyValue(staticPropertyName));
+  }
+
   public List<String> getUnaryMappingsFromCollection(String collectionStaticPropertyName) {
     CollectionStaticProperty collection = getStaticPropertyByName(collectionStaticPropertyName, CollectionStaticProperty.class);
     return collection
@@ -284,6 +289,13 @@ public abstract class AbstractParameterExtractor<T extends InvocableStreamPipesE
     return getPropertySelectorsFromNaryMapping(staticPropertyName);
   }
 
+  public List<FieldAccessor> mappingPropertyAccessors(String staticPropertyName) {
+    return mappingPropertyValues(staticPropertyName)
+            .stream()
+            .map(FieldAccessor::of)
+            .collect(Collectors.toList());
+  }
+
   public String propertyDatatype(String runtimeName) {
     List<EventProperty> eventProperties = new ArrayList<>();
     for (SpDataStream is : sepaElement.getInputStreams()) {
@@ -55,6 +55,14 @@ public class Formats {
     return new TransportFormat(MessageFormat.Smile);
   }
 
+  /**
+   * Defines the schema-aware binary transport format used by a data stream at runtime.
+   * @return The {@link org.apache.streampipes.model.grounding.TransportFormat} of type Binary.
+   */
+  public static TransportFormat binaryFormat() {
+    return new TransportFormat(MessageFormat.Binary);
+  }
+
   /**
    * Defines the transport format Apache Thrift used by a data stream at runtime.
    * @return The {@link org.apache.streampipes.model.grounding.TransportFormat} of type Thrift.
@@ -72,4 +72,15 @@ public class Protocols {
   public static MqttTransportProtocol mqtt(String mqttHost, Integer mqttPort, String topic) {
     return new MqttTransportProtocol(mqttHost, mqttPort, topic);
   }
+
+  /**
+   * Defines the in-memory transport protocol used by a data stream at runtime. Only applicable to streams
+   * produced and consumed within the same container.
+   * @param topic The topic identifier
+   * @return The {@link org.apache.streampipes.model.grounding.InMemoryTransportProtocol} containing the topic where
+   * data arrives.
+   */
+  public static InMemoryTransportProtocol inMemory(String topic) {
+    return new InMemoryTransportProtocol(topic);
+  }
 }
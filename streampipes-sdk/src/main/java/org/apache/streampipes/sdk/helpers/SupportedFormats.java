@@ -66,4 +66,23 @@ public class SupportedFormats {
   public static TransportFormat smileFormat() {
     return new TransportFormat(MessageFormat.Smile);
   }
+
+  /**
+   * Defines that a pipeline element (data processor or data sink) supports processing messaging
+   * arriving in the schema-aware binary format
+   * @return The resulting {@link org.apache.streampipes.model.grounding.TransportFormat}.
+   */
+  public static TransportFormat binaryFormat() {
+    return new TransportFormat(MessageFormat.Binary);
+  }
+
+  /**
+   * Defines that a pipeline element (data processor or data sink) supports receiving several
+   * events packed into a single message, in addition to one of its supported formats. Envelopes
+   * are only unpacked by the standalone wrapper, not by Flink pipeline elements
+   * @return The resulting {@link org.apache.streampipes.model.grounding.TransportFormat}.
+   */
+  public static TransportFormat envelopeFormat() {
+    return new TransportFormat(MessageFormat.Envelope);
+  }
 }
@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.sdk.helpers;
 
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
@@ -51,4 +52,14 @@ public class SupportedProtocols {
     return new MqttTransportProtocol();
   }
 
+  /**
+   * Defines that a pipeline element (data processor or data sink) supports processing messages arriving from
+   * another pipeline element running in the same container, without a broker in between. The backend only
+   * selects it if in-memory connections are enabled (SP_IN_MEMORY_COLOCATION).
+   * @return The {@link org.apache.streampipes.model.grounding.InMemoryTransportProtocol}.
+   */
+  public static InMemoryTransportProtocol inMemory() {
+    return new InMemoryTransportProtocol();
+  }
+
 }
@@ -126,6 +126,7 @@ public class CustomAnnotationProvider implements EmpireAnnotationProvider {
             JmsTransportProtocol.class,
             KafkaTransportProtocol.class,
             MqttTransportProtocol.class,
+            InMemoryTransportProtocol.class,
             TransportProtocol.class,
             DomainStaticProperty.class,
             SupportedProperty.class,
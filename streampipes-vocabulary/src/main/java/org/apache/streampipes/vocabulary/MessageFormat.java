@@ -29,5 +29,7 @@ public class MessageFormat {
   public static final String Cbor = SEPA_NAMESPACE + "cbor";
   public static final String Xml = SEPA_NAMESPACE + "xml";
   public static final String Thrift = SEPA_NAMESPACE + "thrift";
+  public static final String Binary = SEPA_NAMESPACE + "binary";
+  public static final String Envelope = SEPA_NAMESPACE + "envelope";
 
 }
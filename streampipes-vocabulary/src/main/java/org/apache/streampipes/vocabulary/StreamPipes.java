@@ -112,6 +112,7 @@ public class StreamPipes {
   public static final String JMS_TRANSPORT_PROTOCOL = NS + "JmsTransportProtocol";
   public static final String KAFKA_TRANSPORT_PROTOCOL = NS + "KafkaTransportProtocol";
   public static final String MQTT_TRANSPORT_PROTOCOL = NS + "MqttTransportProtocol";
+  public static final String IN_MEMORY_TRANSPORT_PROTOCOL = NS + "InMemoryTransportProtocol";
   public static final String TRANSPORT_FORMAT = NS + "TransportFormat";
   public static final String TRANSPORT_PROTOCOL = NS + "TransportProtocol";
 
@@ -151,6 +152,7 @@ public class StreamPipes {
 
   public static final String BROKER_HOSTNAME = NS + "brokerHostname";
   public static final String TOPIC = NS + "topic";
+  public static final String PARTITION_KEY = NS + "partitionKey";
 
   public static final String ELEMENT_IDENTIFIER = NS + "elementIdentifier";
 
@@ -163,6 +165,13 @@ public class StreamPipes {
   public static final String KAFKA_OFFSET = NS + "kafkaOffset";
   public static final String KAFKA_GROUP_ID = NS + "kafkaGroupId";
   public static final String KAFKA_MAX_REQUEST_SIZE = NS + "kafkaMaxRequestSize";
+  public static final String KAFKA_PARTITIONS = NS + "kafkaPartitions";
+  public static final String KAFKA_REPLICATION_FACTOR = NS + "kafkaReplicationFactor";
+  public static final String KAFKA_PROCESSING_GUARANTEE = NS + "kafkaProcessingGuarantee";
+  public static final String KAFKA_TUNING_PROFILE = NS + "kafkaTuningProfile";
+  public static final String KAFKA_COMPRESSION_TYPE = NS + "kafkaCompressionType";
+  public static final String MQTT_QOS = NS + "mqttQos";
+  public static final String MQTT_IN_FLIGHT_WINDOW = NS + "mqttInFlightWindow";
 
   public static final String ERROR_TOPIC = NS + "errorTopic";
   public static final String STATS_TOPIC = NS + "statsTopic";
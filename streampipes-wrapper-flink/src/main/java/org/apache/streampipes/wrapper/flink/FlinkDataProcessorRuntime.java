@@ -70,7 +70,8 @@ public abstract class FlinkDataProcessorRuntime<B extends EventProcessorBindingP
 
     EventGrounding outputGrounding = getOutputStream().getEventGrounding();
     SpDataFormatDefinition outputDataFormatDefinition =
-            getDataFormatDefinition(outputGrounding.getTransportFormats().get(0));
+            getDataFormatDefinition(outputGrounding.getTransportFormats().get(0))
+                    .forSchema(getOutputStream().getEventSchema());
 
     ByteArraySerializer serializer =
             new ByteArraySerializer(outputDataFormatDefinition);
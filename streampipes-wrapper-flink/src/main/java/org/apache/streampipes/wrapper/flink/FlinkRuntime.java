@@ -28,6 +28,7 @@ import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.streaming.api.functions.source.SourceFunction;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaConsumer;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.EventEnvelope;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
@@ -131,7 +132,14 @@ public abstract class FlinkRuntime<RP extends RuntimeParams<B, I, RC>, B extends
       if (stream != null) {
         TransportProtocol protocol = stream.getEventGrounding().getTransportProtocol();
         TransportFormat format = stream.getEventGrounding().getTransportFormats().get(0);
-        SpDataFormatDefinition dataFormatDefinition = getDataFormatDefinition(format);
+        if (EventEnvelope.isEnvelope(format)) {
+          // deserialization schemas produce a single record per message and cannot unpack
+          throw new SpRuntimeException("Flink pipeline elements do not support event envelopes, "
+                  + "remove envelopeFormat() from the supported groundings of " + bindingParams
+                  .getGraph().getAppId());
+        }
+        SpDataFormatDefinition dataFormatDefinition = getDataFormatDefinition(format)
+                .forSchema(stream.getEventSchema());
         if (protocol instanceof KafkaTransportProtocol) {
           return getKafkaConsumer((KafkaTransportProtocol) protocol, dataFormatDefinition);
         } else if (protocol instanceof JmsTransportProtocol) {
@@ -27,7 +27,19 @@ import java.util.function.Supplier;
 public class ConfiguredEventProcessor<B extends EventProcessorBindingParams>
         extends AbstractConfiguredPipelineElement<DataProcessorInvocation, B, EventProcessor<B>> {
 
+  private ParallelismSettings parallelismSettings;
+
   public ConfiguredEventProcessor(B bindingParams, Supplier<EventProcessor<B>> engineSupplier) {
+    this(bindingParams, engineSupplier, ParallelismSettings.none());
+  }
+
+  public ConfiguredEventProcessor(B bindingParams, Supplier<EventProcessor<B>> engineSupplier,
+                                  ParallelismSettings parallelismSettings) {
     super(bindingParams, engineSupplier);
+    this.parallelismSettings = parallelismSettings;
+  }
+
+  public ParallelismSettings getParallelismSettings() {
+    return parallelismSettings;
   }
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone;
+
+/**
+ * Defines how many engine replicas of a standalone data processor are executed in parallel and
+ * how incoming events are routed to them. Events with the same partition key are always
+ * processed by the same replica, so their order is preserved.
+ */
+public class ParallelismSettings {
+
+  private static final Integer DEFAULT_QUEUE_CAPACITY = 1024;
+
+  private final Integer parallelism;
+  private final String partitionKeySelector;
+  private final Integer queueCapacity;
+
+  private ParallelismSettings(Integer parallelism, String partitionKeySelector, Integer
+          queueCapacity) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    this.parallelism = parallelism;
+    this.partitionKeySelector = partitionKeySelector;
+    this.queueCapacity = queueCapacity;
+  }
+
+  public static ParallelismSettings none() {
+    return new ParallelismSettings(1, null, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  /**
+   * Distributes events round-robin to the replicas, suitable for stateless processors.
+   */
+  public static ParallelismSettings roundRobin(Integer parallelism) {
+    return new ParallelismSettings(parallelism, null, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  /**
+   * Routes events by the hash of the value found at the given property selector.
+   */
+  public static ParallelismSettings partitionBy(Integer parallelism, String partitionKeySelector) {
+    return new ParallelismSettings(parallelism, partitionKeySelector, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  public ParallelismSettings withQueueCapacity(Integer queueCapacity) {
+    return new ParallelismSettings(parallelism, partitionKeySelector, queueCapacity);
+  }
+
+  public Integer getParallelism() {
+    return parallelism;
+  }
+
+  public String getPartitionKeySelector() {
+    return partitionKeySelector;
+  }
+
+  public Integer getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public boolean isParallel() {
+    return parallelism > 1;
+  }
+
+  public boolean isPartitioned() {
+    return partitionKeySelector != null;
+  }
+}
@@ -39,6 +39,6 @@ public abstract class StandaloneEventProcessingDeclarer<B extends
             (configuredEngine.getBindingParams(), false);
 
     return new StandaloneEventProcessorRuntime<>(configuredEngine.getEngineSupplier(),
-            runtimeParams);
+            runtimeParams, configuredEngine.getParallelismSettings());
   }
 }
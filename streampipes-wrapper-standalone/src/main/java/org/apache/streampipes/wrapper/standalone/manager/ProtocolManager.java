@@ -18,62 +18,117 @@
 
 package org.apache.streampipes.wrapper.standalone.manager;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
 import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
 import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * The registry of input and output collectors shared by the pipeline elements of a container.
+ * Pipeline elements are invoked and detached concurrently, so collectors are created, acquired
+ * and released atomically per topic. Input collectors are released once their last consumer is
+ * unregistered, output collectors once every acquirer has released them; the caller which
+ * releases a collector is responsible for disconnecting it.
+ */
 public class ProtocolManager {
 
-  public static Map<String, StandaloneSpInputCollector> consumers = new HashMap<>();
-  public static Map<String, StandaloneSpOutputCollector> producers = new HashMap<>();
+  private static final ConcurrentMap<String, StandaloneSpInputCollector> consumers = new
+          ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, OutputCollectorRegistration> producers = new
+          ConcurrentHashMap<>();
 
   private static final Logger LOG = LoggerFactory.getLogger(ProtocolManager.class);
 
   // TODO currently only the topic name is used as an identifier for a consumer/producer. Should
   // be changed by some hashCode implementation in streampipes-model, but this requires changes
-  // in empire serializers
-
-  public static <T extends TransportProtocol> StandaloneSpInputCollector findInputCollector
-          (T
-                   protocol,
-           TransportFormat format, Boolean
-                   singletonEngine)
-          throws
-          SpRuntimeException {
-
-    if (consumers.containsKey(topicName(protocol))) {
-      return consumers.get(topicName(protocol));
-    } else {
-      consumers.put(topicName(protocol), makeInputCollector(protocol, format, singletonEngine));
-      LOG.info("Adding new consumer to consumer map (size=" +consumers.size() +"): " +topicName(protocol));
-      return consumers.get(topicName(protocol));
-    }
-
+  // in empire serializers. Consumers with at-least-once delivery are additionally keyed by their
+  // group id, as offsets are committed per group.
+
+  /**
+   * Registers a consumer at the input collector of the protocol's topic, creating the collector
+   * if necessary.
+   */
+  public static <T extends TransportProtocol> StandaloneSpInputCollector acquireInputCollector
+          (T protocol, TransportFormat format, Boolean singletonEngine, String routeId,
+           RawDataProcessor consumer) throws SpRuntimeException {
+    return consumers.compute(consumerKey(protocol), (topic, collector) -> {
+      if (collector == null) {
+        collector = makeInputCollector(protocol, format, singletonEngine);
+        LOG.info("Adding new consumer to consumer map (size=" + (consumers.size() + 1) + "): "
+                + topic);
+      }
+      collector.registerConsumer(routeId, consumer);
+      return collector;
+    });
   }
 
-  public static <T extends TransportProtocol> StandaloneSpOutputCollector findOutputCollector
-          (T
-                   protocol,
-           TransportFormat format)
-          throws
-          SpRuntimeException {
+  /**
+   * Unregisters a consumer from the input collector of the protocol's topic and returns the
+   * collector if this was its last consumer. The returned collector has been removed from the
+   * registry and must be disconnected by the caller.
+   */
+  public static <T extends TransportProtocol> Optional<StandaloneSpInputCollector>
+  releaseInputCollector(T protocol, String routeId) {
+    StandaloneSpInputCollector[] released = new StandaloneSpInputCollector[1];
+    consumers.computeIfPresent(consumerKey(protocol), (topic, collector) -> {
+      collector.unregisterConsumer(routeId);
+      if (collector.hasConsumers()) {
+        return collector;
+      }
+      released[0] = collector;
+      LOG.info("Removing consumer from consumer map (size=" + (consumers.size() - 1) + "): "
+              + topic);
+      return null;
+    });
+    return Optional.ofNullable(released[0]);
+  }
 
-    if (producers.containsKey(topicName(protocol))) {
-      return producers.get(topicName(protocol));
-    } else {
-      producers.put(topicName(protocol), makeOutputCollector(protocol, format));
-      LOG.info("Adding new producer to producer map (size=" +producers.size() +"): " +topicName
-              (protocol));
-      return producers.get(topicName(protocol));
-    }
+  /**
+   * Returns the output collector of the protocol's topic, creating it if necessary, and counts
+   * the caller as one of its users until {@link #releaseOutputCollector(TransportProtocol)}.
+   */
+  public static <T extends TransportProtocol> StandaloneSpOutputCollector acquireOutputCollector
+          (T protocol, TransportFormat format, EventSchema outputSchema) throws SpRuntimeException {
+    return producers.compute(topicName(protocol), (topic, registration) -> {
+      if (registration == null) {
+        registration = new OutputCollectorRegistration(makeOutputCollector(protocol, format,
+                outputSchema));
+        LOG.info("Adding new producer to producer map (size=" + (producers.size() + 1) + "): "
+                + topic);
+      }
+      registration.references++;
+      return registration;
+    }).collector;
+  }
 
+  /**
+   * Releases one use of the output collector of the protocol's topic and returns the collector
+   * if this was its last user. The returned collector has been removed from the registry and
+   * must be disconnected by the caller.
+   */
+  public static <T extends TransportProtocol> Optional<StandaloneSpOutputCollector>
+  releaseOutputCollector(T protocol) {
+    StandaloneSpOutputCollector[] released = new StandaloneSpOutputCollector[1];
+    producers.computeIfPresent(topicName(protocol), (topic, registration) -> {
+      if (--registration.references > 0) {
+        return registration;
+      }
+      released[0] = registration.collector;
+      LOG.info("Removing producer from producer map (size=" + (producers.size() - 1) + "): "
+              + topic);
+      return null;
+    });
+    return Optional.ofNullable(released[0]);
   }
 
   private static <T extends TransportProtocol> StandaloneSpInputCollector makeInputCollector
@@ -88,7 +143,12 @@ public class ProtocolManager {
                                                                                                 protocol, TransportFormat format)
           throws
           SpRuntimeException {
-    return new StandaloneSpOutputCollector<>(protocol, format);
+    return makeOutputCollector(protocol, format, null);
+  }
+
+  public static <T extends TransportProtocol> StandaloneSpOutputCollector makeOutputCollector(T
+          protocol, TransportFormat format, EventSchema outputSchema) throws SpRuntimeException {
+    return new StandaloneSpOutputCollector<>(protocol, format, outputSchema);
   }
 
 
@@ -96,20 +156,24 @@ public class ProtocolManager {
     return protocol.getTopicDefinition().getActualTopicName();
   }
 
-  public static <T extends TransportProtocol> void removeInputCollector(T protocol) throws
-          SpRuntimeException {
-    consumers.remove(topicName(protocol));
-    LOG.info("Removing consumer from consumer map (size=" +consumers.size() +"): " +topicName
-            (protocol));
+  // at-least-once consumers commit under the group id of their pipeline element, so elements
+  // consuming the same topic cannot share a consumer
+  private static String consumerKey(TransportProtocol protocol) {
+    if (StandaloneSpInputCollector.isAtLeastOnce(protocol)) {
+      return topicName(protocol) + "/" + ((KafkaTransportProtocol) protocol).getGroupId();
+    }
+    return topicName(protocol);
   }
 
-  public static <T extends TransportProtocol> void removeOutputCollector(T protocol) throws
-          SpRuntimeException {
-    producers.remove(topicName(protocol));
-    LOG.info("Removing producer from producer map (size=" +producers.size() +"): " +topicName
-            (protocol));
-  }
+  // only modified within the registry's compute functions
+  private static class OutputCollectorRegistration {
 
+    private final StandaloneSpOutputCollector collector;
+    private int references;
 
+    OutputCollectorRegistration(StandaloneSpOutputCollector collector) {
+      this.collector = collector;
+    }
+  }
 
 }
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A bounded buffer between the thread of a transport consumer and the pipeline element engines.
+ * Events are handed over in batches by a dedicated thread, so that slow processing does not
+ * stall the network I/O of the consumer.
+ */
+public class InputBuffer implements Runnable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InputBuffer.class);
+
+  private final InputBufferSettings settings;
+  private final EventConsumer<?> eventConsumer;
+  private final Consumer<List<byte[]>> eventHandler;
+
+  private final ArrayDeque<byte[]> queue;
+  private final ReentrantLock lock;
+  private final Condition notEmpty;
+  private final Condition notFull;
+  private final Condition drained;
+  private final AtomicLong droppedEvents;
+
+  private volatile int queueDepth;
+  private volatile boolean running;
+  private boolean consumerPaused;
+  private boolean handingOver;
+  private SpRuntimeException handoverFailure;
+  private Thread thread;
+
+  public InputBuffer(InputBufferSettings settings, EventConsumer<?> eventConsumer,
+                     Consumer<List<byte[]>> eventHandler) {
+    this.settings = settings;
+    this.eventConsumer = eventConsumer;
+    this.eventHandler = eventHandler;
+    this.queue = new ArrayDeque<>(settings.getCapacity());
+    this.lock = new ReentrantLock();
+    this.notEmpty = lock.newCondition();
+    this.notFull = lock.newCondition();
+    this.drained = lock.newCondition();
+    this.droppedEvents = new AtomicLong();
+  }
+
+  public void start() {
+    this.running = true;
+    this.thread = new Thread(this, "input-buffer");
+    this.thread.start();
+  }
+
+  /**
+   * Stops the buffer after all buffered events have been handed over.
+   */
+  public void stop() {
+    lock.lock();
+    try {
+      this.running = false;
+      notEmpty.signalAll();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public void add(byte[] event) throws SpRuntimeException {
+    lock.lock();
+    try {
+      offer(event);
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void addAll(List<byte[]> events) throws SpRuntimeException {
+    lock.lock();
+    try {
+      for (byte[] event : events) {
+        offer(event);
+      }
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Blocks until all buffered events have been handed over to the event handler. Throws if a hand-over
+   * since the last flush failed or was interrupted, so that the caller does not acknowledge its
+   * events.
+   */
+  public void flush() throws SpRuntimeException {
+    lock.lock();
+    try {
+      while (running && (!queue.isEmpty() || handingOver)) {
+        drained.await(100, TimeUnit.MILLISECONDS);
+      }
+      if (handoverFailure != null) {
+        SpRuntimeException failure = handoverFailure;
+        handoverFailure = null;
+        throw failure;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while flushing the input buffer", e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  @Override
+  public void run() {
+    while (running || queueDepth > 0) {
+      List<byte[]> batch = take();
+      if (!batch.isEmpty()) {
+        SpRuntimeException failure = null;
+        try {
+          eventHandler.accept(batch);
+        } catch (SpRuntimeException e) {
+          LOG.error("Could not hand over buffered events", e);
+          failure = e;
+        } catch (RuntimeException e) {
+          LOG.error("Could not process buffered events", e);
+          failure = new SpRuntimeException("Could not process buffered events", e);
+        } finally {
+          finishHandover(failure);
+        }
+      }
+    }
+  }
+
+  private void finishHandover(SpRuntimeException failure) {
+    lock.lock();
+    try {
+      handingOver = false;
+      if (failure != null && handoverFailure == null) {
+        handoverFailure = failure;
+      }
+      if (queue.isEmpty()) {
+        drained.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void offer(byte[] event) throws SpRuntimeException {
+    if (queue.size() >= settings.getCapacity()) {
+      switch (settings.getOverflowPolicy()) {
+        case DROP_NEWEST:
+          droppedEvents.incrementAndGet();
+          return;
+        case DROP_OLDEST:
+          queue.pollFirst();
+          droppedEvents.incrementAndGet();
+          break;
+        default:
+          pauseConsumer();
+          // a pausable consumer must keep polling, e.g., to stay in its Kafka consumer group, so
+          // its current delivery is accepted beyond the capacity instead of blocking its thread
+          if (!eventConsumer.supportsPause()) {
+            awaitCapacity();
+          }
+      }
+    }
+    queue.addLast(event);
+    queueDepth = queue.size();
+  }
+
+  private void pauseConsumer() {
+    if (!consumerPaused) {
+      eventConsumer.pause();
+      consumerPaused = true;
+    }
+  }
+
+  private void awaitCapacity() throws SpRuntimeException {
+    while (running && queue.size() >= settings.getCapacity()) {
+      try {
+        notFull.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SpRuntimeException("Interrupted while waiting for input buffer capacity", e);
+      }
+    }
+  }
+
+  private List<byte[]> take() {
+    lock.lock();
+    try {
+      while (running && queue.isEmpty()) {
+        notEmpty.await(100, TimeUnit.MILLISECONDS);
+      }
+      int batchSize = Math.min(queue.size(), settings.getBatchSize());
+      List<byte[]> batch = new ArrayList<>(batchSize);
+      for (int i = 0; i < batchSize; i++) {
+        batch.add(queue.pollFirst());
+      }
+      queueDepth = queue.size();
+      handingOver = batchSize > 0;
+      if (consumerPaused && queue.size() <= settings.getCapacity() / 2) {
+        eventConsumer.resume();
+        consumerPaused = false;
+      }
+      notFull.signalAll();
+      return batch;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      this.running = false;
+      return new ArrayList<>();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
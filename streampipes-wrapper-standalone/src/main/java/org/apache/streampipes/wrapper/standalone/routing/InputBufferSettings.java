@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.routing;
+
+public class InputBufferSettings {
+
+  public static final String INPUT_BUFFER_CAPACITY = "SP_INPUT_BUFFER_CAPACITY";
+  public static final String INPUT_BUFFER_OVERFLOW_POLICY = "SP_INPUT_BUFFER_OVERFLOW_POLICY";
+  public static final String INPUT_BUFFER_BATCH_SIZE = "SP_INPUT_BUFFER_BATCH_SIZE";
+
+  private static final Integer DEFAULT_CAPACITY = 0;
+  private static final Integer DEFAULT_BATCH_SIZE = 500;
+
+  private Integer capacity;
+  private OverflowPolicy overflowPolicy;
+  private Integer batchSize;
+
+  public static InputBufferSettings fromEnvironment() {
+    return new InputBufferSettings(
+            getEnvOrDefault(INPUT_BUFFER_CAPACITY, DEFAULT_CAPACITY),
+            System.getenv(INPUT_BUFFER_OVERFLOW_POLICY) != null ?
+                    OverflowPolicy.valueOf(System.getenv(INPUT_BUFFER_OVERFLOW_POLICY)
+                            .toUpperCase().replace("-", "_")) : OverflowPolicy.BLOCK,
+            getEnvOrDefault(INPUT_BUFFER_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+  }
+
+  public InputBufferSettings(Integer capacity, OverflowPolicy overflowPolicy, Integer batchSize) {
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.batchSize = batchSize;
+  }
+
+  private static Integer getEnvOrDefault(String key, Integer defaultValue) {
+    return System.getenv(key) != null ? Integer.parseInt(System.getenv(key)) : defaultValue;
+  }
+
+  public boolean isEnabled() {
+    return capacity > 0;
+  }
+
+  public Integer getCapacity() {
+    return capacity;
+  }
+
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+}
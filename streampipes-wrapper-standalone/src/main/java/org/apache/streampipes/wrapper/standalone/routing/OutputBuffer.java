@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * An outbound queue of serialized events which are published in batches by a dedicated thread.
+ * A batch is published once it reaches the configured size or its oldest event has waited for
+ * the configured linger time. Adding blocks while the queue is full and is rejected while the
+ * buffer is not running. Keyed buffers keep the key of each event and hand the keys of a batch to
+ * the publisher along with its events.
+ */
+public class OutputBuffer implements Runnable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OutputBuffer.class);
+
+  // marks events without key in the key queue, which does not accept null
+  private static final byte[] NO_KEY = new byte[0];
+
+  private final OutputBufferSettings settings;
+  private final BiConsumer<List<byte[]>, List<byte[]>> publisher;
+  private final boolean keyed;
+
+  private final ArrayDeque<byte[]> queue;
+  private final ArrayDeque<byte[]> keys;
+  private final ReentrantLock lock;
+  private final Condition notEmpty;
+  private final Condition notFull;
+  private final Condition flushed;
+
+  private volatile boolean running;
+  private boolean publishing;
+  private boolean flushRequested;
+  private long oldestEventNanos;
+  private SpRuntimeException publishFailure;
+  private Thread thread;
+
+  public OutputBuffer(OutputBufferSettings settings, Consumer<List<byte[]>> publisher) {
+    this(settings, (keys, events) -> publisher.accept(events), false);
+  }
+
+  /**
+   * Creates a keyed buffer, the publisher receives the keys (null for events without key) and
+   * the events of each batch.
+   */
+  public static OutputBuffer keyed(OutputBufferSettings settings, BiConsumer<List<byte[]>,
+          List<byte[]>> publisher) {
+    return new OutputBuffer(settings, publisher, true);
+  }
+
+  private OutputBuffer(OutputBufferSettings settings, BiConsumer<List<byte[]>, List<byte[]>>
+          publisher, boolean keyed) {
+    this.settings = settings;
+    this.publisher = publisher;
+    this.keyed = keyed;
+    this.queue = new ArrayDeque<>(settings.getCapacity());
+    this.keys = new ArrayDeque<>(keyed ? settings.getCapacity() : 0);
+    this.lock = new ReentrantLock();
+    this.notEmpty = lock.newCondition();
+    this.notFull = lock.newCondition();
+    this.flushed = lock.newCondition();
+  }
+
+  public void start() {
+    this.running = true;
+    this.thread = new Thread(this, "output-buffer");
+    this.thread.start();
+  }
+
+  /**
+   * Publishes all pending events and stops the publisher thread.
+   */
+  public void stop() {
+    try {
+      flush();
+    } catch (SpRuntimeException e) {
+      LOG.error("Could not publish all events before stopping the output buffer", e);
+    }
+    lock.lock();
+    try {
+      this.running = false;
+      notEmpty.signalAll();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public void add(byte[] event) throws SpRuntimeException {
+    add(null, event);
+  }
+
+  public void add(byte[] key, byte[] event) throws SpRuntimeException {
+    lock.lock();
+    try {
+      offer(key, event);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void addAll(List<byte[]> events) throws SpRuntimeException {
+    lock.lock();
+    try {
+      for (byte[] event : events) {
+        offer(null, event);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void addAll(List<byte[]> keys, List<byte[]> events) throws SpRuntimeException {
+    lock.lock();
+    try {
+      for (int i = 0; i < events.size(); i++) {
+        offer(keys.get(i), events.get(i));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Blocks until all events added so far have been published. Throws if publishing failed since
+   * the last flush, so that the caller does not acknowledge the input of the lost events.
+   */
+  public void flush() throws SpRuntimeException {
+    lock.lock();
+    try {
+      flushRequested = true;
+      notEmpty.signal();
+      while (running && (!queue.isEmpty() || publishing)) {
+        flushed.await();
+      }
+      if (publishFailure != null) {
+        SpRuntimeException failure = publishFailure;
+        publishFailure = null;
+        throw failure;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while flushing the output buffer", e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void run() {
+    while (running || !queue.isEmpty()) {
+      List<byte[]> batchKeys = new ArrayList<>();
+      List<byte[]> batch = nextBatch(batchKeys);
+      RuntimeException failure = null;
+      if (!batch.isEmpty()) {
+        try {
+          publisher.accept(keyed ? batchKeys : null, batch);
+        } catch (RuntimeException e) {
+          LOG.error("Could not publish events", e);
+          failure = e;
+        }
+      }
+      lock.lock();
+      try {
+        publishing = false;
+        if (failure != null && publishFailure == null) {
+          publishFailure = new SpRuntimeException("Could not publish " + batch.size() + " events",
+                  failure);
+        }
+        if (queue.isEmpty()) {
+          flushRequested = false;
+          flushed.signalAll();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private void offer(byte[] key, byte[] event) throws SpRuntimeException {
+    while (running && queue.size() >= settings.getCapacity()) {
+      try {
+        notFull.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SpRuntimeException("Interrupted while waiting for output buffer capacity", e);
+      }
+    }
+    if (!running) {
+      throw new SpRuntimeException("The output buffer is not running");
+    }
+    if (queue.isEmpty()) {
+      oldestEventNanos = System.nanoTime();
+    }
+    queue.addLast(event);
+    if (keyed) {
+      keys.addLast(key != null ? key : NO_KEY);
+    }
+    if (queue.size() >= settings.getBatchSize()) {
+      notEmpty.signal();
+    }
+  }
+
+  private List<byte[]> nextBatch(List<byte[]> batchKeys) {
+    lock.lock();
+    try {
+      while (running && !flushRequested && queue.size() < settings.getBatchSize()) {
+        if (queue.isEmpty()) {
+          notEmpty.await(100, TimeUnit.MILLISECONDS);
+        } else {
+          long remainingNanos = oldestEventNanos + TimeUnit.MILLISECONDS.toNanos(settings
+                  .getLingerMs()) - System.nanoTime();
+          if (remainingNanos <= 0) {
+            break;
+          }
+          notEmpty.awaitNanos(remainingNanos);
+        }
+      }
+      int batchSize = Math.min(queue.size(), settings.getBatchSize());
+      List<byte[]> batch = new ArrayList<>(batchSize);
+      for (int i = 0; i < batchSize; i++) {
+        batch.add(queue.pollFirst());
+        if (keyed) {
+          byte[] key = keys.pollFirst();
+          batchKeys.add(key != NO_KEY ? key : null);
+        }
+      }
+      oldestEventNanos = System.nanoTime();
+      publishing = !batch.isEmpty();
+      notFull.signalAll();
+      return batch;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      this.running = false;
+      return new ArrayList<>();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
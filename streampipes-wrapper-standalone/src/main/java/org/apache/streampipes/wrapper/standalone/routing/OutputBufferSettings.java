@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.routing;
+
+public class OutputBufferSettings {
+
+  public static final String OUTPUT_BUFFER_CAPACITY = "SP_OUTPUT_BUFFER_CAPACITY";
+  public static final String OUTPUT_BUFFER_BATCH_SIZE = "SP_OUTPUT_BUFFER_BATCH_SIZE";
+  public static final String OUTPUT_BUFFER_LINGER_MS = "SP_OUTPUT_BUFFER_LINGER_MS";
+  public static final String OUTPUT_ENVELOPE_MAX_BYTES = "SP_OUTPUT_ENVELOPE_MAX_BYTES";
+
+  private static final Integer DEFAULT_CAPACITY = 0;
+  private static final Integer DEFAULT_BATCH_SIZE = 500;
+  private static final Integer DEFAULT_LINGER_MS = 5;
+  // below the default message size limits of Kafka producers and brokers (1 MB) including the
+  // record overhead
+  private static final Integer DEFAULT_ENVELOPE_MAX_BYTES = 900 * 1024;
+
+  private Integer capacity;
+  private Integer batchSize;
+  private Integer lingerMs;
+  private Integer envelopeMaxBytes;
+
+  public static OutputBufferSettings fromEnvironment() {
+    return new OutputBufferSettings(
+            getEnvOrDefault(OUTPUT_BUFFER_CAPACITY, DEFAULT_CAPACITY),
+            getEnvOrDefault(OUTPUT_BUFFER_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+            getEnvOrDefault(OUTPUT_BUFFER_LINGER_MS, DEFAULT_LINGER_MS),
+            getEnvOrDefault(OUTPUT_ENVELOPE_MAX_BYTES, DEFAULT_ENVELOPE_MAX_BYTES));
+  }
+
+  public OutputBufferSettings(Integer capacity, Integer batchSize, Integer lingerMs) {
+    this(capacity, batchSize, lingerMs, DEFAULT_ENVELOPE_MAX_BYTES);
+  }
+
+  public OutputBufferSettings(Integer capacity, Integer batchSize, Integer lingerMs, Integer
+          envelopeMaxBytes) {
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+    this.lingerMs = lingerMs;
+    this.envelopeMaxBytes = envelopeMaxBytes;
+  }
+
+  private static Integer getEnvOrDefault(String key, Integer defaultValue) {
+    return System.getenv(key) != null ? Integer.parseInt(System.getenv(key)) : defaultValue;
+  }
+
+  public boolean isEnabled() {
+    return capacity > 0;
+  }
+
+  public Integer getCapacity() {
+    return capacity;
+  }
+
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public Integer getLingerMs() {
+    return lingerMs;
+  }
+
+  public Integer getEnvelopeMaxBytes() {
+    return envelopeMaxBytes;
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.routing;
+
+/**
+ * Defines what happens to incoming events when the input buffer of a collector is full. Consumers
+ * with an at-least-once guarantee always use {@link #BLOCK}.
+ */
+public enum OverflowPolicy {
+
+  /**
+   * Pauses the transport consumer. Consumers which support pausing deliver their current messages
+   * beyond the capacity and stop fetching, for other consumers the receiving thread is blocked
+   * until there is free capacity again.
+   */
+  BLOCK,
+
+  /**
+   * Discards the oldest buffered event.
+   */
+  DROP_OLDEST,
+
+  /**
+   * Discards the incoming event.
+   */
+  DROP_NEWEST
+}
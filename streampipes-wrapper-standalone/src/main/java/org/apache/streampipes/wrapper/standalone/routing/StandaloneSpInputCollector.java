@@ -19,57 +19,260 @@
 package org.apache.streampipes.wrapper.standalone.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
-import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.dataformat.EventEnvelope;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.messaging.InternalEventBufferProcessor;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.ProcessingGuarantee;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.wrapper.routing.RawDataProcessor;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
-import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class StandaloneSpInputCollector<T extends TransportProtocol> extends
         StandaloneSpCollector<T, RawDataProcessor>
         implements
-        InternalEventProcessor<byte[]>, SpInputCollector {
+        InternalEventBufferProcessor, SpInputCollector {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StandaloneSpInputCollector.class);
+
+  private static final RawDataProcessor[] NO_PROCESSORS = new RawDataProcessor[0];
 
   private Boolean singletonEngine;
+  private InputBuffer inputBuffer;
+  private final boolean envelope;
+  private final boolean atLeastOnce;
+
+  // copy-on-write snapshot of the registered consumers, read once per event without allocation
+  private volatile RawDataProcessor[] processors = NO_PROCESSORS;
 
 
   public StandaloneSpInputCollector(T protocol, TransportFormat format,
                                     Boolean singletonEngine) throws SpRuntimeException {
+    this(protocol, format, singletonEngine, InputBufferSettings.fromEnvironment());
+  }
+
+  public StandaloneSpInputCollector(T protocol, TransportFormat format,
+                                    Boolean singletonEngine,
+                                    InputBufferSettings inputBufferSettings) throws SpRuntimeException {
     super(protocol, format);
     this.singletonEngine = singletonEngine;
+    this.envelope = EventEnvelope.isEnvelope(format);
+    this.atLeastOnce = isAtLeastOnce(protocol);
+    if (inputBufferSettings.isEnabled()) {
+      this.inputBuffer = new InputBuffer(checkOverflowPolicy(inputBufferSettings),
+              protocolDefinition.getConsumer(), this::dispatch);
+    }
+  }
+
+  /**
+   * Returns true if the consumer of the protocol acknowledges events only after they have been
+   * processed.
+   */
+  public static boolean isAtLeastOnce(TransportProtocol protocol) {
+    return protocol instanceof KafkaTransportProtocol && ProcessingGuarantee.AT_LEAST_ONCE.name()
+            .equals(((KafkaTransportProtocol) protocol).getProcessingGuarantee());
+  }
+
+  // dropped events would be acknowledged as processed, at-least-once consumers always block
+  private InputBufferSettings checkOverflowPolicy(InputBufferSettings settings) {
+    if (isAtLeastOnce(transportProtocol) && settings.getOverflowPolicy() != OverflowPolicy.BLOCK) {
+      LOG.warn("Overflow policy " + settings.getOverflowPolicy() + " drops events of topic "
+              + getTopic() + ", which is consumed at least once. Using " + OverflowPolicy.BLOCK
+              + " instead.");
+      return new InputBufferSettings(settings.getCapacity(), OverflowPolicy.BLOCK, settings
+              .getBatchSize());
+    }
+    return settings;
+  }
+
+  @Override
+  public synchronized void registerConsumer(String routeId, RawDataProcessor consumer) {
+    super.registerConsumer(routeId, consumer);
+    this.processors = consumers.values().toArray(NO_PROCESSORS);
+  }
+
+  @Override
+  public synchronized void unregisterConsumer(String routeId) {
+    super.unregisterConsumer(routeId);
+    this.processors = consumers.values().toArray(NO_PROCESSORS);
+  }
+
+  public boolean hasConsumers() {
+    return processors.length > 0;
   }
 
   @Override
   public void onEvent(byte[] event) {
-    if (singletonEngine) {
-     send(consumers.get(consumers.keySet().toArray()[0]), event);
+    if (envelope) {
+      onUnpackedEvents(unpack(event));
+    } else if (inputBuffer != null) {
+      inputBuffer.add(event);
+    } else {
+      RawDataProcessor[] processors = this.processors;
+      if (singletonEngine && processors.length > 0) {
+        send(processors[0], event);
+      } else {
+        for (RawDataProcessor processor : processors) {
+          send(processor, event);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void onEvent(ByteBuffer event) {
+    if (envelope) {
+      onUnpackedEvents(unpack(event));
+    } else if (inputBuffer != null) {
+      // buffered events outlive the consumer's payload buffer
+      inputBuffer.add(SpDataFormatDefinition.toByteArray(event));
+    } else {
+      RawDataProcessor[] processors = this.processors;
+      if (singletonEngine && processors.length > 0) {
+        send(processors[0], event);
+      } else {
+        for (RawDataProcessor processor : processors) {
+          send(processor, event);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void onEvents(List<byte[]> events) {
+    if (envelope) {
+      List<byte[]> unpackedEvents = new ArrayList<>();
+      events.forEach(e -> unpackedEvents.addAll(unpack(e)));
+      onUnpackedEvents(unpackedEvents);
+    } else {
+      onUnpackedEvents(events);
+    }
+  }
+
+  // a corrupt envelope is handled like a failure to process its events
+  private List<byte[]> unpack(byte[] event) {
+    try {
+      return EventEnvelope.unpack(event);
+    } catch (SpRuntimeException e) {
+      handleProcessingError(e);
+      return Collections.emptyList();
+    }
+  }
+
+  private List<byte[]> unpack(ByteBuffer event) {
+    try {
+      return EventEnvelope.unpack(event);
+    } catch (SpRuntimeException e) {
+      handleProcessingError(e);
+      return Collections.emptyList();
+    }
+  }
+
+  // the events of an envelope are handed over as one batch
+  private void onUnpackedEvents(List<byte[]> events) {
+    if (events.isEmpty()) {
+      return;
+    } else if (inputBuffer != null) {
+      inputBuffer.addAll(events);
+    } else {
+      dispatch(events);
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (inputBuffer != null) {
+      inputBuffer.flush();
+    }
+    for (RawDataProcessor processor : processors) {
+      try {
+        processor.flush();
+      } catch (SpRuntimeException e) {
+        handleProcessingError(e);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of events waiting in the input buffer, or 0 if no buffer is used.
+   */
+  public int getQueueDepth() {
+    return inputBuffer != null ? inputBuffer.getQueueDepth() : 0;
+  }
+
+  public long getDroppedEvents() {
+    return inputBuffer != null ? inputBuffer.getDroppedEvents() : 0;
+  }
+
+  private void dispatch(List<byte[]> events) {
+    RawDataProcessor[] processors = this.processors;
+    if (singletonEngine && processors.length > 0) {
+      send(processors[0], events);
     } else {
-      consumers.forEach((key, value) -> send(value, event));
+      for (RawDataProcessor processor : processors) {
+        send(processor, events);
+      }
+    }
+  }
+
+  private void send(RawDataProcessor rawDataProcessor, List<byte[]> events) {
+    try {
+      rawDataProcessor.process(events, dataFormatDefinition, getTopic());
+    } catch (SpRuntimeException e) {
+      handleProcessingError(e);
+    }
+  }
+
+  private void send(RawDataProcessor rawDataProcessor, ByteBuffer event) {
+    try {
+      rawDataProcessor.process(event.duplicate(), dataFormatDefinition, getTopic());
+    } catch (SpRuntimeException e) {
+      handleProcessingError(e);
     }
   }
 
   private void send(RawDataProcessor rawDataProcessor, byte[] event) {
     try {
-      rawDataProcessor.process(dataFormatDefinition.toMap(event), getTopic());
+      rawDataProcessor.process(event, dataFormatDefinition, getTopic());
     } catch (SpRuntimeException e) {
-      e.printStackTrace();
+      handleProcessingError(e);
     }
   }
 
+  // failures of an interrupted hand-over or of an at-least-once consumer are passed on, so that
+  // the consumer does not acknowledge the events
+  private void handleProcessingError(SpRuntimeException e) {
+    if (atLeastOnce || Thread.currentThread().isInterrupted()) {
+      throw e;
+    }
+    LOG.error("Could not process events of topic " + getTopic(), e);
+  }
+
+  // co-located pipeline elements sharing this collector connect and disconnect concurrently
   @Override
-  public void connect() throws SpRuntimeException {
+  public synchronized void connect() throws SpRuntimeException {
     if (!protocolDefinition.getConsumer().isConnected()) {
+      if (inputBuffer != null) {
+        inputBuffer.start();
+      }
       protocolDefinition.getConsumer().connect(transportProtocol,this);
     }
   }
 
   @Override
-  public void disconnect() throws SpRuntimeException {
-    if (protocolDefinition.getConsumer().isConnected()) {
-      if (consumers.size() == 0) {
-        protocolDefinition.getConsumer().disconnect();
-        ProtocolManager.removeInputCollector(transportProtocol);
+  public synchronized void disconnect() throws SpRuntimeException {
+    if (protocolDefinition.getConsumer().isConnected() && !hasConsumers()) {
+      protocolDefinition.getConsumer().disconnect();
+      if (inputBuffer != null) {
+        inputBuffer.stop();
       }
     }
   }
@@ -19,46 +19,337 @@
 package org.apache.streampipes.wrapper.standalone.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.EventEnvelope;
 import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.runtime.Event;
-import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.FieldAccessor;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventSchema;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
-import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
         StandaloneSpCollector<T, InternalEventProcessor<Map<String,
                 Object>>> implements SpOutputCollector {
 
+  private final OutputBuffer outputBuffer;
+  private final boolean envelope;
+  private final int envelopeMaxBytes;
+  private final boolean atLeastOnce;
+  private final String partitionKey;
+  private final boolean schemaBound;
+  private final boolean partitionKeyInSchema;
+  private volatile FieldAccessor partitionKeyAccessor;
+  private volatile PartitionKeySelector partitionKeySelector;
+  // not the publish monitor, stopping the output buffer waits for its pending publishes
+  private final Object connectionLock = new Object();
+
+  private static final Object NO_KEY = new Object();
+
+  private static final Logger LOG = LoggerFactory.getLogger(StandaloneSpOutputCollector.class);
 
   public StandaloneSpOutputCollector(T protocol, TransportFormat format) throws SpRuntimeException {
-   super(protocol, format);
+    this(protocol, format, OutputBufferSettings.fromEnvironment());
+  }
+
+  public StandaloneSpOutputCollector(T protocol, TransportFormat format, OutputBufferSettings
+          outputBufferSettings) throws SpRuntimeException {
+    this(protocol, format, null, outputBufferSettings);
+  }
+
+  /**
+   * Creates a collector whose data format is bound to the schema of the output stream, which
+   * schema-aware formats use to write events without field names.
+   */
+  public StandaloneSpOutputCollector(T protocol, TransportFormat format, EventSchema outputSchema)
+          throws SpRuntimeException {
+    this(protocol, format, outputSchema, OutputBufferSettings.fromEnvironment());
+  }
+
+  public StandaloneSpOutputCollector(T protocol, TransportFormat format, EventSchema outputSchema,
+                                     OutputBufferSettings outputBufferSettings) throws
+          SpRuntimeException {
+    super(protocol, format);
+    this.dataFormatDefinition = dataFormatDefinition.forSchema(outputSchema);
+    this.envelope = EventEnvelope.isEnvelope(format);
+    this.envelopeMaxBytes = outputBufferSettings.getEnvelopeMaxBytes();
+    this.atLeastOnce = StandaloneSpInputCollector.isAtLeastOnce(protocol);
+    this.partitionKey = protocol.getPartitionKey();
+    this.schemaBound = outputSchema != null;
+    this.partitionKeyInSchema = partitionKey != null && schemaBound && hasRuntimeName(outputSchema,
+            partitionKey);
+    if (partitionKey != null && schemaBound && !partitionKeyInSchema) {
+      LOG.warn("Partition key " + partitionKey + " is not part of the output schema of topic "
+              + getTopic() + ", events are published without key");
+    }
+    this.outputBuffer = makeOutputBuffer(outputBufferSettings);
+  }
+
+  // enveloped streams always batch, each batch of the output buffer becomes one broker message
+  // per key unless it exceeds the maximum envelope size
+  private OutputBuffer makeOutputBuffer(OutputBufferSettings settings) {
+    if (envelope) {
+      OutputBufferSettings envelopeSettings = settings.isEnabled() ? settings : new
+              OutputBufferSettings(2 * settings.getBatchSize(), settings.getBatchSize(), settings
+              .getLingerMs(), settings.getEnvelopeMaxBytes());
+      return partitionKey != null
+              ? OutputBuffer.keyed(envelopeSettings, this::publishEnvelopes)
+              : new OutputBuffer(envelopeSettings, this::publishEnvelopes);
+    } else if (settings.isEnabled()) {
+      return partitionKey != null
+              ? OutputBuffer.keyed(settings, this::publish)
+              : new OutputBuffer(settings, this::publish);
+    } else {
+      return null;
+    }
   }
 
   public void collect(Event event) {
-    Map<String, Object> outEvent = new EventConverter(event).toMap();
     try {
-      protocolDefinition.getProducer().publish(dataFormatDefinition.fromMap(outEvent));
+      byte[] outEvent = dataFormatDefinition.fromEvent(event);
+      if (partitionKey != null) {
+        byte[] key = makePartitionKey(event);
+        if (outputBuffer != null) {
+          outputBuffer.add(key, outEvent);
+        } else {
+          publish(key, outEvent);
+        }
+      } else if (outputBuffer != null) {
+        outputBuffer.add(outEvent);
+      } else {
+        publish(outEvent);
+      }
+    } catch (SpRuntimeException e) {
+      handleCollectError(e);
+    }
+  }
+
+  @Override
+  public void collect(List<Event> events) {
+    try {
+      List<byte[]> outEvents = new ArrayList<>(events.size());
+      for (Event event : events) {
+        outEvents.add(dataFormatDefinition.fromEvent(event));
+      }
+      if (partitionKey != null) {
+        List<byte[]> keys = new ArrayList<>(events.size());
+        for (Event event : events) {
+          keys.add(makePartitionKey(event));
+        }
+        if (outputBuffer != null) {
+          outputBuffer.addAll(keys, outEvents);
+        } else {
+          publish(keys, outEvents);
+        }
+      } else if (outputBuffer != null) {
+        outputBuffer.addAll(outEvents);
+      } else {
+        publish(outEvents);
+      }
     } catch (SpRuntimeException e) {
-      e.printStackTrace();
+      handleCollectError(e);
+    }
+  }
+
+  // events of streams consumed at least once must not be committed when their results are lost
+  private void handleCollectError(SpRuntimeException e) {
+    if (atLeastOnce) {
+      throw e;
+    }
+    LOG.error("Could not publish events to topic " + getTopic(), e);
+  }
+
+  // producers are not guaranteed to be thread-safe, but parallel engine replicas share this collector
+  private synchronized void publish(byte[] event) {
+    protocolDefinition.getProducer().publish(event);
+  }
+
+  private synchronized void publish(List<byte[]> events) {
+    protocolDefinition.getProducer().publish(events);
+  }
+
+  private synchronized void publish(byte[] key, byte[] event) {
+    protocolDefinition.getProducer().publish(key, event);
+  }
+
+  private synchronized void publish(List<byte[]> keys, List<byte[]> events) {
+    for (int i = 0; i < events.size(); i++) {
+      protocolDefinition.getProducer().publish(keys.get(i), events.get(i));
+    }
+  }
+
+  private void publishEnvelopes(List<byte[]> events) {
+    for (byte[] message : EventEnvelope.pack(events, envelopeMaxBytes)) {
+      publish(message);
+    }
+  }
+
+  // events are grouped by key, in order of their first occurrence, and each group is published
+  // as one or more envelopes, so that the order per key is kept
+  private void publishEnvelopes(List<byte[]> keys, List<byte[]> events) {
+    Map<Object, List<byte[]>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < events.size(); i++) {
+      byte[] key = keys.get(i);
+      groups.computeIfAbsent(key != null ? ByteBuffer.wrap(key) : NO_KEY, k -> new ArrayList<>())
+              .add(events.get(i));
     }
+    for (Map.Entry<Object, List<byte[]>> group : groups.entrySet()) {
+      byte[] key = group.getKey() != NO_KEY ? ((ByteBuffer) group.getKey()).array() : null;
+      for (byte[] message : EventEnvelope.pack(group.getValue(), envelopeMaxBytes)) {
+        publish(key, message);
+      }
+    }
+  }
+
+  private byte[] makePartitionKey(Event event) {
+    AbstractField field;
+    if (schemaBound) {
+      field = partitionKeyInSchema ? findPartitionKeyField(event) : null;
+    } else {
+      field = searchPartitionKeyField(event);
+    }
+    return field != null && field.isPrimitive()
+            ? field.getAsPrimitive().getAsString().getBytes(StandardCharsets.UTF_8)
+            : null;
+  }
+
+  // the selector of the partition key only depends on the selector prefix of the event, it is
+  // resolved once per prefix without converting compiled events into their map representation
+  private AbstractField findPartitionKeyField(Event event) {
+    String selectorPrefix = getSelectorPrefix(event);
+    PartitionKeySelector selector = partitionKeySelector;
+    if (selector == null || !Objects.equals(selector.selectorPrefix, selectorPrefix)) {
+      selector = PartitionKeySelector.resolve(event, selectorPrefix, partitionKey);
+      if (selector == null) {
+        return null;
+      }
+      partitionKeySelector = selector;
+    }
+    return getFieldOrNull(selector.accessor, event);
+  }
+
+  // without an output schema, the selector of the partition key is searched in the event
+  private AbstractField searchPartitionKeyField(Event event) {
+    FieldAccessor accessor = partitionKeyAccessor;
+    if (accessor == null || !accessor.isPresent(event)) {
+      accessor = findPartitionKeyAccessor(event);
+      if (accessor == null) {
+        return null;
+      }
+      partitionKeyAccessor = accessor;
+    }
+    return accessor.getField(event);
+  }
+
+  private FieldAccessor findPartitionKeyAccessor(Event event) {
+    for (Map.Entry<String, AbstractField> field : event.getFields().entrySet()) {
+      if (partitionKey.equals(field.getValue().getFieldNameOut())) {
+        return FieldAccessor.of(field.getKey());
+      }
+    }
+    return null;
+  }
+
+  private static AbstractField getFieldOrNull(FieldAccessor accessor, Event event) {
+    try {
+      return accessor.getField(event);
+    } catch (IllegalArgumentException | NullPointerException e) {
+      return null;
+    }
+  }
+
+  private static String getSelectorPrefix(Event event) {
+    SourceInfo sourceInfo = event.getSourceInfo();
+    return sourceInfo != null ? sourceInfo.getSelectorPrefix() : null;
+  }
+
+  private static boolean hasRuntimeName(EventSchema schema, String runtimeName) {
+    for (EventProperty property : schema.getEventProperties()) {
+      if (runtimeName.equals(property.getRuntimeName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The selector of the partition key for events with a given selector prefix. Fields taken over
+   * from the input event keep the prefix of their stream, fields added by the pipeline element
+   * are stored without prefix.
+   */
+  private static class PartitionKeySelector {
+
+    private final String selectorPrefix;
+    private final FieldAccessor accessor;
+
+    private PartitionKeySelector(String selectorPrefix, FieldAccessor accessor) {
+      this.selectorPrefix = selectorPrefix;
+      this.accessor = accessor;
+    }
+
+    static PartitionKeySelector resolve(Event event, String selectorPrefix, String partitionKey) {
+      if (selectorPrefix != null) {
+        FieldAccessor prefixed = FieldAccessor.of(selectorPrefix + PropertySelectorConstants
+                .PROPERTY_DELIMITER + partitionKey);
+        if (getFieldOrNull(prefixed, event) != null) {
+          return new PartitionKeySelector(selectorPrefix, prefixed);
+        }
+      }
+      FieldAccessor added = FieldAccessor.of(partitionKey);
+      return getFieldOrNull(added, event) != null
+              ? new PartitionKeySelector(selectorPrefix, added)
+              : null;
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (outputBuffer != null) {
+      outputBuffer.flush();
+    }
+    flushProducer();
+  }
+
+  private synchronized void flushProducer() {
+    protocolDefinition.getProducer().flush();
   }
 
+  // co-located pipeline elements sharing this collector connect and disconnect concurrently
   @Override
   public void connect() throws SpRuntimeException {
-    if (!protocolDefinition.getProducer().isConnected()) {
-      protocolDefinition.getProducer().connect(transportProtocol);
+    synchronized (connectionLock) {
+      if (!protocolDefinition.getProducer().isConnected()) {
+        protocolDefinition.getProducer().connect(transportProtocol);
+        if (outputBuffer != null) {
+          outputBuffer.start();
+        }
+      }
     }
   }
 
   @Override
   public void disconnect() throws SpRuntimeException {
-    if (protocolDefinition.getProducer().isConnected()) {
-      protocolDefinition.getProducer().disconnect();
-      ProtocolManager.removeOutputCollector(transportProtocol);
+    synchronized (connectionLock) {
+      if (protocolDefinition.getProducer().isConnected()) {
+        if (outputBuffer != null) {
+          outputBuffer.stop();
+        }
+        protocolDefinition.getProducer().disconnect();
+      }
     }
   }
 
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A single engine instance of a parallel standalone runtime, which executes all tasks submitted
+ * to it in order on its own thread. Submitting blocks while the bounded task queue is full. If the
+ * submitting thread is interrupted meanwhile, the task is rejected with an exception, so that the
+ * caller does not consider its event as processed. The first exception thrown by a task is kept and
+ * rethrown by {@link #await()}, so that the events of a failed task are not committed.
+ */
+public class EngineReplica<E> implements Runnable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EngineReplica.class);
+
+  private final E engine;
+  private final BlockingQueue<EngineTask<E>> tasks;
+  private final Thread thread;
+  private final AtomicLong rejectedTasks;
+  private final AtomicReference<Exception> failure;
+  private volatile boolean running;
+
+  public EngineReplica(E engine, Integer queueCapacity, String name) {
+    this.engine = engine;
+    this.tasks = new ArrayBlockingQueue<>(queueCapacity);
+    this.thread = new Thread(this, name);
+    this.rejectedTasks = new AtomicLong();
+    this.failure = new AtomicReference<>();
+  }
+
+  public E getEngine() {
+    return engine;
+  }
+
+  public void start() {
+    this.running = true;
+    this.thread.start();
+  }
+
+  /**
+   * Returns the number of tasks which were not executed because the submitting thread was
+   * interrupted.
+   */
+  public long getRejectedTasks() {
+    return rejectedTasks.get();
+  }
+
+  public void submit(EngineTask<E> task) throws SpRuntimeException {
+    try {
+      tasks.put(task);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      rejectedTasks.incrementAndGet();
+      LOG.warn("Interrupted while submitting a task to " + thread.getName() + ", the task is "
+              + "rejected");
+      throw new SpRuntimeException("Interrupted while submitting a task to " + thread.getName(), e);
+    }
+  }
+
+  /**
+   * Blocks until all tasks submitted so far have been executed and throws if any task executed by
+   * this replica has failed.
+   */
+  public void await() throws SpRuntimeException {
+    CountDownLatch latch = new CountDownLatch(1);
+    submit(engine -> latch.countDown());
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for " + thread.getName(), e);
+    }
+    Exception e = failure.get();
+    if (e != null) {
+      throw new SpRuntimeException("Could not process event in " + thread.getName(), e);
+    }
+  }
+
+  /**
+   * Stops the replica after all pending tasks have been executed.
+   */
+  public void stop() {
+    this.running = false;
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void run() {
+    while (running || !tasks.isEmpty()) {
+      try {
+        EngineTask<E> task = tasks.poll(100, TimeUnit.MILLISECONDS);
+        if (task != null) {
+          task.execute(engine);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        LOG.error("Could not process event in " + thread.getName(), e);
+        failure.compareAndSet(null, e);
+      }
+    }
+  }
+
+  public interface EngineTask<E> {
+
+    void execute(E engine) throws SpRuntimeException;
+  }
+}
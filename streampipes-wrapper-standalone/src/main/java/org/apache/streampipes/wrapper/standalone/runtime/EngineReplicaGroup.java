@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.standalone.ParallelismSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The engine replicas of a parallel standalone runtime. Events are routed to the replicas either
+ * round-robin or, if a partition key is configured, by the hash of the key, so that events with
+ * the same key are always processed in order by the same replica.
+ */
+public class EngineReplicaGroup<E> {
+
+  private final List<EngineReplica<E>> replicas;
+  private final String partitionKeySelector;
+  private final AtomicInteger roundRobinCounter;
+
+  public EngineReplicaGroup(List<EngineReplica<E>> replicas, ParallelismSettings
+          parallelismSettings) {
+    this.replicas = replicas;
+    this.partitionKeySelector = parallelismSettings.getPartitionKeySelector();
+    this.roundRobinCounter = new AtomicInteger();
+  }
+
+  public List<EngineReplica<E>> getReplicas() {
+    return replicas;
+  }
+
+  public int size() {
+    return replicas.size();
+  }
+
+  public boolean isPartitioned() {
+    return partitionKeySelector != null;
+  }
+
+  public void start() {
+    replicas.forEach(EngineReplica::start);
+  }
+
+  /**
+   * Submits a task to the next replica in round-robin order.
+   */
+  public void submit(EngineReplica.EngineTask<E> task) throws SpRuntimeException {
+    nextReplica().submit(task);
+  }
+
+  /**
+   * Submits a task processing the given event to the replica responsible for the event.
+   */
+  public void submit(Event event, EngineReplica.EngineTask<E> task) throws SpRuntimeException {
+    replicaFor(event).submit(task);
+  }
+
+  /**
+   * Splits the given events by replica and submits a task for each non-empty partition.
+   */
+  public void submit(List<Event> events, BatchTask<E> task) throws SpRuntimeException {
+    if (!isPartitioned()) {
+      submit(engine -> task.execute(engine, events));
+      return;
+    }
+
+    List<List<Event>> partitions = new ArrayList<>();
+    for (int i = 0; i < replicas.size(); i++) {
+      partitions.add(new ArrayList<>());
+    }
+    for (Event event : events) {
+      partitions.get(partitionOf(event)).add(event);
+    }
+
+    for (int i = 0; i < replicas.size(); i++) {
+      List<Event> partition = partitions.get(i);
+      if (!partition.isEmpty()) {
+        replicas.get(i).submit(engine -> task.execute(engine, partition));
+      }
+    }
+  }
+
+  /**
+   * Waits for all replicas and throws the first failure of any of them.
+   */
+  public void await() throws SpRuntimeException {
+    SpRuntimeException failure = null;
+    for (EngineReplica<E> replica : replicas) {
+      try {
+        replica.await();
+      } catch (SpRuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  public void stop() {
+    replicas.forEach(EngineReplica::stop);
+  }
+
+  int partitionOf(Event event) {
+    Object key;
+    try {
+      key = event.getFieldBySelector(partitionKeySelector).getRawValue();
+    } catch (IllegalArgumentException e) {
+      key = null;
+    }
+    return key != null ? Math.floorMod(key.hashCode(), replicas.size()) : 0;
+  }
+
+  private EngineReplica<E> replicaFor(Event event) {
+    return isPartitioned() ? replicas.get(partitionOf(event)) : nextReplica();
+  }
+
+  private EngineReplica<E> nextReplica() {
+    return replicas.get(Math.floorMod(roundRobinCounter.getAndIncrement(), replicas.size()));
+  }
+
+  public interface BatchTask<E> {
+
+    void execute(E engine, List<Event> events) throws SpRuntimeException;
+  }
+}
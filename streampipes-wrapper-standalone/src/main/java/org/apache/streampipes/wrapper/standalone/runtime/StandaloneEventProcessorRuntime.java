@@ -19,15 +19,22 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
+import org.apache.streampipes.wrapper.standalone.ParallelismSettings;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -35,34 +42,115 @@ public class StandaloneEventProcessorRuntime<B extends EventProcessorBindingPara
         StandalonePipelineElementRuntime<B, DataProcessorInvocation,
                 EventProcessorRuntimeParams<B>, EventProcessorRuntimeContext, EventProcessor<B>> {
 
+  private final Supplier<EventProcessor<B>> supplier;
+  private final ParallelismSettings parallelismSettings;
+  private EngineReplicaGroup<EventProcessor<B>> replicas;
+  private SpOutputCollector outputCollector;
+
   public StandaloneEventProcessorRuntime(Supplier<EventProcessor<B>> supplier,
                                          EventProcessorRuntimeParams<B> params) {
+    this(supplier, params, ParallelismSettings.none());
+  }
+
+  public StandaloneEventProcessorRuntime(Supplier<EventProcessor<B>> supplier,
+                                         EventProcessorRuntimeParams<B> params,
+                                         ParallelismSettings parallelismSettings) {
     super(supplier, params);
+    this.supplier = supplier;
+    this.parallelismSettings = parallelismSettings;
   }
 
 
   public SpOutputCollector getOutputCollector() throws SpRuntimeException {
-    return ProtocolManager.findOutputCollector(params.getBindingParams().getGraph().getOutputStream()
-            .getEventGrounding().getTransportProtocol(), params.getBindingParams().getGraph().getOutputStream
-            ().getEventGrounding().getTransportFormats().get(0));
+    return outputCollector;
   }
 
   @Override
   public void discardRuntime() throws SpRuntimeException {
-    getInputCollectors().forEach(is -> is.unregisterConsumer(instanceId));
+    releaseInputCollectors();
     discardEngine();
     postDiscard();
   }
 
+  @Override
+  public void discardEngine() throws SpRuntimeException {
+    if (isParallel()) {
+      replicas.stop();
+      for (EngineReplica<EventProcessor<B>> replica : replicas.getReplicas()) {
+        replica.getEngine().onDetach();
+      }
+    } else {
+      super.discardEngine();
+    }
+  }
+
   @Override
   public void process(Map<String, Object> rawEvent, String sourceInfo) throws SpRuntimeException {
-    getEngine().onEvent(params.makeEvent(rawEvent, sourceInfo), getOutputCollector());
+    if (isParallel()) {
+      dispatch(params.makeCompiledEvent(rawEvent, sourceInfo));
+    } else {
+      getEngine().onEvent(params.makeCompiledEvent(rawEvent, sourceInfo), getOutputCollector());
+    }
+  }
+
+  @Override
+  public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    if (!isParallel()) {
+      getEngine().onEvent(params.makeCompiledEvent(rawEvent, dataFormatDefinition, sourceInfo),
+              getOutputCollector());
+    } else if (replicas.isPartitioned()) {
+      dispatch(params.makeCompiledEvent(rawEvent, dataFormatDefinition, sourceInfo));
+    } else {
+      SpOutputCollector collector = getOutputCollector();
+      replicas.submit(engine -> engine.onEvent(params.makeCompiledEvent(rawEvent,
+              dataFormatDefinition, sourceInfo), collector));
+    }
+  }
+
+  @Override
+  public void process(ByteBuffer rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    // the buffer is only valid during this call, so it is always decoded on the calling thread
+    Event event = params.makeCompiledEvent(rawEvent, dataFormatDefinition, sourceInfo);
+    if (isParallel()) {
+      dispatch(event);
+    } else {
+      getEngine().onEvent(event, getOutputCollector());
+    }
+  }
+
+  @Override
+  public void process(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    if (!isParallel()) {
+      getEngine().onEventBatch(params.makeCompiledEvents(rawEvents, dataFormatDefinition,
+              sourceInfo), getOutputCollector());
+    } else if (replicas.isPartitioned()) {
+      dispatch(params.makeCompiledEvents(rawEvents, dataFormatDefinition, sourceInfo));
+    } else {
+      SpOutputCollector collector = getOutputCollector();
+      int chunkSize = (rawEvents.size() + replicas.size() - 1) / replicas.size();
+      for (int i = 0; i < rawEvents.size(); i += chunkSize) {
+        List<byte[]> chunk = rawEvents.subList(i, Math.min(i + chunkSize, rawEvents.size()));
+        replicas.submit(engine -> engine.onEventBatch(params.makeCompiledEvents(chunk,
+                dataFormatDefinition, sourceInfo), collector));
+      }
+    }
+  }
+
+  @Override
+  public void flush() throws SpRuntimeException {
+    if (isParallel()) {
+      replicas.await();
+    }
+    getOutputCollector().flush();
   }
 
   @Override
   public void bindRuntime() throws SpRuntimeException {
     bindEngine();
-    getInputCollectors().forEach(is -> is.registerConsumer(instanceId, this));
+    acquireInputCollectors();
     prepareRuntime();
   }
 
@@ -77,16 +165,51 @@ public class StandaloneEventProcessorRuntime<B extends EventProcessorBindingPara
 
   @Override
   public void postDiscard() throws SpRuntimeException {
-    for (SpInputCollector spInputCollector : getInputCollectors()) {
-      spInputCollector.disconnect();
-    }
-
-    getOutputCollector().disconnect();
+    // input collectors are disconnected by their last consumer on release
+    SpDataStream outputStream = params.getBindingParams().getGraph().getOutputStream();
+    ProtocolManager.releaseOutputCollector(outputStream.getEventGrounding().getTransportProtocol())
+            .ifPresent(SpOutputCollector::disconnect);
   }
 
   @Override
   public void bindEngine() throws SpRuntimeException {
+    SpDataStream outputStream = params.getBindingParams().getGraph().getOutputStream();
+    this.outputCollector = ProtocolManager.acquireOutputCollector(outputStream.getEventGrounding()
+            .getTransportProtocol(), outputStream.getEventGrounding().getTransportFormats().get(0),
+            outputStream.getEventSchema());
     engine.onInvocation(params.getBindingParams(), getOutputCollector() , params.getRuntimeContext());
+    if (parallelismSettings.isParallel()) {
+      bindReplicas();
+    }
+  }
+
+  private void bindReplicas() throws SpRuntimeException {
+    List<EngineReplica<EventProcessor<B>>> engineReplicas = new ArrayList<>();
+    for (int i = 0; i < parallelismSettings.getParallelism(); i++) {
+      EventProcessor<B> replicaEngine = i == 0 ? engine : supplier.get();
+      if (i > 0) {
+        replicaEngine.onInvocation(params.getBindingParams(), getOutputCollector(), params
+                .getRuntimeContext());
+      }
+      engineReplicas.add(new EngineReplica<>(replicaEngine, parallelismSettings.getQueueCapacity(),
+              "engine-" + instanceId + "-" + i));
+    }
+    this.replicas = new EngineReplicaGroup<>(engineReplicas, parallelismSettings);
+    this.replicas.start();
+  }
+
+  private boolean isParallel() {
+    return replicas != null;
+  }
+
+  private void dispatch(Event event) throws SpRuntimeException {
+    SpOutputCollector collector = getOutputCollector();
+    replicas.submit(event, engine -> engine.onEvent(event, collector));
+  }
+
+  private void dispatch(List<Event> events) throws SpRuntimeException {
+    SpOutputCollector collector = getOutputCollector();
+    replicas.submit(events, (engine, partition) -> engine.onEventBatch(partition, collector));
   }
 
 }
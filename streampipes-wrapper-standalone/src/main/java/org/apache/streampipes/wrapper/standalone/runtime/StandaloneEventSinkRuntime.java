@@ -19,6 +19,7 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataSinkInvocation;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
@@ -26,6 +27,8 @@ import org.apache.streampipes.wrapper.params.runtime.EventSinkRuntimeParams;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.runtime.EventSink;
 
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -40,20 +43,39 @@ public class StandaloneEventSinkRuntime<B extends EventSinkBindingParams> extend
 
   @Override
   public void discardRuntime() throws SpRuntimeException {
-    getInputCollectors().forEach(is -> is.unregisterConsumer(instanceId));
+    releaseInputCollectors();
     discardEngine();
     postDiscard();
   }
 
   @Override
   public void process(Map rawEvent, String sourceInfo) throws SpRuntimeException {
-    getEngine().onEvent(params.makeEvent(rawEvent, sourceInfo));
+    getEngine().onEvent(params.makeCompiledEvent(rawEvent, sourceInfo));
+  }
+
+  @Override
+  public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    getEngine().onEvent(params.makeCompiledEvent(rawEvent, dataFormatDefinition, sourceInfo));
+  }
+
+  @Override
+  public void process(ByteBuffer rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    getEngine().onEvent(params.makeCompiledEvent(rawEvent, dataFormatDefinition, sourceInfo));
+  }
+
+  @Override
+  public void process(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    getEngine().onEventBatch(params.makeCompiledEvents(rawEvents, dataFormatDefinition,
+            sourceInfo));
   }
 
   @Override
   public void bindRuntime() throws SpRuntimeException {
     bindEngine();
-    getInputCollectors().forEach(is -> is.registerConsumer(instanceId, this));
+    acquireInputCollectors();
     prepareRuntime();
   }
 
@@ -67,9 +89,7 @@ public class StandaloneEventSinkRuntime<B extends EventSinkBindingParams> extend
 
   @Override
   public void postDiscard() throws SpRuntimeException {
-    for(SpInputCollector spInputCollector : getInputCollectors()) {
-      spInputCollector.disconnect();
-    }
+    // input collectors are disconnected by their last consumer on release
   }
 
   @Override
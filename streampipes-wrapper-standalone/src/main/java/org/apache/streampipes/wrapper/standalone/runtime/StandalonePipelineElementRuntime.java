@@ -30,6 +30,7 @@ import org.apache.streampipes.wrapper.runtime.PipelineElementRuntime;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -42,11 +43,13 @@ public abstract class StandalonePipelineElementRuntime<B extends BindingParams<I
 
   protected RP params;
   protected final P engine;
+  private List<SpInputCollector> inputCollectors;
 
   public StandalonePipelineElementRuntime(Supplier<P> supplier, RP runtimeParams) {
     super();
     this.engine = supplier.get();
     this.params = runtimeParams;
+    this.inputCollectors = Collections.emptyList();
   }
 
   public P getEngine() {
@@ -58,13 +61,33 @@ public abstract class StandalonePipelineElementRuntime<B extends BindingParams<I
   }
 
   public List<SpInputCollector> getInputCollectors() throws SpRuntimeException {
-    List<SpInputCollector> inputCollectors = new ArrayList<>();
+    return inputCollectors;
+  }
+
+  /**
+   * Registers this runtime at the input collectors of its input streams. Collectors shared with
+   * other pipeline elements of this container are reused.
+   */
+  protected void acquireInputCollectors() throws SpRuntimeException {
+    List<SpInputCollector> collectors = new ArrayList<>();
     for (SpDataStream is : params.getBindingParams().getGraph().getInputStreams()) {
-      inputCollectors.add(ProtocolManager.findInputCollector(is.getEventGrounding()
+      collectors.add(ProtocolManager.acquireInputCollector(is.getEventGrounding()
                       .getTransportProtocol(), is.getEventGrounding().getTransportFormats().get(0),
-              params.isSingletonEngine()));
+              params.isSingletonEngine(), instanceId, this));
     }
-    return inputCollectors;
+    this.inputCollectors = collectors;
+  }
+
+  /**
+   * Unregisters this runtime from its input collectors and disconnects the collectors it was the
+   * last consumer of.
+   */
+  protected void releaseInputCollectors() throws SpRuntimeException {
+    for (SpDataStream is : params.getBindingParams().getGraph().getInputStreams()) {
+      ProtocolManager.releaseInputCollector(is.getEventGrounding().getTransportProtocol(),
+              instanceId).ifPresent(SpInputCollector::disconnect);
+    }
+    this.inputCollectors = Collections.emptyList();
   }
 
   public abstract void bindEngine() throws SpRuntimeException;
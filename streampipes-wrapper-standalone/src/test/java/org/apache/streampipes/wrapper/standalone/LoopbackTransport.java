@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.SpDataFormatFactory;
+import org.apache.streampipes.dataformat.SpDataFormatManager;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.messaging.SpProtocolDefinition;
+import org.apache.streampipes.messaging.SpProtocolDefinitionFactory;
+import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A transport for tests of collectors and runtimes. Consumers are connected to the topic of their
+ * protocol and receive the events passed to {@link #deliver(String, List)}, producers record the
+ * events and keys they publish. Events are encoded as the UTF-8 bytes of their "value" field.
+ */
+public class LoopbackTransport {
+
+  public static final String VALUE = "value";
+
+  private static final String FORMAT_URI = "http://streampipes.org/test/loopback";
+
+  private static final Map<String, InternalEventProcessor<byte[]>> consumers = new
+          ConcurrentHashMap<>();
+  private static final Map<String, List<byte[]>> published = new ConcurrentHashMap<>();
+  private static final Map<String, List<String>> publishedKeys = new ConcurrentHashMap<>();
+
+  static {
+    SpProtocolManager.INSTANCE.register(new ProtocolFactory());
+    SpDataFormatManager.INSTANCE.register(new FormatFactory());
+  }
+
+  public static InMemoryTransportProtocol protocol(String topic) {
+    return new InMemoryTransportProtocol(topic);
+  }
+
+  public static TransportFormat format() {
+    return new TransportFormat(FORMAT_URI);
+  }
+
+  public static byte[] encode(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  public static String decode(byte[] event) {
+    return new String(event, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Passes the given events as one delivery to the consumer connected to the topic.
+   */
+  public static void deliver(String topic, List<byte[]> events) {
+    InternalEventProcessor<byte[]> consumer = consumers.get(topic);
+    if (consumer == null) {
+      throw new IllegalStateException("No consumer connected to topic " + topic);
+    }
+    if (events.size() == 1) {
+      consumer.onEvent(events.get(0));
+    } else {
+      consumer.onEvents(events);
+    }
+    consumer.flush();
+  }
+
+  public static List<byte[]> published(String topic) {
+    return published.getOrDefault(topic, Collections.emptyList());
+  }
+
+  /**
+   * Returns the keys of the events published with a key, events without key are recorded as null.
+   */
+  public static List<String> publishedKeys(String topic) {
+    return publishedKeys.getOrDefault(topic, Collections.emptyList());
+  }
+
+  private static String topicOf(TransportProtocol protocol) {
+    return protocol.getTopicDefinition().getActualTopicName();
+  }
+
+  private static class Consumer implements EventConsumer<InMemoryTransportProtocol> {
+
+    private String topic;
+
+    @Override
+    public void connect(InMemoryTransportProtocol protocolSettings, InternalEventProcessor<byte[]>
+            eventProcessor) {
+      this.topic = topicOf(protocolSettings);
+      consumers.put(topic, eventProcessor);
+    }
+
+    @Override
+    public void disconnect() {
+      consumers.remove(topic);
+      this.topic = null;
+    }
+
+    @Override
+    public Boolean isConnected() {
+      return topic != null;
+    }
+  }
+
+  private static class Producer implements EventProducer<InMemoryTransportProtocol> {
+
+    private String topic;
+
+    @Override
+    public void connect(InMemoryTransportProtocol protocolSettings) {
+      this.topic = topicOf(protocolSettings);
+    }
+
+    @Override
+    public void publish(byte[] event) {
+      published.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(event);
+    }
+
+    @Override
+    public void publish(byte[] key, byte[] event) {
+      publishedKeys.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(key != null ?
+              decode(key) : null);
+      publish(event);
+    }
+
+    @Override
+    public void disconnect() {
+      this.topic = null;
+    }
+
+    @Override
+    public Boolean isConnected() {
+      return topic != null;
+    }
+  }
+
+  private static class ProtocolFactory extends
+          SpProtocolDefinitionFactory<InMemoryTransportProtocol> {
+
+    @Override
+    public TransportProtocol getTransportProtocol() {
+      return new InMemoryTransportProtocol();
+    }
+
+    @Override
+    public String getTransportProtocolClass() {
+      return InMemoryTransportProtocol.class.getCanonicalName();
+    }
+
+    @Override
+    public SpProtocolDefinition<InMemoryTransportProtocol> createInstance() {
+      Consumer consumer = new Consumer();
+      Producer producer = new Producer();
+      return new SpProtocolDefinition<InMemoryTransportProtocol>() {
+        @Override
+        public EventConsumer<InMemoryTransportProtocol> getConsumer() {
+          return consumer;
+        }
+
+        @Override
+        public EventProducer<InMemoryTransportProtocol> getProducer() {
+          return producer;
+        }
+      };
+    }
+  }
+
+  private static class FormatFactory extends SpDataFormatFactory {
+
+    @Override
+    public String getTransportFormatRdfUri() {
+      return FORMAT_URI;
+    }
+
+    @Override
+    public SpDataFormatDefinition createInstance() {
+      return new SpDataFormatDefinition() {
+        @Override
+        public Map<String, Object> toMap(byte[] event) {
+          return Collections.singletonMap(VALUE, decode(event));
+        }
+
+        @Override
+        public byte[] fromMap(Map<String, Object> event) {
+          return encode(String.valueOf(event.get(VALUE)));
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
+import org.apache.streampipes.wrapper.standalone.LoopbackTransport;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestProtocolManager {
+
+  private static final int THREADS = 16;
+
+  private static final RawDataProcessor NO_OP = (rawEvent, sourceInfo) -> {
+  };
+
+  @Test
+  public void testAcquireAndReleaseInputCollectorConcurrently() throws Exception {
+    TransportProtocol protocol = LoopbackTransport.protocol(makeTopic());
+
+    List<StandaloneSpInputCollector> acquired = runConcurrently(i -> ProtocolManager
+            .acquireInputCollector(protocol, LoopbackTransport.format(), false, "route-" + i,
+                    NO_OP));
+    assertEquals(1, new HashSet<>(acquired).size());
+    assertTrue(acquired.get(0).hasConsumers());
+
+    List<Optional<StandaloneSpInputCollector>> released = runConcurrently(i -> ProtocolManager
+            .releaseInputCollector(protocol, "route-" + i));
+    assertEquals(1, countPresent(released));
+    assertFalse(acquired.get(0).hasConsumers());
+
+    StandaloneSpInputCollector next = ProtocolManager.acquireInputCollector(protocol,
+            LoopbackTransport.format(), false, "route-0", NO_OP);
+    assertNotSame(acquired.get(0), next);
+    assertSame(next, ProtocolManager.releaseInputCollector(protocol, "route-0").get());
+  }
+
+  @Test
+  public void testAcquireAndReleaseOutputCollectorConcurrently() throws Exception {
+    TransportProtocol protocol = LoopbackTransport.protocol(makeTopic());
+
+    List<StandaloneSpOutputCollector> acquired = runConcurrently(i -> ProtocolManager
+            .acquireOutputCollector(protocol, LoopbackTransport.format(), null));
+    assertEquals(1, new HashSet<>(acquired).size());
+
+    List<Optional<StandaloneSpOutputCollector>> released = runConcurrently(i -> ProtocolManager
+            .releaseOutputCollector(protocol));
+    assertEquals(1, countPresent(released));
+    assertFalse(ProtocolManager.releaseOutputCollector(protocol).isPresent());
+  }
+
+  @Test
+  public void testInterleavedAcquireAndRelease() throws Exception {
+    TransportProtocol protocol = LoopbackTransport.protocol(makeTopic());
+    StandaloneSpOutputCollector pinned = ProtocolManager.acquireOutputCollector(protocol,
+            LoopbackTransport.format(), null);
+
+    // while one user holds the collector, other users never release it
+    List<Integer> releases = runConcurrently(i -> {
+      int count = 0;
+      for (int j = 0; j < 100; j++) {
+        assertSame(pinned, ProtocolManager.acquireOutputCollector(protocol, LoopbackTransport
+                .format(), null));
+        if (ProtocolManager.releaseOutputCollector(protocol).isPresent()) {
+          count++;
+        }
+      }
+      return count;
+    });
+
+    for (Integer count : releases) {
+      assertEquals(0, (int) count);
+    }
+    assertSame(pinned, ProtocolManager.releaseOutputCollector(protocol).get());
+  }
+
+  private <T> List<T> runConcurrently(IndexedTask<T> task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CyclicBarrier barrier = new CyclicBarrier(THREADS);
+    try {
+      List<Future<T>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        int index = i;
+        futures.add(executor.submit((Callable<T>) () -> {
+          barrier.await();
+          return task.run(index);
+        }));
+      }
+      List<T> results = new ArrayList<>();
+      for (Future<T> future : futures) {
+        results.add(future.get(10, TimeUnit.SECONDS));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private <T> int countPresent(List<Optional<T>> results) {
+    Set<T> present = new HashSet<>();
+    int count = 0;
+    for (Optional<T> result : results) {
+      if (result.isPresent()) {
+        present.add(result.get());
+        count++;
+      }
+    }
+    assertTrue(present.size() <= 1);
+    return count;
+  }
+
+  private String makeTopic() {
+    return "test-" + UUID.randomUUID();
+  }
+
+  private interface IndexedTask<T> {
+
+    T run(int index) throws Exception;
+  }
+}
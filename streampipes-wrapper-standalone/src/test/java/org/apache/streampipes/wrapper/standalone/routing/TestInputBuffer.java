@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+public class TestInputBuffer {
+
+  @Test
+  public void testDropNewest() {
+    List<Integer> received = new CopyOnWriteArrayList<>();
+    InputBuffer buffer = new InputBuffer(settings(3, OverflowPolicy.DROP_NEWEST, 10), new
+            TestConsumer(false), recordTo(received));
+
+    addRange(buffer, 0, 5);
+
+    assertEquals(3, buffer.getQueueDepth());
+    assertEquals(2, buffer.getDroppedEvents());
+    buffer.start();
+    buffer.flush();
+    assertEquals(Arrays.asList(0, 1, 2), received);
+    buffer.stop();
+  }
+
+  @Test
+  public void testDropOldest() {
+    List<Integer> received = new CopyOnWriteArrayList<>();
+    InputBuffer buffer = new InputBuffer(settings(3, OverflowPolicy.DROP_OLDEST, 10), new
+            TestConsumer(false), recordTo(received));
+
+    addRange(buffer, 0, 5);
+
+    assertEquals(3, buffer.getQueueDepth());
+    assertEquals(2, buffer.getDroppedEvents());
+    buffer.start();
+    buffer.flush();
+    assertEquals(Arrays.asList(2, 3, 4), received);
+    buffer.stop();
+  }
+
+  @Test
+  public void testBlockPausesConsumerAndResumesAtHalfCapacity() {
+    List<Integer> received = new CopyOnWriteArrayList<>();
+    List<Integer> resumedAtHandover = new CopyOnWriteArrayList<>();
+    TestConsumer consumer = new TestConsumer(true);
+    InputBuffer buffer = new InputBuffer(settings(4, OverflowPolicy.BLOCK, 2), consumer,
+            events -> {
+              resumedAtHandover.add(consumer.resumed);
+              recordTo(received).accept(events);
+            });
+
+    addRange(buffer, 0, 6);
+
+    // a pausable consumer is paused once, but its delivery is accepted beyond the capacity
+    assertEquals(6, buffer.getQueueDepth());
+    assertEquals(1, consumer.paused);
+    assertEquals(0, consumer.resumed);
+    assertEquals(0, buffer.getDroppedEvents());
+
+    buffer.start();
+    buffer.flush();
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), received);
+    assertEquals(1, consumer.paused);
+    // the consumer is resumed once at most half of the capacity is buffered
+    assertEquals(Arrays.asList(0, 1, 1), resumedAtHandover);
+    buffer.stop();
+  }
+
+  @Test
+  public void testBlockWaitsForCapacity() throws InterruptedException {
+    List<Integer> received = new CopyOnWriteArrayList<>();
+    CountDownLatch handover = new CountDownLatch(1);
+    InputBuffer buffer = new InputBuffer(settings(2, OverflowPolicy.BLOCK, 1), new
+            TestConsumer(false), events -> {
+              await(handover);
+              recordTo(received).accept(events);
+            });
+    buffer.start();
+    addRange(buffer, 0, 3);
+
+    Thread producer = new Thread(() -> addRange(buffer, 3, 4));
+    producer.start();
+    producer.join(200);
+    assertTrue(producer.isAlive());
+    assertEquals(2, buffer.getQueueDepth());
+
+    handover.countDown();
+    producer.join(5000);
+    assertFalse(producer.isAlive());
+    buffer.flush();
+    assertEquals(Arrays.asList(0, 1, 2, 3), received);
+    assertEquals(0, buffer.getDroppedEvents());
+    buffer.stop();
+  }
+
+  @Test
+  public void testFlushWaitsForHandover() {
+    List<Integer> received = new CopyOnWriteArrayList<>();
+    InputBuffer buffer = new InputBuffer(settings(100, OverflowPolicy.BLOCK, 5), new
+            TestConsumer(true), events -> {
+              sleep(20);
+              recordTo(received).accept(events);
+            });
+    buffer.start();
+
+    addRange(buffer, 0, 20);
+    buffer.flush();
+
+    assertEquals(20, received.size());
+    assertEquals(0, buffer.getQueueDepth());
+    buffer.stop();
+  }
+
+  @Test
+  public void testFlushThrowsFailureOfHandover() {
+    InputBuffer buffer = new InputBuffer(settings(100, OverflowPolicy.BLOCK, 5), new
+            TestConsumer(true), events -> {
+              throw new IllegalStateException("failed");
+            });
+    buffer.start();
+
+    addRange(buffer, 0, 1);
+    try {
+      buffer.flush();
+      fail("Expected the failure of the hand-over to be rethrown");
+    } catch (SpRuntimeException e) {
+      assertEquals("failed", e.getCause().getMessage());
+    }
+
+    // the failure is reported once
+    buffer.flush();
+    buffer.stop();
+  }
+
+  private InputBufferSettings settings(int capacity, OverflowPolicy policy, int batchSize) {
+    return new InputBufferSettings(capacity, policy, batchSize);
+  }
+
+  private void addRange(InputBuffer buffer, int from, int to) {
+    List<byte[]> events = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      events.add(new byte[]{(byte) i});
+    }
+    buffer.addAll(events);
+  }
+
+  private Consumer<List<byte[]>> recordTo(List<Integer> received) {
+    return events -> events.forEach(e -> received.add((int) e[0]));
+  }
+
+  private void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class TestConsumer implements EventConsumer<TransportProtocol> {
+
+    private final boolean supportsPause;
+    private volatile int paused;
+    private volatile int resumed;
+
+    TestConsumer(boolean supportsPause) {
+      this.supportsPause = supportsPause;
+    }
+
+    @Override
+    public void connect(TransportProtocol protocolSettings, InternalEventProcessor<byte[]>
+            eventProcessor) {
+    }
+
+    @Override
+    public void disconnect() {
+    }
+
+    @Override
+    public Boolean isConnected() {
+      return true;
+    }
+
+    @Override
+    public void pause() {
+      paused++;
+    }
+
+    @Override
+    public void resume() {
+      resumed++;
+    }
+
+    @Override
+    public boolean supportsPause() {
+      return supportsPause;
+    }
+  }
+}
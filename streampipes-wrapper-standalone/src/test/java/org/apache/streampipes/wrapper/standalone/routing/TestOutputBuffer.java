@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class TestOutputBuffer {
+
+  private static final int NO_LINGER = 60000;
+
+  @Test
+  public void testPublishesFullBatches() throws InterruptedException {
+    List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    CountDownLatch published = new CountDownLatch(2);
+    OutputBuffer buffer = new OutputBuffer(new OutputBufferSettings(100, 5, NO_LINGER),
+            recordTo(batches, published));
+    buffer.start();
+
+    addRange(buffer, 0, 13);
+
+    assertTrue(published.await(5, TimeUnit.SECONDS));
+    Thread.sleep(100);
+    assertEquals(Arrays.asList(range(0, 5), range(5, 10)), batches);
+
+    buffer.flush();
+    assertEquals(Arrays.asList(range(0, 5), range(5, 10), range(10, 13)), batches);
+    buffer.stop();
+  }
+
+  @Test
+  public void testPublishesAfterLingerTime() throws InterruptedException {
+    List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    CountDownLatch published = new CountDownLatch(1);
+    OutputBuffer buffer = new OutputBuffer(new OutputBufferSettings(100, 50, 100),
+            recordTo(batches, published));
+    buffer.start();
+
+    long start = System.nanoTime();
+    addRange(buffer, 0, 3);
+
+    assertTrue(published.await(5, TimeUnit.SECONDS));
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+    assertEquals(Collections.singletonList(range(0, 3)), batches);
+    buffer.stop();
+  }
+
+  @Test
+  public void testStopPublishesPendingEvents() {
+    List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    OutputBuffer buffer = new OutputBuffer(new OutputBufferSettings(100, 50, NO_LINGER),
+            recordTo(batches, new CountDownLatch(1)));
+    buffer.start();
+
+    addRange(buffer, 0, 3);
+    buffer.stop();
+
+    assertEquals(Collections.singletonList(range(0, 3)), batches);
+  }
+
+  @Test
+  public void testKeyedBufferPassesKeys() {
+    List<byte[]> publishedKeys = new CopyOnWriteArrayList<>();
+    OutputBuffer buffer = OutputBuffer.keyed(new OutputBufferSettings(100, 50, NO_LINGER),
+            (keys, events) -> publishedKeys.addAll(keys));
+    buffer.start();
+
+    buffer.add(new byte[]{1}, new byte[]{0});
+    buffer.add(new byte[]{1});
+    buffer.flush();
+
+    assertEquals(2, publishedKeys.size());
+    assertEquals(1, publishedKeys.get(0)[0]);
+    assertNull(publishedKeys.get(1));
+    buffer.stop();
+  }
+
+  @Test
+  public void testFlushThrowsPublishFailure() {
+    OutputBuffer buffer = new OutputBuffer(new OutputBufferSettings(100, 50, NO_LINGER),
+            events -> {
+              throw new IllegalStateException("failed");
+            });
+    buffer.start();
+
+    addRange(buffer, 0, 3);
+    try {
+      buffer.flush();
+      fail("Expected the publish failure to be rethrown");
+    } catch (SpRuntimeException e) {
+      assertEquals("failed", e.getCause().getMessage());
+    }
+
+    // the failure is reported once
+    buffer.flush();
+    buffer.stop();
+  }
+
+  @Test
+  public void testRejectsEventsWhileNotRunning() {
+    List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    OutputBuffer buffer = new OutputBuffer(new OutputBufferSettings(100, 50, NO_LINGER),
+            recordTo(batches, new CountDownLatch(1)));
+
+    assertRejected(buffer);
+    buffer.start();
+    addRange(buffer, 0, 1);
+    buffer.stop();
+    assertRejected(buffer);
+
+    assertEquals(Collections.singletonList(range(0, 1)), batches);
+  }
+
+  @Test
+  public void testRejectsEventOnInterrupt() {
+    CountDownLatch publish = new CountDownLatch(1);
+    OutputBuffer buffer = new OutputBuffer(new OutputBufferSettings(1, 1, NO_LINGER),
+            events -> await(publish));
+    buffer.start();
+    addRange(buffer, 0, 2);
+
+    Thread.currentThread().interrupt();
+    try {
+      addRange(buffer, 2, 3);
+      fail("Expected the event to be rejected");
+    } catch (SpRuntimeException e) {
+      assertTrue(Thread.interrupted());
+    }
+
+    publish.countDown();
+    buffer.stop();
+  }
+
+  private void assertRejected(OutputBuffer buffer) {
+    try {
+      buffer.add(new byte[]{0});
+      fail("Expected the event to be rejected");
+    } catch (SpRuntimeException e) {
+      // expected
+    }
+  }
+
+  private void addRange(OutputBuffer buffer, int from, int to) {
+    List<byte[]> events = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      events.add(new byte[]{(byte) i});
+    }
+    buffer.addAll(events);
+  }
+
+  private List<Integer> range(int from, int to) {
+    List<Integer> values = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      values.add(i);
+    }
+    return values;
+  }
+
+  private Consumer<List<byte[]>> recordTo(List<List<Integer>> batches, CountDownLatch published) {
+    return events -> {
+      List<Integer> batch = new ArrayList<>();
+      events.forEach(e -> batch.add((int) e[0]));
+      batches.add(batch);
+      published.countDown();
+    };
+  }
+
+  private void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.streampipes.dataformat.EventEnvelope;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.messaging.InternalEventBufferProcessor;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.vocabulary.MessageFormat;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
+import org.apache.streampipes.wrapper.standalone.LoopbackTransport;
+import org.junit.Test;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class TestStandaloneSpInputCollector {
+
+  @Test
+  public void testBatchIsDeliveredToOutputCollector() {
+    InMemoryTransportProtocol output = makeProtocol();
+    StandaloneSpOutputCollector<InMemoryTransportProtocol> outputCollector = new
+            StandaloneSpOutputCollector<>(output, LoopbackTransport.format(), null, new
+            OutputBufferSettings(0, 1, 0));
+    outputCollector.connect();
+    ForwardingProcessor processor = new ForwardingProcessor(outputCollector);
+    InMemoryTransportProtocol input = makeProtocol();
+    makeCollector(input, LoopbackTransport.format(), false, processor);
+
+    LoopbackTransport.deliver(getTopic(input), encode("1", "2", "3"));
+
+    assertEquals(Arrays.asList("batch:3", "flush"), processor.calls);
+    assertEquals(Arrays.asList("1", "2", "3"), decode(LoopbackTransport.published(getTopic
+            (output))));
+  }
+
+  @Test
+  public void testSingleEventIsNotDeliveredAsBatch() {
+    RecordingProcessor processor = new RecordingProcessor();
+    InMemoryTransportProtocol input = makeProtocol();
+    makeCollector(input, LoopbackTransport.format(), false, processor);
+
+    LoopbackTransport.deliver(getTopic(input), encode("1"));
+
+    assertEquals(Arrays.asList("event", "flush"), processor.calls);
+    assertEquals(Collections.singletonList("1"), processor.values);
+  }
+
+  @Test
+  public void testBatchIsDeliveredToAllConsumers() {
+    RecordingProcessor first = new RecordingProcessor();
+    RecordingProcessor second = new RecordingProcessor();
+    InMemoryTransportProtocol input = makeProtocol();
+    makeCollector(input, LoopbackTransport.format(), false, first, second);
+
+    LoopbackTransport.deliver(getTopic(input), encode("1", "2"));
+
+    assertEquals(Arrays.asList("batch:2", "flush"), first.calls);
+    assertEquals(Arrays.asList("batch:2", "flush"), second.calls);
+    assertEquals(Arrays.asList("1", "2"), second.values);
+  }
+
+  @Test
+  public void testBatchIsDeliveredToSingletonEngineOnce() {
+    RecordingProcessor first = new RecordingProcessor();
+    RecordingProcessor second = new RecordingProcessor();
+    InMemoryTransportProtocol input = makeProtocol();
+    makeCollector(input, LoopbackTransport.format(), true, first, second);
+
+    LoopbackTransport.deliver(getTopic(input), encode("1", "2"));
+
+    // exactly one of the consumers receives the batch, but all of them are flushed
+    assertEquals(2, first.values.size() + second.values.size());
+    assertEquals("flush", first.calls.get(first.calls.size() - 1));
+    assertEquals("flush", second.calls.get(second.calls.size() - 1));
+  }
+
+  @Test
+  public void testEnvelopeIsDeliveredAsOneBatch() {
+    TransportFormat format = LoopbackTransport.format();
+    format.getRdfType().add(URI.create(MessageFormat.Envelope));
+    RecordingProcessor processor = new RecordingProcessor();
+    InMemoryTransportProtocol input = makeProtocol();
+    makeCollector(input, format, false, processor);
+
+    LoopbackTransport.deliver(getTopic(input), Collections.singletonList(EventEnvelope.pack
+            (encode("1", "2", "3"))));
+
+    assertEquals(Arrays.asList("batch:3", "flush"), processor.calls);
+    assertEquals(Arrays.asList("1", "2", "3"), processor.values);
+  }
+
+  @Test
+  public void testEnvelopesOfOneDeliveryAreDeliveredAsOneBatch() {
+    TransportFormat format = LoopbackTransport.format();
+    format.getRdfType().add(URI.create(MessageFormat.Envelope));
+    RecordingProcessor processor = new RecordingProcessor();
+    InMemoryTransportProtocol input = makeProtocol();
+    makeCollector(input, format, false, processor);
+
+    LoopbackTransport.deliver(getTopic(input), Arrays.asList(EventEnvelope.pack(encode("1", "2")),
+            EventEnvelope.pack(encode("3"))));
+
+    assertEquals(Arrays.asList("batch:3", "flush"), processor.calls);
+    assertEquals(Arrays.asList("1", "2", "3"), processor.values);
+  }
+
+  @Test
+  public void testCorruptEnvelopeIsSkipped() {
+    TransportFormat format = LoopbackTransport.format();
+    format.getRdfType().add(URI.create(MessageFormat.Envelope));
+    RecordingProcessor processor = new RecordingProcessor();
+    InMemoryTransportProtocol input = makeProtocol();
+    makeCollector(input, format, false, processor);
+    byte[] envelope = EventEnvelope.pack(encode("1", "2"));
+
+    LoopbackTransport.deliver(getTopic(input), Collections.singletonList(Arrays.copyOf(envelope,
+            envelope.length - 1)));
+
+    assertEquals(Collections.singletonList("flush"), processor.calls);
+  }
+
+  @Test
+  public void testBufferViewIsDecodedBeforeReturning() {
+    RecordingProcessor processor = new RecordingProcessor();
+    StandaloneSpInputCollector<InMemoryTransportProtocol> collector = makeCollector(makeProtocol(),
+            LoopbackTransport.format(), false, processor);
+    byte[] data = new byte[16];
+
+    dispatch(collector, data, "1");
+    dispatch(collector, data, "22");
+    Arrays.fill(data, (byte) 'x');
+
+    assertEquals(Arrays.asList("buffer", "buffer"), processor.calls);
+    assertEquals(Arrays.asList("1", "22"), processor.values);
+  }
+
+  @Test
+  public void testBufferViewIsCopiedIntoInputBuffer() {
+    RecordingProcessor processor = new RecordingProcessor();
+    StandaloneSpInputCollector<InMemoryTransportProtocol> collector = makeCollector(makeProtocol(),
+            LoopbackTransport.format(), false, new InputBufferSettings(16, OverflowPolicy.BLOCK,
+                    16), processor);
+    byte[] data = new byte[16];
+
+    dispatch(collector, data, "1");
+    dispatch(collector, data, "22");
+    Arrays.fill(data, (byte) 'x');
+    collector.flush();
+    collector.unregisterConsumer("route-0");
+    collector.disconnect();
+
+    assertEquals(Arrays.asList("1", "22"), processor.values);
+  }
+
+  @Test
+  public void testEnvelopeInBufferViewIsUnpackedBeforeReturning() {
+    TransportFormat format = LoopbackTransport.format();
+    format.getRdfType().add(URI.create(MessageFormat.Envelope));
+    RecordingProcessor processor = new RecordingProcessor();
+    StandaloneSpInputCollector<InMemoryTransportProtocol> collector = makeCollector(makeProtocol(),
+            format, false, processor);
+    byte[] envelope = EventEnvelope.pack(encode("1", "2"));
+    byte[] data = new byte[envelope.length + 4];
+    System.arraycopy(envelope, 0, data, 2, envelope.length);
+
+    InternalEventBufferProcessor.dispatch(collector, data, 2, envelope.length);
+    Arrays.fill(data, (byte) 0);
+
+    assertEquals(Collections.singletonList("batch:2"), processor.calls);
+    assertEquals(Arrays.asList("1", "2"), processor.values);
+  }
+
+  private StandaloneSpInputCollector<InMemoryTransportProtocol> makeCollector
+          (InMemoryTransportProtocol protocol, TransportFormat format, boolean singletonEngine,
+           RawDataProcessor... processors) {
+    return makeCollector(protocol, format, singletonEngine, new InputBufferSettings(0,
+            OverflowPolicy.BLOCK, 1), processors);
+  }
+
+  private StandaloneSpInputCollector<InMemoryTransportProtocol> makeCollector
+          (InMemoryTransportProtocol protocol, TransportFormat format, boolean singletonEngine,
+           InputBufferSettings inputBufferSettings, RawDataProcessor... processors) {
+    StandaloneSpInputCollector<InMemoryTransportProtocol> collector = new
+            StandaloneSpInputCollector<>(protocol, format, singletonEngine, inputBufferSettings);
+    for (int i = 0; i < processors.length; i++) {
+      collector.registerConsumer("route-" + i, processors[i]);
+    }
+    collector.connect();
+    return collector;
+  }
+
+  // writes the event after a prefix into the shared array and hands over the region, like the
+  // JMS and MQTT consumers do with the receive buffer of their client
+  private void dispatch(InternalEventBufferProcessor collector, byte[] data, String value) {
+    Arrays.fill(data, (byte) 'x');
+    byte[] event = LoopbackTransport.encode(value);
+    System.arraycopy(event, 0, data, 3, event.length);
+    InternalEventBufferProcessor.dispatch(collector, data, 3, event.length);
+  }
+
+  private InMemoryTransportProtocol makeProtocol() {
+    return LoopbackTransport.protocol("test-" + UUID.randomUUID());
+  }
+
+  private String getTopic(InMemoryTransportProtocol protocol) {
+    return protocol.getTopicDefinition().getActualTopicName();
+  }
+
+  private List<byte[]> encode(String... values) {
+    List<byte[]> events = new ArrayList<>();
+    for (String value : values) {
+      events.add(LoopbackTransport.encode(value));
+    }
+    return events;
+  }
+
+  private List<String> decode(List<byte[]> events) {
+    List<String> values = new ArrayList<>();
+    for (byte[] event : events) {
+      values.add(LoopbackTransport.decode(event));
+    }
+    return values;
+  }
+
+  private static class RecordingProcessor implements RawDataProcessor {
+
+    final List<String> calls = new ArrayList<>();
+    final List<String> values = new ArrayList<>();
+
+    @Override
+    public void process(Map<String, Object> rawEvent, String sourceInfo) {
+      values.add(String.valueOf(rawEvent.get(LoopbackTransport.VALUE)));
+    }
+
+    @Override
+    public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+            sourceInfo) {
+      calls.add("event");
+      process(dataFormatDefinition.toMap(rawEvent), sourceInfo);
+    }
+
+    @Override
+    public void process(ByteBuffer rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+            sourceInfo) {
+      calls.add("buffer");
+      process(dataFormatDefinition.toMap(rawEvent), sourceInfo);
+    }
+
+    @Override
+    public void process(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition,
+                        String sourceInfo) {
+      calls.add("batch:" + rawEvents.size());
+      for (byte[] rawEvent : rawEvents) {
+        process(dataFormatDefinition.toMap(rawEvent), sourceInfo);
+      }
+    }
+
+    @Override
+    public void flush() {
+      calls.add("flush");
+    }
+  }
+
+  // hands each batch over to the output collector like an event processor runtime does
+  private static class ForwardingProcessor extends RecordingProcessor {
+
+    private final StandaloneSpOutputCollector<?> outputCollector;
+
+    ForwardingProcessor(StandaloneSpOutputCollector<?> outputCollector) {
+      this.outputCollector = outputCollector;
+    }
+
+    @Override
+    public void process(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition,
+                        String sourceInfo) {
+      calls.add("batch:" + rawEvents.size());
+      List<Event> events = new ArrayList<>();
+      for (byte[] rawEvent : rawEvents) {
+        events.add(EventFactory.fromMap(dataFormatDefinition.toMap(rawEvent)));
+      }
+      outputCollector.collect(events);
+    }
+
+    @Override
+    public void flush() {
+      super.flush();
+      outputCollector.flush();
+    }
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
+import org.apache.streampipes.wrapper.standalone.LoopbackTransport;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class TestStandaloneSpOutputCollector {
+
+  private static final String PARTITION_KEY = "sensor";
+  private static final SourceInfo SOURCE_INFO = new SourceInfo("source", "s0");
+
+  @Test
+  public void testPartitionKeyFromOutputSchema() {
+    EventSchema schema = makeSchema(LoopbackTransport.VALUE, PARTITION_KEY);
+    InMemoryTransportProtocol protocol = makeProtocol();
+    StandaloneSpOutputCollector<InMemoryTransportProtocol> collector = makeCollector(protocol,
+            schema);
+
+    collector.collect(makeEvent(schema, "1", "a"));
+    collector.collect(Arrays.asList(makeEvent(schema, "2", "b"), makeEvent(schema, "3", "a")));
+
+    assertEquals(Arrays.asList("a", "b", "a"), LoopbackTransport.publishedKeys(getTopic(protocol)));
+    assertEquals(3, LoopbackTransport.published(getTopic(protocol)).size());
+  }
+
+  @Test
+  public void testPartitionKeyOfCompiledEvent() {
+    EventSchema schema = makeSchema(LoopbackTransport.VALUE, PARTITION_KEY);
+    InMemoryTransportProtocol protocol = makeProtocol();
+    StandaloneSpOutputCollector<InMemoryTransportProtocol> collector = makeCollector(protocol,
+            schema);
+    EventLayout layout = EventLayout.compile(SOURCE_INFO, new SchemaInfo(schema, Collections
+            .emptyList()));
+
+    collector.collect(layout.fromMap(makeMap("1", "a")));
+    collector.collect(layout.fromMap(makeMap("2", "b")));
+
+    assertEquals(Arrays.asList("a", "b"), LoopbackTransport.publishedKeys(getTopic(protocol)));
+  }
+
+  @Test
+  public void testPartitionKeyAddedByPipelineElement() {
+    EventSchema schema = makeSchema(LoopbackTransport.VALUE, PARTITION_KEY);
+    InMemoryTransportProtocol protocol = makeProtocol();
+    StandaloneSpOutputCollector<InMemoryTransportProtocol> collector = makeCollector(protocol,
+            schema);
+
+    Event event = makeEvent(makeSchema(LoopbackTransport.VALUE), "1", null);
+    event.addField(PARTITION_KEY, "c");
+    collector.collect(event);
+
+    assertEquals(Collections.singletonList("c"), LoopbackTransport.publishedKeys(getTopic
+            (protocol)));
+  }
+
+  @Test
+  public void testPartitionKeyMissingInOutputSchema() {
+    EventSchema schema = makeSchema(LoopbackTransport.VALUE);
+    InMemoryTransportProtocol protocol = makeProtocol();
+    StandaloneSpOutputCollector<InMemoryTransportProtocol> collector = makeCollector(protocol,
+            schema);
+
+    collector.collect(makeEvent(schema, "1", "a"));
+
+    assertEquals(Collections.singletonList(null), LoopbackTransport.publishedKeys(getTopic
+            (protocol)));
+  }
+
+  @Test
+  public void testPartitionKeyWithoutOutputSchema() {
+    EventSchema schema = makeSchema(LoopbackTransport.VALUE, PARTITION_KEY);
+    InMemoryTransportProtocol protocol = makeProtocol();
+    StandaloneSpOutputCollector<InMemoryTransportProtocol> collector = makeCollector(protocol,
+            null);
+
+    collector.collect(makeEvent(schema, "1", "a"));
+    collector.collect(makeEvent(schema, "2", "b"));
+
+    assertEquals(Arrays.asList("a", "b"), LoopbackTransport.publishedKeys(getTopic(protocol)));
+  }
+
+  private StandaloneSpOutputCollector<InMemoryTransportProtocol> makeCollector
+          (InMemoryTransportProtocol protocol, EventSchema outputSchema) {
+    StandaloneSpOutputCollector<InMemoryTransportProtocol> collector = new
+            StandaloneSpOutputCollector<>(protocol, LoopbackTransport.format(), outputSchema, new
+            OutputBufferSettings(0, 1, 0));
+    collector.connect();
+    return collector;
+  }
+
+  private InMemoryTransportProtocol makeProtocol() {
+    InMemoryTransportProtocol protocol = LoopbackTransport.protocol("test-" + UUID.randomUUID());
+    protocol.setPartitionKey(PARTITION_KEY);
+    return protocol;
+  }
+
+  private String getTopic(InMemoryTransportProtocol protocol) {
+    return protocol.getTopicDefinition().getActualTopicName();
+  }
+
+  private Event makeEvent(EventSchema schema, String value, String key) {
+    return EventFactory.fromMap(makeMap(value, key), SOURCE_INFO, new SchemaInfo(schema,
+            Collections.emptyList()));
+  }
+
+  private Map<String, Object> makeMap(String value, String key) {
+    Map<String, Object> event = new HashMap<>();
+    event.put(LoopbackTransport.VALUE, value);
+    if (key != null) {
+      event.put(PARTITION_KEY, key);
+    }
+    return event;
+  }
+
+  private EventSchema makeSchema(String... runtimeNames) {
+    List<EventProperty> properties = new ArrayList<>();
+    for (String runtimeName : runtimeNames) {
+      properties.add(new EventPropertyPrimitive(XSD._string.toString(), runtimeName, "",
+              Collections.emptyList()));
+    }
+    return new EventSchema(properties);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestEngineReplica {
+
+  @Test
+  public void testTasksAreExecutedInOrder() {
+    EngineReplica<List<Integer>> replica = new EngineReplica<>(new ArrayList<>(), 4, "replica");
+    replica.start();
+
+    for (int i = 0; i < 100; i++) {
+      int value = i;
+      replica.submit(engine -> engine.add(value));
+    }
+    replica.await();
+
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      expected.add(i);
+    }
+    assertEquals(expected, replica.getEngine());
+    replica.stop();
+  }
+
+  @Test
+  public void testStopExecutesPendingTasks() {
+    EngineReplica<List<Integer>> replica = new EngineReplica<>(new ArrayList<>(), 16, "replica");
+    replica.start();
+
+    replica.submit(engine -> sleep());
+    replica.submit(engine -> engine.add(1));
+    replica.submit(engine -> engine.add(2));
+    replica.stop();
+
+    assertEquals(Arrays.asList(1, 2), replica.getEngine());
+  }
+
+  @Test
+  public void testAwaitThrowsFailureOfTask() {
+    EngineReplica<List<Integer>> replica = new EngineReplica<>(new ArrayList<>(), 16, "replica");
+    replica.start();
+
+    replica.submit(engine -> engine.add(1));
+    replica.submit(engine -> {
+      throw new SpRuntimeException("failed");
+    });
+    replica.submit(engine -> engine.add(2));
+
+    try {
+      replica.await();
+      fail("Expected the failure of the task to be rethrown");
+    } catch (SpRuntimeException e) {
+      assertEquals("failed", e.getCause().getMessage());
+    }
+
+    try {
+      replica.await();
+      fail("Expected the failure to be kept");
+    } catch (SpRuntimeException e) {
+      assertEquals("failed", e.getCause().getMessage());
+    }
+    assertEquals(Arrays.asList(1, 2), replica.getEngine());
+    replica.stop();
+  }
+
+  @Test
+  public void testInterruptedSubmitIsRejected() {
+    EngineReplica<List<Integer>> replica = new EngineReplica<>(new ArrayList<>(), 1, "replica");
+
+    replica.submit(engine -> engine.add(1));
+    Thread.currentThread().interrupt();
+    try {
+      replica.submit(engine -> engine.add(2));
+      fail("Expected the task to be rejected");
+    } catch (SpRuntimeException e) {
+      assertTrue(Thread.interrupted());
+    }
+
+    assertEquals(1, replica.getRejectedTasks());
+  }
+
+  private void sleep() {
+    try {
+      Thread.sleep(50);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.wrapper.standalone.ParallelismSettings;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TestEngineReplicaGroup {
+
+  private static final int PARALLELISM = 4;
+
+  @Test
+  public void testRoundRobinDispatch() {
+    EngineReplicaGroup<List<Event>> group = makeGroup(ParallelismSettings.roundRobin
+            (PARALLELISM));
+
+    for (int i = 0; i < 2 * PARALLELISM; i++) {
+      Event event = makeEvent("sensor", i);
+      group.submit(event, engine -> engine.add(event));
+    }
+    group.await();
+
+    for (EngineReplica<List<Event>> replica : group.getReplicas()) {
+      assertEquals(2, replica.getEngine().size());
+    }
+    group.stop();
+  }
+
+  @Test
+  public void testPartitionedDispatchPreservesOrderPerKey() {
+    EngineReplicaGroup<List<Event>> group = makeGroup(ParallelismSettings.partitionBy
+            (PARALLELISM, "o::key"));
+
+    for (int i = 0; i < 100; i++) {
+      Event event = makeEvent("sensor" + (i % 10), i);
+      group.submit(event, engine -> engine.add(event));
+    }
+    group.await();
+
+    assertPartitioned(group, 100);
+    group.stop();
+  }
+
+  @Test
+  public void testPartitionedBatchDispatch() {
+    EngineReplicaGroup<List<Event>> group = makeGroup(ParallelismSettings.partitionBy
+            (PARALLELISM, "o::key"));
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      events.add(makeEvent("sensor" + (i % 10), i));
+    }
+
+    group.submit(events, List::addAll);
+    group.await();
+
+    assertPartitioned(group, 100);
+    group.stop();
+  }
+
+  @Test
+  public void testEventsWithoutKeyGoToFirstReplica() {
+    EngineReplicaGroup<List<Event>> group = makeGroup(ParallelismSettings.partitionBy
+            (PARALLELISM, "o::other"));
+
+    Event event = makeEvent("sensor", 1);
+    assertEquals(0, group.partitionOf(event));
+    group.stop();
+  }
+
+  @Test
+  public void testAwaitThrowsFailureOfAnyReplica() {
+    EngineReplicaGroup<List<Event>> group = makeGroup(ParallelismSettings.roundRobin
+            (PARALLELISM));
+
+    group.submit(engine -> {
+      throw new SpRuntimeException("failed");
+    });
+    for (int i = 0; i < PARALLELISM; i++) {
+      Event event = makeEvent("sensor", i);
+      group.submit(event, engine -> engine.add(event));
+    }
+
+    try {
+      group.await();
+      fail("Expected the failure of the replica to be rethrown");
+    } catch (SpRuntimeException e) {
+      assertEquals("failed", e.getCause().getMessage());
+    }
+
+    int processed = 0;
+    for (EngineReplica<List<Event>> replica : group.getReplicas()) {
+      processed += replica.getEngine().size();
+    }
+    assertEquals(PARALLELISM, processed);
+    group.stop();
+  }
+
+  private void assertPartitioned(EngineReplicaGroup<List<Event>> group, int expectedEvents) {
+    Set<Object> seenKeys = new HashSet<>();
+    int events = 0;
+    for (EngineReplica<List<Event>> replica : group.getReplicas()) {
+      Map<Object, Integer> lastValues = new HashMap<>();
+      for (Event event : replica.getEngine()) {
+        Object key = event.getFieldBySelector("o::key").getRawValue();
+        Integer value = event.getFieldBySelector("o::value").getAsPrimitive().getAsInt();
+        Integer last = lastValues.put(key, value);
+        assertTrue("Events of " + key + " out of order", last == null || last < value);
+        if (last == null) {
+          assertTrue("Events of " + key + " processed by several replicas", seenKeys.add(key));
+        }
+        events++;
+      }
+    }
+    assertEquals(expectedEvents, events);
+    assertEquals(10, seenKeys.size());
+  }
+
+  private EngineReplicaGroup<List<Event>> makeGroup(ParallelismSettings settings) {
+    List<EngineReplica<List<Event>>> replicas = new ArrayList<>();
+    for (int i = 0; i < settings.getParallelism(); i++) {
+      replicas.add(new EngineReplica<>(new ArrayList<>(), settings.getQueueCapacity(), "engine-"
+              + i));
+    }
+    EngineReplicaGroup<List<Event>> group = new EngineReplicaGroup<>(replicas, settings);
+    group.start();
+    return group;
+  }
+
+  private Event makeEvent(String key, int value) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("key", key);
+    event.put("value", value);
+    return EventFactory.fromMap(event);
+  }
+}
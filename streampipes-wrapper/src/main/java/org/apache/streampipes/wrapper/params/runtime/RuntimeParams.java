@@ -18,15 +18,20 @@
 
 package org.apache.streampipes.wrapper.params.runtime;
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
 import org.apache.streampipes.model.runtime.SchemaInfo;
 import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,6 +45,7 @@ public abstract class RuntimeParams<B extends BindingParams<I>, I extends
   protected RC runtimeContext;
 
   private Map<String, Integer> eventInfoMap = new HashMap<>();
+  private transient List<EventLayout> eventLayouts;
 
   private Boolean singletonEngine;
 
@@ -47,6 +53,7 @@ public abstract class RuntimeParams<B extends BindingParams<I>, I extends
     this.bindingParams = bindingParams;
     this.singletonEngine = singletonEngine;
     buildEventInfoMap();
+    buildEventLayouts();
     this.runtimeContext = makeRuntimeContext();
   }
 
@@ -62,12 +69,50 @@ public abstract class RuntimeParams<B extends BindingParams<I>, I extends
     }
   }
 
+  private void buildEventLayouts() {
+    this.eventLayouts = new ArrayList<>();
+    for (int i = 0; i < bindingParams.getInputStreamParams().size(); i++) {
+      eventLayouts.add(EventLayout.compile(getSourceInfo(i), getSchemaInfo(i)));
+    }
+  }
+
   public Event makeEvent(Map<String, Object> mapEvent, String sourceId) {
     return EventFactory.fromMap(mapEvent, getSourceInfo(getIndex(sourceId)), getSchemaInfo
             (getIndex(sourceId)));
 
   }
 
+  public Event makeCompiledEvent(Map<String, Object> mapEvent, String sourceId) {
+    return getEventLayout(getIndex(sourceId)).fromMap(mapEvent);
+  }
+
+  public Event makeCompiledEvent(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition,
+                                 String sourceId) throws SpRuntimeException {
+    return dataFormatDefinition.toEvent(rawEvent, getEventLayout(getIndex(sourceId)));
+  }
+
+  public Event makeCompiledEvent(ByteBuffer rawEvent, SpDataFormatDefinition dataFormatDefinition,
+                                 String sourceId) throws SpRuntimeException {
+    return dataFormatDefinition.toEvent(rawEvent, getEventLayout(getIndex(sourceId)));
+  }
+
+  public List<Event> makeCompiledEvents(List<byte[]> rawEvents, SpDataFormatDefinition
+          dataFormatDefinition, String sourceId) throws SpRuntimeException {
+    EventLayout eventLayout = getEventLayout(getIndex(sourceId));
+    List<Event> events = new ArrayList<>(rawEvents.size());
+    for (byte[] rawEvent : rawEvents) {
+      events.add(dataFormatDefinition.toEvent(rawEvent, eventLayout));
+    }
+    return events;
+  }
+
+  public EventLayout getEventLayout(Integer index) {
+    if (eventLayouts == null) {
+      buildEventLayouts();
+    }
+    return eventLayouts.get(index);
+  }
+
   public List<SourceInfo> getSourceInfo() {
     return bindingParams.getInputStreamParams().size() == 1 ? Collections.singletonList
             (getSourceInfo(0)) : Arrays.asList(getSourceInfo(0), getSourceInfo(1));
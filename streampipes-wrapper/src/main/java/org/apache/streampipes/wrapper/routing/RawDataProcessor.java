@@ -18,10 +18,41 @@
 package org.apache.streampipes.wrapper.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 
 public interface RawDataProcessor {
 
   void process(Map<String, Object> rawEvent, String sourceInfo) throws SpRuntimeException;
+
+  default void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    process(dataFormatDefinition.toMap(rawEvent), sourceInfo);
+  }
+
+  /**
+   * Processes a view on a received payload. The buffer is only valid during this call, so
+   * implementations must decode it before returning.
+   */
+  default void process(ByteBuffer rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    process(dataFormatDefinition.toMap(rawEvent), sourceInfo);
+  }
+
+  default void process(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    for (byte[] rawEvent : rawEvents) {
+      process(rawEvent, dataFormatDefinition, sourceInfo);
+    }
+  }
+
+  /**
+   * Blocks until all events passed to this processor have been processed and their results have
+   * been handed over to the output.
+   */
+  default void flush() throws SpRuntimeException {
+  }
 }
@@ -21,10 +21,23 @@ package org.apache.streampipes.wrapper.routing;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.runtime.Event;
 
+import java.util.List;
 import java.util.Map;
 
 public interface SpOutputCollector extends PipelineElementCollector<InternalEventProcessor<Map<String,
         Object>>> {
 
   void collect(Event event);
+
+  default void collect(List<Event> events) {
+    for (Event event : events) {
+      collect(event);
+    }
+  }
+
+  /**
+   * Blocks until all events collected so far have been handed over to the producer.
+   */
+  default void flush() {
+  }
 }
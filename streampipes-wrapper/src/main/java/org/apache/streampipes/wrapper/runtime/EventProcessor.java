@@ -25,6 +25,8 @@ import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 
+import java.util.List;
+
 public interface EventProcessor<B extends EventProcessorBindingParams> extends
         PipelineElement<B, DataProcessorInvocation> {
 
@@ -33,4 +35,11 @@ public interface EventProcessor<B extends EventProcessorBindingParams> extends
 
   void onEvent(Event event, SpOutputCollector collector) throws SpRuntimeException;
 
+  default void onEventBatch(List<Event> events, SpOutputCollector collector) throws
+          SpRuntimeException {
+    for (Event event : events) {
+      onEvent(event, collector);
+    }
+  }
+
 }
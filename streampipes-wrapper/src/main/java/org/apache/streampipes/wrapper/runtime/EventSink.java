@@ -24,6 +24,8 @@ import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
 
+import java.util.List;
+
 public interface EventSink<B extends EventSinkBindingParams> extends PipelineElement<B,
         DataSinkInvocation> {
 
@@ -32,4 +34,10 @@ public interface EventSink<B extends EventSinkBindingParams> extends PipelineEle
 
   void onEvent(Event event) throws SpRuntimeException;
 
+  default void onEventBatch(List<Event> events) throws SpRuntimeException {
+    for (Event event : events) {
+      onEvent(event);
+    }
+  }
+
 }
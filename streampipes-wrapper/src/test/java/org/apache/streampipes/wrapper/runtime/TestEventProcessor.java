@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
+import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
+import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
+import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class TestEventProcessor {
+
+  @Test
+  public void testEventBatchIsProcessedEventByEvent() {
+    RecordingProcessor processor = new RecordingProcessor();
+    RecordingCollector collector = new RecordingCollector();
+    List<Event> events = Arrays.asList(makeEvent(1), makeEvent(2), makeEvent(3));
+
+    processor.onEventBatch(events, collector);
+
+    assertEquals(events.size(), processor.events.size());
+    for (int i = 0; i < events.size(); i++) {
+      assertSame(events.get(i), processor.events.get(i));
+      assertSame(collector, processor.collectors.get(i));
+    }
+    assertEquals(events, collector.events);
+  }
+
+  @Test
+  public void testEmptyEventBatch() {
+    RecordingProcessor processor = new RecordingProcessor();
+    RecordingCollector collector = new RecordingCollector();
+
+    processor.onEventBatch(Collections.emptyList(), collector);
+
+    assertEquals(0, processor.events.size());
+    assertEquals(0, collector.events.size());
+  }
+
+  @Test
+  public void testEventBatchIsConsumedEventByEvent() {
+    RecordingSink sink = new RecordingSink();
+    List<Event> events = Arrays.asList(makeEvent(1), makeEvent(2));
+
+    sink.onEventBatch(events);
+
+    assertEquals(events, sink.events);
+  }
+
+  private Event makeEvent(int value) {
+    return EventFactory.fromMap(Collections.singletonMap("value", value));
+  }
+
+  private static class RecordingProcessor implements
+          EventProcessor<EventProcessorBindingParams> {
+
+    private final List<Event> events = new ArrayList<>();
+    private final List<SpOutputCollector> collectors = new ArrayList<>();
+
+    @Override
+    public void onInvocation(EventProcessorBindingParams parameters, SpOutputCollector
+            spOutputCollector, EventProcessorRuntimeContext runtimeContext) {
+    }
+
+    @Override
+    public void onEvent(Event event, SpOutputCollector collector) {
+      events.add(event);
+      collectors.add(collector);
+      collector.collect(event);
+    }
+
+    @Override
+    public void onDetach() {
+    }
+  }
+
+  private static class RecordingSink implements EventSink<EventSinkBindingParams> {
+
+    private final List<Event> events = new ArrayList<>();
+
+    @Override
+    public void onInvocation(EventSinkBindingParams parameters, EventSinkRuntimeContext
+            runtimeContext) {
+    }
+
+    @Override
+    public void onEvent(Event event) {
+      events.add(event);
+    }
+
+    @Override
+    public void onDetach() {
+    }
+  }
+
+  private static class RecordingCollector implements SpOutputCollector {
+
+    private final List<Event> events = new ArrayList<>();
+
+    @Override
+    public void collect(Event event) {
+      events.add(event);
+    }
+
+    @Override
+    public void registerConsumer(String routeId, InternalEventProcessor<Map<String, Object>>
+            consumer) {
+    }
+
+    @Override
+    public void unregisterConsumer(String routeId) {
+    }
+
+    @Override
+    public void connect() {
+    }
+
+    @Override
+    public void disconnect() {
+    }
+  }
+}
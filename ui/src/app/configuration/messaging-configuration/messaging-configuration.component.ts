@@ -30,6 +30,7 @@ export class MessagingConfigurationComponent {
 
     messagingSettings: MessagingSettings;
     loadingCompleted: boolean = false;
+    kafkaTuningProfiles: string[] = ["DEFAULT", "THROUGHPUT", "LOW_LATENCY", "DURABLE"];
 
     constructor(private configurationService: ConfigurationService) {
 
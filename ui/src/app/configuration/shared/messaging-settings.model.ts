@@ -22,6 +22,7 @@ export interface MessagingSettings {
     messageMaxBytes: number;
     lingerMs: number;
     acks: number;
+    kafkaTuningProfile: string;
 
    prioritizedFormats: [string];
    prioritizedProtocols: [string];